@@ -0,0 +1,444 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.api.ServidorApi;
+import ec.edu.ups.dao.impl.CarritoDAOMemoria;
+import ec.edu.ups.dao.impl.CuestionarioDAOMemoria;
+import ec.edu.ups.dao.impl.ProductoDAOMemoriaIndexada;
+import ec.edu.ups.dao.impl.UsuarioDAOConcurrente;
+import ec.edu.ups.modelo.Cuestionario;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.modelo.Respuesta;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.servicio.CarritoServicio;
+import ec.edu.ups.servicio.CatalogoServicio;
+import ec.edu.ups.servicio.CuestionarioServicio;
+import ec.edu.ups.servicio.UsuarioServicio;
+import ec.edu.ups.util.GestorSesiones;
+import ec.edu.ups.util.HashContrasenas;
+import ec.edu.ups.util.LimitadorIntentos;
+import ec.edu.ups.util.LimitadorLogin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga para la API HTTP de {@link ServidorApi}. Abre muchas conexiones
+ * persistentes a la vez, una por hilo virtual; cada conexión inicia sesión con uno de los
+ * usuarios de prueba y, cuando todas están listas, envía sus peticiones una tras otra:
+ * consultas y búsquedas de productos, productos agregados al carrito, carritos guardados y
+ * listados. Al final informa el rendimiento y los percentiles 50, 99 y 99,9 de la latencia.
+ * <p>
+ * Cada conexión espera su respuesta antes de enviar la siguiente petición (carga cerrada),
+ * así que las latencias no incluyen el tiempo que una petición habría esperado para salir.
+ * <p>
+ * Con 10 000 conexiones, servidor y generador juntos necesitan más de 20 000 descriptores
+ * de archivo; lo habitual es iniciar el servidor de prueba en otro proceso:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar ec.edu.ups.benchmark.CargaApi servidor
+ * java -Dcarga.url=http://localhost:8080 -cp benchmarks/target/benchmarks.jar ec.edu.ups.benchmark.CargaApi
+ * </pre>
+ * Sin `-Dcarga.url` el generador inicia su propio servidor en el mismo proceso. Se ajusta
+ * con `-Dcarga.conexiones` (10000), `-Dcarga.peticiones` por conexión (100),
+ * `-Dcarga.calentamiento` por conexión (20), `-Dcarga.usuarios` (1000),
+ * `-Dcarga.productos` (10000) y, para el servidor, `-Dcarga.puerto` (8080).
+ */
+public final class CargaApi {
+
+    private static final int CONEXIONES = Integer.getInteger("carga.conexiones", 10_000);
+    private static final int PETICIONES = Integer.getInteger("carga.peticiones", 100);
+    private static final int CALENTAMIENTO = Integer.getInteger("carga.calentamiento", 20);
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 1_000);
+    private static final int PRODUCTOS = Integer.getInteger("carga.productos", 10_000);
+
+    /**
+     * Intentos seguidos de inicio de sesión que admite el servidor de prueba por cédula y
+     * por origen; es casi el máximo de {@link LimitadorIntentos}.
+     */
+    private static final int RAFAGA_LOGIN = 1_000;
+
+    /**
+     * Conexiones que se abren a la vez, para no desbordar la cola del servidor.
+     */
+    private static final int APERTURAS_SIMULTANEAS = 256;
+
+    private CargaApi() {
+    }
+
+    /**
+     * Ejecuta la carga, o con el argumento `servidor` solo inicia el servidor de prueba.
+     *
+     * @param args `servidor` para iniciar solo el servidor; nada para generar la carga.
+     * @throws Exception Si el servidor no puede iniciarse o una conexión no puede abrirse.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("servidor")) {
+            ServidorApi servidor = crearServidor(Integer.getInteger("carga.puerto", 8080));
+            System.out.println("Servidor de prueba en el puerto " + servidor.getPuerto());
+            Thread.sleep(Long.MAX_VALUE);
+            return;
+        }
+        String url = System.getProperty("carga.url");
+        ServidorApi servidor = null;
+        if (url == null) {
+            servidor = crearServidor(0);
+            url = "http://localhost:" + servidor.getPuerto();
+        }
+        URI destino = URI.create(url);
+        try {
+            ejecutar(new InetSocketAddress(destino.getHost(), destino.getPort()));
+        } finally {
+            if (servidor != null) {
+                System.out.println("servidor: " + servidor.resumen());
+                servidor.close();
+            }
+        }
+    }
+
+    /**
+     * Abre las conexiones, espera a que todas inicien sesión y se calienten, mide las
+     * peticiones y muestra el resultado.
+     */
+    private static void ejecutar(InetSocketAddress destino) throws InterruptedException {
+        long[][] latencias = new long[CONEXIONES][];
+        Contadores contadores = new Contadores();
+        Semaphore aperturas = new Semaphore(APERTURAS_SIMULTANEAS);
+        CountDownLatch listas = new CountDownLatch(CONEXIONES);
+        CountDownLatch inicio = new CountDownLatch(1);
+        CountDownLatch terminadas = new CountDownLatch(CONEXIONES);
+        long[] nanosInicio = new long[1];
+
+        System.out.println("Abriendo " + CONEXIONES + " conexiones a " + destino + "...");
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONEXIONES; i++) {
+                int numero = i;
+                hilos.submit(() -> {
+                    latencias[numero] = new long[0];
+                    try (Conexion conexion = preparar(numero, destino, contadores, aperturas, listas)) {
+                        inicio.await();
+                        latencias[numero] = medir(conexion, numero, contadores);
+                    } catch (Exception e) {
+                        contadores.fallidas.increment();
+                    } finally {
+                        terminadas.countDown();
+                    }
+                    return null;
+                });
+            }
+            listas.await();
+            System.out.println("Conexiones listas; midiendo " + PETICIONES + " peticiones por conexión...");
+            nanosInicio[0] = System.nanoTime();
+            inicio.countDown();
+            terminadas.await();
+        }
+        long nanos = System.nanoTime() - nanosInicio[0];
+        informar(latencias, contadores, nanos);
+    }
+
+    /**
+     * Prepara una conexión: abre el socket, inicia sesión y envía las peticiones de
+     * calentamiento. Avisa a `listas` al terminar, haya podido o no.
+     *
+     * @return La conexión lista para medir.
+     */
+    private static Conexion preparar(int numero, InetSocketAddress destino, Contadores contadores,
+                                     Semaphore aperturas, CountDownLatch listas) throws Exception {
+        Conexion conexion = null;
+        boolean abriendo = true;
+        aperturas.acquire();
+        try {
+            conexion = new Conexion(destino, contadores);
+            String cuerpo = "{\"cedula\":\"" + Datos.usuario(numero % USUARIOS).getCedula()
+                    + "\",\"contrasena\":\"clave" + numero % USUARIOS + "\"}";
+            int estado = conexion.enviar("POST", "/api/sesiones", null, cuerpo);
+            while (estado == 429) {
+                // El limitador del servidor pide esperar antes de reintentar
+                Thread.sleep(1_000);
+                estado = conexion.enviar("POST", "/api/sesiones", null, cuerpo);
+            }
+            if (estado != 201) {
+                throw new IOException("No se pudo iniciar sesión: " + estado + " " + conexion.respuesta());
+            }
+            String respuesta = conexion.respuesta();
+            int desde = respuesta.indexOf("\"token\":\"") + 9;
+            conexion.token = respuesta.substring(desde, respuesta.indexOf('"', desde));
+            aperturas.release();
+            abriendo = false;
+            int semilla = numero * (PETICIONES + CALENTAMIENTO);
+            for (int i = 0; i < CALENTAMIENTO; i++) {
+                peticion(conexion, semilla + PETICIONES + i);
+            }
+            return conexion;
+        } catch (Exception e) {
+            if (conexion != null) {
+                conexion.close();
+            }
+            throw e;
+        } finally {
+            if (abriendo) {
+                aperturas.release();
+            }
+            listas.countDown();
+        }
+    }
+
+    /**
+     * Envía las peticiones medidas de una conexión.
+     *
+     * @return Las latencias, en nanosegundos.
+     */
+    private static long[] medir(Conexion conexion, int numero, Contadores contadores) throws IOException {
+        int semilla = numero * (PETICIONES + CALENTAMIENTO);
+        long[] latencias = new long[PETICIONES];
+        for (int i = 0; i < PETICIONES; i++) {
+            long antes = System.nanoTime();
+            int estado = peticion(conexion, semilla + i);
+            latencias[i] = System.nanoTime() - antes;
+            contadores.registrar(estado);
+        }
+        return latencias;
+    }
+
+    /**
+     * Envía una petición elegida según la mezcla de operaciones.
+     *
+     * @return El código de estado de la respuesta.
+     */
+    private static int peticion(Conexion conexion, int semilla) throws IOException {
+        int operacion = Datos.aleatorio(semilla, 100);
+        int producto = Datos.codigoProducto(Datos.aleatorio(~semilla, PRODUCTOS));
+        if (operacion < 60) {
+            return conexion.enviar("GET", "/api/productos/" + producto, null, null);
+        } else if (operacion < 70) {
+            return conexion.enviar("GET", "/api/productos?cantidad=20&nombre=" + producto, null, null);
+        } else if (operacion < 85) {
+            return conexion.enviar("POST", "/api/carrito/items", conexion.token,
+                    "{\"codigo\":" + producto + ",\"cantidad\":1}");
+        } else if (operacion < 92) {
+            return conexion.enviar("GET", "/api/carrito", conexion.token, null);
+        } else if (operacion < 96) {
+            return conexion.enviar("POST", "/api/carrito", conexion.token, null);
+        } else {
+            return conexion.enviar("GET", "/api/carritos?cantidad=5", conexion.token, null);
+        }
+    }
+
+    /**
+     * Ordena las latencias de todas las conexiones y muestra los percentiles.
+     */
+    private static void informar(long[][] latencias, Contadores contadores, long nanos) {
+        int total = 0;
+        for (long[] deConexion : latencias) {
+            total += deConexion.length;
+        }
+        long[] todas = new long[total];
+        int posicion = 0;
+        for (long[] deConexion : latencias) {
+            System.arraycopy(deConexion, 0, todas, posicion, deConexion.length);
+            posicion += deConexion.length;
+        }
+        Arrays.sort(todas);
+        System.out.printf("conexiones=%d peticiones=%d duración=%.2f s rendimiento=%.0f pet/s%n",
+                CONEXIONES, total, nanos / 1e9, total / (nanos / 1e9));
+        System.out.printf("latencia (ms): p50=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 0.999), percentil(todas, 1.0));
+        System.out.println("respuestas: 2xx=" + contadores.exitosas + " 4xx=" + contadores.rechazadas
+                + " 5xx/errores=" + contadores.fallidas + " reconexiones=" + contadores.reconexiones);
+    }
+
+    /**
+     * Devuelve un percentil de latencias ordenadas, en milisegundos.
+     */
+    private static double percentil(long[] ordenadas, double fraccion) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(fraccion * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    /**
+     * Crea un servidor de prueba en memoria con los usuarios y productos de {@link Datos}.
+     * Los usuarios tienen el cuestionario completo y el hash de contraseñas es de una sola
+     * iteración, como en {@link UsuarioDAOConcurrenciaBenchmark}, para medir la API y no el
+     * hash. El limitador admite la mayor ráfaga posible de inicios de sesión desde un mismo
+     * origen y recupera un intento por milisegundo; las conexiones que aun así se frenan
+     * reintentan.
+     */
+    private static ServidorApi crearServidor(int puerto) throws IOException {
+        UsuarioDAOConcurrente usuarioDAO = new UsuarioDAOConcurrente(new HashContrasenas(1, 600_000));
+        CuestionarioDAOMemoria cuestionarioDAO = new CuestionarioDAOMemoria();
+        ProductoDAOMemoriaIndexada productoDAO = new ProductoDAOMemoriaIndexada();
+        for (int i = 0; i < USUARIOS; i++) {
+            Usuario usuario = Datos.usuario(i);
+            usuarioDAO.crear(usuario);
+            Cuestionario cuestionario = new Cuestionario(usuario.getCedula());
+            for (int pregunta = 1; pregunta <= CuestionarioServicio.MINIMO_RESPUESTAS; pregunta++) {
+                cuestionario.agregarRespuesta(new Respuesta(pregunta, "pregunta " + pregunta, "respuesta"));
+            }
+            cuestionarioDAO.guardar(cuestionario);
+        }
+        for (int i = 0; i < PRODUCTOS; i++) {
+            productoDAO.crear(new Producto(Datos.codigoProducto(i), Datos.nombreProducto(i), Datos.precio(i)));
+        }
+        LimitadorLogin limitador = new LimitadorLogin(new LimitadorIntentos(RAFAGA_LOGIN, 1, USUARIOS * 2),
+                new LimitadorIntentos(RAFAGA_LOGIN, 1, 1_024));
+        CuestionarioServicio cuestionarioServicio = new CuestionarioServicio(cuestionarioDAO, usuarioDAO);
+        ServidorApi servidor = new ServidorApi(new InetSocketAddress(puerto),
+                new UsuarioServicio(usuarioDAO, cuestionarioServicio, limitador, new GestorSesiones()),
+                new CatalogoServicio(productoDAO), new CarritoServicio(productoDAO, new CarritoDAOMemoria()));
+        servidor.iniciar();
+        return servidor;
+    }
+
+    /**
+     * Respuestas contadas por tipo, compartidas por todas las conexiones.
+     */
+    private static final class Contadores {
+        private final LongAdder exitosas = new LongAdder();
+        private final LongAdder rechazadas = new LongAdder();
+        private final LongAdder fallidas = new LongAdder();
+        private final LongAdder reconexiones = new LongAdder();
+
+        private void registrar(int estado) {
+            if (estado < 400) {
+                exitosas.increment();
+            } else if (estado < 500) {
+                rechazadas.increment();
+            } else {
+                fallidas.increment();
+            }
+        }
+    }
+
+    /**
+     * Conexión HTTP/1.1 persistente y mínima, sobre un socket bloqueante. Solo entiende
+     * respuestas con `Content-Length`, que es como responde {@link ServidorApi}. Si el
+     * servidor cerró la conexión inactiva, se vuelve a abrir y se reintenta una vez.
+     */
+    private static final class Conexion implements AutoCloseable {
+        private final InetSocketAddress destino;
+        private final Contadores contadores;
+        private final String host;
+        private final byte[] cuerpo = new byte[64 * 1024];
+        private int longitudCuerpo;
+        private Socket socket;
+        private InputStream entrada;
+        private OutputStream salida;
+        private String token;
+
+        private Conexion(InetSocketAddress destino, Contadores contadores) throws IOException {
+            this.destino = destino;
+            this.contadores = contadores;
+            this.host = destino.getHostString() + ":" + destino.getPort();
+            abrir();
+        }
+
+        private void abrir() throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(destino, 30_000);
+            entrada = new BufferedInputStream(socket.getInputStream(), 8 * 1024);
+            salida = new BufferedOutputStream(socket.getOutputStream(), 4 * 1024);
+        }
+
+        /**
+         * Envía una petición y lee su respuesta completa.
+         *
+         * @return El código de estado.
+         */
+        private int enviar(String metodo, String ruta, String token, String cuerpoPeticion) throws IOException {
+            byte[] peticion = armar(metodo, ruta, token, cuerpoPeticion);
+            try {
+                return intercambiar(peticion);
+            } catch (EOFException | SocketException e) {
+                contadores.reconexiones.increment();
+                socket.close();
+                abrir();
+                return intercambiar(peticion);
+            }
+        }
+
+        /**
+         * Obtiene el cuerpo de la última respuesta.
+         */
+        private String respuesta() {
+            return new String(cuerpo, 0, longitudCuerpo, StandardCharsets.UTF_8);
+        }
+
+        private byte[] armar(String metodo, String ruta, String token, String cuerpoPeticion) {
+            byte[] bytesCuerpo = cuerpoPeticion == null ? new byte[0] : cuerpoPeticion.getBytes(StandardCharsets.UTF_8);
+            StringBuilder sb = new StringBuilder(160);
+            sb.append(metodo).append(' ').append(ruta).append(" HTTP/1.1\r\nHost: ").append(host).append("\r\n");
+            if (token != null) {
+                sb.append("Authorization: Bearer ").append(token).append("\r\n");
+            }
+            if (bytesCuerpo.length > 0 || !metodo.equals("GET")) {
+                sb.append("Content-Type: application/json\r\nContent-Length: ").append(bytesCuerpo.length).append("\r\n");
+            }
+            sb.append("\r\n");
+            byte[] cabecera = sb.toString().getBytes(StandardCharsets.US_ASCII);
+            byte[] peticion = Arrays.copyOf(cabecera, cabecera.length + bytesCuerpo.length);
+            System.arraycopy(bytesCuerpo, 0, peticion, cabecera.length, bytesCuerpo.length);
+            return peticion;
+        }
+
+        private int intercambiar(byte[] peticion) throws IOException {
+            salida.write(peticion);
+            salida.flush();
+            String lineaEstado = linea();
+            int estado = Integer.parseInt(lineaEstado.substring(9, 12));
+            int longitud = 0;
+            for (String cabecera = linea(); !cabecera.isEmpty(); cabecera = linea()) {
+                if (cabecera.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    longitud = Integer.parseInt(cabecera.substring(15).trim());
+                }
+            }
+            if (longitud > cuerpo.length) {
+                throw new IOException("Respuesta demasiado grande: " + longitud);
+            }
+            longitudCuerpo = entrada.readNBytes(cuerpo, 0, longitud);
+            if (longitudCuerpo < longitud) {
+                throw new EOFException();
+            }
+            return estado;
+        }
+
+        private String linea() throws IOException {
+            StringBuilder sb = new StringBuilder(64);
+            while (true) {
+                int b = entrada.read();
+                if (b < 0) {
+                    throw new EOFException();
+                }
+                if (b == '\n') {
+                    int fin = sb.length();
+                    if (fin > 0 && sb.charAt(fin - 1) == '\r') {
+                        sb.setLength(fin - 1);
+                    }
+                    return sb.toString();
+                }
+                sb.append((char) b);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.ItemCarrito;
+import ec.edu.ups.modelo.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las operaciones de **Carrito** según la cantidad de productos distintos
+ * que contiene. Incluye la comparación entre sumar los totales con double recorriendo
+ * los items (como se hacía antes) y el subtotal en centavos que el carrito mantiene al día.
+ * Las dos variantes que recorren los items usan el mismo arreglo, tomado una sola vez
+ * al preparar el carrito, para que solo se compare la aritmética y no la copia de la
+ * lista que hace {@link Carrito#obtenerItems()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CarritoBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int lineas;
+
+    private Carrito carrito;
+    private Producto[] productos;
+    private ItemCarrito[] items;
+    private Producto productoNuevo;
+    private int siguiente;
+
+    /**
+     * Crea un carrito con la cantidad de productos distintos indicada.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        carrito = new Carrito();
+        productos = new Producto[lineas];
+        for (int i = 0; i < lineas; i++) {
+            productos[i] = new Producto(Datos.codigoProducto(i), Datos.nombreProducto(i), Datos.precio(i));
+            carrito.agregarProducto(productos[i], 1);
+        }
+        items = carrito.obtenerItems().toArray(new ItemCarrito[0]);
+        productoNuevo = new Producto(Datos.codigoProducto(lineas), Datos.nombreProducto(lineas), Datos.precio(lineas));
+    }
+
+    /**
+     * Agrega unidades de un producto que ya está en el carrito.
+     */
+    @Benchmark
+    public Carrito agregarProductoExistente() {
+        carrito.agregarProducto(productos[siguiente++ % lineas], 1);
+        return carrito;
+    }
+
+    /**
+     * Agrega un producto nuevo y lo vuelve a eliminar, para que el tamaño del carrito no cambie.
+     */
+    @Benchmark
+    public Carrito agregarYEliminarProducto() {
+        carrito.agregarProducto(productoNuevo, 1);
+        carrito.eliminarProducto(productoNuevo.getCodigo());
+        return carrito;
+    }
+
+    @Benchmark
+    public double calcularTotal() {
+        return carrito.calcularTotal();
+    }
+
+    /**
+     * Total calculado como antes: recorriendo los items y sumando en double.
+     */
+    @Benchmark
+    public double calcularTotalRecorriendoConDouble() {
+        double subtotal = 0;
+        for (ItemCarrito item : items) {
+            subtotal += item.getPrecioUnitario() * item.getCantidad();
+        }
+        return subtotal + subtotal * 12 / 100;
+    }
+
+    /**
+     * Total calculado recorriendo los items pero sumando en centavos.
+     */
+    @Benchmark
+    public long calcularTotalRecorriendoEnCentavos() {
+        long subtotal = 0;
+        for (ItemCarrito item : items) {
+            subtotal += item.calcularSubtotalCentavos();
+        }
+        return subtotal + (subtotal * 12 + 50) / 100;
+    }
+}
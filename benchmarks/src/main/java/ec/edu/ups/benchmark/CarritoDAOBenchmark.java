@@ -0,0 +1,191 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.dao.CarritoDAO;
+import ec.edu.ups.dao.impl.CarritoDAOArchivo;
+import ec.edu.ups.dao.impl.CarritoDAOMemoria;
+import ec.edu.ups.dao.impl.UsuarioDAOMemoria;
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.modelo.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las consultas y actualizaciones de **CarritoDAO** para cada implementación
+ * y cantidad de carritos. Cada usuario tiene en promedio diez carritos de tres productos.
+ * `crear` y `actualizar` se miden en operaciones por segundo: en la implementación en
+ * archivo cada una es un registro confirmado en el log con group commit cada 10 ms. Los
+ * carritos creados en una iteración se eliminan al terminarla, así la cantidad de
+ * carritos no crece de una iteración a otra.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CarritoDAOBenchmark {
+
+    private static final int CARRITOS_POR_USUARIO = 10;
+    private static final int PRODUCTOS = 100;
+
+    @Param({"memoria", "archivo"})
+    public String implementacion;
+
+    @Param({"1000", "100000"})
+    public int tamano;
+
+    private CarritoDAO carritoDAO;
+    private Path directorio;
+    private Usuario[] usuarios;
+    private Producto[] productos;
+    private int[] consultasUsuario;
+    private int[] consultasCarrito;
+    private Carrito[] carritosLeidos;
+    private int[] creados = new int[1024];
+    private int cantidadCreados;
+    private int siguiente;
+
+    /**
+     * Crea el DAO y lo llena con la cantidad de carritos indicada.
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        carritoDAO = switch (implementacion) {
+            case "memoria" -> new CarritoDAOMemoria();
+            case "archivo" -> {
+                directorio = Files.createTempDirectory("carritos-benchmark");
+                yield new CarritoDAOArchivo(directorio, new UsuarioDAOMemoria(), 10);
+            }
+            default -> throw new IllegalArgumentException(implementacion);
+        };
+        usuarios = new Usuario[Math.max(1, tamano / CARRITOS_POR_USUARIO)];
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = Datos.usuario(i);
+        }
+        productos = new Producto[PRODUCTOS];
+        for (int i = 0; i < PRODUCTOS; i++) {
+            productos[i] = new Producto(Datos.codigoProducto(i), Datos.nombreProducto(i), Datos.precio(i));
+        }
+        int[] codigosCarrito = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            Carrito carrito = new Carrito();
+            carrito.setUsuario(usuarios[Datos.aleatorio(i, usuarios.length)]);
+            carrito.setFechaCreacion(new GregorianCalendar());
+            for (int j = 0; j < 3; j++) {
+                carrito.agregarProducto(productos[(i + j * 31) % PRODUCTOS], 1 + j);
+            }
+            carritoDAO.crear(carrito);
+            codigosCarrito[i] = carrito.getCodigo();
+        }
+        consultasUsuario = new int[Datos.CONSULTAS];
+        consultasCarrito = new int[Datos.CONSULTAS];
+        for (int i = 0; i < Datos.CONSULTAS; i++) {
+            consultasUsuario[i] = Datos.aleatorio(i, usuarios.length);
+            consultasCarrito[i] = codigosCarrito[Datos.aleatorio(i, tamano)];
+        }
+        carritosLeidos = new Carrito[Datos.CONSULTAS];
+        for (int i = 0; i < Datos.CONSULTAS; i++) {
+            carritosLeidos[i] = carritoDAO.buscarPorCodigo(consultasCarrito[i]);
+        }
+    }
+
+    /**
+     * Elimina los carritos creados durante la iteración.
+     */
+    @TearDown(Level.Iteration)
+    public void eliminarCreados() {
+        for (int i = 0; i < cantidadCreados; i++) {
+            carritoDAO.eliminar(creados[i]);
+        }
+        cantidadCreados = 0;
+    }
+
+    /**
+     * Cierra el almacenamiento en archivo y borra sus archivos.
+     */
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        if (carritoDAO instanceof CarritoDAOArchivo archivo) {
+            archivo.close();
+            Datos.borrar(directorio);
+        }
+    }
+
+    @Benchmark
+    public List<Carrito> buscarPorUsuario() {
+        return carritoDAO.buscarPorUsuario(usuarios[consultasUsuario[siguiente++ & Datos.MASCARA_CONSULTAS]]);
+    }
+
+    @Benchmark
+    public List<Carrito> listarTodos() {
+        return carritoDAO.listarTodos();
+    }
+
+    /**
+     * Crea un carrito de tres productos.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Carrito crear() {
+        int consulta = siguiente++;
+        Carrito carrito = new Carrito();
+        carrito.setUsuario(usuarios[consultasUsuario[consulta & Datos.MASCARA_CONSULTAS]]);
+        carrito.setFechaCreacion(new GregorianCalendar());
+        for (int j = 0; j < 3; j++) {
+            carrito.agregarProducto(productos[(consulta + j * 31) % PRODUCTOS], 1 + j);
+        }
+        carritoDAO.crear(carrito);
+        if (cantidadCreados == creados.length) {
+            creados = Arrays.copyOf(creados, cantidadCreados << 1);
+        }
+        creados[cantidadCreados++] = carrito.getCodigo();
+        return carrito;
+    }
+
+    /**
+     * Guarda un carrito ya leído con la cantidad de uno de sus productos cambiada.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Carrito actualizar() {
+        int consulta = siguiente++;
+        Carrito carrito = carritosLeidos[consulta & Datos.MASCARA_CONSULTAS];
+        carrito.agregarProducto(productos[consulta % PRODUCTOS], 1);
+        carritoDAO.actualizar(carrito);
+        return carrito;
+    }
+
+    /**
+     * Lee un carrito, cambia la cantidad de uno de sus productos y lo guarda.
+     */
+    @Benchmark
+    public Carrito leerModificarGuardar() {
+        int consulta = siguiente++;
+        Carrito carrito = carritoDAO.buscarPorCodigo(consultasCarrito[consulta & Datos.MASCARA_CONSULTAS]);
+        carrito.agregarProducto(productos[consulta % PRODUCTOS], 1);
+        carritoDAO.actualizar(carrito);
+        return carrito;
+    }
+}
@@ -0,0 +1,75 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.dao.impl.UsuarioDAOConcurrente;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.util.HashContrasenas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de inicios de sesión por segundo en **UsuarioDAOConcurrente** según el costo
+ * del hash de contraseñas (`iteraciones`) y la vigencia de la caché de verificaciones
+ * (`vigencia`, en milisegundos; 0 la desactiva). Con la caché, los inicios de sesión
+ * repetidos de los mismos usuarios no vuelven a calcular el hash.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class ContrasenaBenchmark {
+
+    private static final int USUARIOS = 64;
+
+    @Param({"10000", "100000", "210000", "600000"})
+    public int iteraciones;
+
+    @Param({"0", "60000"})
+    public long vigencia;
+
+    private UsuarioDAO usuarioDAO;
+    private Usuario[] consultas;
+    private int siguiente;
+
+    /**
+     * Crea el DAO con el costo y la caché indicados y lo llena con unos pocos usuarios,
+     * porque cada alta calcula un hash.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        usuarioDAO = new UsuarioDAOConcurrente(new HashContrasenas(iteraciones, vigencia));
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarioDAO.crear(Datos.usuario(i));
+        }
+        consultas = new Usuario[Datos.CONSULTAS];
+        for (int i = 0; i < Datos.CONSULTAS; i++) {
+            consultas[i] = Datos.usuario(Datos.aleatorio(i, USUARIOS));
+        }
+    }
+
+    @Benchmark
+    public Usuario autenticarCorrecto() {
+        Usuario usuario = consultas[siguiente++ & Datos.MASCARA_CONSULTAS];
+        return usuarioDAO.autenticar(usuario.getCedula(), usuario.getContrasena());
+    }
+
+    @Benchmark
+    public Usuario autenticarContrasenaIncorrecta() {
+        Usuario usuario = consultas[siguiente++ & Datos.MASCARA_CONSULTAS];
+        return usuarioDAO.autenticar(usuario.getCedula(), "incorrecta");
+    }
+}
@@ -0,0 +1,82 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.modelo.Rol;
+import ec.edu.ups.modelo.Usuario;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.stream.Stream;
+
+/**
+ * Datos de prueba deterministas compartidos por los benchmarks, para que todas
+ * las implementaciones se midan con exactamente los mismos datos.
+ */
+final class Datos {
+
+    /**
+     * Cantidad de consultas precalculadas por benchmark (potencia de dos).
+     */
+    static final int CONSULTAS = 1024;
+    static final int MASCARA_CONSULTAS = CONSULTAS - 1;
+
+    private static final String[] PALABRAS = {
+            "arroz", "azúcar", "café", "leche", "pan", "queso", "jabón", "aceite", "atún", "té"
+    };
+
+    private Datos() {
+    }
+
+    /**
+     * Código del i-ésimo producto. Empieza en 1000 para no chocar con los productos
+     * de ejemplo que precargan los DAOs en memoria.
+     */
+    static int codigoProducto(int i) {
+        return 1000 + i;
+    }
+
+    /**
+     * Nombre único del i-ésimo producto.
+     */
+    static String nombreProducto(int i) {
+        return "Producto " + PALABRAS[i % PALABRAS.length] + " " + i;
+    }
+
+    /**
+     * Precio del i-ésimo producto, con centavos.
+     */
+    static double precio(int i) {
+        return 1 + (i % 10_000) / 100.0;
+    }
+
+    /**
+     * Usuario número i, con cédula y contraseña derivadas del número.
+     */
+    static Usuario usuario(int i) {
+        String cedula = String.format("%010d", i);
+        return new Usuario(cedula, "clave" + i, Rol.USUARIO, "Usuario " + i, "0999999999",
+                new GregorianCalendar(2000, 0, 1), "usuario" + i + "@correo.com");
+    }
+
+    /**
+     * Posición pseudoaleatoria pero reproducible en el rango [0, limite).
+     */
+    static int aleatorio(int semilla, int limite) {
+        long h = (semilla + 1) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 31;
+        return (int) Long.remainderUnsigned(h, limite);
+    }
+
+    /**
+     * Borra un directorio temporal con todo su contenido.
+     */
+    static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : rutas.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(ruta);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.util.Formateador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de **Formateador.formatearMoneda** (con y sin StringBuilder) por idioma y cantidad de montos distintos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormateadorBenchmark {
+
+    @Param({"es_EC", "en_US", "fr_FR"})
+    public String idioma;
+
+    @Param({"1", "1024"})
+    public int montos;
+
+    private Locale locale;
+    private double[] valores;
+    private StringBuilder destino;
+    private int siguiente;
+
+    /**
+     * Prepara el Locale y los montos a formatear.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        String[] partes = idioma.split("_");
+        locale = new Locale(partes[0], partes[1]);
+        valores = new double[montos];
+        for (int i = 0; i < montos; i++) {
+            valores[i] = Datos.precio(Datos.aleatorio(i, 1_000_000)) * (1 + i % 50);
+        }
+        destino = new StringBuilder();
+    }
+
+    @Benchmark
+    public String formatearMoneda() {
+        return Formateador.formatearMoneda(valores[siguiente++ % montos], locale);
+    }
+
+    @Benchmark
+    public StringBuilder formatearMonedaEnStringBuilder() {
+        destino.setLength(0);
+        return Formateador.formatearMoneda(valores[siguiente++ % montos], locale, destino);
+    }
+}
@@ -0,0 +1,66 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de **MensajeInternacionalizacionHandler.get** por idioma y cantidad de claves
+ * distintas consultadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MensajeInternacionalizacionBenchmark {
+
+    @Param({"es_EC", "en_US", "fr_FR"})
+    public String idioma;
+
+    @Param({"1", "32", "256"})
+    public int claves;
+
+    private MensajeInternacionalizacionHandler mi;
+    private String[] consultas;
+    private int siguiente;
+
+    /**
+     * Crea el manejador de mensajes y elige las claves a consultar.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        String[] partes = idioma.split("_");
+        mi = new MensajeInternacionalizacionHandler(partes[0], partes[1]);
+        List<String> disponibles = Collections.list(
+                ResourceBundle.getBundle("mensajes", new Locale(partes[0], partes[1])).getKeys());
+        Collections.sort(disponibles);
+        consultas = new String[Math.min(claves, disponibles.size())];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = disponibles.get(Datos.aleatorio(i, disponibles.size()));
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return mi.get(consultas[siguiente++ % consultas.length]);
+    }
+}
@@ -0,0 +1,129 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.dao.ProductoDAO;
+import ec.edu.ups.dao.impl.ProductoDAOMapeado;
+import ec.edu.ups.dao.impl.ProductoDAOMemoria;
+import ec.edu.ups.dao.impl.ProductoDAOMemoriaIndexada;
+import ec.edu.ups.modelo.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las búsquedas de **ProductoDAO** para cada implementación y tamaño de catálogo.
+ * El catálogo se carga con los códigos en orden creciente o mezclados (`orden`); con los
+ * códigos mezclados cada alta cae en medio del orden de los códigos, igual que
+ * {@link #eliminarCrear()}, que quita y vuelve a crear un producto cualquiera.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductoDAOBenchmark {
+
+    @Param({"memoria", "indexada", "mapeado"})
+    public String implementacion;
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamano;
+
+    @Param({"creciente", "aleatorio"})
+    public String orden;
+
+    private ProductoDAO productoDAO;
+    private Path directorio;
+    private int[] codigos;
+    private String[] nombres;
+    private Producto[] existentes;
+    private int siguiente;
+
+    /**
+     * Crea el DAO y lo llena con la cantidad de productos indicada.
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        productoDAO = switch (implementacion) {
+            case "memoria" -> new ProductoDAOMemoria();
+            case "indexada" -> new ProductoDAOMemoriaIndexada();
+            case "mapeado" -> {
+                directorio = Files.createTempDirectory("catalogo-benchmark");
+                yield new ProductoDAOMapeado(directorio);
+            }
+            default -> throw new IllegalArgumentException(implementacion);
+        };
+        int[] posiciones = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            posiciones[i] = i;
+        }
+        if (orden.equals("aleatorio")) {
+            for (int i = tamano - 1; i > 0; i--) {
+                int j = Datos.aleatorio(i, i + 1);
+                int temporal = posiciones[i];
+                posiciones[i] = posiciones[j];
+                posiciones[j] = temporal;
+            }
+        }
+        for (int posicion : posiciones) {
+            productoDAO.crear(new Producto(Datos.codigoProducto(posicion), Datos.nombreProducto(posicion), Datos.precio(posicion)));
+        }
+        codigos = new int[Datos.CONSULTAS];
+        nombres = new String[Datos.CONSULTAS];
+        existentes = new Producto[Datos.CONSULTAS];
+        for (int i = 0; i < Datos.CONSULTAS; i++) {
+            int posicion = Datos.aleatorio(i, tamano);
+            codigos[i] = Datos.codigoProducto(posicion);
+            nombres[i] = Datos.nombreProducto(posicion);
+            existentes[i] = new Producto(codigos[i], nombres[i], Datos.precio(posicion));
+        }
+    }
+
+    /**
+     * Cierra el catálogo proyectado en memoria y borra sus archivos.
+     */
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        if (productoDAO instanceof ProductoDAOMapeado mapeado) {
+            mapeado.close();
+            Datos.borrar(directorio);
+        }
+    }
+
+    @Benchmark
+    public Producto buscarPorCodigo() {
+        return productoDAO.buscarPorCodigo(codigos[siguiente++ & Datos.MASCARA_CONSULTAS]);
+    }
+
+    @Benchmark
+    public List<Producto> buscarPorNombre() {
+        return productoDAO.buscarPorNombre(nombres[siguiente++ & Datos.MASCARA_CONSULTAS]);
+    }
+
+    /**
+     * Elimina un producto cualquiera y lo vuelve a crear, así el catálogo no cambia de tamaño.
+     */
+    @Benchmark
+    public Producto eliminarCrear() {
+        Producto producto = existentes[siguiente++ & Datos.MASCARA_CONSULTAS];
+        productoDAO.eliminar(producto.getCodigo());
+        productoDAO.crear(producto);
+        return producto;
+    }
+}
@@ -0,0 +1,78 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.dao.impl.UsuarioDAOConcurrente;
+import ec.edu.ups.dao.impl.UsuarioDAOMemoria;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.util.HashContrasenas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la autenticación de **UsuarioDAO** para cada implementación y cantidad de usuarios.
+ * La implementación concurrente usa un hash de una sola iteración y una caché de
+ * verificaciones que dura toda la medición, así los inicios de sesión correctos miden sus
+ * índices y no el hash; el costo del hash se mide en {@link ContrasenaBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UsuarioDAOBenchmark {
+
+    @Param({"memoria", "concurrente"})
+    public String implementacion;
+
+    @Param({"10", "1000", "100000"})
+    public int tamano;
+
+    private UsuarioDAO usuarioDAO;
+    private Usuario[] consultas;
+    private int siguiente;
+
+    /**
+     * Crea el DAO y lo llena con la cantidad de usuarios indicada.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        usuarioDAO = switch (implementacion) {
+            case "memoria" -> new UsuarioDAOMemoria();
+            case "concurrente" -> new UsuarioDAOConcurrente(new HashContrasenas(1, 600_000));
+            default -> throw new IllegalArgumentException(implementacion);
+        };
+        for (int i = 0; i < tamano; i++) {
+            usuarioDAO.crear(Datos.usuario(i));
+        }
+        consultas = new Usuario[Datos.CONSULTAS];
+        for (int i = 0; i < Datos.CONSULTAS; i++) {
+            consultas[i] = Datos.usuario(Datos.aleatorio(i, tamano));
+        }
+    }
+
+    @Benchmark
+    public Usuario autenticarCorrecto() {
+        Usuario usuario = consultas[siguiente++ & Datos.MASCARA_CONSULTAS];
+        return usuarioDAO.autenticar(usuario.getCedula(), usuario.getContrasena());
+    }
+
+    @Benchmark
+    public Usuario autenticarContrasenaIncorrecta() {
+        Usuario usuario = consultas[siguiente++ & Datos.MASCARA_CONSULTAS];
+        return usuarioDAO.autenticar(usuario.getCedula(), "incorrecta");
+    }
+}
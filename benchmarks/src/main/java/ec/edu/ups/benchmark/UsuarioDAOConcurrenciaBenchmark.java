@@ -0,0 +1,110 @@
+package ec.edu.ups.benchmark;
+
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.dao.impl.UsuarioDAOConcurrente;
+import ec.edu.ups.dao.impl.UsuarioDAOMemoria;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.util.HashContrasenas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de inicios de sesión simultáneos en **UsuarioDAO**: mide cuántas
+ * autenticaciones por segundo completan todos los hilos juntos. Para ver cómo escala
+ * con los núcleos se ejecuta con distinta cantidad de hilos, por ejemplo
+ * `-t 1`, `-t 2`, `-t 4` y `-t max`. Una parte de los hilos puede, además, crear
+ * usuarios nuevos mientras los demás inician sesión.
+ * <p>
+ * La implementación concurrente usa un hash de una sola iteración y una caché de
+ * verificaciones que dura toda la medición, así los inicios de sesión correctos miden sus
+ * índices y no el hash; el costo del hash se mide en {@link ContrasenaBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UsuarioDAOConcurrenciaBenchmark {
+
+    @Param({"memoria", "concurrente"})
+    public String implementacion;
+
+    @Param({"100000"})
+    public int tamano;
+
+    private UsuarioDAO usuarioDAO;
+    private Usuario[] consultas;
+
+    /**
+     * Crea el DAO, compartido por todos los hilos, y lo llena con la cantidad de usuarios indicada.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        usuarioDAO = switch (implementacion) {
+            case "memoria" -> new UsuarioDAOMemoria();
+            case "concurrente" -> new UsuarioDAOConcurrente(new HashContrasenas(1, 600_000));
+            default -> throw new IllegalArgumentException(implementacion);
+        };
+        for (int i = 0; i < tamano; i++) {
+            usuarioDAO.crear(Datos.usuario(i));
+        }
+        consultas = new Usuario[Datos.CONSULTAS];
+        for (int i = 0; i < Datos.CONSULTAS; i++) {
+            consultas[i] = Datos.usuario(Datos.aleatorio(i, tamano));
+        }
+    }
+
+    /**
+     * Estado propio de cada hilo, para que los hilos no compartan el cursor de consultas.
+     */
+    @State(Scope.Thread)
+    public static class Hilo {
+        int siguiente;
+        int nuevo;
+
+        /**
+         * Hace que cada hilo empiece en una consulta distinta y cree cédulas que no
+         * chocan con las de los demás hilos.
+         */
+        @Setup(Level.Trial)
+        public void preparar(ThreadParams hilo) {
+            siguiente = hilo.getThreadIndex() * 97;
+            nuevo = hilo.getThreadIndex();
+        }
+    }
+
+    @Benchmark
+    public Usuario autenticar(Hilo hilo) {
+        Usuario usuario = consultas[hilo.siguiente++ & Datos.MASCARA_CONSULTAS];
+        return usuarioDAO.autenticar(usuario.getCedula(), usuario.getContrasena());
+    }
+
+    /**
+     * Mezcla 1 alta de usuario cada 64 inicios de sesión. Los usuarios creados se
+     * acumulan durante la medición, igual que en un registro real.
+     */
+    @Benchmark
+    public Usuario autenticarConAltas(Hilo hilo, ThreadParams params) {
+        int i = hilo.siguiente++;
+        if ((i & 63) == 0) {
+            hilo.nuevo += params.getThreadCount();
+            usuarioDAO.crear(Datos.usuario(tamano + hilo.nuevo));
+        }
+        Usuario usuario = consultas[i & Datos.MASCARA_CONSULTAS];
+        return usuarioDAO.autenticar(usuario.getCedula(), usuario.getContrasena());
+    }
+}
@@ -1,5 +1,6 @@
 package ec.edu.ups;
 
+import ec.edu.ups.api.ServidorApi;
 import ec.edu.ups.controlador.CarritoController;
 import ec.edu.ups.controlador.ProductoController;
 import ec.edu.ups.controlador.UsuarioController;
@@ -7,13 +8,23 @@ import ec.edu.ups.dao.CarritoDAO;
 import ec.edu.ups.dao.CuestionarioDAO;
 import ec.edu.ups.dao.ProductoDAO;
 import ec.edu.ups.dao.UsuarioDAO;
-import ec.edu.ups.dao.impl.CarritoDAOMemoria;
+import ec.edu.ups.dao.impl.CarritoDAOArchivo;
 import ec.edu.ups.dao.impl.CuestionarioDAOMemoria;
-import ec.edu.ups.dao.impl.ProductoDAOMemoria;
-import ec.edu.ups.dao.impl.UsuarioDAOMemoria;
+import ec.edu.ups.dao.impl.ProductoDAOMemoriaIndexada;
+import ec.edu.ups.dao.impl.UsuarioDAOConcurrente;
 import ec.edu.ups.modelo.Rol;
+import ec.edu.ups.modelo.Sesion;
 import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.servicio.CarritoServicio;
+import ec.edu.ups.servicio.CatalogoServicio;
+import ec.edu.ups.servicio.CuestionarioServicio;
+import ec.edu.ups.servicio.UsuarioServicio;
+import ec.edu.ups.util.Diferido;
+import ec.edu.ups.util.GestorSesiones;
+import ec.edu.ups.util.LimitadorLogin;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+import ec.edu.ups.util.MonitorEDT;
+import ec.edu.ups.util.PrecargaRecursos;
 import ec.edu.ups.vista.*;
 import ec.edu.ups.vista.carrito.CarritoAnadirView;
 import ec.edu.ups.vista.carrito.CarritoEliminarView;
@@ -25,10 +36,16 @@ import ec.edu.ups.vista.producto.ProductoEliminarView;
 import ec.edu.ups.vista.producto.ProductoListaView;
 import ec.edu.ups.vista.usuario.*;
 
+import javax.swing.JInternalFrame;
+import javax.swing.SwingUtilities;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 
 /**
  * La clase **Main** es el punto de entrada principal de la aplicación.
@@ -36,6 +53,11 @@ import java.awt.event.WindowEvent;
  * las vistas y los controladores, y de establecer la interacción entre ellos.
  * Configura la vista de login y, tras una autenticación exitosa, despliega la
  * ventana del menú principal con las funcionalidades correspondientes al rol del usuario.
+ * Cada vista interna, y el controlador que la atiende, se crea la primera vez que se abre
+ * desde el menú. Los tiempos hasta mostrar el login y hasta tener el menú listo se
+ * registran con {@link MonitorEDT} como `inicio.login` e `inicio.menu`.
+ * Con `-Dapi.puerto=<puerto>` también atiende la API HTTP de {@link ServidorApi} sobre
+ * los mismos servicios, para clientes web y móviles.
  * También gestiona el cambio de idioma de la interfaz.
  */
 public class Main {
@@ -47,53 +69,123 @@ public class Main {
      * @param args Argumentos de la línea de comandos (no utilizados en esta aplicación).
      */
     public static void main(String[] args) {
+        long inicio = System.nanoTime();
+        // Vigila el EDT; el umbral de bloqueo se puede cambiar con -Dedt.umbral=<ms>
+        MonitorEDT.iniciar(Paths.get("datos", "latencias.log"), Long.getLong("edt.umbral", 250));
+        // Los íconos y los bundles se cargan en paralelo mientras se muestra el login
+        PrecargaRecursos.iniciar();
+        // Crear los usuarios de prueba calcula el hash de sus contraseñas; se hace fuera del EDT
+        UsuarioDAO usuarioDAO = new UsuarioDAOConcurrente();
+        LimitadorLogin limitadorLogin = new LimitadorLogin();
+        MonitorEDT.agregarMetricas("limitador login", limitadorLogin::resumen);
+        // Cada login exitoso abre una sesión con su propio carrito e idioma
+        GestorSesiones gestorSesiones = new GestorSesiones();
+        MonitorEDT.agregarMetricas("sesiones", gestorSesiones::resumen);
+        // Recuperar los carritos lee el punto de control y reproduce el registro; tampoco va en el EDT
+        CarritoDAO carritoDAO = abrirCarritos(usuarioDAO);
+
         java.awt.EventQueue.invokeLater(() -> {
             MensajeInternacionalizacionHandler mi = new MensajeInternacionalizacionHandler("es", "EC");
 
             // Inicialización de los DAOs (capa de datos)
-            ProductoDAO productoDAO = new ProductoDAOMemoria();
-            CarritoDAO carritoDAO = new CarritoDAOMemoria();
+            ProductoDAO productoDAO = new ProductoDAOMemoriaIndexada();
             CuestionarioDAO cuestionarioDAO = new CuestionarioDAOMemoria();
-            UsuarioDAO usuarioDAO = new UsuarioDAOMemoria();
+
+            // Servicios: las reglas de negocio, sin dependencias de Swing
+            CuestionarioServicio cuestionarioServicio = new CuestionarioServicio(cuestionarioDAO, usuarioDAO);
+            UsuarioServicio usuarioServicio = new UsuarioServicio(usuarioDAO, cuestionarioServicio, limitadorLogin, gestorSesiones);
+            CatalogoServicio catalogoServicio = new CatalogoServicio(productoDAO);
+            CarritoServicio carritoServicio = new CarritoServicio(productoDAO, carritoDAO);
+            Integer puertoApi = Integer.getInteger("api.puerto");
+            if (puertoApi != null) {
+                iniciarApi(puertoApi, usuarioServicio, catalogoServicio, carritoServicio);
+            }
 
             // Inicialización de la vista de Login y su controlador
             LoginView loginView = new LoginView(mi);
-            UsuarioController loginController = new UsuarioController(usuarioDAO, loginView, cuestionarioDAO, mi);
+            UsuarioController loginController = new UsuarioController(usuarioServicio, loginView, cuestionarioServicio, mi);
             loginView.setVisible(true);
+            MonitorEDT.registrar("inicio.login", System.nanoTime() - inicio);
 
             loginView.addWindowListener(new WindowAdapter() {
                 @Override
                 public void windowClosed(WindowEvent e) {
-                    Usuario usuarioAutenticado = loginController.getUsuarioAutenticado();
+                    Sesion sesion = usuarioServicio.resolverSesion(loginController.getTokenSesion());
 
-                    if (usuarioAutenticado != null) {
+                    if (sesion != null) {
+                        Usuario usuarioAutenticado = sesion.getUsuario();
+                        long inicioMenu = System.nanoTime();
                         MenuPrincipalView principalView = new MenuPrincipalView(mi, usuarioAutenticado.getNombre());
 
-                        // --- Inicialización de todas las vistas ---
-                        CarritoAnadirView carritoAnadirView = new CarritoAnadirView(mi);
-                        CarritoListaView carritoListaView = new CarritoListaView(mi);
-                        CarritoModificarView carritoModificarView = new CarritoModificarView(mi);
-                        CarritoEliminarView carritoEliminarView = new CarritoEliminarView(mi);
-
-                        ProductoAnadirView productoAnadirView = new ProductoAnadirView(mi);
-                        ProductoEditarView productoEditarView = new ProductoEditarView(mi);
-                        ProductoEliminarView productoEliminarView = new ProductoEliminarView(mi);
-                        ProductoListaView productoListaView = new ProductoListaView(mi);
-
-                        CrearUsuarioView usuarioCrearView = new CrearUsuarioView(mi);
-                        EliminarUsuarioView usuarioEliminarView = new EliminarUsuarioView(mi);
-                        ModificarUsuarioView usuarioModificarView = new ModificarUsuarioView(mi);
-                        ListarUsuarioView usuarioListarView = new ListarUsuarioView(mi);
+                        // --- Controladores: se crean al abrir la primera de sus vistas ---
+                        Diferido<ProductoController> productoController = new Diferido<>(() -> new ProductoController(catalogoServicio, mi));
+                        Diferido<CarritoController> carritoController = new Diferido<>(() -> new CarritoController(carritoServicio, sesion, mi));
+                        Diferido<UsuarioController> userManagementController = new Diferido<>(() -> new UsuarioController(usuarioServicio, mi));
 
-                        // --- Inicialización de los controladores para las vistas internas ---
-                        ProductoController productoController = new ProductoController(productoDAO, productoAnadirView,
-                                productoListaView, productoEditarView, productoEliminarView, carritoAnadirView, mi);
+                        // --- Vistas: cada una se crea y se registra en su controlador al abrirla ---
+                        Diferido<CarritoAnadirView> carritoAnadirView = new Diferido<>(() -> {
+                            CarritoAnadirView vista = new CarritoAnadirView(mi);
+                            carritoController.get().setCarritoAnadirView(vista);
+                            productoController.get().setCarritoAnadirView(vista);
+                            return vista;
+                        });
+                        Diferido<CarritoListaView> carritoListaView = new Diferido<>(() -> {
+                            CarritoListaView vista = new CarritoListaView(mi);
+                            carritoController.get().setCarritoListaView(vista);
+                            return vista;
+                        });
+                        Diferido<CarritoModificarView> carritoModificarView = new Diferido<>(() -> {
+                            CarritoModificarView vista = new CarritoModificarView(mi);
+                            carritoController.get().setCarritoModificarView(vista);
+                            return vista;
+                        });
+                        Diferido<CarritoEliminarView> carritoEliminarView = new Diferido<>(() -> {
+                            CarritoEliminarView vista = new CarritoEliminarView(mi);
+                            carritoController.get().setCarritoEliminarView(vista);
+                            return vista;
+                        });
 
-                        CarritoController carritoController = new CarritoController(carritoAnadirView, productoDAO, carritoDAO, usuarioAutenticado,
-                                carritoListaView, carritoModificarView, carritoEliminarView, mi);
+                        Diferido<ProductoAnadirView> productoAnadirView = new Diferido<>(() -> {
+                            ProductoAnadirView vista = new ProductoAnadirView(mi);
+                            productoController.get().setProductoAnadirView(vista);
+                            return vista;
+                        });
+                        Diferido<ProductoEditarView> productoEditarView = new Diferido<>(() -> {
+                            ProductoEditarView vista = new ProductoEditarView(mi);
+                            productoController.get().setProductoEditarView(vista);
+                            return vista;
+                        });
+                        Diferido<ProductoEliminarView> productoEliminarView = new Diferido<>(() -> {
+                            ProductoEliminarView vista = new ProductoEliminarView(mi);
+                            productoController.get().setProductoEliminarView(vista);
+                            return vista;
+                        });
+                        Diferido<ProductoListaView> productoListaView = new Diferido<>(() -> {
+                            ProductoListaView vista = new ProductoListaView(mi);
+                            productoController.get().setProductoListaView(vista);
+                            return vista;
+                        });
 
-                        UsuarioController userManagementController = new UsuarioController(usuarioDAO, usuarioCrearView, usuarioEliminarView, usuarioModificarView,
-                                usuarioListarView, mi);
+                        Diferido<CrearUsuarioView> usuarioCrearView = new Diferido<>(() -> {
+                            CrearUsuarioView vista = new CrearUsuarioView(mi);
+                            userManagementController.get().setUsuarioCrearView(vista);
+                            return vista;
+                        });
+                        Diferido<EliminarUsuarioView> usuarioEliminarView = new Diferido<>(() -> {
+                            EliminarUsuarioView vista = new EliminarUsuarioView(mi);
+                            userManagementController.get().setUsuarioEliminarView(vista);
+                            return vista;
+                        });
+                        Diferido<ModificarUsuarioView> usuarioModificarView = new Diferido<>(() -> {
+                            ModificarUsuarioView vista = new ModificarUsuarioView(mi);
+                            userManagementController.get().setUsuarioModificarView(vista);
+                            return vista;
+                        });
+                        Diferido<ListarUsuarioView> usuarioListarView = new Diferido<>(() -> {
+                            ListarUsuarioView vista = new ListarUsuarioView(mi);
+                            userManagementController.get().setUsuarioListarView(vista);
+                            return vista;
+                        });
 
                         principalView.mostrarMensaje(mi.get("principal.bienvenido") + " " + usuarioAutenticado.getNombre());
                         principalView.setTitle(mi.get("principal.titulo") + " - " + usuarioAutenticado.getNombre());
@@ -103,137 +195,85 @@ public class Main {
                         }
 
                         // Acción para Crear Producto
-                        principalView.getMenuItemCrearProducto().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(productoAnadirView);
-                            productoAnadirView.setVisible(true);
-                            productoAnadirView.limpiarCampos();
-                        });
+                        principalView.getMenuItemCrearProducto().addActionListener(MonitorEDT.medir("menu.crearProducto", e1 -> {
+                            mostrarVista(principalView, productoAnadirView.get());
+                            productoAnadirView.get().limpiarCampos();
+                        }));
 
                         // Acción para Eliminar Producto
-                        principalView.getMenuItemEliminarProducto().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(productoEliminarView);
-                            productoEliminarView.setVisible(true);
-                            productoEliminarView.limpiarCampos();
-                        });
+                        principalView.getMenuItemEliminarProducto().addActionListener(MonitorEDT.medir("menu.eliminarProducto", e1 -> {
+                            mostrarVista(principalView, productoEliminarView.get());
+                            productoEliminarView.get().limpiarCampos();
+                        }));
 
                         // Acción para Actualizar Producto
-                        principalView.getMenuItemActualizarProducto().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(productoEditarView);
-                            productoEditarView.setVisible(true);
-                            productoEditarView.limpiarCampos();
-                        });
+                        principalView.getMenuItemActualizarProducto().addActionListener(MonitorEDT.medir("menu.actualizarProducto", e1 -> {
+                            mostrarVista(principalView, productoEditarView.get());
+                            productoEditarView.get().limpiarCampos();
+                        }));
 
                         // Acción para Buscar Producto (realmente es Listar Productos)
-                        principalView.getMenuItemBuscarProducto().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(productoListaView);
-                            productoListaView.setVisible(true);
-                        });
+                        principalView.getMenuItemBuscarProducto().addActionListener(MonitorEDT.medir("menu.buscarProducto", e1 ->
+                                mostrarVista(principalView, productoListaView.get())));
 
                         // Acción para Crear Carrito
-                        principalView.getMenuItemCrearCarrito().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(carritoAnadirView);
-                            carritoAnadirView.setVisible(true);
-                            carritoAnadirView.limpiarCampos();
-                        });
+                        principalView.getMenuItemCrearCarrito().addActionListener(MonitorEDT.medir("menu.crearCarrito", e1 -> {
+                            mostrarVista(principalView, carritoAnadirView.get());
+                            carritoAnadirView.get().limpiarCampos();
+                        }));
 
                         // Acción para Listar Carrito
-                        principalView.getMenuItemListarCarrito().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(carritoListaView);
-                            carritoListaView.setVisible(true);
-                        });
+                        principalView.getMenuItemListarCarrito().addActionListener(MonitorEDT.medir("menu.listarCarrito", e1 ->
+                                mostrarVista(principalView, carritoListaView.get())));
 
                         // Acción para Editar Carrito
-                        principalView.getMenuItemEditarCarrito().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(carritoModificarView);
-                            carritoModificarView.setVisible(true);
-                        });
+                        principalView.getMenuItemEditarCarrito().addActionListener(MonitorEDT.medir("menu.editarCarrito", e1 ->
+                                mostrarVista(principalView, carritoModificarView.get())));
 
                         // Acción para Eliminar Carrito
-                        principalView.getMenuItemEliminarCarrito().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(carritoEliminarView);
-                            carritoEliminarView.setVisible(true);
-                            carritoEliminarView.limpiarCampos();
-                        });
+                        principalView.getMenuItemEliminarCarrito().addActionListener(MonitorEDT.medir("menu.eliminarCarrito", e1 -> {
+                            mostrarVista(principalView, carritoEliminarView.get());
+                            carritoEliminarView.get().limpiarCampos();
+                        }));
 
                         // Acciones de Usuario (para roles de administrador)
-                        principalView.getMenuItemCrearUsuario().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(usuarioCrearView);
-                            usuarioCrearView.setVisible(true);
-                            usuarioCrearView.limpiarCampos();
-                        });
+                        principalView.getMenuItemCrearUsuario().addActionListener(MonitorEDT.medir("menu.crearUsuario", e1 -> {
+                            mostrarVista(principalView, usuarioCrearView.get());
+                            usuarioCrearView.get().limpiarCampos();
+                        }));
 
-                        principalView.getMenuItemEliminarUsuario().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(usuarioEliminarView);
-                            usuarioEliminarView.setVisible(true);
-                            usuarioEliminarView.limpiarCampos();
-                        });
+                        principalView.getMenuItemEliminarUsuario().addActionListener(MonitorEDT.medir("menu.eliminarUsuario", e1 -> {
+                            mostrarVista(principalView, usuarioEliminarView.get());
+                            usuarioEliminarView.get().limpiarCampos();
+                        }));
 
-                        principalView.getMenuItemEditarUsuario().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(usuarioModificarView);
-                            usuarioModificarView.setVisible(true);
-                            usuarioModificarView.limpiarCampos();
-                        });
+                        principalView.getMenuItemEditarUsuario().addActionListener(MonitorEDT.medir("menu.editarUsuario", e1 -> {
+                            mostrarVista(principalView, usuarioModificarView.get());
+                            usuarioModificarView.get().limpiarCampos();
+                        }));
 
-                        principalView.getMenuItemListarUsuario().addActionListener(e1 -> {
-                            if (principalView.getjDesktopPane().getComponents().length > 0) {
-                                principalView.getjDesktopPane().removeAll();
-                            }
-                            principalView.getjDesktopPane().add(usuarioListarView);
-                            usuarioListarView.setVisible(true);
-                        });
+                        principalView.getMenuItemListarUsuario().addActionListener(MonitorEDT.medir("menu.listarUsuario", e1 ->
+                                mostrarVista(principalView, usuarioListarView.get())));
 
-                        principalView.getMenuItemCerrarSesion().addActionListener(e1 -> {
+                        principalView.getMenuItemCerrarSesion().addActionListener(MonitorEDT.medir("menu.cerrarSesion", e1 -> {
                             boolean confirmado = principalView.mostrarMensajePregunta(mi.get("principal.cerrar"));
                             if(confirmado) {
                                 principalView.dispose();
-                                loginController.setUsuarioAutenticado(null);
+                                loginController.cerrarSesion();
                                 loginView.actualizarTextos();
                                 loginView.setVisible(true);
                             }
-                        });
+                        }));
 
-                        principalView.getMenuItemSalir().addActionListener(e1 -> {
+                        principalView.getMenuItemSalir().addActionListener(MonitorEDT.medir("menu.salir", e1 -> {
                             boolean confirmado = principalView.mostrarMensajePregunta(mi.get("principal.salir"));
                             if(confirmado) {
                                 System.exit(0);
                             }
-                        });
+                        }));
 
                         // Lógica para cambiar de idioma
-                        ActionListener languageListener = e1 -> {
+                        ActionListener languageListener = MonitorEDT.medir("menu.idioma", e1 -> {
                             if (e1.getSource() == principalView.getMenuItemEspanol()) {
                                 mi.setLenguaje("es", "EC");
                             } else if (e1.getSource() == principalView.getMenuItemIngles()) {
@@ -241,17 +281,82 @@ public class Main {
                             } else if (e1.getSource() == principalView.getMenuItemFrances()) {
                                 mi.setLenguaje("fr", "FR");
                             }
+                            sesion.setLocale(mi.getLocale());
                             principalView.cambiarIdioma();
-                            userManagementController.actualizarIdiomaEnVistas();
-                            productoController.actualizarIdiomaEnVistas();
-                            carritoController.actualizarIdiomaEnVistas();
-                        };
+                            userManagementController.siCreado(UsuarioController::actualizarIdiomaEnVistas);
+                            productoController.siCreado(ProductoController::actualizarIdiomaEnVistas);
+                            carritoController.siCreado(CarritoController::actualizarIdiomaEnVistas);
+                        });
                         principalView.getMenuItemEspanol().addActionListener(languageListener);
                         principalView.getMenuItemIngles().addActionListener(languageListener);
                         principalView.getMenuItemFrances().addActionListener(languageListener);
+
+                        // El menú queda usable cuando el EDT termina de atender los eventos pendientes
+                        SwingUtilities.invokeLater(() -> MonitorEDT.registrar("inicio.menu", System.nanoTime() - inicioMenu));
                     }
                 }
             });
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Muestra una vista interna en el escritorio del menú principal, quitando la que
+     * estuviera abierta.
+     *
+     * @param principalView La ventana del menú principal.
+     * @param vista La vista a mostrar.
+     */
+    private static void mostrarVista(MenuPrincipalView principalView, JInternalFrame vista) {
+        if (principalView.getjDesktopPane().getComponents().length > 0) {
+            principalView.getjDesktopPane().removeAll();
+        }
+        principalView.getjDesktopPane().add(vista);
+        vista.setVisible(true);
+    }
+
+    /**
+     * Inicia la API HTTP sobre los servicios de la aplicación y registra su cierre al
+     * terminar. Si el puerto no se puede abrir, la aplicación sigue sin la API.
+     *
+     * @param puerto El puerto de la API.
+     * @param usuarioServicio Servicio de usuarios y sesiones.
+     * @param catalogoServicio Servicio del catálogo.
+     * @param carritoServicio Servicio de carritos.
+     */
+    private static void iniciarApi(int puerto, UsuarioServicio usuarioServicio,
+                                   CatalogoServicio catalogoServicio, CarritoServicio carritoServicio) {
+        try {
+            ServidorApi servidor = new ServidorApi(new InetSocketAddress(puerto), usuarioServicio,
+                    catalogoServicio, carritoServicio);
+            MonitorEDT.agregarMetricas("api", servidor::resumen);
+            Runtime.getRuntime().addShutdownHook(new Thread(servidor::close));
+            servidor.iniciar();
+        } catch (IOException e) {
+            System.err.println("No se pudo iniciar la API en el puerto " + puerto + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Abre el almacenamiento persistente de carritos en el directorio `datos` y
+     * registra su cierre al terminar la aplicación para forzar a disco los registros pendientes.
+     *
+     * @param usuarioDAO El DAO usado para recuperar el usuario de cada carrito guardado.
+     * @return El CarritoDAO persistente.
+     */
+    private static CarritoDAO abrirCarritos(UsuarioDAO usuarioDAO) {
+        try {
+            // Los registros se fuerzan a disco en grupo cada 10 ms
+            CarritoDAOArchivo carritoDAO = new CarritoDAOArchivo(Paths.get("datos"), usuarioDAO, 10);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    carritoDAO.close();
+                } catch (IOException e) {
+                    System.err.println("No se pudieron guardar los carritos: " + e.getMessage());
+                }
+            }));
+            return carritoDAO;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacenamiento de carritos", e);
+        }
+    }
+}
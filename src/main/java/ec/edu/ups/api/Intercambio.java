@@ -0,0 +1,302 @@
+package ec.edu.ups.api;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import ec.edu.ups.modelo.Sesion;
+import ec.edu.ups.servicio.Resultado;
+import ec.edu.ups.servicio.UsuarioServicio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Una petición HTTP en curso y su respuesta. Separa la ruta en segmentos, lee los
+ * parámetros y el cuerpo, resuelve el idioma y la sesión del cliente, y escribe las
+ * respuestas JSON. Un {@link Resultado} fallido se responde con el código de estado que
+ * corresponde a su clave de mensaje y el mensaje traducido al idioma del cliente.
+ * <p>
+ * Cada intercambio lo usa un solo hilo, el que atiende la petición.
+ */
+final class Intercambio {
+
+    /**
+     * Tamaño máximo del cuerpo de una petición, ajustable con `-Dapi.cuerpo.maximo` (en bytes).
+     */
+    static final int CUERPO_MAXIMO = Integer.getInteger("api.cuerpo.maximo", 16 * 1024);
+
+    private static final Locale IDIOMA_POR_DEFECTO = Locale.of("es", "EC");
+    private static final Locale INGLES = Locale.of("en", "US");
+    private static final Locale FRANCES = Locale.of("fr", "FR");
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final String PREFIJO_TOKEN = "Bearer ";
+
+    /**
+     * Código de estado de cada error de negocio que no es un simple dato inválido (400).
+     */
+    private static final Map<String, Integer> ESTADOS_ERROR = Map.of(
+            "login.mensaje.error_autenticacion", 401,
+            "login.mensaje.incompleto", 403,
+            "login.mensaje.demasiados_intentos", 429,
+            "producto.mensaje.no.encontrado", 404,
+            "producto.mensaje.error.codigo.existe", 409,
+            "carrito.msj.no.encontrado", 404,
+            "carrito.msj.producto.no.encontrado", 404,
+            "usuario.mensaje.no.encontrado", 404);
+
+    private final HttpExchange exchange;
+    private List<String> segmentos;
+    private Sesion sesion;
+    private Locale locale;
+    private int estado;
+
+    /**
+     * Constructor de Intercambio. No lee nada de la petición, así no puede fallar: la
+     * ruta se separa en segmentos la primera vez que se piden.
+     *
+     * @param exchange La petición del servidor.
+     */
+    Intercambio(HttpExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    /**
+     * Obtiene el método HTTP de la petición.
+     */
+    String getMetodo() {
+        return exchange.getRequestMethod();
+    }
+
+    /**
+     * Obtiene los segmentos de la ruta que siguen a la ruta del recurso.
+     *
+     * @throws SolicitudRechazada Si la ruta solo comparte el prefijo con la del recurso o
+     *                            un segmento no está bien codificado.
+     */
+    List<String> getSegmentos() {
+        if (segmentos == null) {
+            segmentos = segmentar(exchange.getRequestURI().getRawPath(), exchange.getHttpContext().getPath());
+        }
+        return segmentos;
+    }
+
+    /**
+     * Obtiene el código de estado con el que se respondió, o 0 si todavía no se respondió.
+     */
+    int getEstado() {
+        return estado;
+    }
+
+    /**
+     * Obtiene la dirección remota del cliente, que se usa como origen de los intentos de
+     * inicio de sesión.
+     */
+    String getOrigen() {
+        return exchange.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    /**
+     * Obtiene el valor de un parámetro de la consulta, ya decodificado.
+     *
+     * @return El valor, o null si el parámetro no está.
+     * @throws SolicitudRechazada Si la consulta no está bien codificada.
+     */
+    String parametro(String nombre) {
+        String consulta = exchange.getRequestURI().getRawQuery();
+        if (consulta == null) {
+            return null;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            if (decodificar(clave).equals(nombre)) {
+                return igual < 0 ? "" : decodificar(par.substring(igual + 1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene un parámetro numérico no negativo de la consulta, limitado a un máximo.
+     *
+     * @throws SolicitudRechazada Si el parámetro no es un número válido.
+     */
+    int parametroEntero(String nombre, int porDefecto, int maximo) {
+        String valor = parametro(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            int numero = Integer.parseInt(valor);
+            if (numero < 0) {
+                throw new SolicitudRechazada(400, "api.mensaje.parametro_invalido");
+            }
+            return Math.min(numero, maximo);
+        } catch (NumberFormatException e) {
+            throw new SolicitudRechazada(400, "api.mensaje.parametro_invalido");
+        }
+    }
+
+    /**
+     * Lee el cuerpo de la petición como un objeto JSON plano.
+     *
+     * @throws SolicitudRechazada Si el cuerpo es demasiado grande o no es un objeto válido.
+     */
+    Map<String, String> cuerpo() throws IOException {
+        byte[] bytes;
+        try (InputStream entrada = exchange.getRequestBody()) {
+            bytes = entrada.readNBytes(CUERPO_MAXIMO + 1);
+        }
+        if (bytes.length > CUERPO_MAXIMO) {
+            throw new SolicitudRechazada(413, "api.mensaje.cuerpo_demasiado_grande");
+        }
+        try {
+            return Json.leerObjeto(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new SolicitudRechazada(400, "api.mensaje.cuerpo_invalido");
+        }
+    }
+
+    /**
+     * Obtiene la sesión del token enviado en la cabecera `Authorization: Bearer <token>`.
+     *
+     * @throws SolicitudRechazada Si no hay token o la sesión no existe o venció.
+     */
+    Sesion sesion(UsuarioServicio usuarioServicio) {
+        if (sesion == null) {
+            String autorizacion = exchange.getRequestHeaders().getFirst("Authorization");
+            if (autorizacion != null && autorizacion.startsWith(PREFIJO_TOKEN)) {
+                sesion = usuarioServicio.resolverSesion(autorizacion.substring(PREFIJO_TOKEN.length()).trim());
+            }
+            if (sesion == null) {
+                throw new SolicitudRechazada(401, "api.mensaje.sesion_invalida");
+            }
+        }
+        return sesion;
+    }
+
+    /**
+     * Obtiene el idioma de las respuestas: el de la cabecera `Accept-Language` si es uno
+     * de los idiomas de la aplicación, si no el de la sesión, si no el idioma por defecto.
+     */
+    Locale getLocale() {
+        if (locale == null) {
+            locale = idiomaSolicitado(exchange.getRequestHeaders().getFirst("Accept-Language"));
+            if (locale == null) {
+                locale = sesion != null ? sesion.getLocale() : IDIOMA_POR_DEFECTO;
+            }
+        }
+        return locale;
+    }
+
+    /**
+     * Responde con un cuerpo JSON ya escrito.
+     */
+    void responder(int estado, CharSequence json) throws IOException {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        Headers cabeceras = exchange.getResponseHeaders();
+        cabeceras.set("Content-Type", TIPO_JSON);
+        this.estado = estado;
+        exchange.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = exchange.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    /**
+     * Responde sin cuerpo.
+     */
+    void responderVacio(int estado) throws IOException {
+        this.estado = estado;
+        exchange.sendResponseHeaders(estado, -1);
+    }
+
+    /**
+     * Responde con un error y su mensaje traducido al idioma del cliente.
+     */
+    void responderError(int estado, String clave) throws IOException {
+        enviarError(estado, clave, Resultado.error(clave).getMensaje(getLocale()));
+    }
+
+    /**
+     * Responde con el error de un resultado fallido, con el código de estado de su clave.
+     */
+    void responderError(Resultado<?> resultado) throws IOException {
+        enviarError(ESTADOS_ERROR.getOrDefault(resultado.getClave(), 400), resultado.getClave(),
+                resultado.getMensaje(getLocale()));
+    }
+
+    /**
+     * Agrega una cabecera `Location` a la respuesta, para los recursos creados.
+     */
+    void ubicacion(String ruta) {
+        exchange.getResponseHeaders().set("Location", ruta);
+    }
+
+    /**
+     * Escribe la respuesta de error. A un cliente frenado por el limitador o rechazado
+     * porque el servidor está ocupado se le indica cuándo reintentar.
+     */
+    private void enviarError(int estado, String clave, String mensaje) throws IOException {
+        if (estado == 429 || estado == 503) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+        responder(estado, Json.error(clave, mensaje));
+    }
+
+    /**
+     * Separa en segmentos decodificados la parte de la ruta que sigue a la del recurso.
+     *
+     * @throws SolicitudRechazada Si la ruta no pertenece al recurso o un segmento no está
+     *                            bien codificado.
+     */
+    private static List<String> segmentar(String ruta, String raiz) {
+        String resto = ruta.substring(Math.min(raiz.length(), ruta.length()));
+        if (!resto.isEmpty() && resto.charAt(0) != '/') {
+            // El servidor elige el recurso por prefijo: "/api/carritoX" no es "/api/carrito"
+            throw new SolicitudRechazada(404, "api.mensaje.ruta_no_encontrada");
+        }
+        List<String> segmentos = new ArrayList<>(4);
+        for (String segmento : resto.split("/")) {
+            if (!segmento.isEmpty()) {
+                segmentos.add(decodificar(segmento));
+            }
+        }
+        return segmentos;
+    }
+
+    /**
+     * Decodifica un segmento de la ruta o una parte de la consulta.
+     *
+     * @throws SolicitudRechazada Si tiene un escape `%` incompleto o que no es hexadecimal.
+     */
+    private static String decodificar(String texto) {
+        try {
+            return URLDecoder.decode(texto, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new SolicitudRechazada(400, "api.mensaje.codificacion_invalida");
+        }
+    }
+
+    /**
+     * Devuelve el idioma de la aplicación que corresponde al primer idioma de la cabecera
+     * `Accept-Language`, o null si la cabecera no pide ninguno de ellos.
+     */
+    private static Locale idiomaSolicitado(String cabecera) {
+        if (cabecera == null || cabecera.length() < 2) {
+            return null;
+        }
+        return switch (cabecera.substring(0, 2).toLowerCase(Locale.ROOT)) {
+            case "es" -> IDIOMA_POR_DEFECTO;
+            case "en" -> INGLES;
+            case "fr" -> FRANCES;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,273 @@
+package ec.edu.ups.api;
+
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.ItemCarrito;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.util.Dinero;
+
+import java.time.format.DateTimeFormatter;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritura y lectura del JSON de la API. Las respuestas se escriben directamente en un
+ * {@link StringBuilder}, sin árbol intermedio. Los cuerpos de las peticiones son objetos
+ * planos, así que solo se leen objetos cuyos valores son textos, números, booleanos o null.
+ * Los montos se escriben como números con dos decimales, calculados en centavos.
+ */
+final class Json {
+
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    private Json() {
+    }
+
+    /**
+     * Escribe un texto entre comillas, escapando lo que JSON exige.
+     */
+    static StringBuilder texto(StringBuilder sb, String texto) {
+        if (texto == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEXADECIMAL[c >> 4]).append(HEXADECIMAL[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Escribe un monto en centavos como número decimal con dos decimales.
+     */
+    static StringBuilder monto(StringBuilder sb, long centavos) {
+        return sb.append(Dinero.aBigDecimal(centavos).toPlainString());
+    }
+
+    /**
+     * Escribe una fecha en formato ISO 8601 con su desplazamiento horario.
+     */
+    static StringBuilder fecha(StringBuilder sb, GregorianCalendar fecha) {
+        if (fecha == null) {
+            return sb.append("null");
+        }
+        return texto(sb, DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(fecha.toZonedDateTime()));
+    }
+
+    /**
+     * Escribe el cuerpo de un error: su clave y el mensaje traducido.
+     */
+    static String error(String clave, String mensaje) {
+        StringBuilder sb = new StringBuilder(64 + mensaje.length());
+        sb.append("{\"clave\":");
+        texto(sb, clave).append(",\"mensaje\":");
+        return texto(sb, mensaje).append('}').toString();
+    }
+
+    /**
+     * Escribe un producto.
+     */
+    static StringBuilder producto(StringBuilder sb, Producto producto) {
+        sb.append("{\"codigo\":").append(producto.getCodigo()).append(",\"nombre\":");
+        texto(sb, producto.getNombre()).append(",\"precio\":");
+        return monto(sb, producto.getPrecioCentavos()).append('}');
+    }
+
+    /**
+     * Escribe una lista de productos.
+     */
+    static StringBuilder productos(StringBuilder sb, List<Producto> productos) {
+        sb.append('[');
+        for (int i = 0; i < productos.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            producto(sb, productos.get(i));
+        }
+        return sb.append(']');
+    }
+
+    /**
+     * Escribe los datos públicos de un usuario; nunca su contraseña.
+     */
+    static StringBuilder usuario(StringBuilder sb, Usuario usuario) {
+        sb.append("{\"cedula\":");
+        texto(sb, usuario.getCedula()).append(",\"nombre\":");
+        texto(sb, usuario.getNombre()).append(",\"rol\":");
+        return texto(sb, usuario.getRol().name()).append('}');
+    }
+
+    /**
+     * Escribe un carrito con sus items y totales. El usuario y la fecha de un carrito que
+     * todavía no se guardó son null.
+     */
+    static StringBuilder carrito(StringBuilder sb, Carrito carrito) {
+        sb.append("{\"codigo\":").append(carrito.getCodigo()).append(",\"usuario\":");
+        texto(sb, carrito.getUsuario() == null ? null : carrito.getUsuario().getCedula()).append(",\"fecha\":");
+        fecha(sb, carrito.getFechaCreacion()).append(",\"items\":[");
+        List<ItemCarrito> items = carrito.obtenerItems();
+        for (int i = 0; i < items.size(); i++) {
+            ItemCarrito item = items.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"codigo\":").append(item.getProducto().getCodigo()).append(",\"nombre\":");
+            texto(sb, item.getProducto().getNombre()).append(",\"precio\":");
+            monto(sb, item.getPrecioUnitarioCentavos()).append(",\"cantidad\":").append(item.getCantidad())
+                    .append(",\"subtotal\":");
+            monto(sb, item.calcularSubtotalCentavos()).append('}');
+        }
+        sb.append("],\"subtotal\":");
+        monto(sb, carrito.calcularSubtotalCentavos()).append(",\"iva\":");
+        monto(sb, carrito.calcularIVACentavos()).append(",\"total\":");
+        return monto(sb, carrito.calcularTotalCentavos()).append('}');
+    }
+
+    /**
+     * Lee un objeto JSON plano. Los valores se devuelven como texto: los textos sin
+     * comillas y ya sin escapes, los números y booleanos tal como se escribieron, y null
+     * como null.
+     *
+     * @throws IllegalArgumentException Si el texto no es un objeto plano válido.
+     */
+    static Map<String, String> leerObjeto(String json) {
+        return new Lector(json).objeto();
+    }
+
+    /**
+     * Analizador de un objeto plano, de una sola pasada.
+     */
+    private static final class Lector {
+        private final String json;
+        private int posicion;
+
+        private Lector(String json) {
+            this.json = json;
+        }
+
+        private Map<String, String> objeto() {
+            Map<String, String> valores = new HashMap<>();
+            saltarEspacios();
+            esperar('{');
+            saltarEspacios();
+            if (siguienteEs('}')) {
+                posicion++;
+            } else {
+                while (true) {
+                    saltarEspacios();
+                    String clave = cadena();
+                    saltarEspacios();
+                    esperar(':');
+                    saltarEspacios();
+                    valores.put(clave, valor());
+                    saltarEspacios();
+                    if (siguienteEs(',')) {
+                        posicion++;
+                    } else {
+                        esperar('}');
+                        break;
+                    }
+                }
+            }
+            saltarEspacios();
+            if (posicion != json.length()) {
+                throw invalido();
+            }
+            return valores;
+        }
+
+        private String valor() {
+            if (siguienteEs('"')) {
+                return cadena();
+            }
+            int inicio = posicion;
+            while (posicion < json.length() && "-+.eE0123456789truefalsn".indexOf(json.charAt(posicion)) >= 0) {
+                posicion++;
+            }
+            String literal = json.substring(inicio, posicion);
+            if (literal.isEmpty()) {
+                throw invalido();
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String cadena() {
+            esperar('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (posicion >= json.length()) {
+                    throw invalido();
+                }
+                char c = json.charAt(posicion++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (posicion >= json.length()) {
+                    throw invalido();
+                }
+                char escape = json.charAt(posicion++);
+                switch (escape) {
+                    case '"', '\\', '/' -> sb.append(escape);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (posicion + 4 > json.length()) {
+                            throw invalido();
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(json, posicion, posicion + 4, 16));
+                        } catch (NumberFormatException e) {
+                            throw invalido();
+                        }
+                        posicion += 4;
+                    }
+                    default -> throw invalido();
+                }
+            }
+        }
+
+        private void saltarEspacios() {
+            while (posicion < json.length() && Character.isWhitespace(json.charAt(posicion))) {
+                posicion++;
+            }
+        }
+
+        private boolean siguienteEs(char c) {
+            return posicion < json.length() && json.charAt(posicion) == c;
+        }
+
+        private void esperar(char c) {
+            if (!siguienteEs(c)) {
+                throw invalido();
+            }
+            posicion++;
+        }
+
+        private IllegalArgumentException invalido() {
+            return new IllegalArgumentException("JSON inválido en la posición " + posicion);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ec.edu.ups.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Base de los recursos de la API. Atiende cada petición en el hilo virtual que le asigna
+ * el servidor, convierte las {@link SolicitudRechazada}s y los errores inesperados en
+ * respuestas JSON, cierra siempre el intercambio y lleva las métricas del recurso. Si un
+ * grupo de hilos acotado, como el del hash de contraseñas, rechaza el trabajo, se
+ * responde 503 con `Retry-After` en lugar de un error interno.
+ * <p>
+ * Las métricas usan {@link LongAdder}, así miles de peticiones simultáneas las
+ * actualizan sin competir por un mismo contador.
+ */
+abstract class Recurso implements HttpHandler {
+
+    private final LongAdder peticiones = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+    private final LongAdder nanosegundos = new LongAdder();
+
+    /**
+     * Atiende una petición del recurso y la responde.
+     *
+     * @param intercambio La petición y su respuesta.
+     * @throws IOException Si falla la comunicación con el cliente.
+     */
+    abstract void atender(Intercambio intercambio) throws IOException;
+
+    /**
+     * Atiende una petición, responde los errores y registra las métricas.
+     *
+     * @param exchange La petición del servidor.
+     */
+    @Override
+    public final void handle(HttpExchange exchange) {
+        long inicio = System.nanoTime();
+        Intercambio intercambio = new Intercambio(exchange);
+        try {
+            atender(intercambio);
+        } catch (SolicitudRechazada e) {
+            responderError(intercambio, e.getEstado(), e.getClave());
+        } catch (IOException e) {
+            // El cliente cerró la conexión; no hay a quién responder
+        } catch (RejectedExecutionException e) {
+            responderError(intercambio, 503, "api.mensaje.servidor_ocupado");
+        } catch (RuntimeException e) {
+            System.err.println("Error al atender " + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI() + ": " + e);
+            responderError(intercambio, 500, "api.mensaje.error_interno");
+        } finally {
+            exchange.close();
+            registrar(intercambio.getEstado(), System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Rechaza una petición cuya ruta no existe en el recurso.
+     */
+    static SolicitudRechazada rutaNoEncontrada() {
+        return new SolicitudRechazada(404, "api.mensaje.ruta_no_encontrada");
+    }
+
+    /**
+     * Rechaza una petición con un método que la ruta no admite.
+     */
+    static SolicitudRechazada metodoNoPermitido() {
+        return new SolicitudRechazada(405, "api.mensaje.metodo_no_permitido");
+    }
+
+    /**
+     * Lee un código numérico de un segmento de la ruta.
+     *
+     * @throws SolicitudRechazada Si el segmento no es un número.
+     */
+    static int codigo(String segmento, String claveError) {
+        try {
+            return Integer.parseInt(segmento);
+        } catch (NumberFormatException e) {
+            throw new SolicitudRechazada(400, claveError);
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de peticiones atendidas.
+     */
+    long getPeticiones() {
+        return peticiones.sum();
+    }
+
+    /**
+     * Obtiene la cantidad de peticiones respondidas con un error del cliente (4xx).
+     */
+    long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    /**
+     * Obtiene la cantidad de peticiones que fallaron en el servidor (5xx) o no se respondieron.
+     */
+    long getFallidas() {
+        return fallidas.sum();
+    }
+
+    /**
+     * Obtiene el tiempo total dedicado a atender peticiones, en nanosegundos.
+     */
+    long getNanosegundos() {
+        return nanosegundos.sum();
+    }
+
+    /**
+     * Responde un error si todavía no se había respondido nada.
+     */
+    private static void responderError(Intercambio intercambio, int estado, String clave) {
+        if (intercambio.getEstado() != 0) {
+            return;
+        }
+        try {
+            intercambio.responderError(estado, clave);
+        } catch (IOException | RuntimeException e) {
+            // No se pudo avisar al cliente; la conexión se cierra igual
+        }
+    }
+
+    /**
+     * Registra una petición atendida según su código de estado.
+     */
+    private void registrar(int estado, long nanos) {
+        peticiones.increment();
+        nanosegundos.add(nanos);
+        if (estado >= 500 || estado == 0) {
+            fallidas.increment();
+        } else if (estado >= 400) {
+            rechazadas.increment();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ec.edu.ups.api;
+
+import ec.edu.ups.modelo.InstantaneaCarrito;
+import ec.edu.ups.modelo.Sesion;
+import ec.edu.ups.servicio.CarritoServicio;
+import ec.edu.ups.servicio.Resultado;
+import ec.edu.ups.servicio.UsuarioServicio;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recurso `/api/carrito`: el carrito en curso de la sesión del token, que se arma y
+ * luego se guarda como un carrito nuevo.
+ * <ul>
+ *   <li>`GET /api/carrito` devuelve el carrito en curso.</li>
+ *   <li>`POST /api/carrito/items` con `{"codigo", "cantidad"}` agrega un producto.</li>
+ *   <li>`DELETE /api/carrito/items/{codigo}` quita un producto.</li>
+ *   <li>`DELETE /api/carrito` vacía el carrito en curso.</li>
+ *   <li>`POST /api/carrito` guarda el carrito en curso y devuelve el carrito creado.</li>
+ * </ul>
+ */
+final class RecursoCarrito extends Recurso {
+
+    private final UsuarioServicio usuarioServicio;
+    private final CarritoServicio carritoServicio;
+
+    /**
+     * Constructor de RecursoCarrito.
+     *
+     * @param usuarioServicio Servicio que resuelve la sesión del token.
+     * @param carritoServicio Servicio de carritos.
+     */
+    RecursoCarrito(UsuarioServicio usuarioServicio, CarritoServicio carritoServicio) {
+        this.usuarioServicio = usuarioServicio;
+        this.carritoServicio = carritoServicio;
+    }
+
+    /**
+     * Atiende una petición sobre el carrito en curso.
+     */
+    @Override
+    void atender(Intercambio intercambio) throws IOException {
+        Sesion sesion = intercambio.sesion(usuarioServicio);
+        List<String> segmentos = intercambio.getSegmentos();
+        String metodo = intercambio.getMetodo();
+        if (segmentos.isEmpty()) {
+            switch (metodo) {
+                case "GET" -> responder(intercambio, 200, carritoServicio.consultar(sesion));
+                case "DELETE" -> responder(intercambio, 200, carritoServicio.vaciar(sesion));
+                case "POST" -> guardar(intercambio, sesion);
+                default -> throw metodoNoPermitido();
+            }
+        } else if (segmentos.get(0).equals("items") && segmentos.size() == 1) {
+            if (!metodo.equals("POST")) {
+                throw metodoNoPermitido();
+            }
+            Map<String, String> cuerpo = intercambio.cuerpo();
+            responder(intercambio, 200, carritoServicio.agregar(sesion, cuerpo.get("codigo"), cuerpo.get("cantidad")));
+        } else if (segmentos.get(0).equals("items") && segmentos.size() == 2) {
+            if (!metodo.equals("DELETE")) {
+                throw metodoNoPermitido();
+            }
+            int codigo = codigo(segmentos.get(1), "producto.mensaje.codigo.invalido");
+            responder(intercambio, 200, carritoServicio.quitar(sesion, codigo));
+        } else {
+            throw rutaNoEncontrada();
+        }
+    }
+
+    /**
+     * Guarda el carrito en curso y responde el carrito creado con su ubicación.
+     */
+    private void guardar(Intercambio intercambio, Sesion sesion) throws IOException {
+        Resultado<InstantaneaCarrito> resultado = carritoServicio.guardar(sesion);
+        if (resultado.isExito()) {
+            intercambio.ubicacion("/api/carritos/" + resultado.getValor().getCodigo());
+        }
+        responder(intercambio, 201, resultado);
+    }
+
+    /**
+     * Responde el carrito de un resultado, o su error.
+     */
+    private static void responder(Intercambio intercambio, int estado, Resultado<InstantaneaCarrito> resultado)
+            throws IOException {
+        if (!resultado.isExito()) {
+            intercambio.responderError(resultado);
+            return;
+        }
+        responder(intercambio, estado, resultado.getValor());
+    }
+
+    /**
+     * Responde un carrito.
+     */
+    private static void responder(Intercambio intercambio, int estado, InstantaneaCarrito carrito) throws IOException {
+        StringBuilder sb = new StringBuilder(128 + carrito.getCantidadLineas() * 96);
+        intercambio.responder(estado, Json.carrito(sb, carrito.aCarrito()));
+    }
+}
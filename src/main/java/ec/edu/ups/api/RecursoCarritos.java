@@ -0,0 +1,116 @@
+package ec.edu.ups.api;
+
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.servicio.CarritoServicio;
+import ec.edu.ups.servicio.Resultado;
+import ec.edu.ups.servicio.UsuarioServicio;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Recurso `/api/carritos`: los carritos guardados. Un usuario solo ve y modifica los
+ * suyos; un administrador, todos.
+ * <ul>
+ *   <li>`GET /api/carritos?desde=&cantidad=` devuelve una página y el total de carritos.</li>
+ *   <li>`GET /api/carritos/{codigo}` devuelve un carrito.</li>
+ *   <li>`PUT /api/carritos/{codigo}/items/{producto}` con `{"cantidad"}` cambia una cantidad.</li>
+ *   <li>`DELETE /api/carritos/{codigo}` elimina un carrito.</li>
+ * </ul>
+ * Los carritos se crean guardando el carrito en curso, con {@link RecursoCarrito}.
+ */
+final class RecursoCarritos extends Recurso {
+
+    /**
+     * Cantidad de carritos por página si el cliente no la indica.
+     */
+    static final int PAGINA = 20;
+
+    /**
+     * Cantidad máxima de carritos por página.
+     */
+    static final int PAGINA_MAXIMA = 200;
+
+    private final UsuarioServicio usuarioServicio;
+    private final CarritoServicio carritoServicio;
+
+    /**
+     * Constructor de RecursoCarritos.
+     *
+     * @param usuarioServicio Servicio que resuelve la sesión del token.
+     * @param carritoServicio Servicio de carritos.
+     */
+    RecursoCarritos(UsuarioServicio usuarioServicio, CarritoServicio carritoServicio) {
+        this.usuarioServicio = usuarioServicio;
+        this.carritoServicio = carritoServicio;
+    }
+
+    /**
+     * Atiende una petición sobre los carritos guardados.
+     */
+    @Override
+    void atender(Intercambio intercambio) throws IOException {
+        Usuario usuario = intercambio.sesion(usuarioServicio).getUsuario();
+        List<String> segmentos = intercambio.getSegmentos();
+        String metodo = intercambio.getMetodo();
+        if (segmentos.isEmpty()) {
+            if (!metodo.equals("GET")) {
+                throw metodoNoPermitido();
+            }
+            listar(intercambio, usuario);
+        } else if (segmentos.size() == 1) {
+            switch (metodo) {
+                case "GET" -> responder(intercambio, carritoServicio.buscar(usuario, segmentos.get(0)));
+                case "DELETE" -> {
+                    Resultado<Carrito> resultado = carritoServicio.eliminar(usuario, segmentos.get(0));
+                    if (resultado.isExito()) {
+                        intercambio.responderVacio(204);
+                    } else {
+                        intercambio.responderError(resultado);
+                    }
+                }
+                default -> throw metodoNoPermitido();
+            }
+        } else if (segmentos.size() == 3 && segmentos.get(1).equals("items")) {
+            if (!metodo.equals("PUT")) {
+                throw metodoNoPermitido();
+            }
+            int codigoCarrito = codigo(segmentos.get(0), "carrito.msj.codigo.invalido");
+            int codigoProducto = codigo(segmentos.get(2), "producto.mensaje.codigo.invalido");
+            String cantidad = intercambio.cuerpo().get("cantidad");
+            responder(intercambio, carritoServicio.actualizarCantidad(usuario, codigoCarrito, codigoProducto, cantidad));
+        } else {
+            throw rutaNoEncontrada();
+        }
+    }
+
+    /**
+     * Responde una página de los carritos que el usuario puede ver, con el total.
+     */
+    private void listar(Intercambio intercambio, Usuario usuario) throws IOException {
+        int desde = intercambio.parametroEntero("desde", 0, Integer.MAX_VALUE);
+        int cantidad = intercambio.parametroEntero("cantidad", PAGINA, PAGINA_MAXIMA);
+        List<Carrito> carritos = carritoServicio.listarPagina(usuario, desde, cantidad);
+        StringBuilder sb = new StringBuilder(64 + carritos.size() * 256);
+        sb.append("{\"total\":").append(carritoServicio.contar(usuario)).append(",\"carritos\":[");
+        for (int i = 0; i < carritos.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            Json.carrito(sb, carritos.get(i));
+        }
+        intercambio.responder(200, sb.append("]}"));
+    }
+
+    /**
+     * Responde el carrito de un resultado, o su error.
+     */
+    private static void responder(Intercambio intercambio, Resultado<Carrito> resultado) throws IOException {
+        if (!resultado.isExito()) {
+            intercambio.responderError(resultado);
+            return;
+        }
+        intercambio.responder(200, Json.carrito(new StringBuilder(256), resultado.getValor()));
+    }
+}
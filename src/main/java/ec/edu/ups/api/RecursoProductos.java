@@ -0,0 +1,83 @@
+package ec.edu.ups.api;
+
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.servicio.CatalogoServicio;
+import ec.edu.ups.servicio.Resultado;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Recurso `/api/productos`: consulta del catálogo, sin sesión.
+ * <ul>
+ *   <li>`GET /api/productos/{codigo}` devuelve un producto.</li>
+ *   <li>`GET /api/productos?nombre=&desde=&cantidad=` busca por nombre, o devuelve una
+ *       página del catálogo si no se indica nombre.</li>
+ * </ul>
+ */
+final class RecursoProductos extends Recurso {
+
+    /**
+     * Cantidad de productos por página si el cliente no la indica.
+     */
+    static final int PAGINA = 50;
+
+    /**
+     * Cantidad máxima de productos por página.
+     */
+    static final int PAGINA_MAXIMA = 500;
+
+    private final CatalogoServicio catalogoServicio;
+
+    /**
+     * Constructor de RecursoProductos.
+     *
+     * @param catalogoServicio Servicio del catálogo.
+     */
+    RecursoProductos(CatalogoServicio catalogoServicio) {
+        this.catalogoServicio = catalogoServicio;
+    }
+
+    /**
+     * Atiende una consulta del catálogo.
+     */
+    @Override
+    void atender(Intercambio intercambio) throws IOException {
+        if (!intercambio.getMetodo().equals("GET")) {
+            throw metodoNoPermitido();
+        }
+        List<String> segmentos = intercambio.getSegmentos();
+        switch (segmentos.size()) {
+            case 0 -> listar(intercambio);
+            case 1 -> {
+                Resultado<Producto> resultado = catalogoServicio.buscar(segmentos.get(0));
+                if (!resultado.isExito()) {
+                    intercambio.responderError(resultado);
+                    return;
+                }
+                intercambio.responder(200, Json.producto(new StringBuilder(96), resultado.getValor()));
+            }
+            default -> throw rutaNoEncontrada();
+        }
+    }
+
+    /**
+     * Responde una página de la búsqueda por nombre, o del catálogo completo.
+     */
+    private void listar(Intercambio intercambio) throws IOException {
+        int desde = intercambio.parametroEntero("desde", 0, Integer.MAX_VALUE);
+        int cantidad = intercambio.parametroEntero("cantidad", PAGINA, PAGINA_MAXIMA);
+        String nombre = intercambio.parametro("nombre");
+        List<Producto> productos;
+        if (nombre == null) {
+            productos = catalogoServicio.listarPagina(desde, cantidad);
+        } else {
+            List<Producto> encontrados = catalogoServicio.buscarPorNombre(nombre);
+            int inicio = Math.min(desde, encontrados.size());
+            productos = encontrados.subList(inicio, Math.min(encontrados.size(), inicio + cantidad));
+        }
+        StringBuilder sb = new StringBuilder(32 + productos.size() * 64);
+        Json.productos(sb.append("{\"productos\":"), productos).append('}');
+        intercambio.responder(200, sb);
+    }
+}
@@ -0,0 +1,74 @@
+package ec.edu.ups.api;
+
+import ec.edu.ups.modelo.Sesion;
+import ec.edu.ups.servicio.Resultado;
+import ec.edu.ups.servicio.UsuarioServicio;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Recurso `/api/sesiones`: iniciar y cerrar sesión.
+ * <ul>
+ *   <li>`POST /api/sesiones` con `{"cedula", "contrasena"}` abre una sesión y devuelve su token.</li>
+ *   <li>`GET /api/sesiones` devuelve el usuario de la sesión del token.</li>
+ *   <li>`DELETE /api/sesiones` cierra la sesión del token.</li>
+ * </ul>
+ * Cada intento de inicio de sesión pasa por el limitador con la dirección remota del
+ * cliente como origen.
+ */
+final class RecursoSesiones extends Recurso {
+
+    private final UsuarioServicio usuarioServicio;
+
+    /**
+     * Constructor de RecursoSesiones.
+     *
+     * @param usuarioServicio Servicio de usuarios y sesiones.
+     */
+    RecursoSesiones(UsuarioServicio usuarioServicio) {
+        this.usuarioServicio = usuarioServicio;
+    }
+
+    /**
+     * Atiende una petición de sesiones.
+     */
+    @Override
+    void atender(Intercambio intercambio) throws IOException {
+        if (!intercambio.getSegmentos().isEmpty()) {
+            throw rutaNoEncontrada();
+        }
+        switch (intercambio.getMetodo()) {
+            case "POST" -> iniciar(intercambio);
+            case "GET" -> {
+                StringBuilder sb = new StringBuilder(128);
+                Json.usuario(sb.append("{\"usuario\":"), intercambio.sesion(usuarioServicio).getUsuario());
+                intercambio.responder(200, sb.append('}'));
+            }
+            case "DELETE" -> {
+                usuarioServicio.cerrarSesion(intercambio.sesion(usuarioServicio).getToken());
+                intercambio.responderVacio(204);
+            }
+            default -> throw metodoNoPermitido();
+        }
+    }
+
+    /**
+     * Verifica las credenciales del cuerpo y abre una sesión en el idioma del cliente.
+     */
+    private void iniciar(Intercambio intercambio) throws IOException {
+        Map<String, String> cuerpo = intercambio.cuerpo();
+        Resultado<Sesion> resultado = usuarioServicio.iniciarSesion(cuerpo.get("cedula"), cuerpo.get("contrasena"),
+                intercambio.getOrigen(), intercambio.getLocale());
+        if (!resultado.isExito()) {
+            intercambio.responderError(resultado);
+            return;
+        }
+        Sesion sesion = resultado.getValor();
+        StringBuilder sb = new StringBuilder(192);
+        sb.append("{\"token\":");
+        Json.texto(sb, sesion.getToken()).append(",\"usuario\":");
+        Json.usuario(sb, sesion.getUsuario()).append('}');
+        intercambio.responder(201, sb);
+    }
+}
@@ -0,0 +1,118 @@
+package ec.edu.ups.api;
+
+import com.sun.net.httpserver.HttpServer;
+import ec.edu.ups.servicio.CarritoServicio;
+import ec.edu.ups.servicio.CatalogoServicio;
+import ec.edu.ups.servicio.UsuarioServicio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * La clase **ServidorApi** expone el catálogo, los carritos y las sesiones como una API
+ * HTTP/JSON embebida en la aplicación, sobre los mismos servicios que usan las vistas
+ * Swing. Usa el servidor HTTP del JDK y atiende cada petición en su propio hilo virtual,
+ * así una petición que espera (el hash de una contraseña, el disco de los carritos) no
+ * ocupa un hilo del sistema y miles de conexiones abiertas cuestan solo memoria.
+ * <p>
+ * Los clientes se identifican con el token de su sesión en la cabecera
+ * `Authorization: Bearer <token>` y eligen el idioma de los mensajes con `Accept-Language`.
+ * <p>
+ * El servidor del JDK cierra por defecto las conexiones inactivas que pasan de 200 y
+ * retrasa las respuestas pequeñas con el algoritmo de Nagle. Antes de crear el primer
+ * servidor se cambian esos valores por defecto, salvo que ya se hayan indicado con
+ * `-Dsun.net.httpserver.maxIdleConnections` o `-Dsun.net.httpserver.nodelay`. La cola de
+ * conexiones pendientes se ajusta con `-Dapi.backlog`.
+ */
+public final class ServidorApi implements AutoCloseable {
+
+    /**
+     * Tamaño de la cola de conexiones pendientes, ajustable con `-Dapi.backlog`.
+     */
+    public static final int BACKLOG = Integer.getInteger("api.backlog", 4096);
+
+    static {
+        System.getProperties().putIfAbsent("sun.net.httpserver.maxIdleConnections", "16384");
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final List<Recurso> recursos;
+
+    /**
+     * Constructor de ServidorApi. El servidor queda enlazado a la dirección, pero no
+     * atiende peticiones hasta llamar a {@link #iniciar()}.
+     *
+     * @param direccion La dirección y el puerto; con el puerto 0 se elige uno libre.
+     * @param usuarioServicio Servicio de usuarios y sesiones.
+     * @param catalogoServicio Servicio del catálogo.
+     * @param carritoServicio Servicio de carritos.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public ServidorApi(InetSocketAddress direccion, UsuarioServicio usuarioServicio,
+                       CatalogoServicio catalogoServicio, CarritoServicio carritoServicio) throws IOException {
+        this.servidor = HttpServer.create(direccion, BACKLOG);
+        this.ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+        RecursoSesiones sesiones = new RecursoSesiones(usuarioServicio);
+        RecursoProductos productos = new RecursoProductos(catalogoServicio);
+        RecursoCarrito carrito = new RecursoCarrito(usuarioServicio, carritoServicio);
+        RecursoCarritos carritos = new RecursoCarritos(usuarioServicio, carritoServicio);
+        this.recursos = List.of(sesiones, productos, carrito, carritos);
+        servidor.createContext("/api/sesiones", sesiones);
+        servidor.createContext("/api/productos", productos);
+        servidor.createContext("/api/carrito", carrito);
+        servidor.createContext("/api/carritos", carritos);
+        servidor.setExecutor(ejecutor);
+    }
+
+    /**
+     * Empieza a atender peticiones.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     *
+     * @return El puerto.
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Devuelve un resumen de las métricas de todos los recursos.
+     *
+     * @return Un texto con las peticiones atendidas, los errores del cliente y del
+     *         servidor y el tiempo medio de atención.
+     */
+    public String resumen() {
+        long peticiones = 0;
+        long rechazadas = 0;
+        long fallidas = 0;
+        long nanos = 0;
+        for (Recurso recurso : recursos) {
+            peticiones += recurso.getPeticiones();
+            rechazadas += recurso.getRechazadas();
+            fallidas += recurso.getFallidas();
+            nanos += recurso.getNanosegundos();
+        }
+        long media = peticiones == 0 ? 0 : nanos / peticiones / 1_000;
+        return "peticiones=" + peticiones + ", 4xx=" + rechazadas + ", 5xx=" + fallidas + ", media=" + media + "µs";
+    }
+
+    /**
+     * Deja de aceptar conexiones, espera hasta un segundo a que terminen las peticiones
+     * en curso y libera los hilos.
+     */
+    @Override
+    public void close() {
+        servidor.stop(1);
+        ejecutor.close();
+    }
+}
@@ -0,0 +1,39 @@
+package ec.edu.ups.api;
+
+/**
+ * Se lanza cuando una petición no puede atenderse por un motivo propio de HTTP: ruta o
+ * método desconocidos, cuerpo inválido o sesión ausente. {@link Recurso} la convierte en
+ * una respuesta con su código de estado y su mensaje traducido. Los errores de las reglas
+ * de negocio no usan esta excepción; llegan como {@link ec.edu.ups.servicio.Resultado}.
+ */
+final class SolicitudRechazada extends RuntimeException {
+
+    private final int estado;
+    private final String clave;
+
+    /**
+     * Constructor de SolicitudRechazada.
+     *
+     * @param estado El código de estado HTTP de la respuesta.
+     * @param clave La clave del mensaje de error.
+     */
+    SolicitudRechazada(int estado, String clave) {
+        super(clave, null, false, false);
+        this.estado = estado;
+        this.clave = clave;
+    }
+
+    /**
+     * Obtiene el código de estado HTTP de la respuesta.
+     */
+    int getEstado() {
+        return estado;
+    }
+
+    /**
+     * Obtiene la clave del mensaje de error.
+     */
+    String getClave() {
+        return clave;
+    }
+}
@@ -1,167 +1,159 @@
 package ec.edu.ups.controlador;
 
-import ec.edu.ups.dao.CarritoDAO;
-import ec.edu.ups.dao.ProductoDAO;
 import ec.edu.ups.modelo.*;
+import ec.edu.ups.servicio.CarritoServicio;
+import ec.edu.ups.util.EjecutorAsincrono;
 import ec.edu.ups.util.Formateador;
 import ec.edu.ups.vista.carrito.*;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+import ec.edu.ups.util.MonitorEDT;
 
 import javax.swing.table.DefaultTableModel;
-import java.awt.event.ActionListener;
-import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Locale;
 
 /**
- * Controlador que gestiona la lógica de negocio para las operaciones del carrito de compras.
- * Conecta las vistas relacionadas con el carrito (Añadir, Listar, Modificar, Eliminar)
- * con los DAOs para el acceso a datos.
+ * Controlador de las vistas del carrito de compras (Añadir, Listar, Modificar, Eliminar).
+ * Las reglas de las compras están en el {@link CarritoServicio}: el controlador lee los
+ * campos, pide confirmaciones y muestra el carrito en curso de la sesión a partir de las
+ * instantáneas que devuelve el servicio.
  *
  */
 public class CarritoController {
-    private final CarritoAnadirView carritoAnadirView;
-    private final ProductoDAO productoDAO;
-    private Carrito carrito;
-    private final CarritoDAO carritoDAO;
+    private final CarritoServicio carritoServicio;
     private final Usuario usuario;
-    private final CarritoListaView carritoListaView;
+    private final Sesion sesion;
+    private CarritoAnadirView carritoAnadirView;
+    private CarritoListaView carritoListaView;
     private CarritoDetalleView carritoDetalleView;
-    private final CarritoModificarView carritoModificarView;
-    private final CarritoEliminarView carritoEliminarView;
+    private CarritoModificarView carritoModificarView;
+    private CarritoEliminarView carritoEliminarView;
     private final MensajeInternacionalizacionHandler mi;
 
     /**
      * Constructor del CarritoController.
-     * Inicializa las dependencias (vistas, DAOs) y configura los eventos iniciales.
+     * Recibe el servicio de compras y la sesión, que guarda el carrito en curso. Las vistas
+     * se registran después con sus métodos `set`, a medida que se crean.
      *
-     * @param carritoView Vista para añadir productos al carrito.
-     * @param productoDAO Objeto de acceso a datos para productos.
-     * @param carritoDAO Objeto de acceso a datos para carritos.
-     * @param usuario El usuario autenticado que está realizando la compra.
-     * @param carritoListaView Vista para listar los carritos existentes.
-     * @param carritoModificarView Vista para modificar un carrito existente.
-     * @param carritoEliminarView Vista para eliminar un carrito.
+     * @param carritoServicio Servicio de compras.
+     * @param sesion La sesión del usuario autenticado que está realizando la compra.
      * @param mi Manejador de internacionalización para los mensajes.
      */
-    public CarritoController(CarritoAnadirView carritoView, ProductoDAO productoDAO,
-                             CarritoDAO carritoDAO, Usuario usuario, CarritoListaView carritoListaView, CarritoModificarView carritoModificarView, CarritoEliminarView carritoEliminarView,
-                             MensajeInternacionalizacionHandler mi) {
-        this.carritoAnadirView = carritoView;
-        this.productoDAO = productoDAO;
-        this.carritoDAO = carritoDAO;
-        this.usuario = usuario;
+    public CarritoController(CarritoServicio carritoServicio, Sesion sesion, MensajeInternacionalizacionHandler mi) {
+        this.carritoServicio = carritoServicio;
+        this.sesion = sesion;
+        this.usuario = sesion.getUsuario();
+        this.mi = mi;
+    }
+
+    /**
+     * Registra la vista para añadir productos al carrito y configura sus eventos.
+     * La duración de cada listener se registra con {@link MonitorEDT}.
+     *
+     * @param carritoAnadirView Vista para añadir productos al carrito.
+     */
+    public void setCarritoAnadirView(CarritoAnadirView carritoAnadirView) {
+        this.carritoAnadirView = carritoAnadirView;
+        carritoAnadirView.getBtnAnadir().addActionListener(MonitorEDT.medir("CarritoController.anadirProductoACarrito", e -> anadirProductoACarrito()));
+        carritoAnadirView.getBtnGuardar().addActionListener(MonitorEDT.medir("CarritoController.aceptarCarrito", e -> aceptarCarrito()));
+        carritoAnadirView.getBtnLimpiar().addActionListener(MonitorEDT.medir("CarritoController.limpiarFormulario", e -> limpiarFormulario()));
+        carritoAnadirView.getBtnBorrar().addActionListener(MonitorEDT.medir("CarritoController.borrarItemFormulario", e -> borrarItemFormulario()));
+    }
+
+    /**
+     * Registra la vista para listar los carritos existentes y configura sus eventos.
+     *
+     * @param carritoListaView Vista para listar los carritos existentes.
+     */
+    public void setCarritoListaView(CarritoListaView carritoListaView) {
         this.carritoListaView = carritoListaView;
+        carritoListaView.getBtnBuscar().addActionListener(MonitorEDT.medir("CarritoController.buscarCarritoCodigo", e -> buscarCarritoCodigo()));
+        carritoListaView.getBtnListar().addActionListener(MonitorEDT.medir("CarritoController.listarCarritos", e -> listarCarritos()));
+        carritoListaView.getBtnVer().addActionListener(MonitorEDT.medir("CarritoController.mostrarDetalle", e -> mostrarDetalle()));
+    }
+
+    /**
+     * Registra la vista para modificar un carrito existente y configura sus eventos.
+     *
+     * @param carritoModificarView Vista para modificar un carrito existente.
+     */
+    public void setCarritoModificarView(CarritoModificarView carritoModificarView) {
         this.carritoModificarView = carritoModificarView;
-        this.carritoEliminarView = carritoEliminarView;
-        this.mi = mi;
-        this.carrito = new Carrito();
-        carrito.setCodigo(carrito.hashCode());
-        configurarEventosEnVistas();
+        carritoModificarView.getBtnBuscar().addActionListener(MonitorEDT.medir("CarritoController.buscarCarritoCodigoModificar", e -> buscarCarritoCodigoModificar()));
+        carritoModificarView.getBtnEditar().addActionListener(MonitorEDT.medir("CarritoController.editarCarrito", e -> editarCarrito()));
     }
 
     /**
-     * Configura y asigna los ActionListeners a los botones de todas las vistas
-     * gestionadas por este controlador.
+     * Registra la vista para eliminar un carrito y configura sus eventos.
+     *
+     * @param carritoEliminarView Vista para eliminar un carrito.
      */
-    private void configurarEventosEnVistas() {
-        carritoAnadirView.getBtnAnadir().addActionListener(e -> anadirProductoACarrito());
-        carritoAnadirView.getBtnGuardar().addActionListener(e -> aceptarCarrito());
-        carritoAnadirView.getBtnLimpiar().addActionListener(e -> limpiarFormulario());
-        carritoAnadirView.getBtnBorrar().addActionListener(e -> borrarItemFormulario());
-        carritoListaView.getBtnBuscar().addActionListener(e -> buscarCarritoCodigo());
-        carritoListaView.getBtnListar().addActionListener(e -> listarCarritos());
-        carritoListaView.getBtnVer().addActionListener(e -> mostrarDetalle());
-        carritoModificarView.getBtnBuscar().addActionListener(e -> buscarCarritoCodigoModificar());
-        carritoModificarView.getBtnEditar().addActionListener(e -> editarCarrito());
-        carritoEliminarView.getBtnBuscar().addActionListener(e -> buscarCarritoCodigoEliminar());
-        carritoEliminarView.getBtnEliminar().addActionListener(e -> eliminarCarrito());
+    public void setCarritoEliminarView(CarritoEliminarView carritoEliminarView) {
+        this.carritoEliminarView = carritoEliminarView;
+        carritoEliminarView.getBtnBuscar().addActionListener(MonitorEDT.medir("CarritoController.buscarCarritoCodigoEliminar", e -> buscarCarritoCodigoEliminar()));
+        carritoEliminarView.getBtnEliminar().addActionListener(MonitorEDT.medir("CarritoController.eliminarCarrito", e -> eliminarCarrito()));
     }
 
     /**
      * Añade un producto al carrito de compras actual.
-     * Obtiene el código del producto y la cantidad desde la vista, valida la existencia
-     * del producto y actualiza tanto el modelo del carrito como la interfaz de usuario.
+     * Obtiene el código del producto y la cantidad desde la vista; el servicio valida
+     * el producto y lo agrega, y la vista muestra el carrito resultante. Como cambia el
+     * carrito, se ejecuta como escritura: una búsqueda de producto en la misma vista no
+     * puede cancelarla.
      */
     private void anadirProductoACarrito() {
-        // NECESARIO: Añadir manejo de errores por si el producto no existe o el código es inválido.
-        try {
-            int codigo = Integer.parseInt(carritoAnadirView.getTxtCodigo().getText());
-            Producto producto = productoDAO.buscarPorCodigo(codigo);
-            if (producto == null) {
-                carritoAnadirView.mostrarMensaje(mi.get("producto.msj.no.encontrado"));
+        String codigo = carritoAnadirView.getTxtCodigo().getText();
+        int cantidad = Integer.parseInt(carritoAnadirView.getCbxCantidad().getSelectedItem().toString());
+        EjecutorAsincrono.escribir(carritoAnadirView, () -> carritoServicio.agregar(sesion, codigo, cantidad), resultado -> {
+            if (!resultado.isExito()) {
+                carritoAnadirView.mostrarMensaje(resultado.getMensaje(mi));
                 return;
             }
-            int cantidad =  Integer.parseInt(carritoAnadirView.getCbxCantidad().getSelectedItem().toString());
-            carrito.agregarProducto(producto, cantidad);
-            actualizarTabla();
-            actualizarTotales();
+            mostrarCarrito(resultado.getValor());
             carritoAnadirView.limpiarCampos();
-        } catch (NumberFormatException e) {
-            carritoAnadirView.mostrarMensaje(mi.get("producto.msj.codigo.invalido"));
-        }
+        });
     }
 
     /**
-     * Actualiza la tabla de productos en la vista de añadir carrito.
-     * Limpia el modelo de la tabla y lo vuelve a poblar con los items actuales
-     * del carrito, aplicando el formato de moneda correspondiente.
+     * Muestra el carrito en curso en la vista de añadir carrito: vuelve a poblar la tabla
+     * con sus items, con el formato de moneda correspondiente, y actualiza los campos de
+     * subtotal, IVA y total.
+     *
+     * @param instantanea El estado del carrito en curso.
      */
-    private void actualizarTabla() {
-        List<ItemCarrito> items = carrito.obtenerItems();
+    private void mostrarCarrito(InstantaneaCarrito instantanea) {
+        Carrito carrito = instantanea.aCarrito();
+        Locale locale = mi.getLocale();
         DefaultTableModel modelo = (DefaultTableModel) carritoAnadirView.getTblProductos().getModel();
         modelo.setNumRows(0);
-        for (ItemCarrito item : items) {
-            Locale locale = mi.getLocale();
+        for (ItemCarrito item : carrito.obtenerItems()) {
             modelo.addRow(new Object[]{
                     item.getProducto().getCodigo(),
                     item.getProducto().getNombre(),
-                    Formateador.formatearMoneda(item.getProducto().getPrecio(), locale),
+                    Formateador.formatearMoneda(item.getPrecioUnitario(), locale),
                     item.getCantidad(),
-                    Formateador.formatearMoneda(item.getProducto().getPrecio() * item.getCantidad(), locale)
+                    Formateador.formatearMoneda(item.calcularSubtotal(), locale)
             });
         }
-    }
-
-    /**
-     * Recalcula y actualiza los campos de texto de subtotal, IVA y total en la vista.
-     */
-    private void actualizarTotales() {
-        Locale locale = mi.getLocale();
         carritoAnadirView.getTxtSubtotal().setText(Formateador.formatearMoneda(carrito.calcularSubtotal(), locale));
         carritoAnadirView.getTxtIVA().setText(Formateador.formatearMoneda(carrito.calcularIVA(), locale));
         carritoAnadirView.getTxtTotal().setText(Formateador.formatearMoneda(carrito.calcularTotal(), locale));
     }
 
     /**
-     * Guarda el carrito de compras actual en la capa de persistencia.
-     * Valida que el carrito no esté vacío, le asigna el usuario y la fecha,
-     * y si la operación es exitosa, muestra un mensaje y prepara un nuevo
-     * carrito para la siguiente compra.
-     * @apiNote Este método asume que la operación `carritoDAO.crear()` tendrá éxito.
-     * Para un código más robusto, se debería manejar un valor de retorno del DAO.
+     * Guarda el carrito de compras actual en la capa de persistencia. Si el carrito no
+     * está vacío, el servicio lo guarda a nombre del usuario y deja en la sesión un
+     * carrito nuevo para la siguiente compra, que la vista muestra vacío. La escritura
+     * se hace en segundo plano con la vista deshabilitada.
      */
     private void aceptarCarrito() {
-        if (carrito.estaVacio()) {
-            carritoAnadirView.mostrarMensaje(mi.get("carrito.msj.vacio"));
-            return;
-        }
-        carrito.setUsuario(usuario);
-        carrito.setFechaCreacion(new GregorianCalendar());
-        carritoDAO.crear(carrito);
-        // NECESARIO: Usar getCedula() para ser consistente con el modelo Usuario corregido.
-        String mensaje = mi.get("carrito.msj.guardado")
-                .replace("{0}", String.valueOf(carrito.getCodigo()))
-                .replace("{1}", usuario.getCedula());
-        carritoAnadirView.mostrarMensaje(mensaje);
-
-        // NECESARIO: Añadir estas líneas para crear un nuevo carrito para la siguiente compra.
-        this.carrito = new Carrito();
-        this.carrito.setCodigo(this.carrito.hashCode());
-
-        actualizarTabla();
-        actualizarTotales();
-        carritoAnadirView.limpiarCampos();
+        EjecutorAsincrono.escribir(carritoAnadirView, () -> carritoServicio.guardar(sesion), resultado -> {
+            carritoAnadirView.mostrarMensaje(resultado.getMensaje(mi));
+            if (resultado.isExito()) {
+                mostrarCarrito(carritoServicio.consultar(sesion));
+                carritoAnadirView.limpiarCampos();
+            }
+        });
     }
 
     /**
@@ -175,9 +167,13 @@ public class CarritoController {
             int codigoProducto = (int) modelo.getValueAt(filaSeleccionada, 0);
             boolean confirmado = carritoAnadirView.mostrarMensajePregunta(mi.get("carrito.msj.confirmar.eliminar"));
             if (confirmado) {
-                carrito.eliminarProducto(codigoProducto);
-                actualizarTabla();
-                actualizarTotales();
+                EjecutorAsincrono.escribir(carritoAnadirView, () -> carritoServicio.quitar(sesion, codigoProducto), resultado -> {
+                    if (resultado.isExito()) {
+                        mostrarCarrito(resultado.getValor());
+                    } else {
+                        carritoAnadirView.mostrarMensaje(resultado.getMensaje(mi));
+                    }
+                });
             }else{
                 carritoAnadirView.mostrarMensaje(mi.get("carrito.msj.cancelado"));
             }
@@ -193,9 +189,7 @@ public class CarritoController {
     private void limpiarFormulario() {
         boolean confirmado = carritoAnadirView.mostrarMensajePregunta(mi.get("carrito.msj.confirmar.vaciar"));
         if (confirmado) {
-            carrito.vaciarCarrito();
-            actualizarTabla();
-            actualizarTotales();
+            mostrarCarrito(carritoServicio.vaciar(sesion));
             carritoAnadirView.limpiarCampos();
         } else {
             // NECESARIO: Usar un mensaje más coherente para la cancelación.
@@ -205,50 +199,46 @@ public class CarritoController {
 
     /**
      * Busca un carrito por su código y muestra el resultado en la tabla de la vista de listado.
-     * Permite a un administrador ver cualquier carrito, mientras que un usuario normal
+     * Un administrador puede ver cualquier carrito, mientras que un usuario normal
      * solo puede ver los suyos.
      */
     private void buscarCarritoCodigo() {
-        String txtCod = carritoListaView.getTxtCodigo().getText().trim();
-        if (txtCod.isEmpty()) {
-            carritoListaView.cargarDatos(List.of());
-            return;
-        }
-        // NECESARIO: Usar una validación más robusta para números.
-        if (!txtCod.matches("\\d+")) {
-            carritoListaView.mostrarMensaje(mi.get("carrito.msj.codigo.invalido"));
+        EjecutorAsincrono.cancelar(carritoListaView);
+        String txtCod = carritoListaView.getTxtCodigo().getText();
+        if (txtCod.isBlank()) {
             carritoListaView.cargarDatos(List.of());
             return;
         }
-        int codigo = Integer.parseInt(txtCod);
-        Carrito carritoEncontrado = carritoDAO.buscarPorCodigo(codigo);
-        if (carritoEncontrado != null) {
-            // NECESARIO: Usar getCedula() en la comparación.
-            if (usuario.getRol().equals(Rol.ADMINISTRADOR)
-                    || carritoEncontrado.getUsuario().getCedula().equals(usuario.getCedula())) {
-                carritoListaView.cargarDatos(List.of(carritoEncontrado));
+        EjecutorAsincrono.ejecutar(carritoListaView, () -> carritoServicio.buscar(usuario, txtCod), resultado -> {
+            if (resultado.isExito()) {
+                carritoListaView.cargarDatos(List.of(resultado.getValor()));
             } else {
+                carritoListaView.mostrarMensaje(resultado.getMensaje(mi));
                 carritoListaView.cargarDatos(List.of());
             }
-        } else {
-            carritoListaView.cargarDatos(List.of());
-        }
+        });
     }
 
     /**
-     * Carga en la tabla los carritos correspondientes al usuario.
-     * Si el usuario es administrador, lista todos los carritos. Si no, solo los del usuario.
+     * Carga en la tabla los carritos que el usuario puede ver: todos si es administrador,
+     * si no, solo los suyos. La cantidad de carritos se cuenta en segundo plano y la tabla
+     * lee los carritos del servicio por páginas, también en segundo plano, a medida que se desplaza.
      */
     private void listarCarritos() {
-        List<Carrito> carritosAMostrar;
+        CarritoTablaModelo.FuenteCarritos fuente = new CarritoTablaModelo.FuenteCarritos() {
+            @Override
+            public int contar() {
+                return carritoServicio.contar(usuario);
+            }
 
-        if (usuario.getRol().equals(Rol.ADMINISTRADOR)) {
-            carritosAMostrar = carritoDAO.listarTodos();
-        } else {
-            carritosAMostrar = carritoDAO.buscarPorUsuario(usuario);
-        }
+            @Override
+            public List<Carrito> pagina(int desde, int cantidad) {
+                return carritoServicio.listarPagina(usuario, desde, cantidad);
+            }
+        };
 
-        carritoListaView.cargarDatos(carritosAMostrar);
+        EjecutorAsincrono.ejecutar(carritoListaView, fuente::contar,
+                cantidad -> carritoListaView.cargarDatos(fuente, cantidad));
     }
 
     /**
@@ -258,29 +248,35 @@ public class CarritoController {
         int filaSeleccionada = carritoListaView.getTblProducto().getSelectedRow();
 
         if (filaSeleccionada != -1) {
-            int codigoCarrito = (int) carritoListaView.getModelo().getValueAt(filaSeleccionada, 0);
-
-            Carrito carritoEncontrado = carritoDAO.buscarPorCodigo(codigoCarrito);
-            if (carritoEncontrado != null) {
-                if (carritoDetalleView == null || carritoDetalleView.isClosed()) {
-                    carritoDetalleView = new CarritoDetalleView(mi);
-                    carritoListaView.getDesktopPane().add(carritoDetalleView);
-                }
+            Object valorCodigo = carritoListaView.getModelo().getValueAt(filaSeleccionada, 0);
+            if (valorCodigo == null) {
+                return;
+            }
+            int codigoCarrito = (int) valorCodigo;
+
+            EjecutorAsincrono.ejecutar(carritoListaView, () -> carritoServicio.buscar(usuario, codigoCarrito), resultado -> {
+                if (resultado.isExito()) {
+                    Carrito carritoEncontrado = resultado.getValor();
+                    if (carritoDetalleView == null || carritoDetalleView.isClosed()) {
+                        carritoDetalleView = new CarritoDetalleView(mi);
+                        carritoListaView.getDesktopPane().add(carritoDetalleView);
+                    }
 
-                carritoDetalleView.cargarDatos(carritoEncontrado);
+                    carritoDetalleView.cargarDatos(carritoEncontrado);
 
-                Locale locale = mi.getLocale();
-                carritoDetalleView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
-                carritoDetalleView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
-                carritoDetalleView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
+                    Locale locale = mi.getLocale();
+                    carritoDetalleView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
+                    carritoDetalleView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
+                    carritoDetalleView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
 
-                carritoDetalleView.setVisible(true);
-                carritoDetalleView.toFront();
-                carritoDetalleView.requestFocusInWindow();
+                    carritoDetalleView.setVisible(true);
+                    carritoDetalleView.toFront();
+                    carritoDetalleView.requestFocusInWindow();
 
-            } else {
-                carritoListaView.mostrarMensaje(mi.get("carrito.msj.no.encontrado"));
-            }
+                } else {
+                    carritoListaView.mostrarMensaje(resultado.getMensaje(mi));
+                }
+            });
         } else {
             carritoListaView.mostrarMensaje(mi.get("carrito.msj.seleccione.carrito"));
         }
@@ -290,80 +286,54 @@ public class CarritoController {
      * Busca un carrito por código y carga sus datos en la vista de modificación.
      */
     private void buscarCarritoCodigoModificar() {
-        String txtCod = carritoModificarView.getTxtCodigo().getText().trim();
-        if (txtCod.isEmpty()) {
-            carritoModificarView.mostrarMensaje(mi.get("carrito.msj.ingrese.codigo"));
-            return;
-        }
-        if (!txtCod.matches("\\d+")) {
-            carritoModificarView.mostrarMensaje(mi.get("carrito.msj.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(txtCod);
-        Carrito carritoEncontrado = carritoDAO.buscarPorCodigo(codigo);
-
-        if (carritoEncontrado != null) {
-            Locale locale = mi.getLocale();
-            carritoModificarView.getTxtFecha().setText(
-                    Formateador.formatearFecha(carritoEncontrado.getFechaCreacion().getTime(), locale)
-            );
-            carritoModificarView.cargarDatos(carritoEncontrado);
-            carritoModificarView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
-            carritoModificarView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
+        String txtCod = carritoModificarView.getTxtCodigo().getText();
+        EjecutorAsincrono.ejecutar(carritoModificarView, () -> carritoServicio.buscar(usuario, txtCod), resultado -> {
+            if (resultado.isExito()) {
+                Carrito carritoEncontrado = resultado.getValor();
+                Locale locale = mi.getLocale();
+                carritoModificarView.getTxtFecha().setText(
+                        Formateador.formatearFecha(carritoEncontrado.getFechaCreacion().getTime(), locale)
+                );
+                carritoModificarView.cargarDatos(carritoEncontrado);
+                carritoModificarView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
+                carritoModificarView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
 
 
-            carritoModificarView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
+                carritoModificarView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
 
-        } else {
-            carritoModificarView.mostrarMensaje(mi.get("carrito.msj.no.encontrado"));
-        }
+            } else {
+                carritoModificarView.mostrarMensaje(resultado.getMensaje(mi));
+            }
+        });
     }
 
     /**
      * Edita la cantidad de un item dentro de un carrito existente.
-     * Solicita la nueva cantidad al usuario y actualiza el carrito en la capa de persistencia.
+     * Solicita la nueva cantidad al usuario y actualiza el carrito en la capa de persistencia,
+     * en segundo plano y con la vista deshabilitada.
      */
     private void editarCarrito() {
         if (carritoModificarView.getTblProducto().getSelectedRow() != -1) {
             String cantidadStr = carritoModificarView.cantidad(mi.get("carrito.msj.modificar.cantidad"));
             if (cantidadStr != null) {
-                cantidadStr = cantidadStr.trim();
-                if (!cantidadStr.matches("[1-9]\\d*")) {
-                    // NECESARIO: Eliminar el segundo mensaje de error que estaba duplicado.
-                    carritoModificarView.mostrarMensaje(mi.get("carrito.msj.cantidad.invalida"));
-                    return;
-                }
-                int nuevaCantidad = Integer.parseInt(cantidadStr);
                 int codigoCarrito = Integer.parseInt(carritoModificarView.getTxtCodigo().getText().trim());
-                Carrito carritoEncontrado = carritoDAO.buscarPorCodigo(codigoCarrito);
-                if (carritoEncontrado == null) {
-                    carritoModificarView.mostrarMensaje(mi.get("carrito.msj.no.encontrado"));
-                    return;
-                }
-
                 int codigoProducto = (Integer) carritoModificarView.getTblProducto().getValueAt(
                         carritoModificarView.getTblProducto().getSelectedRow(), 0);
 
-                boolean itemEncontrado = false;
-                for (ItemCarrito item : carritoEncontrado.obtenerItems()) {
-                    if (item.getProducto().getCodigo() == codigoProducto) {
-                        item.setCantidad(nuevaCantidad);
-                        itemEncontrado = true;
-                        break;
+                EjecutorAsincrono.escribir(carritoModificarView,
+                        () -> carritoServicio.actualizarCantidad(usuario, codigoCarrito, codigoProducto, cantidadStr), resultado -> {
+                    if (!resultado.isExito()) {
+                        carritoModificarView.mostrarMensaje(resultado.getMensaje(mi));
+                        return;
                     }
-                }
-
-                if (!itemEncontrado) {
-                    carritoModificarView.mostrarMensaje(mi.get("carrito.msj.producto.no.encontrado"));
-                    return;
-                }
 
-                carritoDAO.actualizar(carritoEncontrado);
-                carritoModificarView.cargarDatos(carritoEncontrado);
-                Locale locale = mi.getLocale();
-                carritoModificarView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
-                carritoModificarView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
-                carritoModificarView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
+                    Carrito carritoEncontrado = resultado.getValor();
+                    carritoModificarView.cargarDatos(carritoEncontrado);
+                    Locale locale = mi.getLocale();
+                    carritoModificarView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
+                    carritoModificarView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
+                    carritoModificarView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
+                });
             } else {
                 carritoModificarView.mostrarMensaje(mi.get("carrito.msj.cantidad.no.modificada"));
             }
@@ -376,59 +346,55 @@ public class CarritoController {
      * Busca un carrito por código y carga sus datos en la vista de eliminación.
      */
     private void buscarCarritoCodigoEliminar() {
-        String txtCod = carritoEliminarView.getTxtCodigo().getText().trim();
-        if (txtCod.isEmpty()) {
-            carritoEliminarView.mostrarMensaje(mi.get("carrito.msj.ingrese.codigo"));
-            carritoEliminarView.getBtnEliminar().setEnabled(false);
-            return;
-        }
-        if (!txtCod.matches("\\d+")) {
-            carritoEliminarView.mostrarMensaje(mi.get("carrito.msj.codigo.invalido"));
-            carritoEliminarView.getBtnEliminar().setEnabled(false);
-            return;
-        }
-        int codigo = Integer.parseInt(txtCod);
-        Carrito carritoEncontrado = carritoDAO.buscarPorCodigo(codigo);
-        if (carritoEncontrado != null) {
-            Locale locale = mi.getLocale();
-            // NECESARIO: Usar 'carritoEncontrado' para evitar un NullPointerException.
-            carritoEliminarView.getTxtFecha().setText(
-                    Formateador.formatearFecha(carritoEncontrado.getFechaCreacion().getTime(), locale)
-            );
-
-            carritoEliminarView.cargarDatos(carritoEncontrado);
-            carritoEliminarView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
-            carritoEliminarView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
-            carritoEliminarView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
-            carritoEliminarView.getBtnEliminar().setEnabled(true);
-        } else {
-            carritoEliminarView.mostrarMensaje(mi.get("carrito.msj.no.encontrado"));
-            carritoEliminarView.getBtnEliminar().setEnabled(false);
-        }
+        String txtCod = carritoEliminarView.getTxtCodigo().getText();
+        EjecutorAsincrono.ejecutar(carritoEliminarView, () -> carritoServicio.buscar(usuario, txtCod), resultado -> {
+            if (resultado.isExito()) {
+                Carrito carritoEncontrado = resultado.getValor();
+                Locale locale = mi.getLocale();
+                // NECESARIO: Usar 'carritoEncontrado' para evitar un NullPointerException.
+                carritoEliminarView.getTxtFecha().setText(
+                        Formateador.formatearFecha(carritoEncontrado.getFechaCreacion().getTime(), locale)
+                );
+
+                carritoEliminarView.cargarDatos(carritoEncontrado);
+                carritoEliminarView.getTxtSubtotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularSubtotal(), locale));
+                carritoEliminarView.getTxtIVA().setText(Formateador.formatearMoneda(carritoEncontrado.calcularIVA(), locale));
+                carritoEliminarView.getTxtTotal().setText(Formateador.formatearMoneda(carritoEncontrado.calcularTotal(), locale));
+                carritoEliminarView.getBtnEliminar().setEnabled(true);
+            } else {
+                carritoEliminarView.mostrarMensaje(resultado.getMensaje(mi));
+                carritoEliminarView.getBtnEliminar().setEnabled(false);
+            }
+        });
     }
 
     /**
      * Elimina un carrito de la capa de persistencia, previa confirmación del usuario.
+     * La eliminación se hace en segundo plano con la vista deshabilitada.
      */
     private void eliminarCarrito(){
         boolean confirmado = carritoEliminarView.mostrarMensajePregunta(mi.get("carrito.msj.eliminar.confirmar"));
         if(confirmado) {
-            carritoDAO.eliminar(Integer.parseInt(carritoEliminarView.getTxtCodigo().getText()));
-            carritoEliminarView.mostrarMensaje(mi.get("carrito.msj.eliminado"));
-            carritoEliminarView.limpiarCampos();
+            String codigo = carritoEliminarView.getTxtCodigo().getText();
+            EjecutorAsincrono.escribir(carritoEliminarView, () -> carritoServicio.eliminar(usuario, codigo), resultado -> {
+                carritoEliminarView.mostrarMensaje(resultado.getMensaje(mi));
+                if (resultado.isExito()) {
+                    carritoEliminarView.limpiarCampos();
+                }
+            });
         }else{
             carritoEliminarView.mostrarMensaje(mi.get("carrito.msj.eliminar.cancelada"));
         }
     }
 
     /**
-     * Actualiza el idioma de todas las vistas gestionadas por este controlador.
+     * Actualiza el idioma de las vistas ya registradas en este controlador.
      */
     public void actualizarIdiomaEnVistas() {
-        carritoAnadirView.cambiarIdioma();
-        carritoListaView.cambiarIdioma();
-        carritoModificarView.cambiarIdioma();
-        carritoEliminarView.cambiarIdioma();
+        if (carritoAnadirView != null) carritoAnadirView.cambiarIdioma();
+        if (carritoListaView != null) carritoListaView.cambiarIdioma();
+        if (carritoModificarView != null) carritoModificarView.cambiarIdioma();
+        if (carritoEliminarView != null) carritoEliminarView.cambiarIdioma();
         if (carritoDetalleView != null && !carritoDetalleView.isClosed()) {
             carritoDetalleView.cambiarIdioma();
         }
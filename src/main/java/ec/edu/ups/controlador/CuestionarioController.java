@@ -1,7 +1,5 @@
 package ec.edu.ups.controlador;
 
-import ec.edu.ups.dao.CuestionarioDAO;
-import ec.edu.ups.dao.UsuarioDAO;
 // Se importan todas las excepciones necesarias
 import ec.edu.ups.excepciones.CedulaInvalidaException;
 import ec.edu.ups.excepciones.ContrasenaInvalidaException;
@@ -11,6 +9,10 @@ import ec.edu.ups.modelo.Cuestionario;
 import ec.edu.ups.modelo.Respuesta;
 import ec.edu.ups.modelo.Rol;
 import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.servicio.CuestionarioServicio;
+import ec.edu.ups.servicio.Resultado;
+import ec.edu.ups.servicio.UsuarioServicio;
+import ec.edu.ups.util.EjecutorAsincrono;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 import ec.edu.ups.util.ValidadorDatosUsuario;
 import ec.edu.ups.vista.preguntas.RecuperarContraseñaView;
@@ -23,71 +25,61 @@ public class CuestionarioController {
     // ... (El resto de la clase permanece igual hasta finalizarRegistro)
     private final RegistrarUsuarioView cuestionarioView;
     private final RecuperarContraseñaView recuperarView;
-    private final CuestionarioDAO cuestionarioDAO;
+    private final CuestionarioServicio cuestionarioServicio;
     private Cuestionario cuestionario;
     private List<Respuesta> preguntasAleatorias;
-    private List<Respuesta> respuestasCorrectas;
+    private Map<Integer, String> respuestasCorrectas;
+    private String cedulaRecuperar;
     private final MensajeInternacionalizacionHandler mi;
-    private UsuarioDAO usuarioDAO;
+    private UsuarioServicio usuarioServicio;
     private boolean usuarioYaRegistrado;
     private Usuario usuario;
     private int indicePreguntaActual = 0;
     private boolean cuestionarioIniciado = false;
     private int indicePreguntaRecuperar = 0;
 
-    public CuestionarioController(RegistrarUsuarioView vista, CuestionarioDAO dao, UsuarioDAO usuarioDAO, MensajeInternacionalizacionHandler mi) {
+    public CuestionarioController(RegistrarUsuarioView vista, CuestionarioServicio cuestionarioServicio, UsuarioServicio usuarioServicio, MensajeInternacionalizacionHandler mi) {
         this.mi = mi;
         this.cuestionarioView = vista;
-        this.cuestionarioDAO = dao;
-        this.usuarioDAO = usuarioDAO;
+        this.cuestionarioServicio = cuestionarioServicio;
+        this.usuarioServicio = usuarioServicio;
         this.recuperarView = null;
         this.cuestionario = null;
         cargarComboPreguntas();
         configurarEventosCuestionario();
     }
 
-    public CuestionarioController(RecuperarContraseñaView recuperarView, CuestionarioDAO dao, String cedula, String contrasenia, MensajeInternacionalizacionHandler mi) {
+    public CuestionarioController(RecuperarContraseñaView recuperarView, CuestionarioServicio cuestionarioServicio, String cedula, List<Respuesta> preguntas, MensajeInternacionalizacionHandler mi) {
         this.mi = mi;
-        this.cuestionarioDAO = dao;
+        this.cuestionarioServicio = cuestionarioServicio;
         this.cuestionarioView = null;
         this.recuperarView = recuperarView;
-        this.cuestionario = cuestionarioDAO.buscarPorCedula(cedula);
-        this.respuestasCorrectas = new ArrayList<>();
-        if (cuestionario == null || cuestionario.getRespuestas().size() < 3) {
-            recuperarView.mostrarMensaje(mi.get("cuestionario.recuperar.noPreguntas"));
-            recuperarView.dispose();
-            return;
-        }
-        List<Respuesta> userSecurityQuestions = new ArrayList<>(cuestionario.getRespuestas());
-        Collections.shuffle(userSecurityQuestions);
-        this.preguntasAleatorias = new ArrayList<>();
-        for (int i = 0; i < Math.min(3, userSecurityQuestions.size()); i++) {
-            this.preguntasAleatorias.add(userSecurityQuestions.get(i));
-        }
+        this.cedulaRecuperar = cedula;
+        this.respuestasCorrectas = new HashMap<>();
+        this.preguntasAleatorias = preguntas;
         if (!preguntasAleatorias.isEmpty()) {
             indicePreguntaRecuperar = 0;
             mostrarPreguntaRecuperarActual();
         }
-        configurarEventosRecuperar(contrasenia);
+        configurarEventosRecuperar();
     }
 
-    public CuestionarioController(RegistrarUsuarioView vista, CuestionarioDAO cuestionarioDAO, UsuarioDAO usuarioDAO, Usuario usuario, MensajeInternacionalizacionHandler mi, boolean usuarioYaRegistrado) {
+    public CuestionarioController(RegistrarUsuarioView vista, CuestionarioServicio cuestionarioServicio, UsuarioServicio usuarioServicio, Usuario usuario, MensajeInternacionalizacionHandler mi, boolean usuarioYaRegistrado) {
         this.mi = mi;
         this.cuestionarioView = vista;
-        this.cuestionarioDAO = cuestionarioDAO;
-        this.usuarioDAO = usuarioDAO;
+        this.cuestionarioServicio = cuestionarioServicio;
+        this.usuarioServicio = usuarioServicio;
         this.recuperarView = null;
         this.usuarioYaRegistrado = usuarioYaRegistrado;
         this.usuario = usuario;
         if (usuarioYaRegistrado) {
-            this.cuestionario = cuestionarioDAO.buscarPorCedula(usuario.getCedula());
+            this.cuestionario = cuestionarioServicio.buscar(usuario.getCedula());
             if (this.cuestionario == null) {
                 this.cuestionario = new Cuestionario(usuario.getCedula());
             }
         } else {
             this.cuestionario = new Cuestionario(usuario.getCedula());
         }
-        this.cuestionario.aplicarIdioma(mi);
         setearCamposVista(usuario);
         configurarEventosCuestionario();
     }
@@ -106,9 +98,9 @@ public class CuestionarioController {
         });
     }
 
-    private void configurarEventosRecuperar(String contrasena) {
+    private void configurarEventosRecuperar() {
         recuperarView.getBtnGuardar().addActionListener(e -> guardarRespuestasRecuperar());
-        recuperarView.getBtnTerminar().addActionListener(e -> finalizarRecuperar(contrasena));
+        recuperarView.getBtnTerminar().addActionListener(e -> finalizarRecuperar());
         recuperarView.getBtnGenerar().addActionListener(e -> siguientePreguntaRecuperar());
     }
 
@@ -131,10 +123,8 @@ public class CuestionarioController {
             recuperarView.mostrarMensaje(mi.get("cuestionario.recuperar.respuestaVacia"));
             return;
         }
-        if (respuestaUsuario.equalsIgnoreCase(preguntaActual.getRespuesta())) {
-            Respuesta correcta = new Respuesta(preguntaActual.getId(), preguntaActual.getEnunciado(), respuestaUsuario);
-            if (!respuestasCorrectas.contains(correcta)) {
-                respuestasCorrectas.add(correcta);
+        if (cuestionarioServicio.verificarRespuesta(cedulaRecuperar, preguntaActual.getId(), respuestaUsuario)) {
+            if (respuestasCorrectas.putIfAbsent(preguntaActual.getId(), respuestaUsuario) == null) {
                 recuperarView.mostrarMensaje(mi.get("cuestionario.recuperar.correcta"));
             } else {
                 recuperarView.mostrarMensaje(mi.get("cuestionario.recuperar.yaRespondida"));
@@ -153,13 +143,15 @@ public class CuestionarioController {
         }
     }
 
-    private void finalizarRecuperar(String contrasena) {
-        if (respuestasCorrectas.size() >= 3) {
-            recuperarView.mostrarMensaje(String.format(mi.get("cuestionario.recuperar.recuperada"), contrasena));
-            recuperarView.dispose();
-        } else {
-            recuperarView.mostrarMensaje(mi.get("cuestionario.recuperar.minimo"));
-        }
+    private void finalizarRecuperar() {
+        // Restablecer la contraseña calcula su hash: se hace fuera del EDT
+        Map<Integer, String> respuestas = new HashMap<>(respuestasCorrectas);
+        EjecutorAsincrono.escribir(recuperarView, () -> cuestionarioServicio.recuperar(cedulaRecuperar, respuestas), resultado -> {
+            recuperarView.mostrarMensaje(resultado.getMensaje(mi));
+            if (resultado.isExito()) {
+                recuperarView.dispose();
+            }
+        });
     }
 
     private void guardarPreguntaActual() {
@@ -167,7 +159,6 @@ public class CuestionarioController {
             String cedula = cuestionarioView.getTxtCedula().getText().trim();
             if (!cedula.isEmpty()) {
                 cuestionario = new Cuestionario(cedula);
-                cuestionario.aplicarIdioma(mi);
             } else {
                 cuestionarioView.mostrarMensaje("Debe ingresar una cédula válida antes de guardar.");
                 return;
@@ -197,7 +188,7 @@ public class CuestionarioController {
 
 
     public void finalizarRegistro() {
-        if (cuestionario.getRespuestas().size() < 3) {
+        if (cuestionario.getRespuestas().size() < CuestionarioServicio.MINIMO_RESPUESTAS) {
             cuestionarioView.mostrarMensaje(mi.get("cuestionario.finalizar.minimo"));
             return;
         }
@@ -227,14 +218,18 @@ public class CuestionarioController {
                 ValidadorDatosUsuario.validarContrasena(contrasenia);
 
                 // Si todas las validaciones pasan, se procede a crear el usuario
-                if (usuarioDAO.buscarPorCedula(cedula) != null) {
-                    cuestionarioView.mostrarMensaje(mi.get("login.mensaje.error_usuario_existente"));
-                    return;
-                }
-
                 GregorianCalendar fechaNacimiento = new GregorianCalendar(anio, mes - 1, dia);
                 Usuario nuevoUsuario = new Usuario(cedula, contrasenia, Rol.USUARIO, nombre, celular, fechaNacimiento, correo);
-                usuarioDAO.crear(nuevoUsuario);
+                // El servicio calcula el hash de la contraseña: se crea fuera del EDT y el
+                // cuestionario se guarda solo si el usuario quedó creado
+                EjecutorAsincrono.escribir(cuestionarioView, () -> usuarioServicio.crear(nuevoUsuario), creado -> {
+                    if (!creado.isExito()) {
+                        cuestionarioView.mostrarMensaje(creado.getMensaje(mi));
+                        return;
+                    }
+                    guardarCuestionario();
+                });
+                return;
 
             } catch (CedulaInvalidaException | TelefonoInvalidoException | CorreoInvalidoException | ContrasenaInvalidaException e) {
                 // Si alguna validación falla, se muestra el mensaje de la excepción.
@@ -242,10 +237,15 @@ public class CuestionarioController {
                 return; // Se detiene el proceso de registro.
             }
         }
+        guardarCuestionario();
+    }
 
-        cuestionarioDAO.guardar(cuestionario);
-        cuestionarioView.mostrarMensaje(mi.get("cuestionario.finalizar.ok"));
-        cuestionarioView.dispose();
+    private void guardarCuestionario() {
+        Resultado<Cuestionario> guardado = cuestionarioServicio.guardar(cuestionario);
+        cuestionarioView.mostrarMensaje(guardado.getMensaje(mi));
+        if (guardado.isExito()) {
+            cuestionarioView.dispose();
+        }
     }
 
     private void siguientePregunta() {
@@ -271,12 +271,11 @@ public class CuestionarioController {
             cuestionarioView.mostrarMensaje(e.getMessage());
             return;
         }
-        if (usuarioDAO.buscarPorCedula(cedula) != null) {
+        if (usuarioServicio.buscar(cedula).isExito()) {
             cuestionarioView.mostrarMensaje(mi.get("login.mensaje.error_usuario_existente"));
             return;
         }
         cuestionario = new Cuestionario(cedula);
-        cuestionario.aplicarIdioma(mi);
         cargarComboPreguntas();
         indicePreguntaActual = 0;
         mostrarPreguntaActual();
@@ -300,13 +299,7 @@ public class CuestionarioController {
     }
 
     private void cargarComboPreguntas() {
-        preguntasAleatorias = new ArrayList<>();
-        Cuestionario temporal = new Cuestionario("");
-        temporal.aplicarIdioma(mi);
-        List<Respuesta> todasLasPreguntas = temporal.preguntasPorDefecto();
-        Collections.shuffle(todasLasPreguntas);
-        int cantidadDeseada = 6;
-        preguntasAleatorias = todasLasPreguntas.subList(0, Math.min(cantidadDeseada, todasLasPreguntas.size()));
+        preguntasAleatorias = cuestionarioServicio.generarPreguntas(mi.getLocale());
         if (!preguntasAleatorias.isEmpty()) {
             cuestionarioView.getTxtPreguntas().setText(preguntasAleatorias.get(0).getEnunciado());
             cuestionarioView.getLblPreguntasR().setText(preguntasAleatorias.get(0).getEnunciado());
@@ -315,7 +308,8 @@ public class CuestionarioController {
 
     private void setearCamposVista(Usuario usuario) {
         cuestionarioView.getTxtCedula().setText(usuario.getCedula());
-        cuestionarioView.getTxtContrasena().setText(usuario.getContrasena());
+        // El usuario guardado no conserva su contraseña
+        cuestionarioView.getTxtContrasena().setText("");
         cuestionarioView.getTxtNombre().setText(usuario.getNombre());
         cuestionarioView.getTxtTelefono().setText(usuario.getTelefono());
         cuestionarioView.getTxtCorreo().setText(usuario.getCorreo());
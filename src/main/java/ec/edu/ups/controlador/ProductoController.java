@@ -1,195 +1,182 @@
 package ec.edu.ups.controlador;
 
-import ec.edu.ups.dao.ProductoDAO;
 import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.servicio.CatalogoServicio;
+import ec.edu.ups.util.EjecutorAsincrono;
 import ec.edu.ups.util.Formateador;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+import ec.edu.ups.util.MonitorEDT;
 import ec.edu.ups.vista.carrito.CarritoAnadirView;
 import ec.edu.ups.vista.producto.ProductoAnadirView;
 import ec.edu.ups.vista.producto.ProductoEditarView;
 import ec.edu.ups.vista.producto.ProductoEliminarView;
 import ec.edu.ups.vista.producto.ProductoListaView;
 
-import java.awt.event.ActionListener;
-import java.util.List;
 
 /**
- * Controlador que gestiona toda la lógica de negocio para las operaciones CRUD de Productos.
- * Actúa como intermediario entre las vistas de producto (Añadir, Listar, Editar, Eliminar)
- * y la capa de acceso a datos (ProductoDAO). También interactúa con la vista de añadir
- * al carrito para la búsqueda de productos.
+ * Controlador que conecta las vistas de producto (Añadir, Listar, Editar, Eliminar) con el
+ * {@link CatalogoServicio}, que valida los datos y aplica las reglas del catálogo. El
+ * controlador solo lee los campos, pide confirmaciones y muestra los resultados. También
+ * interactúa con la vista de añadir al carrito para la búsqueda de productos.
  *
  */
 public class ProductoController {
 
-    private final ProductoAnadirView productoAnadirView;
-    private final ProductoListaView productoListaView;
-    private final ProductoDAO productoDAO;
-    private final ProductoEditarView productoEditarView;
-    private final ProductoEliminarView productoEliminarView;
-    private final CarritoAnadirView carritoAnadirView;
+    private final CatalogoServicio catalogoServicio;
     private final MensajeInternacionalizacionHandler mi;
+    private ProductoAnadirView productoAnadirView;
+    private ProductoListaView productoListaView;
+    private ProductoEditarView productoEditarView;
+    private ProductoEliminarView productoEliminarView;
+    private CarritoAnadirView carritoAnadirView;
 
     /**
      * Constructor del ProductoController.
-     * Inyecta las dependencias necesarias (DAOs y Vistas) y configura los eventos.
+     * Las vistas se registran después con sus métodos `set`, a medida que se crean,
+     * para que ninguna se construya antes de que el usuario la abra.
      *
-     * @param productoDAO Objeto de acceso a datos para productos.
-     * @param productoAnadirView Vista para crear nuevos productos.
-     * @param productoListaView Vista para listar y buscar productos.
-     * @param productoGestionView Vista para editar productos existentes.
-     * @param productoEliminarView Vista para eliminar productos.
-     * @param carritoAnadirView Vista para añadir productos a un carrito, que requiere buscar productos.
+     * @param catalogoServicio Servicio del catálogo de productos.
      * @param mi Manejador de internacionalización para los mensajes.
      */
-    public ProductoController(ProductoDAO productoDAO,
-                              ProductoAnadirView productoAnadirView,
-                              ProductoListaView productoListaView,
-                              ProductoEditarView productoGestionView, ProductoEliminarView productoEliminarView,
-                              CarritoAnadirView carritoAnadirView, MensajeInternacionalizacionHandler mi) {
-        this.productoDAO = productoDAO;
+    public ProductoController(CatalogoServicio catalogoServicio, MensajeInternacionalizacionHandler mi) {
+        this.catalogoServicio = catalogoServicio;
+        this.mi = mi;
+    }
+
+    /**
+     * Registra la vista para crear nuevos productos y configura sus eventos.
+     * La duración de cada listener se registra con {@link MonitorEDT}.
+     *
+     * @param productoAnadirView Vista para crear nuevos productos.
+     */
+    public void setProductoAnadirView(ProductoAnadirView productoAnadirView) {
         this.productoAnadirView = productoAnadirView;
+        productoAnadirView.getBtnAceptar().addActionListener(MonitorEDT.medir("ProductoController.guardarProducto", e -> guardarProducto()));
+    }
+
+    /**
+     * Registra la vista para listar y buscar productos y configura sus eventos.
+     *
+     * @param productoListaView Vista para listar y buscar productos.
+     */
+    public void setProductoListaView(ProductoListaView productoListaView) {
         this.productoListaView = productoListaView;
-        this.productoEditarView = productoGestionView;
+        productoListaView.getBtnBuscar().addActionListener(MonitorEDT.medir("ProductoController.buscarProducto", e -> buscarProducto()));
+        productoListaView.getBtnListar().addActionListener(MonitorEDT.medir("ProductoController.listarProductos", e -> listarProductos()));
+    }
+
+    /**
+     * Registra la vista para editar productos existentes y configura sus eventos.
+     *
+     * @param productoEditarView Vista para editar productos existentes.
+     */
+    public void setProductoEditarView(ProductoEditarView productoEditarView) {
+        this.productoEditarView = productoEditarView;
+        productoEditarView.getBtnBuscar().addActionListener(MonitorEDT.medir("ProductoController.buscarProductoEdicion", e -> buscarProductoEdicion()));
+        productoEditarView.getBtnActualizar().addActionListener(MonitorEDT.medir("ProductoController.actualizarProducto", e -> actualizarProducto()));
+    }
+
+    /**
+     * Registra la vista para eliminar productos y configura sus eventos.
+     *
+     * @param productoEliminarView Vista para eliminar productos.
+     */
+    public void setProductoEliminarView(ProductoEliminarView productoEliminarView) {
         this.productoEliminarView = productoEliminarView;
-        this.carritoAnadirView = carritoAnadirView;
-        this.mi = mi;
-        configurarEventos();
+        productoEliminarView.getBtnEliminar().addActionListener(MonitorEDT.medir("ProductoController.eliminarProducto", e -> eliminarProducto()));
+        productoEliminarView.getBtnBuscar().addActionListener(MonitorEDT.medir("ProductoController.buscarProductoEliminar", e -> buscarProductoEliminar()));
     }
 
     /**
-     * Configura y asigna los ActionListeners a los botones de todas las vistas
-     * gestionadas por este controlador.
+     * Registra la vista para añadir productos a un carrito, que requiere buscar
+     * productos, y configura su evento de búsqueda.
+     *
+     * @param carritoAnadirView Vista para añadir productos a un carrito.
      */
-    private void configurarEventos() {
-        productoAnadirView.getBtnAceptar().addActionListener(e -> guardarProducto());
-        productoListaView.getBtnBuscar().addActionListener(e -> buscarProducto());
-        productoListaView.getBtnListar().addActionListener(e -> listarProductos());
-        productoEditarView.getBtnBuscar().addActionListener(e -> buscarProductoEdicion());
-        productoEditarView.getBtnActualizar().addActionListener(e -> actualizarProducto());
-        productoEliminarView.getBtnEliminar().addActionListener(e -> eliminarProducto());
-        productoEliminarView.getBtnBuscar().addActionListener(e -> buscarProductoEliminar());
-        carritoAnadirView.getBtnBuscar().addActionListener(e -> buscarProductoCarrito());
+    public void setCarritoAnadirView(CarritoAnadirView carritoAnadirView) {
+        this.carritoAnadirView = carritoAnadirView;
+        carritoAnadirView.getBtnBuscar().addActionListener(MonitorEDT.medir("ProductoController.buscarProductoCarrito", e -> buscarProductoCarrito()));
     }
 
     /**
      * Valida los datos de entrada y guarda un nuevo producto en la capa de persistencia.
      * Muestra mensajes de error si la validación falla o de éxito si la operación se completa.
+     * La escritura se hace en segundo plano con la vista deshabilitada.
      */
     private void guardarProducto() {
-        String codigoTexto = productoAnadirView.getTxtCodigo().getText().trim();
-        String nombre = productoAnadirView.getTxtNombre().getText().trim();
-        String precioTexto = productoAnadirView.getTxtPrecio().getText().trim();
-
-        if (codigoTexto.isEmpty() || nombre.isEmpty() || precioTexto.isEmpty()) {
-            productoAnadirView.mostrarMensaje(mi.get("producto.mensaje.campos.vacios"));
-            return;
-        }
-        if (!codigoTexto.matches("[1-9]\\d*|0")) {
-            productoAnadirView.mostrarMensaje(mi.get("producto.mensaje.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(codigoTexto);
-        if (!precioTexto.matches("\\d+(\\.\\d+)?")) {
-            productoAnadirView.mostrarMensaje(mi.get("producto.mensaje.precio.invalido"));
-            return;
-        }
-        double precio = Double.parseDouble(precioTexto);
-        if (productoDAO.buscarPorCodigo(codigo) != null) {
-            productoAnadirView.mostrarMensaje(mi.get("producto.mensaje.error.codigo.existe"));
-            return;
-        }
-        productoDAO.crear(new Producto(codigo, nombre, precio));
-        productoAnadirView.mostrarMensaje(mi.get("producto.mensaje.guardado.correctamente"));
-        productoAnadirView.limpiarCampos();
-        productoAnadirView.mostrarProductos(productoDAO.listarTodos());
+        String codigo = productoAnadirView.getTxtCodigo().getText();
+        String nombre = productoAnadirView.getTxtNombre().getText();
+        String precio = productoAnadirView.getTxtPrecio().getText();
+        EjecutorAsincrono.escribir(productoAnadirView, () -> catalogoServicio.crear(codigo, nombre, precio), resultado -> {
+            productoAnadirView.mostrarMensaje(resultado.getMensaje(mi));
+            if (resultado.isExito()) {
+                productoAnadirView.limpiarCampos();
+                EjecutorAsincrono.ejecutar(productoAnadirView, catalogoServicio::listarTodos, productoAnadirView::mostrarProductos);
+            }
+        });
     }
 
     /**
      * Busca productos cuyo nombre contenga el texto proporcionado y actualiza
-     * la tabla en la vista de listado con los resultados.
+     * la tabla en la vista de listado con los resultados, que se buscan en segundo
+     * plano y se muestran por partes.
      */
     private void buscarProducto() {
         String nombre = productoListaView.getTxtBuscar().getText();
-        List<Producto> productosEncontrados = productoDAO.buscarPorNombre(nombre);
-        productoListaView.cargarDatos(productosEncontrados);
+        EjecutorAsincrono.ejecutarPorPartes(productoListaView,
+                () -> catalogoServicio.buscarPorNombre(nombre).stream(),
+                productoListaView::cargarDatos, productoListaView::agregarDatos);
     }
 
     /**
      * Carga todos los productos existentes desde la capa de persistencia y los
-     * muestra en la tabla de la vista de listado.
+     * muestra en la tabla de la vista de listado. Los productos se recorren en
+     * segundo plano con el flujo del servicio y se muestran por partes.
      */
     private void listarProductos() {
-        List<Producto> productos = productoDAO.listarTodos();
-        productoListaView.cargarDatos(productos);
+        EjecutorAsincrono.ejecutarPorPartes(productoListaView, catalogoServicio::flujo,
+                productoListaView::cargarDatos, productoListaView::agregarDatos);
     }
 
     /**
-     * Valida los datos del formulario de edición y actualiza un producto existente
-     * en la capa de persistencia, previa confirmación del usuario.
+     * Actualiza un producto existente con los datos del formulario de edición,
+     * previa confirmación del usuario. La escritura se hace en segundo plano con la
+     * vista deshabilitada.
      */
     private void actualizarProducto() {
-        String txtCod = productoEditarView.getTxtCodigo().getText().trim();
-        String nombre = productoEditarView.getTxtNombre().getText().trim();
-        String txtPrecio = productoEditarView.getTxtPrecio().getText().trim();
-
-        if (txtCod.isEmpty() || nombre.isEmpty() || txtPrecio.isEmpty()) {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.campos.vacios"));
-            return;
-        }
-        if (!txtCod.matches("[1-9]\\d*|0")) {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(txtCod);
-        if (!txtPrecio.matches("\\d+(\\.\\d+)?")) {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.precio.invalido"));
-            return;
-        }
-        double precio = Double.parseDouble(txtPrecio);
-        Producto producto = productoDAO.buscarPorCodigo(codigo);
-        if (producto == null) {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.no.encontrado"));
-            return;
-        }
         boolean confirmado = productoEditarView.mostrarMensajePregunta(mi.get("producto.mensaje.actualizar.pregunta"));
         if (!confirmado) {
-            productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.actualizacion.cancelada"));
+            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.actualizacion.cancelada"));
             return;
         }
-        producto.setNombre(nombre);
-        producto.setPrecio(precio);
-        productoDAO.actualizar(producto);
-        productoEditarView.mostrarMensaje(mi.get("producto.mensaje.actualizado.correctamente"));
+        String codigo = productoEditarView.getTxtCodigo().getText();
+        String nombre = productoEditarView.getTxtNombre().getText();
+        String precio = productoEditarView.getTxtPrecio().getText();
+        EjecutorAsincrono.escribir(productoEditarView, () -> catalogoServicio.actualizar(codigo, nombre, precio),
+                resultado -> productoEditarView.mostrarMensaje(resultado.getMensaje(mi)));
     }
 
     /**
      * Elimina un producto de la capa de persistencia, previa confirmación del usuario.
+     * La eliminación se hace en segundo plano con la vista deshabilitada.
      */
     private void eliminarProducto() {
-        String textCodigo = productoEliminarView.getTxtCodigo().getText().trim();
-        if (textCodigo.isEmpty()) {
+        String codigo = productoEliminarView.getTxtCodigo().getText();
+        if (codigo.isBlank()) {
             productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.ingresar.codigo"));
             return;
         }
-        if (!textCodigo.matches("[1-9]\\d*|0")) {
-            productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(textCodigo);
-        Producto producto = productoDAO.buscarPorCodigo(codigo);
-        if (producto == null) {
-            productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.no.encontrado"));
-            return;
-        }
         boolean confirmado = productoEliminarView.mostrarMensajePregunta(mi.get("producto.mensaje.eliminar.pregunta"));
         if (!confirmado) {
             productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.eliminacion.cancelada"));
             return;
         }
-        productoDAO.eliminar(codigo);
-        productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.eliminado.correctamente"));
-        productoEliminarView.limpiarCampos();
+        EjecutorAsincrono.escribir(productoEliminarView, () -> catalogoServicio.eliminar(codigo), resultado -> {
+            productoEliminarView.mostrarMensaje(resultado.getMensaje(mi));
+            if (resultado.isExito()) {
+                productoEliminarView.limpiarCampos();
+            }
+        });
     }
 
     /**
@@ -197,24 +184,16 @@ public class ProductoController {
      * campos de la vista de eliminación para confirmación visual.
      */
     private void buscarProductoEliminar() {
-        String txtCod = productoEliminarView.getTxtCodigo().getText().trim();
-        if (txtCod.isEmpty()) {
-            productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.error.ingresar.codigo"));
-            return;
-        }
-        if (!txtCod.matches("[1-9]\\d*|0")) {
-            productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(txtCod);
-        Producto producto = productoDAO.buscarPorCodigo(codigo);
-        if (producto != null) {
-            productoEliminarView.getTxtNombre().setText(producto.getNombre());
-            productoEliminarView.getTxtPrecio().setText(Formateador.formatearMoneda(producto.getPrecio(), mi.getLocale()));
-        } else {
-            productoEliminarView.mostrarMensaje(mi.get("producto.mensaje.no.encontrado"));
-            productoEliminarView.limpiarCampos();
-        }
+        String codigo = productoEliminarView.getTxtCodigo().getText();
+        EjecutorAsincrono.ejecutar(productoEliminarView, () -> catalogoServicio.buscar(codigo), resultado -> {
+            if (resultado.isExito()) {
+                productoEliminarView.getTxtNombre().setText(resultado.getValor().getNombre());
+                productoEliminarView.getTxtPrecio().setText(Formateador.formatearMoneda(resultado.getValor().getPrecio(), mi.getLocale()));
+            } else {
+                productoEliminarView.mostrarMensaje(resultado.getMensaje(mi));
+                productoEliminarView.limpiarCampos();
+            }
+        });
     }
 
     /**
@@ -222,24 +201,16 @@ public class ProductoController {
      * campos de la vista de edición, listos para ser modificados.
      */
     private void buscarProductoEdicion() {
-        String txtCod = productoEditarView.getTxtCodigo().getText().trim();
-        if (txtCod.isEmpty()) {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.error.ingresar.codigo"));
-            return;
-        }
-        if (!txtCod.matches("[1-9]\\d*|0")) {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(txtCod);
-        Producto producto = productoDAO.buscarPorCodigo(codigo);
-        if (producto != null) {
-            productoEditarView.getTxtNombre().setText(producto.getNombre());
-            productoEditarView.getTxtPrecio().setText(Formateador.formatearMoneda(producto.getPrecio(), mi.getLocale()));
-        } else {
-            productoEditarView.mostrarMensaje(mi.get("producto.mensaje.no.encontrado"));
-            productoEditarView.limpiarCampos();
-        }
+        String codigo = productoEditarView.getTxtCodigo().getText();
+        EjecutorAsincrono.ejecutar(productoEditarView, () -> catalogoServicio.buscar(codigo), resultado -> {
+            if (resultado.isExito()) {
+                productoEditarView.getTxtNombre().setText(resultado.getValor().getNombre());
+                productoEditarView.getTxtPrecio().setText(Formateador.formatearMoneda(resultado.getValor().getPrecio(), mi.getLocale()));
+            } else {
+                productoEditarView.mostrarMensaje(resultado.getMensaje(mi));
+                productoEditarView.limpiarCampos();
+            }
+        });
     }
 
     /**
@@ -247,34 +218,26 @@ public class ProductoController {
      * su nombre y precio para que el usuario verifique el item antes de añadirlo.
      */
     private void buscarProductoCarrito() {
-        String txtCod = carritoAnadirView.getTxtCodigo().getText().trim();
-        if (txtCod.isEmpty()) {
-            carritoAnadirView.mostrarMensaje(mi.get("producto.mensaje.error.ingresar.codigo"));
-            return;
-        }
-        if (!txtCod.matches("[1-9]\\d*|0")) {
-            carritoAnadirView.mostrarMensaje(mi.get("producto.mensaje.codigo.invalido"));
-            return;
-        }
-        int codigo = Integer.parseInt(txtCod);
-        Producto producto = productoDAO.buscarPorCodigo(codigo);
-        if (producto != null) {
-            carritoAnadirView.getTxtNombre().setText(producto.getNombre());
-            carritoAnadirView.getTxtPrecio().setText(Formateador.formatearMoneda(producto.getPrecio(), mi.getLocale()));
-        } else {
-            carritoAnadirView.mostrarMensaje(mi.get("producto.mensaje.no.encontrado"));
-            carritoAnadirView.limpiarCampos();
-        }
+        String codigo = carritoAnadirView.getTxtCodigo().getText();
+        EjecutorAsincrono.ejecutar(carritoAnadirView, () -> catalogoServicio.buscar(codigo), resultado -> {
+            if (resultado.isExito()) {
+                carritoAnadirView.getTxtNombre().setText(resultado.getValor().getNombre());
+                carritoAnadirView.getTxtPrecio().setText(Formateador.formatearMoneda(resultado.getValor().getPrecio(), mi.getLocale()));
+            } else {
+                carritoAnadirView.mostrarMensaje(resultado.getMensaje(mi));
+                carritoAnadirView.limpiarCampos();
+            }
+        });
     }
 
     /**
-     * Actualiza el idioma de todas las vistas de producto gestionadas por este controlador.
+     * Actualiza el idioma de las vistas de producto ya registradas en este controlador.
      * Este método es invocado externamente cuando se cambia el idioma de la aplicación.
      */
     public void actualizarIdiomaEnVistas() {
-        productoAnadirView.cambiarIdioma();
-        productoEditarView.cambiarIdioma();
-        productoEliminarView.cambiarIdioma();
-        productoListaView.cambiarIdioma();
+        if (productoAnadirView != null) productoAnadirView.cambiarIdioma();
+        if (productoEditarView != null) productoEditarView.cambiarIdioma();
+        if (productoEliminarView != null) productoEliminarView.cambiarIdioma();
+        if (productoListaView != null) productoListaView.cambiarIdioma();
     }
 }
\ No newline at end of file
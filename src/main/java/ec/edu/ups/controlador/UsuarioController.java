@@ -1,11 +1,14 @@
 package ec.edu.ups.controlador;
 
-import ec.edu.ups.dao.CuestionarioDAO;
-import ec.edu.ups.dao.UsuarioDAO;
-import ec.edu.ups.modelo.Cuestionario;
+import ec.edu.ups.modelo.Respuesta;
 import ec.edu.ups.modelo.Rol;
 import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.servicio.CuestionarioServicio;
+import ec.edu.ups.servicio.Resultado;
+import ec.edu.ups.servicio.UsuarioServicio;
+import ec.edu.ups.util.EjecutorAsincrono;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+import ec.edu.ups.util.MonitorEDT;
 import ec.edu.ups.vista.preguntas.RecuperarContraseñaView;
 import ec.edu.ups.vista.usuario.*;
 
@@ -18,7 +21,9 @@ import java.util.GregorianCalendar;
 import java.util.List;
 
 /**
- * Controlador que gestiona la lógica de negocio para las operaciones de Usuario.
+ * Controlador de las vistas de Usuario. Las reglas de las cuentas están en el
+ * {@link UsuarioServicio} y las del cuestionario de seguridad en el {@link CuestionarioServicio};
+ * el controlador lee los campos, pide confirmaciones y muestra los resultados.
  * Esta clase opera en dos modos distintos, definidos por su constructor:
  * 1. Modo Login: Gestiona la autenticación, el registro y la recuperación de contraseña.
  * 2. Modo CRUD: Gestiona la creación, eliminación, modificación y listado de usuarios
@@ -26,79 +31,105 @@ import java.util.List;
  *
  */
 public class UsuarioController {
-    private Usuario usuario;
-    private final UsuarioDAO usuarioDAO;
+    // En la aplicación de escritorio todos los intentos llegan desde la misma terminal
+    private static final String ORIGEN_LOCAL = "local";
+
+    private String tokenSesion;
+    private final UsuarioServicio usuarioServicio;
     private LoginView loginView;
     private CrearUsuarioView usuarioCrearView;
     private EliminarUsuarioView usuarioEliminarView;
     private ModificarUsuarioView usuarioModificarView;
     private ListarUsuarioView usuarioListarView;
-    private CuestionarioDAO cuestionarioDAO;
+    private CuestionarioServicio cuestionarioServicio;
     private final MensajeInternacionalizacionHandler mi;
 
     /**
      * Constructor para el modo "Login".
      * Inicializa el controlador para manejar la lógica de la ventana de inicio de sesión.
      *
-     * @param usuarioDAO Objeto de acceso a datos para usuarios.
+     * @param usuarioServicio Servicio de cuentas, que autentica y abre las sesiones.
      * @param loginView La vista de inicio de sesión.
-     * @param cuestionarioDAO Objeto de acceso a datos para cuestionarios.
+     * @param cuestionarioServicio Servicio del cuestionario de seguridad.
      * @param mi Manejador de internacionalización.
      */
-    public UsuarioController(UsuarioDAO usuarioDAO, LoginView loginView, CuestionarioDAO cuestionarioDAO,
-                             MensajeInternacionalizacionHandler mi) {
-        this.usuarioDAO = usuarioDAO;
+    public UsuarioController(UsuarioServicio usuarioServicio, LoginView loginView,
+                             CuestionarioServicio cuestionarioServicio, MensajeInternacionalizacionHandler mi) {
+        this.usuarioServicio = usuarioServicio;
         this.loginView = loginView;
-        this.usuario = null;
-        this.cuestionarioDAO = cuestionarioDAO;
+        this.tokenSesion = null;
+        this.cuestionarioServicio = cuestionarioServicio;
         this.mi = mi;
         configurarEventosLogin();
     }
 
     /**
      * Constructor para el modo "CRUD de Usuarios".
-     * Inicializa el controlador con todas las vistas necesarias para la gestión de usuarios.
+     * Las vistas de gestión de usuarios se registran después con sus métodos `set`,
+     * a medida que se crean.
      *
-     * @param usuarioDAO Objeto de acceso a datos para usuarios.
-     * @param usuarioCrearView Vista para crear usuarios.
-     * @param usuarioEliminarView Vista para eliminar usuarios.
-     * @param usuarioModificarView Vista para modificar usuarios.
-     * @param usuarioListarView Vista para listar usuarios.
+     * @param usuarioServicio Servicio de cuentas.
      * @param mi Manejador de internacionalización.
      */
-    public UsuarioController (UsuarioDAO usuarioDAO, CrearUsuarioView usuarioCrearView, EliminarUsuarioView usuarioEliminarView,
-                              ModificarUsuarioView usuarioModificarView, ListarUsuarioView usuarioListarView, MensajeInternacionalizacionHandler mi) {
-        this.usuarioDAO = usuarioDAO;
-        this.usuarioCrearView = usuarioCrearView;
-        this.usuarioEliminarView = usuarioEliminarView;
-        this.usuarioModificarView = usuarioModificarView;
-        this.usuarioListarView = usuarioListarView;
+    public UsuarioController (UsuarioServicio usuarioServicio, MensajeInternacionalizacionHandler mi) {
+        this.usuarioServicio = usuarioServicio;
         this.mi = mi;
-        configurarEventosUsuario();
     }
 
     /**
      * Configura los ActionListeners para los botones de la vista de Login.
+     * La duración de cada listener se registra con {@link MonitorEDT}.
      */
     private void configurarEventosLogin(){
-        loginView.getBtnIniciarSesion().addActionListener(e -> autenticar());
-        loginView.getBtnRegistrarse().addActionListener(e -> registrar());
-        loginView.getBtnOlvide().addActionListener(e -> recuperar());
-        loginView.getBtnSalir().addActionListener(e -> salir());
-        loginView.getCbxIdioma().addActionListener(e -> cambiarIdioma());
+        loginView.getBtnIniciarSesion().addActionListener(MonitorEDT.medir("UsuarioController.autenticar", e -> autenticar()));
+        loginView.getBtnRegistrarse().addActionListener(MonitorEDT.medir("UsuarioController.registrar", e -> registrar()));
+        loginView.getBtnOlvide().addActionListener(MonitorEDT.medir("UsuarioController.recuperar", e -> recuperar()));
+        loginView.getBtnSalir().addActionListener(MonitorEDT.medir("UsuarioController.salir", e -> salir()));
+        loginView.getCbxIdioma().addActionListener(MonitorEDT.medir("UsuarioController.cambiarIdioma", e -> cambiarIdioma()));
+    }
+
+    /**
+     * Registra la vista para crear usuarios y configura su evento.
+     * La duración de cada listener se registra con {@link MonitorEDT}.
+     *
+     * @param usuarioCrearView Vista para crear usuarios.
+     */
+    public void setUsuarioCrearView(CrearUsuarioView usuarioCrearView) {
+        this.usuarioCrearView = usuarioCrearView;
+        usuarioCrearView.getBtnAceptar().addActionListener(MonitorEDT.medir("UsuarioController.crear", e -> crear()));
+    }
+
+    /**
+     * Registra la vista para eliminar usuarios y configura sus eventos.
+     *
+     * @param usuarioEliminarView Vista para eliminar usuarios.
+     */
+    public void setUsuarioEliminarView(EliminarUsuarioView usuarioEliminarView) {
+        this.usuarioEliminarView = usuarioEliminarView;
+        usuarioEliminarView.getBtnEliminar().addActionListener(MonitorEDT.medir("UsuarioController.eliminar", e -> eliminar()));
+        usuarioEliminarView.getBtnBuscar().addActionListener(MonitorEDT.medir("UsuarioController.buscarEliminar", e -> buscarEliminar()));
     }
 
     /**
-     * Configura los ActionListeners para los botones de las vistas de gestión de usuarios (CRUD).
+     * Registra la vista para modificar usuarios y configura sus eventos.
+     *
+     * @param usuarioModificarView Vista para modificar usuarios.
+     */
+    public void setUsuarioModificarView(ModificarUsuarioView usuarioModificarView) {
+        this.usuarioModificarView = usuarioModificarView;
+        usuarioModificarView.getBtnBuscar().addActionListener(MonitorEDT.medir("UsuarioController.buscarModificar", e -> buscarModificar()));
+        usuarioModificarView.getBtnEditar().addActionListener(MonitorEDT.medir("UsuarioController.editar", e -> editar()));
+    }
+
+    /**
+     * Registra la vista para listar usuarios y configura sus eventos.
+     *
+     * @param usuarioListarView Vista para listar usuarios.
      */
-    private void configurarEventosUsuario(){
-        usuarioCrearView.getBtnAceptar().addActionListener(e -> crear());
-        usuarioEliminarView.getBtnEliminar().addActionListener(e -> eliminar());
-        usuarioEliminarView.getBtnBuscar().addActionListener(e -> buscarEliminar());
-        usuarioModificarView.getBtnBuscar().addActionListener(e -> buscarModificar());
-        usuarioModificarView.getBtnEditar().addActionListener(e -> editar());
-        usuarioListarView.getBtnListar().addActionListener(e -> listar());
-        usuarioListarView.getBtnBuscar().addActionListener(e -> buscarUsuarioPorCedula());
+    public void setUsuarioListarView(ListarUsuarioView usuarioListarView) {
+        this.usuarioListarView = usuarioListarView;
+        usuarioListarView.getBtnListar().addActionListener(MonitorEDT.medir("UsuarioController.listar", e -> listar()));
+        usuarioListarView.getBtnBuscar().addActionListener(MonitorEDT.medir("UsuarioController.buscarUsuarioPorCedula", e -> buscarUsuarioPorCedula()));
     }
 
     /**
@@ -142,36 +173,45 @@ public class UsuarioController {
 
     /**
      * Procesa la autenticación de un usuario. Si es exitosa y el cuestionario de seguridad
-     * está completo, cierra la ventana de login. Si no, abre la ventana para completar el cuestionario.
+     * está completo, inicia su sesión y cierra la ventana de login. Si no, abre la ventana para completar el cuestionario.
+     * La verificación de la contraseña calcula un hash costoso, por eso se ejecuta fuera del EDT;
+     * el servicio la hace solo si el limitador de intentos lo permite.
      */
     private void autenticar() {
         String cedula = loginView.getTxtCedula().getText().trim();
         String contrasenia = new String(loginView.getTxtContrasena().getPassword());
 
-        usuario = usuarioDAO.autenticar(cedula, contrasenia);
+        EjecutorAsincrono.ejecutar(loginView, () -> usuarioServicio.autenticar(cedula, contrasenia, ORIGEN_LOCAL),
+                resultado -> mostrarResultadoAutenticacion(cedula, resultado));
+    }
 
-        if (usuario == null) {
-            loginView.mostrarMensaje(mi.get("login.mensaje.error_autenticacion"));
+    /**
+     * Muestra el resultado de la autenticación y continúa el flujo de inicio de sesión.
+     *
+     * @param cedula La cédula con la que se intentó iniciar sesión.
+     * @param resultado El usuario autenticado, o el error de la autenticación.
+     */
+    private void mostrarResultadoAutenticacion(String cedula, Resultado<Usuario> resultado) {
+        if (!resultado.isExito()) {
+            loginView.mostrarMensaje(resultado.getMensaje(mi));
+        } else if (!cuestionarioServicio.estaCompleto(cedula)) {
+            loginView.mostrarMensaje(mi.get("login.mensaje.incompleto"));
+            RegistrarUsuarioView cuestionarioView = new RegistrarUsuarioView(mi);
+            new CuestionarioController(
+                    cuestionarioView, cuestionarioServicio, usuarioServicio, resultado.getValor(), mi, true);
+            gestionarAperturaVentanaSecundaria(cuestionarioView);
         } else {
-            Cuestionario cuestionario = cuestionarioDAO.buscarPorCedula(cedula);
-            if (cuestionario == null || cuestionario.getRespuestas().size() < 3) {
-                loginView.mostrarMensaje(mi.get("login.mensaje.incompleto"));
-                RegistrarUsuarioView cuestionarioView = new RegistrarUsuarioView(mi);
-                new CuestionarioController(
-                        cuestionarioView, cuestionarioDAO, usuarioDAO, usuario, mi, true);
-                gestionarAperturaVentanaSecundaria(cuestionarioView);
-            } else {
-                loginView.dispose();
-            }
+            tokenSesion = usuarioServicio.abrirSesion(resultado.getValor(), mi.getLocale()).getToken();
+            loginView.dispose();
         }
     }
 
     /**
-     * Devuelve el usuario que ha sido autenticado exitosamente.
-     * @return El objeto Usuario autenticado, o null si la autenticación falló.
+     * Devuelve el token de la sesión iniciada por el usuario autenticado.
+     * @return El token de la sesión, o null si todavía no se inició sesión.
      */
-    public Usuario getUsuarioAutenticado() {
-        return usuario;
+    public String getTokenSesion() {
+        return tokenSesion;
     }
 
     /**
@@ -181,7 +221,7 @@ public class UsuarioController {
         boolean confirmado = loginView.mostrarMensajePregunta(mi.get("login.mensaje.pregunta_registro"));
         if (confirmado) {
             RegistrarUsuarioView cuestionarioView = new RegistrarUsuarioView(mi);
-            new CuestionarioController(cuestionarioView, cuestionarioDAO, usuarioDAO, mi);
+            new CuestionarioController(cuestionarioView, cuestionarioServicio, usuarioServicio, mi);
             gestionarAperturaVentanaSecundaria(cuestionarioView);
         } else {
             loginView.mostrarMensaje(mi.get("login.mensaje.creacion_cancelada"));
@@ -189,34 +229,22 @@ public class UsuarioController {
     }
 
     /**
-     * Inicia el flujo para recuperar una contraseña, validando que el usuario exista
-     * y tenga preguntas de seguridad registradas antes de abrir la ventana de recuperación.
+     * Inicia el flujo para recuperar una contraseña. El servicio valida que el usuario
+     * exista y tenga preguntas de seguridad registradas y elige las preguntas antes de
+     * abrir la ventana de recuperación.
      */
     private void recuperar() {
         boolean confirmado = loginView.mostrarMensajePregunta(mi.get("login.mensaje.pregunta_recuperar"));
         if (confirmado) {
             String cedula = loginView.getTxtCedula().getText().trim();
-            Usuario usuarioParaRecuperar = usuarioDAO.buscarPorCedula(cedula);
-
-            if (usuarioParaRecuperar == null) {
-                loginView.mostrarMensaje(mi.get("login.mensaje.usuario_no_encontrado"));
-                return;
-            }
-            if (usuarioParaRecuperar.getRol() == Rol.ADMINISTRADOR) {
-                loginView.mostrarMensaje(mi.get("login.mensaje.recuperacion_no_disponible_admin"));
-                return;
-            }
-
-            Cuestionario cuestionario = cuestionarioDAO.buscarPorCedula(cedula);
-            if (cuestionario == null || cuestionario.getRespuestas().isEmpty()) {
-                loginView.mostrarMensaje(mi.get("login.mensaje.sin_preguntas"));
+            Resultado<List<Respuesta>> preguntas = cuestionarioServicio.preguntasRecuperacion(cedula);
+            if (!preguntas.isExito()) {
+                loginView.mostrarMensaje(preguntas.getMensaje(mi));
                 return;
             }
 
             RecuperarContraseñaView recuperarView = new RecuperarContraseñaView(mi);
-            new CuestionarioController(
-                    recuperarView, cuestionarioDAO, cedula, usuarioParaRecuperar.getContrasena(), mi
-            );
+            new CuestionarioController(recuperarView, cuestionarioServicio, cedula, preguntas.getValor(), mi);
             gestionarAperturaVentanaSecundaria(recuperarView);
         } else {
             loginView.mostrarMensaje(mi.get("login.mensaje.recuperacion_cancelada"));
@@ -225,7 +253,8 @@ public class UsuarioController {
 
     /**
      * Crea un nuevo usuario en la capa de persistencia a partir de los datos
-     * ingresados en la vista de creación.
+     * ingresados en la vista de creación. El servicio calcula el hash de la contraseña,
+     * por eso la creación se ejecuta fuera del EDT como una escritura.
      */
     private void crear() {
         boolean confirmado = usuarioCrearView.mostrarMensajePregunta(mi.get("usuario.mensaje.crear.pregunta"));
@@ -234,39 +263,29 @@ public class UsuarioController {
             return;
         }
 
-        String cedula = usuarioCrearView.getTxtCedula().getText().trim();
-        String contrasena = new String(usuarioCrearView.getTxtContrasena().getPassword());
-        String nombre = usuarioCrearView.getTxtNombre().getText().trim();
-        String telefono = usuarioCrearView.getTxtTelefono().getText().trim();
-        String correo = usuarioCrearView.getTxtCorreo().getText().trim();
         int dia = (int) usuarioCrearView.getSpnDia().getValue();
         int mes = (int) usuarioCrearView.getSpnMes().getValue();
         int ano = (int) usuarioCrearView.getSpnAno().getValue();
-
-        if (cedula.isEmpty() || contrasena.isEmpty() || nombre.isEmpty() || telefono.isEmpty() || correo.isEmpty()) {
-            usuarioCrearView.mostrarMensaje(mi.get("cuestionario.finalizar.error_datos_vacios"));
-            return;
-        }
-        if (usuarioDAO.buscarPorCedula(cedula) != null) {
-            usuarioCrearView.mostrarMensaje(mi.get("usuario.mensaje.crear.existe"));
-            return;
-        }
-
-        GregorianCalendar fechaNacimiento = new GregorianCalendar(ano, mes - 1, dia);
-        Usuario nuevoUsuario = new Usuario(cedula, contrasena, Rol.USUARIO, nombre, telefono, fechaNacimiento, correo);
-        usuarioDAO.crear(nuevoUsuario);
-
-        usuarioCrearView.mostrarMensaje(mi.get("usuario.mensaje.creado"));
-        usuarioCrearView.limpiarCampos();
+        Usuario datos = new Usuario(usuarioCrearView.getTxtCedula().getText(),
+                new String(usuarioCrearView.getTxtContrasena().getPassword()), Rol.USUARIO,
+                usuarioCrearView.getTxtNombre().getText(), usuarioCrearView.getTxtTelefono().getText(),
+                new GregorianCalendar(ano, mes - 1, dia), usuarioCrearView.getTxtCorreo().getText());
+
+        EjecutorAsincrono.escribir(usuarioCrearView, () -> usuarioServicio.crear(datos), resultado -> {
+            usuarioCrearView.mostrarMensaje(resultado.getMensaje(mi));
+            if (resultado.isExito()) {
+                usuarioCrearView.limpiarCampos();
+            }
+        });
     }
 
     /**
      * Elimina un usuario de la capa de persistencia, previa confirmación.
      */
     private void eliminar() {
-        String cedula = usuarioEliminarView.getTxtCedula().getText().trim();
-        if (cedula.isEmpty()) {
-            usuarioEliminarView.mostrarMensaje("Ingrese una cédula.");
+        String cedula = usuarioEliminarView.getTxtCedula().getText();
+        if (cedula.isBlank()) {
+            usuarioEliminarView.mostrarMensaje(mi.get("login.mensaje.error_campos_vacios"));
             return;
         }
 
@@ -276,106 +295,89 @@ public class UsuarioController {
             return;
         }
 
-        if (usuarioDAO.buscarPorCedula(cedula) == null) {
-            usuarioEliminarView.mostrarMensaje("El usuario que usted busca no existe.");
-            return;
+        Resultado<Usuario> resultado = usuarioServicio.eliminar(cedula);
+        usuarioEliminarView.mostrarMensaje(resultado.getMensaje(mi));
+        if (resultado.isExito()) {
+            usuarioEliminarView.limpiarCampos();
         }
-
-        usuarioDAO.eliminar(cedula);
-        usuarioEliminarView.mostrarMensaje(mi.get("usuario.mensaje.eliminado"));
-        usuarioEliminarView.limpiarCampos();
     }
 
     /**
      * Busca un usuario por cédula y, si lo encuentra, puebla los campos
-     * de la vista de eliminación con sus datos.
+     * de la vista de eliminación con sus datos. La contraseña no se muestra: el
+     * usuario guardado no la conserva.
      */
     private void buscarEliminar() {
-        String cedula = usuarioEliminarView.getTxtCedula().getText().trim();
-        if (cedula.isEmpty()) {
-            usuarioEliminarView.mostrarMensaje("Ingrese la cédula que desea buscar.");
-            return;
-        }
-
-        Usuario usuarioEncontrado = usuarioDAO.buscarPorCedula(cedula);
-        if (usuarioEncontrado == null) {
-            usuarioEliminarView.mostrarMensaje("Usuario no encontrado.");
-            usuarioEliminarView.limpiarCampos();
-            return;
-        }
+        String cedula = usuarioEliminarView.getTxtCedula().getText();
+        EjecutorAsincrono.ejecutar(usuarioEliminarView, () -> usuarioServicio.buscar(cedula), resultado -> {
+            if (!resultado.isExito()) {
+                usuarioEliminarView.mostrarMensaje(resultado.getMensaje(mi));
+                usuarioEliminarView.limpiarCampos();
+                return;
+            }
 
-        usuarioEliminarView.getTxtContrasena().setText(usuarioEncontrado.getContrasena());
-        usuarioEliminarView.getTxtNombre().setText(usuarioEncontrado.getNombre());
-        usuarioEliminarView.getTxtTelefono().setText(usuarioEncontrado.getTelefono());
-        usuarioEliminarView.getTxtCorreo().setText(usuarioEncontrado.getCorreo());
-        GregorianCalendar fecha = usuarioEncontrado.getFecha();
-        usuarioEliminarView.getSpnDia().setValue(fecha.get(Calendar.DAY_OF_MONTH));
-        usuarioEliminarView.getSpnMes().setValue(fecha.get(Calendar.MONTH) + 1);
-        usuarioEliminarView.getSpnAno().setValue(fecha.get(Calendar.YEAR));
+            Usuario usuarioEncontrado = resultado.getValor();
+            usuarioEliminarView.getTxtContrasena().setText("");
+            usuarioEliminarView.getTxtNombre().setText(usuarioEncontrado.getNombre());
+            usuarioEliminarView.getTxtTelefono().setText(usuarioEncontrado.getTelefono());
+            usuarioEliminarView.getTxtCorreo().setText(usuarioEncontrado.getCorreo());
+            GregorianCalendar fecha = usuarioEncontrado.getFecha();
+            usuarioEliminarView.getSpnDia().setValue(fecha.get(Calendar.DAY_OF_MONTH));
+            usuarioEliminarView.getSpnMes().setValue(fecha.get(Calendar.MONTH) + 1);
+            usuarioEliminarView.getSpnAno().setValue(fecha.get(Calendar.YEAR));
+        });
     }
 
     /**
      * Busca un usuario por cédula y, si lo encuentra, puebla los campos
-     * de la vista de modificación con sus datos para ser editados.
+     * de la vista de modificación con sus datos para ser editados. El campo de la
+     * contraseña queda vacío; si se deja así, se conserva la contraseña actual.
      */
     private void buscarModificar() {
-        String cedula = usuarioModificarView.getTxtCedulaBuscar().getText().trim();
-        Usuario usuarioEncontrado = usuarioDAO.buscarPorCedula(cedula);
-
-        if (usuarioEncontrado != null) {
-            usuarioModificarView.getTxtCedulaBuscar().setText(usuarioEncontrado.getCedula());
-            usuarioModificarView.getTxtContrasena().setText(usuarioEncontrado.getContrasena());
-            usuarioModificarView.getTxtNombre().setText(usuarioEncontrado.getNombre());
-            usuarioModificarView.getTxtTelefono().setText(usuarioEncontrado.getTelefono());
-            usuarioModificarView.getTxtCorreo().setText(usuarioEncontrado.getCorreo());
-            GregorianCalendar fecha = usuarioEncontrado.getFecha();
-            usuarioModificarView.getSpnDia().setValue(fecha.get(Calendar.DAY_OF_MONTH));
-            usuarioModificarView.getSpnMes().setValue(fecha.get(Calendar.MONTH) + 1);
-            usuarioModificarView.getSpnAno().setValue(fecha.get(Calendar.YEAR));
-            usuarioModificarView.habilitarCampos(true);
-        } else {
-            usuarioModificarView.mostrarMensaje(mi.get("usuario.mensaje.no.encontrado"));
-            usuarioModificarView.habilitarCampos(false);
-        }
+        String cedula = usuarioModificarView.getTxtCedulaBuscar().getText();
+        EjecutorAsincrono.ejecutar(usuarioModificarView, () -> usuarioServicio.buscar(cedula), resultado -> {
+            if (resultado.isExito()) {
+                Usuario usuarioEncontrado = resultado.getValor();
+                usuarioModificarView.getTxtCedulaBuscar().setText(usuarioEncontrado.getCedula());
+                usuarioModificarView.getTxtContrasena().setText("");
+                usuarioModificarView.getTxtNombre().setText(usuarioEncontrado.getNombre());
+                usuarioModificarView.getTxtTelefono().setText(usuarioEncontrado.getTelefono());
+                usuarioModificarView.getTxtCorreo().setText(usuarioEncontrado.getCorreo());
+                GregorianCalendar fecha = usuarioEncontrado.getFecha();
+                usuarioModificarView.getSpnDia().setValue(fecha.get(Calendar.DAY_OF_MONTH));
+                usuarioModificarView.getSpnMes().setValue(fecha.get(Calendar.MONTH) + 1);
+                usuarioModificarView.getSpnAno().setValue(fecha.get(Calendar.YEAR));
+                usuarioModificarView.habilitarCampos(true);
+            } else {
+                usuarioModificarView.mostrarMensaje(resultado.getMensaje(mi));
+                usuarioModificarView.habilitarCampos(false);
+            }
+        });
     }
 
     /**
      * Guarda los cambios de un usuario modificado en la capa de persistencia,
-     * previa confirmación.
+     * previa confirmación. Como la creación, se ejecuta fuera del EDT como una escritura.
      */
     private void editar() {
         boolean confirmado = usuarioModificarView.mostrarMensajePregunta(mi.get("usuario.mensaje.editar.pregunta"));
         if (!confirmado) return;
 
-        String cedulaOriginal = usuarioModificarView.getTxtCedulaBuscar().getText().trim();
-        Usuario usuarioAEditar = usuarioDAO.buscarPorCedula(cedulaOriginal);
-
-        if (usuarioAEditar == null) {
-            usuarioModificarView.mostrarMensaje(mi.get("usuario.mensaje.no.encontrado"));
-            return;
-        }
-        String cedulaNueva = usuarioModificarView.getTxtCedulaBuscar().getText().trim();
-        String contrasena = new String(usuarioModificarView.getTxtContrasena().getPassword());
-        String nombre = usuarioModificarView.getTxtNombre().getText().trim();
-        String telefono = usuarioModificarView.getTxtTelefono().getText().trim();
-        String correo = usuarioModificarView.getTxtCorreo().getText().trim();
         int dia = (int) usuarioModificarView.getSpnDia().getValue();
         int mes = (int) usuarioModificarView.getSpnMes().getValue();
         int anio = (int) usuarioModificarView.getSpnAno().getValue();
-        if (!cedulaNueva.equals(cedulaOriginal) && usuarioDAO.buscarPorCedula(cedulaNueva) != null) {
-            usuarioModificarView.mostrarMensaje(mi.get("usuario.mensaje.crear.existe"));
-            return;
-        }
-        usuarioAEditar.setCedula(cedulaNueva);
-        usuarioAEditar.setContrasena(contrasena);
-        usuarioAEditar.setNombre(nombre);
-        usuarioAEditar.setTelefono(telefono);
-        usuarioAEditar.setCorreo(correo);
-        usuarioAEditar.setFecha(new GregorianCalendar(anio, mes - 1, dia));
-        usuarioDAO.actualizar(usuarioAEditar);
-        usuarioModificarView.mostrarMensaje(mi.get("usuario.mensaje.modificado"));
-        usuarioModificarView.limpiarCampos();
-        usuarioModificarView.habilitarCampos(false);
+        Usuario datos = new Usuario(usuarioModificarView.getTxtCedulaBuscar().getText(),
+                new String(usuarioModificarView.getTxtContrasena().getPassword()), null,
+                usuarioModificarView.getTxtNombre().getText(), usuarioModificarView.getTxtTelefono().getText(),
+                new GregorianCalendar(anio, mes - 1, dia), usuarioModificarView.getTxtCorreo().getText());
+
+        EjecutorAsincrono.escribir(usuarioModificarView, () -> usuarioServicio.actualizar(datos), resultado -> {
+            usuarioModificarView.mostrarMensaje(resultado.getMensaje(mi));
+            if (resultado.isExito()) {
+                usuarioModificarView.limpiarCampos();
+                usuarioModificarView.habilitarCampos(false);
+            }
+        });
     }
 
     /**
@@ -387,20 +389,22 @@ public class UsuarioController {
             listar();
             return;
         }
-        Usuario usuarioEncontrado = usuarioDAO.buscarPorCedula(cedula);
-        if (usuarioEncontrado != null) {
-            usuarioListarView.cargarDatos(List.of(usuarioEncontrado));
-        } else {
-            usuarioListarView.cargarDatos(new ArrayList<>());
-        }
+        EjecutorAsincrono.ejecutar(usuarioListarView, () -> usuarioServicio.buscar(cedula), resultado -> {
+            if (resultado.isExito()) {
+                usuarioListarView.cargarDatos(List.of(resultado.getValor()));
+            } else {
+                usuarioListarView.cargarDatos(new ArrayList<>());
+            }
+        });
     }
 
     /**
      * Obtiene todos los usuarios de la capa de persistencia y los muestra en la tabla.
+     * Los usuarios se recorren en segundo plano y se muestran por partes.
      */
     private void listar(){
-        List<Usuario> usuarios = usuarioDAO.listarTodos();
-        usuarioListarView.cargarDatos(usuarios);
+        EjecutorAsincrono.ejecutarPorPartes(usuarioListarView, usuarioServicio::flujo,
+                usuarioListarView::cargarDatos, usuarioListarView::agregarDatos);
     }
 
     /**
@@ -414,11 +418,11 @@ public class UsuarioController {
     }
 
     /**
-     * Establece el usuario autenticado. Usado principalmente para limpiar
-     * la sesión al cerrar sesión, estableciendo el usuario interno a null.
-     * @param o Objeto a establecer. Se espera que sea null para limpiar la sesión.
+     * Cierra la sesión iniciada, invalidando su token, para que la ventana de login
+     * pueda iniciar una nueva.
      */
-    public void setUsuarioAutenticado(Object o) {
-        this.usuario = null;
+    public void cerrarSesion() {
+        usuarioServicio.cerrarSesion(tokenSesion);
+        this.tokenSesion = null;
     }
 }
\ No newline at end of file
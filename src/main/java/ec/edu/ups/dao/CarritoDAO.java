@@ -4,6 +4,7 @@ import ec.edu.ups.modelo.Carrito;
 import ec.edu.ups.modelo.Usuario;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz que define las operaciones de persistencia de datos para la entidad Carrito.
@@ -35,6 +36,18 @@ public interface CarritoDAO {
      */
     void actualizar(Carrito carrito);
 
+    /**
+     * Cambia la cantidad de un producto de un carrito guardado como una sola operación:
+     * otra actualización del mismo carrito no puede intercalarse entre la lectura y la
+     * escritura, así ningún cambio concurrente se pierde.
+     *
+     * @param codigoCarrito El código del carrito a modificar.
+     * @param codigoProducto El código del producto cuya cantidad cambia.
+     * @param cantidad La nueva cantidad.
+     * @return El carrito actualizado, o null si no existe el carrito o el producto no está en él.
+     */
+    Carrito actualizarCantidad(int codigoCarrito, int codigoProducto, int cantidad);
+
     /**
      * Elimina un carrito del sistema de almacenamiento utilizando su código.
      *
@@ -56,4 +69,82 @@ public interface CarritoDAO {
      * @return Una lista de carritos pertenecientes al usuario especificado.
      */
     List<Carrito> buscarPorUsuario(Usuario usuario);
+
+    /**
+     * Devuelve la cantidad de carritos registrados en el sistema.
+     *
+     * @return El número total de carritos.
+     */
+    int contar();
+
+    /**
+     * Devuelve una página de carritos en el mismo orden que {@link #listarTodos()},
+     * sin copiar el resto de los carritos.
+     *
+     * @param desde La posición del primer carrito de la página.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    List<Carrito> listarPagina(int desde, int cantidad);
+
+    /**
+     * Devuelve la cantidad de carritos que pertenecen a un usuario específico.
+     *
+     * @param usuario El objeto Usuario cuyos carritos se cuentan.
+     * @return El número de carritos del usuario.
+     */
+    int contarPorUsuario(Usuario usuario);
+
+    /**
+     * Devuelve una página de los carritos de un usuario, en el mismo orden que
+     * {@link #buscarPorUsuario(Usuario)}.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @param desde La posición del primer carrito de la página.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    List<Carrito> buscarPorUsuario(Usuario usuario, int desde, int cantidad);
+
+    /**
+     * Devuelve los carritos con código mayor que el dado, en orden ascendente de código
+     * (paginación por clave). Para la página siguiente se pasa el código del último
+     * carrito recibido; a diferencia de la paginación por posición, las altas y bajas
+     * entre una página y otra no hacen que se repitan ni se salten carritos.
+     *
+     * @param codigo El código a partir del cual se listan los carritos (excluido). Para la
+     *               primera página se usa un valor menor que cualquier código, como 0.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    List<Carrito> listarDespuesDe(int codigo, int cantidad);
+
+    /**
+     * Devuelve los carritos de un usuario con código mayor que el dado, en orden
+     * ascendente de código (paginación por clave).
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @param codigo El código a partir del cual se listan los carritos (excluido).
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    List<Carrito> buscarPorUsuarioDespuesDe(Usuario usuario, int codigo, int cantidad);
+
+    /**
+     * Devuelve un flujo con todos los carritos, en el mismo orden que {@link #listarTodos()},
+     * sin copiarlos en una lista. El flujo recorre los carritos tal como estaban al
+     * llamar al método aunque después se creen, modifiquen o eliminen carritos.
+     *
+     * @return Un flujo de objetos Carrito.
+     */
+    Stream<Carrito> flujo();
+
+    /**
+     * Devuelve un flujo con los carritos de un usuario, en el mismo orden que
+     * {@link #buscarPorUsuario(Usuario)}, con la misma consistencia que {@link #flujo()}.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @return Un flujo de objetos Carrito.
+     */
+    Stream<Carrito> flujoPorUsuario(Usuario usuario);
 }
\ No newline at end of file
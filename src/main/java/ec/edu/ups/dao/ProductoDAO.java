@@ -3,6 +3,7 @@ package ec.edu.ups.dao;
 import ec.edu.ups.modelo.Producto;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz que define las operaciones de persistencia de datos para la entidad Producto.
@@ -56,4 +57,43 @@ public interface ProductoDAO {
      * @return Una lista de todos los objetos Producto.
      */
     List<Producto> listarTodos();
+
+    /**
+     * Devuelve la cantidad de productos registrados en el sistema.
+     *
+     * @return El número total de productos.
+     */
+    int contar();
+
+    /**
+     * Devuelve una página de productos en el mismo orden que {@link #listarTodos()},
+     * sin copiar el resto del catálogo.
+     *
+     * @param desde La posición del primer producto de la página.
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    List<Producto> listarPagina(int desde, int cantidad);
+
+    /**
+     * Devuelve los productos con código mayor que el dado, en orden ascendente de código
+     * (paginación por clave). Para la página siguiente se pasa el código del último
+     * producto recibido; las altas y bajas entre una página y otra no hacen que se
+     * repitan ni se salten productos.
+     *
+     * @param codigo El código a partir del cual se listan los productos (excluido). Para la
+     *               primera página se usa {@link Integer#MIN_VALUE}.
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    List<Producto> listarDespuesDe(int codigo, int cantidad);
+
+    /**
+     * Devuelve un flujo con todos los productos, en el mismo orden que {@link #listarTodos()},
+     * sin copiarlos en una lista. Crear, modificar o eliminar productos mientras se
+     * recorre el flujo no produce errores ni hace que un producto aparezca dos veces.
+     *
+     * @return Un flujo de objetos Producto.
+     */
+    Stream<Producto> flujo();
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import ec.edu.ups.modelo.Rol;
 import ec.edu.ups.modelo.Usuario;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz que define las operaciones de persistencia de datos para la entidad Usuario.
@@ -40,6 +41,7 @@ public interface UsuarioDAO {
 
     /**
      * Actualiza los datos de un usuario existente en el sistema de almacenamiento.
+     * Si la contraseña del usuario es null o está vacía, se conserva la contraseña actual.
      *
      * @param usuario El objeto Usuario con la información actualizada.
      */
@@ -66,4 +68,68 @@ public interface UsuarioDAO {
      * @return Una lista de usuarios que coinciden con el rol especificado.
      */
     List<Usuario> listarPorRol(Rol rol);
+
+    /**
+     * Devuelve la cantidad de usuarios registrados en el sistema.
+     *
+     * @return El número total de usuarios.
+     */
+    int contar();
+
+    /**
+     * Devuelve una página de usuarios en el mismo orden que {@link #listarTodos()}.
+     *
+     * @param desde La posición del primer usuario de la página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    List<Usuario> listarPagina(int desde, int cantidad);
+
+    /**
+     * Devuelve los usuarios con cédula mayor que la dada, en orden ascendente de cédula
+     * (paginación por clave). Para la página siguiente se pasa la cédula del último
+     * usuario recibido.
+     *
+     * @param cedula La cédula a partir de la cual se listan los usuarios (excluida), o
+     *               null para la primera página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    List<Usuario> listarDespuesDe(String cedula, int cantidad);
+
+    /**
+     * Devuelve la cantidad de usuarios que pertenecen a un rol específico.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return El número de usuarios con ese rol.
+     */
+    int contarPorRol(Rol rol);
+
+    /**
+     * Devuelve una página de los usuarios de un rol, en el mismo orden que
+     * {@link #listarPorRol(Rol)}.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @param desde La posición del primer usuario de la página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    List<Usuario> listarPorRol(Rol rol, int desde, int cantidad);
+
+    /**
+     * Devuelve un flujo con todos los usuarios, en el mismo orden que {@link #listarTodos()},
+     * sin copiarlos en una lista. El flujo recorre los usuarios tal como estaban al
+     * llamar al método aunque después se creen, modifiquen o eliminen usuarios.
+     *
+     * @return Un flujo de objetos Usuario.
+     */
+    Stream<Usuario> flujo();
+
+    /**
+     * Devuelve un flujo con los usuarios de un rol, con la misma consistencia que {@link #flujo()}.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return Un flujo de objetos Usuario.
+     */
+    Stream<Usuario> flujoPorRol(Rol rol);
 }
\ No newline at end of file
@@ -0,0 +1,895 @@
+package ec.edu.ups.dao.impl;
+
+import ec.edu.ups.dao.CarritoDAO;
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.ItemCarrito;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.modelo.Usuario;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Implementación persistente de la interfaz CarritoDAO basada en un registro de escritura
+ * anticipada (write-ahead log).
+ * Los carritos se mantienen en un {@link CarritoDAOMemoria} y cada operación de
+ * `crear`, `actualizar` o `eliminar` se anexa al archivo `carritos.wal` como un registro
+ * binario con la forma `[longitud][crc32c][tipo][datos]`.
+ * <p>
+ * Las operaciones solo anexan su registro a un búfer de pendientes mientras tienen el
+ * candado del DAO. Para escribir, el búfer se intercambia por otro vacío y se escribe y
+ * fuerza a disco fuera del candado, de modo que las demás operaciones siguen mientras
+ * el disco trabaja. Con un intervalo de sincronización de 0 cada operación espera a que
+ * su registro esté en disco antes de retornar; las que llegan mientras otra fuerza el
+ * archivo se escriben juntas en la siguiente pasada. Con un intervalo mayor un hilo
+ * escribe y fuerza los registros en grupo cada intervalo (group commit): una caída
+ * puede perder como máximo las operaciones de ese último intervalo.
+ * <p>
+ * Cuando el registro supera {@value #TAMANO_MAXIMO_LOG} bytes un hilo propio guarda un
+ * punto de control completo en `carritos.snapshot`, así el hilo de sincronización sigue
+ * escribiendo los grupos de registros mientras se serializan los carritos y las
+ * operaciones no esperan al punto de control. Primero rota el registro: las
+ * operaciones nuevas van a `carritos.wal.siguiente` mientras el punto de control se
+ * escribe sin candados a partir de una copia perezosa de los carritos, y al terminar el
+ * registro nuevo reemplaza al anterior. Al iniciar se carga el último punto de control,
+ * se reproducen los registros posteriores de ambos archivos y, si el último registro
+ * quedó incompleto o dañado por una caída, se trunca el archivo en ese punto.
+ * <p>
+ * Los productos se guardan dentro de cada registro (código, nombre y precio), de modo que
+ * los carritos se reconstruyen aunque el catálogo no sea persistente. El usuario se guarda
+ * por cédula y se busca en el UsuarioDAO al cargar.
+ *
+ * @author [Tu Nombre]
+ * @version 1.0
+ * @since 2024-07-16
+ */
+public class CarritoDAOArchivo implements CarritoDAO, AutoCloseable {
+
+    private static final String ARCHIVO_LOG = "carritos.wal";
+    private static final String ARCHIVO_LOG_SIGUIENTE = "carritos.wal.siguiente";
+    private static final String ARCHIVO_PUNTO_CONTROL = "carritos.snapshot";
+    private static final long TAMANO_MAXIMO_LOG = 64L * 1024 * 1024;
+    private static final int TAMANO_MAXIMO_REGISTRO = 16 * 1024 * 1024;
+    private static final int TAMANO_LOTE = 1 << 20;
+    private static final int TAMANO_CABECERA = 8;
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+
+    private static final byte CREAR = 1;
+    private static final byte ACTUALIZAR = 2;
+    private static final byte ELIMINAR = 3;
+    private static final byte CONTADOR = 4;
+    private static final byte FIN = 5;
+
+    private final CarritoDAOMemoria memoria;
+    private final UsuarioDAO usuarioDAO;
+    private final Path archivoLog;
+    private final Path archivoLogSiguiente;
+    private final Path archivoPuntoControl;
+    private final long intervaloSincronizacionMs;
+    private final Registro registro;
+    private final ScheduledExecutorService sincronizador;
+    private final ExecutorService puntosControl;
+    private final ReentrantLock candadoArchivo;
+    private final Object candadoPuntoControl;
+    private FileChannel log;
+    private ByteBuffer pendiente;
+    private ByteBuffer reserva;
+    private long tamanoLog;
+    private boolean cerrado;
+    private boolean puntoControlSolicitado;
+    private volatile IOException falloSincronizacion;
+
+    /**
+     * Abre (o crea) el almacenamiento de carritos en el directorio indicado y
+     * reconstruye los carritos a partir del punto de control y del registro.
+     *
+     * @param directorio El directorio donde se guardan los archivos de carritos.
+     * @param usuarioDAO El DAO usado para recuperar el usuario de cada carrito.
+     * @param intervaloSincronizacionMs Cada cuántos milisegundos se fuerzan a disco los
+     *                                  registros pendientes; 0 para forzar en cada operación.
+     * @throws IOException Si los archivos no se pueden leer o el punto de control está dañado.
+     */
+    public CarritoDAOArchivo(Path directorio, UsuarioDAO usuarioDAO, long intervaloSincronizacionMs) throws IOException {
+        if (intervaloSincronizacionMs < 0) {
+            throw new IllegalArgumentException("El intervalo de sincronización no puede ser negativo");
+        }
+        this.memoria = new CarritoDAOMemoria();
+        this.usuarioDAO = usuarioDAO;
+        this.intervaloSincronizacionMs = intervaloSincronizacionMs;
+        this.registro = new Registro();
+        this.pendiente = ByteBuffer.allocateDirect(TAMANO_LOTE);
+        this.reserva = ByteBuffer.allocateDirect(TAMANO_LOTE);
+        this.candadoArchivo = new ReentrantLock();
+        this.candadoPuntoControl = new Object();
+
+        Files.createDirectories(directorio);
+        archivoLog = directorio.resolve(ARCHIVO_LOG);
+        archivoLogSiguiente = directorio.resolve(ARCHIVO_LOG_SIGUIENTE);
+        archivoPuntoControl = directorio.resolve(ARCHIVO_PUNTO_CONTROL);
+        cargarPuntoControl();
+
+        log = FileChannel.open(archivoLog,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        tamanoLog = reproducirLog(log);
+        if (Files.exists(archivoLogSiguiente)) {
+            // Un punto de control anterior no terminó: se completa ahora con ambos registros
+            try (FileChannel siguiente = FileChannel.open(archivoLogSiguiente, StandardOpenOption.READ)) {
+                reproducirLog(siguiente);
+            }
+            escribirPuntoControl(memoria.flujo(), memoria.getContCodigo());
+            log.truncate(0);
+            log.force(true);
+            Files.delete(archivoLogSiguiente);
+            tamanoLog = 0;
+        } else if (log.size() > tamanoLog) {
+            log.truncate(tamanoLog);
+            log.force(true);
+        }
+        log.position(tamanoLog);
+
+        sincronizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "carritos-wal");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        puntosControl = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "carritos-punto-control");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        if (intervaloSincronizacionMs > 0) {
+            sincronizador.scheduleWithFixedDelay(this::sincronizarPeriodicamente,
+                    intervaloSincronizacionMs, intervaloSincronizacionMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Guarda un nuevo carrito asignándole un código autoincremental y anexa la operación al registro.
+     * Si el registro no se puede anexar, el carrito se retira de memoria antes de lanzar la excepción.
+     *
+     * @param carrito El objeto Carrito a ser guardado.
+     */
+    @Override
+    public void crear(Carrito carrito) {
+        synchronized (this) {
+            verificarAbierto();
+            memoria.crear(carrito);
+            try {
+                registro.iniciar(CREAR);
+                registro.escribirCarrito(carrito);
+                anexar(registro.finalizar());
+            } catch (IOException e) {
+                memoria.eliminar(carrito.getCodigo());
+                throw new UncheckedIOException("No se pudo guardar el carrito " + carrito.getCodigo(), e);
+            } catch (RuntimeException e) {
+                memoria.eliminar(carrito.getCodigo());
+                throw e;
+            }
+        }
+        confirmar("No se pudo guardar el carrito " + carrito.getCodigo());
+    }
+
+    /**
+     * Busca y devuelve un carrito por su código.
+     *
+     * @param codigo El código único del carrito a buscar.
+     * @return El objeto Carrito encontrado, o null si no se encuentra ninguno con ese código.
+     */
+    @Override
+    public synchronized Carrito buscarPorCodigo(int codigo) {
+        return memoria.buscarPorCodigo(codigo);
+    }
+
+    /**
+     * Actualiza un carrito existente y anexa la operación al registro.
+     * Si no existe un carrito con ese código no se hace nada.
+     *
+     * @param carrito El objeto Carrito con los datos actualizados.
+     */
+    @Override
+    public void actualizar(Carrito carrito) {
+        synchronized (this) {
+            verificarAbierto();
+            if (!memoria.contiene(carrito.getCodigo())) {
+                return;
+            }
+            try {
+                registro.iniciar(ACTUALIZAR);
+                registro.escribirCarrito(carrito);
+                anexar(registro.finalizar());
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo actualizar el carrito " + carrito.getCodigo(), e);
+            }
+            memoria.actualizar(carrito);
+        }
+        confirmar("No se pudo actualizar el carrito " + carrito.getCodigo());
+    }
+
+    /**
+     * Cambia la cantidad de un producto de un carrito guardado y anexa el carrito
+     * resultante al registro. La lectura, el registro y el cambio en memoria ocurren
+     * bajo el monitor, así dos cambios del mismo carrito no se pisan.
+     *
+     * @param codigoCarrito El código del carrito a modificar.
+     * @param codigoProducto El código del producto cuya cantidad cambia.
+     * @param cantidad La nueva cantidad.
+     * @return El carrito actualizado, o null si no existe el carrito o el producto no está en él.
+     */
+    @Override
+    public Carrito actualizarCantidad(int codigoCarrito, int codigoProducto, int cantidad) {
+        Carrito carrito;
+        synchronized (this) {
+            verificarAbierto();
+            carrito = memoria.buscarPorCodigo(codigoCarrito);
+            if (carrito == null || !carrito.actualizarCantidad(codigoProducto, cantidad)) {
+                return null;
+            }
+            try {
+                registro.iniciar(ACTUALIZAR);
+                registro.escribirCarrito(carrito);
+                anexar(registro.finalizar());
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo actualizar el carrito " + codigoCarrito, e);
+            }
+            memoria.actualizar(carrito);
+        }
+        confirmar("No se pudo actualizar el carrito " + codigoCarrito);
+        return carrito;
+    }
+
+    /**
+     * Elimina un carrito utilizando su código y anexa la operación al registro.
+     *
+     * @param codigo El código del carrito a eliminar.
+     */
+    @Override
+    public void eliminar(int codigo) {
+        synchronized (this) {
+            verificarAbierto();
+            if (!memoria.contiene(codigo)) {
+                return;
+            }
+            try {
+                registro.iniciar(ELIMINAR);
+                registro.escribirEntero(codigo);
+                anexar(registro.finalizar());
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo eliminar el carrito " + codigo, e);
+            }
+            memoria.eliminar(codigo);
+        }
+        confirmar("No se pudo eliminar el carrito " + codigo);
+    }
+
+    /**
+     * Devuelve una lista con todos los carritos almacenados.
+     *
+     * @return Una lista de todos los objetos Carrito.
+     */
+    @Override
+    public synchronized List<Carrito> listarTodos() {
+        return memoria.listarTodos();
+    }
+
+    /**
+     * Busca y devuelve todos los carritos que pertenecen a un usuario específico.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @return Una lista de carritos pertenecientes al usuario. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> buscarPorUsuario(Usuario usuario) {
+        return memoria.buscarPorUsuario(usuario);
+    }
+
+    /**
+     * Devuelve la cantidad de carritos almacenados.
+     *
+     * @return El número total de carritos.
+     */
+    @Override
+    public synchronized int contar() {
+        return memoria.contar();
+    }
+
+    /**
+     * Devuelve una página de carritos en orden de creación.
+     *
+     * @param desde La posición del primer carrito de la página.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> listarPagina(int desde, int cantidad) {
+        return memoria.listarPagina(desde, cantidad);
+    }
+
+    /**
+     * Devuelve la cantidad de carritos de un usuario.
+     *
+     * @param usuario El objeto Usuario cuyos carritos se cuentan.
+     * @return El número de carritos del usuario.
+     */
+    @Override
+    public synchronized int contarPorUsuario(Usuario usuario) {
+        return memoria.contarPorUsuario(usuario);
+    }
+
+    /**
+     * Devuelve una página de los carritos de un usuario.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @param desde La posición del primer carrito de la página.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> buscarPorUsuario(Usuario usuario, int desde, int cantidad) {
+        return memoria.buscarPorUsuario(usuario, desde, cantidad);
+    }
+
+    /**
+     * Devuelve los carritos con código mayor que el dado, en orden ascendente de código.
+     *
+     * @param codigo El código a partir del cual se listan los carritos (excluido).
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> listarDespuesDe(int codigo, int cantidad) {
+        return memoria.listarDespuesDe(codigo, cantidad);
+    }
+
+    /**
+     * Devuelve los carritos de un usuario con código mayor que el dado.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @param codigo El código a partir del cual se listan los carritos (excluido).
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> buscarPorUsuarioDespuesDe(Usuario usuario, int codigo, int cantidad) {
+        return memoria.buscarPorUsuarioDespuesDe(usuario, codigo, cantidad);
+    }
+
+    /**
+     * Devuelve un flujo con todos los carritos. Solo se toma el candado para crear el
+     * flujo; se puede recorrer desde cualquier hilo mientras otros guardan carritos.
+     *
+     * @return Un flujo de objetos Carrito.
+     */
+    @Override
+    public synchronized Stream<Carrito> flujo() {
+        return memoria.flujo();
+    }
+
+    /**
+     * Devuelve un flujo con los carritos de un usuario, con la misma consistencia que
+     * {@link #flujo()}.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @return Un flujo de objetos Carrito.
+     */
+    @Override
+    public synchronized Stream<Carrito> flujoPorUsuario(Usuario usuario) {
+        return memoria.flujoPorUsuario(usuario);
+    }
+
+    /**
+     * Guarda todos los carritos en un punto de control y vacía el registro.
+     * El registro se rota antes de empezar, así las operaciones siguen anexándose al
+     * registro nuevo mientras el punto de control se escribe sin candados a partir de una
+     * copia perezosa de los carritos. El punto de control se escribe en un archivo
+     * temporal que reemplaza al anterior de forma atómica y solo después el registro
+     * nuevo reemplaza al anterior, por lo que una caída en cualquier momento no pierde datos.
+     *
+     * @throws IOException Si no se puede escribir el punto de control.
+     */
+    public void crearPuntoControl() throws IOException {
+        synchronized (candadoPuntoControl) {
+            Stream<Carrito> carritos;
+            int contador;
+            candadoArchivo.lock();
+            try {
+                FileChannel siguiente = FileChannel.open(archivoLogSiguiente, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                FileChannel anterior;
+                ByteBuffer lote;
+                synchronized (this) {
+                    try {
+                        verificarAbierto();
+                    } catch (RuntimeException e) {
+                        siguiente.close();
+                        Files.deleteIfExists(archivoLogSiguiente);
+                        throw e;
+                    }
+                    carritos = memoria.flujo();
+                    contador = memoria.getContCodigo();
+                    lote = tomarPendiente();
+                    anterior = log;
+                    log = siguiente;
+                    tamanoLog = 0;
+                }
+                // Lo anterior a la rotación queda completo en el registro anterior
+                try {
+                    escribirLote(anterior, lote);
+                } finally {
+                    anterior.close();
+                }
+            } finally {
+                candadoArchivo.unlock();
+            }
+            escribirPuntoControl(carritos, contador);
+            Files.move(archivoLogSiguiente, archivoLog, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Escribe y fuerza a disco los registros pendientes, espera a que termine un punto
+     * de control en curso y cierra el registro.
+     *
+     * @throws IOException Si no se pueden escribir los registros pendientes.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            notifyAll();
+        }
+        puntosControl.close();
+        sincronizador.close();
+        candadoArchivo.lock();
+        try {
+            sincronizar();
+        } finally {
+            try {
+                log.close();
+            } finally {
+                candadoArchivo.unlock();
+            }
+        }
+    }
+
+    /**
+     * Tarea del hilo de sincronización: escribe y fuerza a disco el grupo de registros
+     * acumulado. Si falla, el error se informa en la siguiente operación de escritura.
+     */
+    private void sincronizarPeriodicamente() {
+        if (falloSincronizacion != null) {
+            return;
+        }
+        candadoArchivo.lock();
+        try {
+            sincronizar();
+        } catch (IOException e) {
+            // Queda registrado en falloSincronizacion
+        } finally {
+            candadoArchivo.unlock();
+        }
+    }
+
+    /**
+     * Tarea del hilo de puntos de control: crea el punto de control solicitado por una
+     * operación que hizo crecer el registro por encima del máximo. Si falla no se vuelve
+     * a intentar; el registro sigue creciendo y se compacta al reiniciar.
+     */
+    private void crearPuntoControlSolicitado() {
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+        }
+        try {
+            crearPuntoControl();
+            synchronized (this) {
+                puntoControlSolicitado = false;
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("No se pudo crear el punto de control de carritos: " + e);
+        }
+    }
+
+    /**
+     * Lanza una excepción si el almacenamiento está cerrado o si falló una sincronización anterior.
+     */
+    private void verificarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El almacenamiento de carritos está cerrado");
+        }
+        if (falloSincronizacion != null) {
+            throw new UncheckedIOException("Falló la escritura del registro de carritos", falloSincronizacion);
+        }
+    }
+
+    /**
+     * Termina una operación ya anexada, fuera del candado del DAO: sin intervalo de
+     * sincronización espera a que su registro esté en disco.
+     */
+    private void confirmar(String mensajeError) {
+        if (intervaloSincronizacionMs > 0) {
+            return;
+        }
+        candadoArchivo.lock();
+        try {
+            sincronizar();
+        } catch (IOException e) {
+            throw new UncheckedIOException(mensajeError, e);
+        } finally {
+            candadoArchivo.unlock();
+        }
+    }
+
+    /**
+     * Anexa un registro terminado al búfer de pendientes. Si no cabe, pide al hilo de
+     * sincronización que escriba el búfer y espera a que lo intercambie por uno vacío.
+     * Cuando el registro supera el máximo solicita un punto de control a su propio hilo.
+     */
+    private void anexar(ByteBuffer terminado) throws IOException {
+        int longitud = terminado.remaining();
+        if (longitud > pendiente.remaining()) {
+            // La espera suelta el candado y otra operación reutilizaría el búfer de registro
+            terminado = ByteBuffer.allocate(longitud).put(terminado).flip();
+        }
+        while (longitud > pendiente.remaining()) {
+            if (longitud > pendiente.capacity() && pendiente.position() == 0) {
+                // Un registro mayor que el lote va solo en un búfer a su medida
+                pendiente = ByteBuffer.allocate(longitud);
+                break;
+            }
+            sincronizador.execute(this::sincronizarPeriodicamente);
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Se interrumpió la espera del registro de carritos");
+            }
+            verificarAbierto();
+        }
+        pendiente.put(terminado);
+        tamanoLog += longitud;
+        if (tamanoLog >= TAMANO_MAXIMO_LOG && !puntoControlSolicitado) {
+            puntoControlSolicitado = true;
+            puntosControl.execute(this::crearPuntoControlSolicitado);
+        }
+    }
+
+    /**
+     * Intercambia el búfer de pendientes por el de reserva. Se llama con el candado del
+     * archivo y el del DAO, de modo que los lotes se escriben en el mismo orden en que se
+     * anexaron sus registros.
+     *
+     * @return El lote a escribir, o null si no había registros pendientes.
+     */
+    private ByteBuffer tomarPendiente() {
+        if (pendiente.position() == 0) {
+            return null;
+        }
+        ByteBuffer lote = pendiente;
+        pendiente = reserva;
+        reserva = null;
+        notifyAll();
+        return lote;
+    }
+
+    /**
+     * Escribe en el registro los registros pendientes y los fuerza a disco. Se llama con
+     * el candado del archivo; el del DAO solo se toma para intercambiar el búfer.
+     */
+    private void sincronizar() throws IOException {
+        if (falloSincronizacion != null) {
+            throw new IOException("Falló la escritura del registro de carritos", falloSincronizacion);
+        }
+        ByteBuffer lote;
+        synchronized (this) {
+            lote = tomarPendiente();
+        }
+        escribirLote(log, lote);
+    }
+
+    /**
+     * Escribe un lote en un archivo de registro, lo fuerza a disco y deja el búfer como
+     * reserva. Si la escritura falla, el almacenamiento deja de aceptar cambios porque el
+     * registro ya no es confiable.
+     */
+    private void escribirLote(FileChannel destino, ByteBuffer lote) throws IOException {
+        if (lote == null) {
+            return;
+        }
+        try {
+            lote.flip();
+            while (lote.hasRemaining()) {
+                destino.write(lote);
+            }
+            destino.force(false);
+        } catch (IOException e) {
+            falloSincronizacion = e;
+            synchronized (this) {
+                notifyAll();
+            }
+            throw e;
+        } finally {
+            lote.clear();
+            reserva = lote.capacity() > TAMANO_LOTE ? ByteBuffer.allocateDirect(TAMANO_LOTE) : lote;
+        }
+    }
+
+    /**
+     * Escribe un punto de control con los carritos dados en un archivo temporal y lo
+     * pone en lugar del anterior de forma atómica.
+     */
+    private void escribirPuntoControl(Stream<Carrito> carritos, int contador) throws IOException {
+        Path temporal = archivoPuntoControl.resolveSibling(ARCHIVO_PUNTO_CONTROL + ".tmp");
+        Registro registroPuntoControl = new Registro();
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Stream<Carrito> flujo = carritos) {
+            OutputStream salida = new BufferedOutputStream(Channels.newOutputStream(canal), 1 << 16);
+            registroPuntoControl.iniciar(CONTADOR);
+            registroPuntoControl.escribirEntero(contador);
+            escribir(salida, registroPuntoControl.finalizar());
+            for (Carrito carrito : (Iterable<Carrito>) flujo::iterator) {
+                registroPuntoControl.iniciar(CREAR);
+                registroPuntoControl.escribirCarrito(carrito);
+                escribir(salida, registroPuntoControl.finalizar());
+            }
+            registroPuntoControl.iniciar(FIN);
+            escribir(salida, registroPuntoControl.finalizar());
+            salida.flush();
+            canal.force(true);
+        }
+        Files.move(temporal, archivoPuntoControl, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Carga el último punto de control, si existe.
+     */
+    private void cargarPuntoControl() throws IOException {
+        if (!Files.exists(archivoPuntoControl)) {
+            return;
+        }
+        CRC32C crc = new CRC32C();
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(archivoPuntoControl), 1 << 16)) {
+            ByteBuffer cuerpo;
+            while ((cuerpo = leerRegistro(entrada, crc)) != null) {
+                if (cuerpo.get(0) == FIN) {
+                    return;
+                }
+                aplicar(cuerpo);
+            }
+        }
+        throw new IOException("El punto de control " + archivoPuntoControl + " está incompleto o dañado");
+    }
+
+    /**
+     * Reproduce los registros válidos de un archivo de registro.
+     *
+     * @return La posición donde termina el último registro válido.
+     */
+    private long reproducirLog(FileChannel canal) throws IOException {
+        InputStream entrada = new BufferedInputStream(Channels.newInputStream(canal), 1 << 16);
+        CRC32C crc = new CRC32C();
+        long posicion = 0;
+        ByteBuffer cuerpo;
+        while ((cuerpo = leerRegistro(entrada, crc)) != null) {
+            aplicar(cuerpo);
+            posicion += TAMANO_CABECERA + cuerpo.capacity();
+        }
+        return posicion;
+    }
+
+    /**
+     * Lee un registro completo y verifica su suma de control.
+     *
+     * @return El cuerpo del registro (tipo y datos), o null si se llegó al final o
+     *         el registro está incompleto o dañado.
+     */
+    private static ByteBuffer leerRegistro(InputStream entrada, CRC32C crc) throws IOException {
+        byte[] cabecera = entrada.readNBytes(TAMANO_CABECERA);
+        if (cabecera.length < TAMANO_CABECERA) {
+            return null;
+        }
+        ByteBuffer datosCabecera = ByteBuffer.wrap(cabecera);
+        int longitud = datosCabecera.getInt();
+        int suma = datosCabecera.getInt();
+        if (longitud < 1 || longitud > TAMANO_MAXIMO_REGISTRO) {
+            return null;
+        }
+        byte[] cuerpo = entrada.readNBytes(longitud);
+        if (cuerpo.length < longitud) {
+            return null;
+        }
+        crc.reset();
+        crc.update(cuerpo);
+        if ((int) crc.getValue() != suma) {
+            return null;
+        }
+        return ByteBuffer.wrap(cuerpo);
+    }
+
+    /**
+     * Aplica un registro leído sobre los carritos en memoria.
+     */
+    private void aplicar(ByteBuffer cuerpo) throws IOException {
+        byte tipo = cuerpo.get();
+        switch (tipo) {
+            case CREAR, ACTUALIZAR -> memoria.restaurar(leerCarrito(cuerpo));
+            case ELIMINAR -> memoria.eliminar(cuerpo.getInt());
+            case CONTADOR -> memoria.setContCodigo(Math.max(memoria.getContCodigo(), cuerpo.getInt()));
+            default -> throw new IOException("Tipo de registro desconocido: " + tipo);
+        }
+    }
+
+    /**
+     * Reconstruye un carrito a partir de los datos de un registro.
+     */
+    private Carrito leerCarrito(ByteBuffer datos) {
+        Carrito carrito = new Carrito();
+        carrito.setCodigo(datos.getInt());
+        String cedula = leerTexto(datos);
+        if (cedula != null) {
+            Usuario usuario = usuarioDAO.buscarPorCedula(cedula);
+            if (usuario == null) {
+                usuario = new Usuario();
+                usuario.setCedula(cedula);
+            }
+            carrito.setUsuario(usuario);
+        }
+        long fecha = datos.getLong();
+        if (fecha != SIN_FECHA) {
+            GregorianCalendar fechaCreacion = new GregorianCalendar();
+            fechaCreacion.setTimeInMillis(fecha);
+            carrito.setFechaCreacion(fechaCreacion);
+        }
+        int cantidadItems = datos.getInt();
+        for (int i = 0; i < cantidadItems; i++) {
+            Producto producto = new Producto(datos.getInt(), leerTexto(datos), 0);
+            producto.setPrecioCentavos(datos.getLong());
+            int cantidad = datos.getInt();
+            carrito.agregarItem(new ItemCarrito(producto, cantidad, datos.getLong()));
+        }
+        return carrito;
+    }
+
+    /**
+     * Lee un texto escrito con {@link Registro#escribirTexto}.
+     */
+    private static String leerTexto(ByteBuffer datos) {
+        int longitud = datos.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        String texto = new String(datos.array(), datos.arrayOffset() + datos.position(), longitud, StandardCharsets.UTF_8);
+        datos.position(datos.position() + longitud);
+        return texto;
+    }
+
+    /**
+     * Escribe un registro terminado en un flujo de salida.
+     */
+    private static void escribir(OutputStream salida, ByteBuffer terminado) throws IOException {
+        salida.write(terminado.array(), 0, terminado.limit());
+    }
+
+    /**
+     * Búfer donde se arma un registro antes de anexarlo. Las operaciones usan uno solo,
+     * protegido por el candado del DAO; el punto de control usa el suyo propio para
+     * escribir sin ese candado.
+     */
+    private static final class Registro {
+        private final CRC32C crc = new CRC32C();
+        private ByteBuffer datos = ByteBuffer.allocate(4096);
+
+        /**
+         * Prepara el búfer para escribir un registro del tipo dado.
+         */
+        private void iniciar(byte tipo) {
+            datos.clear();
+            datos.position(TAMANO_CABECERA);
+            datos.put(tipo);
+        }
+
+        /**
+         * Escribe un entero en el registro actual.
+         */
+        private void escribirEntero(int valor) {
+            asegurarEspacio(4);
+            datos.putInt(valor);
+        }
+
+        /**
+         * Escribe los datos de un carrito en el registro actual.
+         */
+        private void escribirCarrito(Carrito carrito) {
+            asegurarEspacio(4);
+            datos.putInt(carrito.getCodigo());
+            escribirTexto(carrito.getUsuario() == null ? null : carrito.getUsuario().getCedula());
+            asegurarEspacio(12);
+            datos.putLong(carrito.getFechaCreacion() == null ? SIN_FECHA : carrito.getFechaCreacion().getTimeInMillis());
+            List<ItemCarrito> items = carrito.obtenerItems();
+            datos.putInt(items.size());
+            for (ItemCarrito item : items) {
+                Producto producto = item.getProducto();
+                asegurarEspacio(4);
+                datos.putInt(producto.getCodigo());
+                escribirTexto(producto.getNombre());
+                asegurarEspacio(20);
+                datos.putLong(producto.getPrecioCentavos());
+                datos.putInt(item.getCantidad());
+                datos.putLong(item.getPrecioUnitarioCentavos());
+            }
+        }
+
+        /**
+         * Completa la cabecera (longitud y suma de control) del registro actual.
+         *
+         * @return El registro listo para escribirse.
+         * @throws IllegalArgumentException Si el registro supera el tamaño máximo.
+         */
+        private ByteBuffer finalizar() {
+            int longitud = datos.position() - TAMANO_CABECERA;
+            if (longitud > TAMANO_MAXIMO_REGISTRO) {
+                throw new IllegalArgumentException("El carrito excede el tamaño máximo de registro");
+            }
+            crc.reset();
+            crc.update(datos.array(), TAMANO_CABECERA, longitud);
+            datos.putInt(0, longitud);
+            datos.putInt(4, (int) crc.getValue());
+            datos.flip();
+            return datos;
+        }
+
+        /**
+         * Escribe un texto en UTF-8 precedido de su longitud; -1 representa null.
+         */
+        private void escribirTexto(String texto) {
+            if (texto == null) {
+                asegurarEspacio(4);
+                datos.putInt(-1);
+                return;
+            }
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            asegurarEspacio(4 + bytes.length);
+            datos.putInt(bytes.length);
+            datos.put(bytes);
+        }
+
+        /**
+         * Agranda el búfer si no tiene espacio para la cantidad de bytes indicada.
+         */
+        private void asegurarEspacio(int bytes) {
+            if (datos.remaining() < bytes) {
+                ByteBuffer mayor = ByteBuffer.allocate(Math.max(datos.capacity() << 1, datos.position() + bytes));
+                datos.flip();
+                mayor.put(datos);
+                datos = mayor;
+            }
+        }
+    }
+}
@@ -2,44 +2,71 @@ package ec.edu.ups.dao.impl;
 
 import ec.edu.ups.dao.CarritoDAO;
 import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.InstantaneaCarrito;
 import ec.edu.ups.modelo.Usuario;
 
+import ec.edu.ups.util.ConjuntoEnterosOrdenado;
+import ec.edu.ups.util.MapaEnterosOrdenado;
+
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Implementación en memoria de la interfaz CarritoDAO.
- * Esta clase simula una base de datos guardando los carritos en una lista en memoria.
+ * Esta clase simula una base de datos guardando los carritos en memoria,
+ * indexados por código. Además mantiene un índice secundario de cédula a códigos
+ * de carrito, de modo que los carritos de un usuario se obtienen sin recorrer
+ * todos los carritos guardados.
+ * Los carritos se guardan como instantáneas inmutables ({@link InstantaneaCarrito}):
+ * guardar un carrito solo copia las líneas que cambiaron desde que se leyó, y cada
+ * lectura devuelve un carrito nuevo que comparte esas líneas sin copiarlas, de modo
+ * que los cambios del llamador nunca alteran lo guardado hasta llamar a actualizar.
+ * Los códigos se guardan además en conjuntos ordenados ({@link ConjuntoEnterosOrdenado}),
+ * uno global y uno por usuario, que permiten paginar por posición o por código sin
+ * recorrer los demás carritos. Los flujos comparten las estructuras con copia al
+ * escribir, así que recorren los carritos tal como estaban al crearlos.
+ * Los métodos son sincronizados, así las consultas que se ejecutan en segundo plano
+ * pueden convivir con las modificaciones hechas desde la interfaz.
  * Es útil para desarrollo y pruebas. Los datos se pierden al finalizar la aplicación.
  *
  * @author [Tu Nombre]
- * @version 1.2
+ * @version 1.5
  * @since 2024-07-16
  */
 public class CarritoDAOMemoria implements CarritoDAO {
-    private List<Carrito> carritos;
+    private final MapaEnterosOrdenado<InstantaneaCarrito> carritos;
+    private final ConjuntoEnterosOrdenado codigos;
+    private final Map<String, ConjuntoEnterosOrdenado> carritosPorUsuario;
+    private final MapaEnterosOrdenado<String> cedulaPorCarrito;
     private int contCodigo = 1;
 
     /**
-     * Constructor que inicializa la lista en memoria para almacenar los carritos.
+     * Constructor que inicializa las estructuras en memoria para almacenar los carritos.
      */
     public CarritoDAOMemoria() {
-        carritos = new ArrayList<Carrito>();
+        carritos = new MapaEnterosOrdenado<>();
+        codigos = new ConjuntoEnterosOrdenado();
+        carritosPorUsuario = new HashMap<>();
+        cedulaPorCarrito = new MapaEnterosOrdenado<>();
     }
 
     /**
-     * Guarda un nuevo carrito en la lista en memoria.
-     * Asigna un código autoincremental y guarda una copia del objeto para
-     * evitar modificaciones externas inesperadas.
+     * Guarda un nuevo carrito en memoria.
+     * Asigna un código autoincremental y guarda una instantánea inmutable del objeto
+     * para evitar modificaciones externas inesperadas.
      *
      * @param carrito El objeto Carrito a ser guardado.
      */
     @Override
-    public void crear(Carrito carrito) {
+    public synchronized void crear(Carrito carrito) {
         carrito.setCodigo(contCodigo++);
-        Carrito copia = carrito.copiar();
-        carritos.add(copia);
+        InstantaneaCarrito instantanea = carrito.crearInstantanea();
+        carritos.put(instantanea.getCodigo(), instantanea);
+        codigos.agregar(instantanea.getCodigo());
+        indexarUsuario(instantanea);
     }
 
     /**
@@ -49,74 +76,296 @@ public class CarritoDAOMemoria implements CarritoDAO {
      * @return El objeto Carrito encontrado, o null si no se encuentra ninguno con ese código.
      */
     @Override
-    public Carrito buscarPorCodigo(int codigo) {
-        for(Carrito carrito : carritos){
-            if(carrito.getCodigo() == codigo){
-                return carrito;
-            }
-        }
-        return null;
+    public synchronized Carrito buscarPorCodigo(int codigo) {
+        InstantaneaCarrito instantanea = carritos.get(codigo);
+        return instantanea == null ? null : instantanea.aCarrito();
     }
 
     /**
-     * Actualiza un carrito existente en la lista.
-     * Busca el carrito por su código y lo reemplaza con la nueva versión proporcionada.
+     * Actualiza un carrito existente.
+     * Busca el carrito por su código y lo reemplaza con una instantánea de la nueva
+     * versión proporcionada, moviéndolo en el índice de usuarios si cambió de propietario.
      *
      * @param carrito El objeto Carrito con los datos actualizados.
      */
     @Override
-    public void actualizar(Carrito carrito) {
-        for (int i = 0; i < carritos.size(); i++) {
-            if (carritos.get(i).getCodigo() == carrito.getCodigo()) {
-                carritos.set(i, carrito);
-                break;
+    public synchronized void actualizar(Carrito carrito) {
+        int codigo = carrito.getCodigo();
+        if (carritos.containsKey(codigo)) {
+            InstantaneaCarrito instantanea = carrito.crearInstantanea();
+            carritos.put(codigo, instantanea);
+            String cedulaAnterior = cedulaPorCarrito.get(codigo);
+            String cedulaNueva = instantanea.getUsuario() == null ? null : instantanea.getUsuario().getCedula();
+            if (cedulaNueva == null || !cedulaNueva.equals(cedulaAnterior)) {
+                desindexarUsuario(codigo);
+                indexarUsuario(instantanea);
             }
         }
     }
 
     /**
-     * Elimina un carrito de la lista en memoria utilizando su código.
-     * Usa un iterador para una eliminación segura durante el recorrido de la lista.
+     * Cambia la cantidad de un producto de un carrito guardado. La lectura de la
+     * instantánea y su reemplazo ocurren dentro del mismo bloque sincronizado.
+     *
+     * @param codigoCarrito El código del carrito a modificar.
+     * @param codigoProducto El código del producto cuya cantidad cambia.
+     * @param cantidad La nueva cantidad.
+     * @return El carrito actualizado, o null si no existe el carrito o el producto no está en él.
+     */
+    @Override
+    public synchronized Carrito actualizarCantidad(int codigoCarrito, int codigoProducto, int cantidad) {
+        InstantaneaCarrito instantanea = carritos.get(codigoCarrito);
+        if (instantanea == null) {
+            return null;
+        }
+        Carrito carrito = instantanea.aCarrito();
+        if (!carrito.actualizarCantidad(codigoProducto, cantidad)) {
+            return null;
+        }
+        carritos.put(codigoCarrito, carrito.crearInstantanea());
+        return carrito;
+    }
+
+    /**
+     * Elimina un carrito de memoria utilizando su código.
      *
      * @param codigo El código del carrito a eliminar.
      */
     @Override
-    public void eliminar(int codigo) {
-        Iterator<Carrito> iterator = carritos.iterator();
-        while (iterator.hasNext()) {
-            Carrito carrito = iterator.next();
-            if (carrito.getCodigo() == codigo) {
-                iterator.remove();
-                break;
-            }
+    public synchronized void eliminar(int codigo) {
+        if (carritos.remove(codigo) != null) {
+            codigos.eliminar(codigo);
+            desindexarUsuario(codigo);
         }
     }
 
     /**
-     * Devuelve una copia de la lista con todos los carritos almacenados en memoria.
+     * Devuelve una lista con todos los carritos almacenados en memoria.
      *
      * @return Una lista de todos los objetos Carrito.
      */
     @Override
-    public List<Carrito> listarTodos() {
-        return new ArrayList<>(carritos);
+    public synchronized List<Carrito> listarTodos() {
+        List<Carrito> resultado = new ArrayList<>(carritos.size());
+        carritos.forEach(instantanea -> resultado.add(instantanea.aCarrito()));
+        return resultado;
     }
 
     /**
      * Busca y devuelve todos los carritos que pertenecen a un usuario específico.
-     * La comparación se realiza utilizando la cédula del usuario.
+     * Usa el índice por cédula, por lo que el costo depende solo de la cantidad
+     * de carritos del usuario.
      *
      * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
      * @return Una lista de carritos pertenecientes al usuario. Puede estar vacía.
      */
     @Override
-    public List<Carrito> buscarPorUsuario(Usuario usuario) {
-        List<Carrito> resultado = new ArrayList<>();
-        for (Carrito carrito : carritos) {
-            if (carrito.getUsuario().getCedula().equals(usuario.getCedula())) {
-                resultado.add(carrito);
+    public synchronized List<Carrito> buscarPorUsuario(Usuario usuario) {
+        ConjuntoEnterosOrdenado codigosUsuario = carritosPorUsuario.get(usuario.getCedula());
+        if (codigosUsuario == null) {
+            return new ArrayList<>();
+        }
+        return leer(codigosUsuario, 0, codigosUsuario.tamano());
+    }
+
+    /**
+     * Devuelve la cantidad de carritos almacenados.
+     *
+     * @return El número total de carritos.
+     */
+    @Override
+    public synchronized int contar() {
+        return carritos.size();
+    }
+
+    /**
+     * Devuelve una página de carritos en orden de creación. Solo se crean los
+     * objetos Carrito de la página.
+     *
+     * @param desde La posición del primer carrito de la página.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> listarPagina(int desde, int cantidad) {
+        List<InstantaneaCarrito> pagina = carritos.valores(desde, cantidad);
+        List<Carrito> resultado = new ArrayList<>(pagina.size());
+        for (InstantaneaCarrito instantanea : pagina) {
+            resultado.add(instantanea.aCarrito());
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la cantidad de carritos de un usuario usando el índice por cédula.
+     *
+     * @param usuario El objeto Usuario cuyos carritos se cuentan.
+     * @return El número de carritos del usuario.
+     */
+    @Override
+    public synchronized int contarPorUsuario(Usuario usuario) {
+        ConjuntoEnterosOrdenado codigosUsuario = carritosPorUsuario.get(usuario.getCedula());
+        return codigosUsuario == null ? 0 : codigosUsuario.tamano();
+    }
+
+    /**
+     * Devuelve una página de los carritos de un usuario usando el índice por cédula.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @param desde La posición del primer carrito de la página.
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> buscarPorUsuario(Usuario usuario, int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        ConjuntoEnterosOrdenado codigosUsuario = carritosPorUsuario.get(usuario.getCedula());
+        if (codigosUsuario == null) {
+            return new ArrayList<>();
+        }
+        return leer(codigosUsuario, desde, cantidad);
+    }
+
+    /**
+     * Devuelve los carritos con código mayor que el dado usando el conjunto ordenado
+     * de códigos, por lo que el costo es O(log n + cantidad).
+     *
+     * @param codigo El código a partir del cual se listan los carritos (excluido).
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> listarDespuesDe(int codigo, int cantidad) {
+        return leer(codigos, codigos.posicionSiguiente(codigo), cantidad);
+    }
+
+    /**
+     * Devuelve los carritos de un usuario con código mayor que el dado usando el
+     * índice por cédula.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @param codigo El código a partir del cual se listan los carritos (excluido).
+     * @param cantidad La cantidad máxima de carritos a devolver.
+     * @return Una lista con los carritos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Carrito> buscarPorUsuarioDespuesDe(Usuario usuario, int codigo, int cantidad) {
+        ConjuntoEnterosOrdenado codigosUsuario = carritosPorUsuario.get(usuario.getCedula());
+        if (codigosUsuario == null) {
+            return new ArrayList<>();
+        }
+        return leer(codigosUsuario, codigosUsuario.posicionSiguiente(codigo), cantidad);
+    }
+
+    /**
+     * Devuelve un flujo con todos los carritos en orden de creación. Comparte las
+     * instantáneas guardadas sin copiarlas; cada carrito se crea al recorrerlo.
+     *
+     * @return Un flujo de objetos Carrito.
+     */
+    @Override
+    public synchronized Stream<Carrito> flujo() {
+        return carritos.flujo().map(InstantaneaCarrito::aCarrito);
+    }
+
+    /**
+     * Devuelve un flujo con los carritos de un usuario. Los códigos del usuario y los
+     * carritos se toman de copias perezosas del índice y del mapa, por lo que el
+     * flujo no se ve afectado por cambios posteriores.
+     *
+     * @param usuario El objeto Usuario por el cual se filtrarán los carritos.
+     * @return Un flujo de objetos Carrito.
+     */
+    @Override
+    public synchronized Stream<Carrito> flujoPorUsuario(Usuario usuario) {
+        ConjuntoEnterosOrdenado codigosUsuario = carritosPorUsuario.get(usuario.getCedula());
+        if (codigosUsuario == null) {
+            return Stream.empty();
+        }
+        MapaEnterosOrdenado<InstantaneaCarrito> copia = carritos.copiar();
+        return codigosUsuario.flujo().mapToObj(codigo -> copia.get(codigo).aCarrito());
+    }
+
+    /**
+     * Indica si existe un carrito con el código dado.
+     */
+    boolean contiene(int codigo) {
+        return carritos.containsKey(codigo);
+    }
+
+    /**
+     * Guarda un carrito conservando su código, reemplazándolo si ya existía.
+     * Se usa al reconstruir los datos desde un almacenamiento persistente.
+     */
+    void restaurar(Carrito carrito) {
+        if (carritos.containsKey(carrito.getCodigo())) {
+            actualizar(carrito);
+            return;
+        }
+        InstantaneaCarrito instantanea = carrito.crearInstantanea();
+        carritos.put(instantanea.getCodigo(), instantanea);
+        codigos.agregar(instantanea.getCodigo());
+        indexarUsuario(instantanea);
+        contCodigo = Math.max(contCodigo, instantanea.getCodigo() + 1);
+    }
+
+    /**
+     * Obtiene el código que se asignará al próximo carrito creado.
+     */
+    int getContCodigo() {
+        return contCodigo;
+    }
+
+    /**
+     * Establece el código que se asignará al próximo carrito creado.
+     */
+    void setContCodigo(int contCodigo) {
+        this.contCodigo = contCodigo;
+    }
+
+    /**
+     * Registra el código del carrito bajo la cédula de su usuario.
+     */
+    private void indexarUsuario(InstantaneaCarrito carrito) {
+        if (carrito.getUsuario() == null) {
+            return;
+        }
+        String cedula = carrito.getUsuario().getCedula();
+        carritosPorUsuario.computeIfAbsent(cedula, c -> new ConjuntoEnterosOrdenado()).agregar(carrito.getCodigo());
+        cedulaPorCarrito.put(carrito.getCodigo(), cedula);
+    }
+
+    /**
+     * Retira el código del carrito de la cédula bajo la que fue indexado.
+     */
+    private void desindexarUsuario(int codigo) {
+        String cedula = cedulaPorCarrito.remove(codigo);
+        if (cedula == null) {
+            return;
+        }
+        ConjuntoEnterosOrdenado codigosUsuario = carritosPorUsuario.get(cedula);
+        if (codigosUsuario != null) {
+            codigosUsuario.eliminar(codigo);
+            if (codigosUsuario.tamano() == 0) {
+                carritosPorUsuario.remove(cedula);
             }
         }
+    }
+
+    /**
+     * Crea los carritos cuyos códigos ocupan las posiciones indicadas de un conjunto.
+     */
+    private List<Carrito> leer(ConjuntoEnterosOrdenado conjunto, int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        int hasta = (int) Math.min(conjunto.tamano(), (long) desde + cantidad);
+        List<Carrito> resultado = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            resultado.add(carritos.get(conjunto.get(i)).aCarrito());
+        }
         return resultado;
     }
-}
\ No newline at end of file
+}
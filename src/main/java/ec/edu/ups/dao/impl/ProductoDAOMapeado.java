@@ -0,0 +1,581 @@
+package ec.edu.ups.dao.impl;
+
+import ec.edu.ups.dao.ProductoDAO;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.util.ArchivoMapeado;
+import ec.edu.ups.util.Dinero;
+import ec.edu.ups.util.IndiceInvertido;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de la interfaz ProductoDAO para catálogos de millones de productos.
+ * Los productos no se guardan como objetos en el heap sino por columnas en archivos
+ * proyectados en memoria ({@link ArchivoMapeado}), una fila por producto:
+ * <ul>
+ *     <li>`codigos.col`: el código (4 bytes).</li>
+ *     <li>`precios.col`: el precio en centavos (8 bytes).</li>
+ *     <li>`nombres.col` y `longitudes.col`: la posición y la longitud del nombre
+ *     dentro de `nombres.heap`, donde los nombres se guardan en UTF-8.</li>
+ *     <li>`indice.col`: una tabla hash de direccionamiento abierto de código a fila.</li>
+ * </ul>
+ * Al abrir el catálogo solo se lee la cabecera de `catalogo.meta`; las páginas de cada
+ * columna las carga el sistema operativo a medida que se consultan, por lo que el heap
+ * usado no crece con el tamaño del catálogo.
+ * <p>
+ * {@link #buscarPorCodigo} devuelve vistas ligeras: objetos **Producto** que solo guardan
+ * su número de fila y leen los datos de las columnas con el candado del DAO, porque un
+ * nombre se puede estar reescribiendo en su lugar. Al modificar una vista con sus
+ * setters se desconecta del archivo y los cambios se guardan con {@link #actualizar}.
+ * <p>
+ * Los productos eliminados se marcan en `longitudes.col` y sus filas no se reutilizan;
+ * un nombre que crece se escribe de nuevo al final de `nombres.heap`. Si la aplicación
+ * termina sin llamar a {@link #close()}, el índice se reconstruye a partir de las columnas
+ * al abrir el catálogo otra vez.
+ * Los métodos son sincronizados, así las consultas que se ejecutan en segundo plano
+ * pueden convivir con las modificaciones hechas desde la interfaz.
+ *
+ * @author [Tu Nombre]
+ * @version 1.0
+ * @since 2024-07-16
+ */
+public class ProductoDAOMapeado implements ProductoDAO, AutoCloseable {
+
+    private static final int MAGIA = 0x50524F44;
+    private static final int VERSION = 1;
+    private static final long RANURAS_INICIALES = 1024;
+
+    private static final long META_MAGIA = 0;
+    private static final long META_VERSION = 4;
+    private static final long META_FILAS = 8;
+    private static final long META_VIVOS = 16;
+    private static final long META_BYTES_NOMBRES = 24;
+    private static final long META_RANURAS = 32;
+    private static final long META_ESTADO = 40;
+
+    private static final int CERRADO = 0;
+    private static final int ABIERTO = 1;
+
+    private final ArchivoMapeado meta;
+    private final ArchivoMapeado codigos;
+    private final ArchivoMapeado precios;
+    private final ArchivoMapeado posicionesNombres;
+    private final ArchivoMapeado longitudesNombres;
+    private final ArchivoMapeado nombres;
+    private final ArchivoMapeado indice;
+
+    /**
+     * Abre (o crea) el catálogo en el directorio indicado.
+     *
+     * @param directorio El directorio donde se guardan los archivos del catálogo.
+     * @throws IOException Si los archivos no se pueden abrir o no son un catálogo válido.
+     */
+    public ProductoDAOMapeado(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        meta = new ArchivoMapeado(directorio.resolve("catalogo.meta"), 64);
+        codigos = new ArchivoMapeado(directorio.resolve("codigos.col"), 0);
+        precios = new ArchivoMapeado(directorio.resolve("precios.col"), 0);
+        posicionesNombres = new ArchivoMapeado(directorio.resolve("nombres.col"), 0);
+        longitudesNombres = new ArchivoMapeado(directorio.resolve("longitudes.col"), 0);
+        nombres = new ArchivoMapeado(directorio.resolve("nombres.heap"), 0);
+        indice = new ArchivoMapeado(directorio.resolve("indice.col"), RANURAS_INICIALES * 4);
+
+        if (meta.getInt(META_MAGIA) == 0) {
+            meta.putInt(META_MAGIA, MAGIA);
+            meta.putInt(META_VERSION, VERSION);
+            meta.putLong(META_RANURAS, RANURAS_INICIALES);
+        } else if (meta.getInt(META_MAGIA) != MAGIA || meta.getInt(META_VERSION) != VERSION) {
+            throw new IOException("El directorio " + directorio + " no contiene un catálogo válido");
+        } else if (meta.getInt(META_ESTADO) != CERRADO) {
+            reconstruirIndice(meta.getLong(META_RANURAS));
+        }
+        meta.putInt(META_ESTADO, ABIERTO);
+        meta.forzar();
+    }
+
+    /**
+     * Añade un nuevo producto al final del catálogo. Si ya existe un producto con
+     * el mismo código, este es reemplazado.
+     *
+     * @param producto El objeto Producto a ser guardado.
+     */
+    @Override
+    public synchronized void crear(Producto producto) {
+        long fila = buscarFila(producto.getCodigo());
+        if (fila >= 0) {
+            escribirDatos(fila, producto);
+            return;
+        }
+        try {
+            if ((getVivos() + 1) * 2 > getRanuras()) {
+                reconstruirIndice(getRanuras() << 1);
+            }
+            fila = getFilas();
+            codigos.asegurarCapacidad((fila + 1) * 4);
+            precios.asegurarCapacidad((fila + 1) * 8);
+            posicionesNombres.asegurarCapacidad((fila + 1) * 8);
+            longitudesNombres.asegurarCapacidad((fila + 1) * 4);
+            codigos.putInt(fila * 4, producto.getCodigo());
+            longitudesNombres.putInt(fila * 4, 0);
+            escribirDatos(fila, producto);
+            meta.putLong(META_FILAS, fila + 1);
+            meta.putLong(META_VIVOS, getVivos() + 1);
+            indice.putInt(ranuraLibre(producto.getCodigo()) * 4, (int) fila + 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo agrandar el catálogo", e);
+        }
+    }
+
+    /**
+     * Busca un producto por su código.
+     *
+     * @param codigo El código del producto a buscar.
+     * @return Una vista del producto encontrado, o null si no existe ninguno con ese código.
+     */
+    @Override
+    public synchronized Producto buscarPorCodigo(int codigo) {
+        long fila = buscarFila(codigo);
+        return fila < 0 ? null : new ProductoMapeado(fila);
+    }
+
+    /**
+     * Busca los productos cuyo nombre contiene todas las palabras del término de
+     * búsqueda, sin distinguir mayúsculas ni tildes. Una palabra terminada en `*`
+     * se busca como prefijo. Como los nombres no están indexados en memoria, la
+     * búsqueda recorre la columna de nombres.
+     *
+     * @param nombre Las palabras del nombre a buscar.
+     * @return Una lista de vistas de productos ordenada por código. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> buscarPorNombre(String nombre) {
+        String[] terminos = IndiceInvertido.tokenizar(nombre);
+        List<Producto> productosEncontrados = new ArrayList<>();
+        if (terminos.length == 0) {
+            return productosEncontrados;
+        }
+        long filas = getFilas();
+        for (long fila = 0; fila < filas; fila++) {
+            if (estaVivo(fila) && IndiceInvertido.coincide(terminos, leerNombre(fila))) {
+                productosEncontrados.add(new ProductoMapeado(fila));
+            }
+        }
+        productosEncontrados.sort(Comparator.comparingInt(Producto::getCodigo));
+        return productosEncontrados;
+    }
+
+    /**
+     * Actualiza el nombre y el precio de un producto existente. Si no hay ningún
+     * producto con ese código, no se realiza ningún cambio.
+     *
+     * @param producto El objeto Producto con los datos actualizados.
+     */
+    @Override
+    public synchronized void actualizar(Producto producto) {
+        long fila = buscarFila(producto.getCodigo());
+        if (fila >= 0) {
+            escribirDatos(fila, producto);
+        }
+    }
+
+    /**
+     * Elimina un producto del catálogo utilizando su código.
+     *
+     * @param codigo El código del producto a eliminar.
+     */
+    @Override
+    public synchronized void eliminar(int codigo) {
+        long ranura = buscarRanura(codigo);
+        if (ranura < 0) {
+            return;
+        }
+        long fila = indice.getInt(ranura * 4) - 1;
+        longitudesNombres.putInt(fila * 4, ~longitudesNombres.getInt(fila * 4));
+        desplazarHaciaAtras(ranura);
+        meta.putLong(META_VIVOS, getVivos() - 1);
+    }
+
+    /**
+     * Devuelve una lista con vistas de todos los productos en orden de inserción.
+     *
+     * @return Una lista de todos los objetos Producto.
+     */
+    @Override
+    public synchronized List<Producto> listarTodos() {
+        long filas = getFilas();
+        List<Producto> lista = new ArrayList<>((int) Math.min(getVivos(), Integer.MAX_VALUE - 8));
+        for (long fila = 0; fila < filas; fila++) {
+            if (estaVivo(fila)) {
+                lista.add(new ProductoMapeado(fila));
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Devuelve la cantidad de productos del catálogo, leída de la cabecera.
+     *
+     * @return El número total de productos.
+     */
+    @Override
+    public synchronized int contar() {
+        return (int) Math.min(getVivos(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Devuelve vistas de una página de productos en orden de inserción. Si no hubo
+     * eliminaciones la página empieza directamente en la fila `desde`; si no, hay que
+     * recorrer las filas anteriores para saltar las eliminadas.
+     *
+     * @param desde La posición del primer producto de la página.
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> listarPagina(int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        long filas = getFilas();
+        long fila = 0;
+        if (getVivos() == filas) {
+            fila = desde;
+        } else {
+            for (int saltados = 0; fila < filas && saltados < desde; fila++) {
+                if (estaVivo(fila)) {
+                    saltados++;
+                }
+            }
+        }
+        List<Producto> pagina = new ArrayList<>((int) Math.min(cantidad, Math.max(0, filas - fila)));
+        for (; fila < filas && pagina.size() < cantidad; fila++) {
+            if (estaVivo(fila)) {
+                pagina.add(new ProductoMapeado(fila));
+            }
+        }
+        return pagina;
+    }
+
+    /**
+     * Devuelve vistas de los productos con código mayor que el dado, ordenadas por código.
+     * Las filas no están ordenadas por código, así que se recorre la columna de códigos
+     * conservando en un montículo solo los `cantidad` menores; el heap usado depende del
+     * tamaño de la página, acotado por la cantidad de productos, y no del catálogo.
+     *
+     * @param codigo El código a partir del cual se listan los productos (excluido).
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> listarDespuesDe(int codigo, int cantidad) {
+        int capacidad = (int) Math.min(cantidad, getVivos());
+        if (capacidad <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<long[]> menores = new PriorityQueue<>(capacidad, (a, b) -> Long.compare(b[0], a[0]));
+        long filas = getFilas();
+        for (long fila = 0; fila < filas; fila++) {
+            int codigoFila = codigos.getInt(fila * 4);
+            if (codigoFila <= codigo || !estaVivo(fila)) {
+                continue;
+            }
+            if (menores.size() < cantidad) {
+                menores.add(new long[]{codigoFila, fila});
+            } else if (codigoFila < menores.peek()[0]) {
+                long[] mayor = menores.poll();
+                mayor[0] = codigoFila;
+                mayor[1] = fila;
+                menores.add(mayor);
+            }
+        }
+        List<Producto> pagina = new ArrayList<>(menores.size());
+        for (long[] entrada : menores) {
+            pagina.add(new ProductoMapeado(entrada[1]));
+        }
+        pagina.sort(Comparator.comparingInt(Producto::getCodigo));
+        return pagina;
+    }
+
+    /**
+     * Devuelve un flujo de vistas de los productos en orden de inserción, sin crear una
+     * lista. El flujo recorre las filas que existían al crearlo y salta las que se
+     * eliminen antes de llegar a ellas; como las vistas leen las columnas, cada producto
+     * muestra sus datos actuales.
+     *
+     * @return Un flujo de objetos Producto.
+     */
+    @Override
+    public synchronized Stream<Producto> flujo() {
+        return LongStream.range(0, getFilas())
+                .filter(fila -> {
+                    synchronized (this) {
+                        return estaVivo(fila);
+                    }
+                })
+                .mapToObj(ProductoMapeado::new);
+    }
+
+    /**
+     * Escribe en disco todas las columnas, marca el catálogo como cerrado correctamente
+     * y cierra los archivos.
+     *
+     * @throws IOException Si algún archivo no se puede cerrar.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        codigos.close();
+        precios.close();
+        posicionesNombres.close();
+        longitudesNombres.close();
+        nombres.close();
+        indice.close();
+        meta.putInt(META_ESTADO, CERRADO);
+        meta.close();
+    }
+
+    /**
+     * Escribe el precio y el nombre de un producto en su fila. El nombre se escribe
+     * sobre el anterior si cabe; si no, se agrega al final de `nombres.heap`.
+     */
+    private void escribirDatos(long fila, Producto producto) {
+        precios.putLong(fila * 8, producto.getPrecioCentavos());
+        byte[] bytes = producto.getNombre() == null
+                ? new byte[0] : producto.getNombre().getBytes(StandardCharsets.UTF_8);
+        long posicion = posicionesNombres.getLong(fila * 8);
+        if (bytes.length > longitudesNombres.getInt(fila * 4)) {
+            posicion = meta.getLong(META_BYTES_NOMBRES);
+            try {
+                nombres.asegurarCapacidad(posicion + bytes.length);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo agrandar el catálogo", e);
+            }
+            meta.putLong(META_BYTES_NOMBRES, posicion + bytes.length);
+            posicionesNombres.putLong(fila * 8, posicion);
+        }
+        nombres.escribir(posicion, bytes);
+        longitudesNombres.putInt(fila * 4, bytes.length);
+    }
+
+    /**
+     * Lee el nombre de una fila desde `nombres.heap`.
+     */
+    private String leerNombre(long fila) {
+        int longitud = longitudesNombres.getInt(fila * 4);
+        if (longitud < 0) {
+            longitud = ~longitud;
+        }
+        byte[] bytes = new byte[longitud];
+        nombres.leer(posicionesNombres.getLong(fila * 8), bytes, longitud);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Indica si la fila no fue eliminada.
+     */
+    private boolean estaVivo(long fila) {
+        return longitudesNombres.getInt(fila * 4) >= 0;
+    }
+
+    private long getFilas() {
+        return meta.getLong(META_FILAS);
+    }
+
+    private long getVivos() {
+        return meta.getLong(META_VIVOS);
+    }
+
+    private long getRanuras() {
+        return meta.getLong(META_RANURAS);
+    }
+
+    /**
+     * Busca la fila de un código en el índice.
+     *
+     * @return La fila encontrada, o -1 si el código no existe.
+     */
+    private long buscarFila(int codigo) {
+        long ranura = buscarRanura(codigo);
+        return ranura < 0 ? -1 : indice.getInt(ranura * 4) - 1;
+    }
+
+    /**
+     * Calcula la ranura ideal de un código dentro del índice.
+     */
+    private long ranuraIdeal(int codigo) {
+        int h = codigo * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (getRanuras() - 1);
+    }
+
+    /**
+     * Busca la ranura del índice que apunta al código dado.
+     *
+     * @return La ranura encontrada, o -1 si el código no existe.
+     */
+    private long buscarRanura(int codigo) {
+        long mascara = getRanuras() - 1;
+        long ranura = ranuraIdeal(codigo);
+        while (true) {
+            int fila = indice.getInt(ranura * 4);
+            if (fila == 0) {
+                return -1;
+            }
+            if (codigos.getInt((fila - 1) * 4L) == codigo) {
+                return ranura;
+            }
+            ranura = (ranura + 1) & mascara;
+        }
+    }
+
+    /**
+     * Busca la primera ranura vacía a partir de la ranura ideal del código.
+     */
+    private long ranuraLibre(int codigo) {
+        long mascara = getRanuras() - 1;
+        long ranura = ranuraIdeal(codigo);
+        while (indice.getInt(ranura * 4) != 0) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    /**
+     * Libera una ranura del índice desplazando hacia atrás las entradas siguientes
+     * del mismo grupo de sondeo, igual que {@link ec.edu.ups.util.MapaEnterosOrdenado}.
+     */
+    private void desplazarHaciaAtras(long libre) {
+        long mascara = getRanuras() - 1;
+        long actual = libre;
+        while (true) {
+            actual = (actual + 1) & mascara;
+            int fila = indice.getInt(actual * 4);
+            if (fila == 0) {
+                break;
+            }
+            long ideal = ranuraIdeal(codigos.getInt((fila - 1) * 4L));
+            boolean puedeMoverse = libre <= actual
+                    ? (ideal <= libre || ideal > actual)
+                    : (ideal <= libre && ideal > actual);
+            if (puedeMoverse) {
+                indice.putInt(libre * 4, fila);
+                libre = actual;
+            }
+        }
+        indice.putInt(libre * 4, 0);
+    }
+
+    /**
+     * Vuelve a construir el índice con la cantidad de ranuras indicada a partir de
+     * las filas vivas.
+     */
+    private void reconstruirIndice(long ranuras) throws IOException {
+        indice.asegurarCapacidad(ranuras * 4);
+        meta.putLong(META_RANURAS, ranuras);
+        for (long ranura = 0; ranura < ranuras; ranura++) {
+            indice.putInt(ranura * 4, 0);
+        }
+        long filas = getFilas();
+        for (long fila = 0; fila < filas; fila++) {
+            if (estaVivo(fila)) {
+                indice.putInt(ranuraLibre(codigos.getInt(fila * 4)) * 4, (int) fila + 1);
+            }
+        }
+    }
+
+    /**
+     * Vista ligera de una fila del catálogo: solo guarda el número de fila y lee los
+     * datos de las columnas con el candado del DAO, así nunca ve un nombre a medio
+     * escribir. Al usar un setter copia los valores actuales y se desconecta del archivo,
+     * de modo que los cambios no se guardan hasta llamar a {@link #actualizar}.
+     */
+    private final class ProductoMapeado extends Producto {
+        private final long fila;
+        private boolean desconectado;
+
+        private ProductoMapeado(long fila) {
+            super(0, null, 0);
+            this.fila = fila;
+        }
+
+        @Override
+        public int getCodigo() {
+            if (desconectado) {
+                return super.getCodigo();
+            }
+            synchronized (ProductoDAOMapeado.this) {
+                return codigos.getInt(fila * 4);
+            }
+        }
+
+        @Override
+        public void setCodigo(int codigo) {
+            desconectar();
+            super.setCodigo(codigo);
+        }
+
+        @Override
+        public String getNombre() {
+            if (desconectado) {
+                return super.getNombre();
+            }
+            synchronized (ProductoDAOMapeado.this) {
+                return leerNombre(fila);
+            }
+        }
+
+        @Override
+        public void setNombre(String nombre) {
+            desconectar();
+            super.setNombre(nombre);
+        }
+
+        @Override
+        public double getPrecio() {
+            return Dinero.aDouble(getPrecioCentavos());
+        }
+
+        @Override
+        public void setPrecio(double precio) {
+            desconectar();
+            super.setPrecio(precio);
+        }
+
+        @Override
+        public long getPrecioCentavos() {
+            if (desconectado) {
+                return super.getPrecioCentavos();
+            }
+            synchronized (ProductoDAOMapeado.this) {
+                return precios.getLong(fila * 8);
+            }
+        }
+
+        @Override
+        public void setPrecioCentavos(long precioCentavos) {
+            desconectar();
+            super.setPrecioCentavos(precioCentavos);
+        }
+
+        /**
+         * Copia los valores de la fila a los campos del producto, todos con el mismo candado.
+         */
+        private void desconectar() {
+            if (!desconectado) {
+                synchronized (ProductoDAOMapeado.this) {
+                    super.setCodigo(codigos.getInt(fila * 4));
+                    super.setNombre(leerNombre(fila));
+                    super.setPrecioCentavos(precios.getLong(fila * 8));
+                }
+                desconectado = true;
+            }
+        }
+    }
+}
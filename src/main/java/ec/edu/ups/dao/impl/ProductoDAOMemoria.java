@@ -3,19 +3,27 @@ import ec.edu.ups.modelo.Producto;
 import ec.edu.ups.dao.ProductoDAO;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación en memoria de la interfaz ProductoDAO.
  * Esta clase simula una base de datos para los productos, almacenándolos
  * en una lista en memoria. Es ideal para desarrollo y pruebas, ya que los
  * datos se pierden al cerrar la aplicación.
+ * Mientras un flujo recorre la lista, la siguiente modificación trabaja sobre una
+ * copia de la lista (copia al escribir), así el flujo no ve los cambios.
+ * Los métodos son sincronizados, así las consultas que se ejecutan en segundo plano
+ * pueden convivir con las modificaciones hechas desde la interfaz.
  *
  */
 public class ProductoDAOMemoria implements ProductoDAO {
 
     private List<Producto> productos;
+    private boolean compartida;
 
     /**
      * Constructor que inicializa la lista en memoria y la precarga con
@@ -34,7 +42,8 @@ public class ProductoDAOMemoria implements ProductoDAO {
      * @param producto El objeto Producto a ser guardado.
      */
     @Override
-    public void crear(Producto producto) {
+    public synchronized void crear(Producto producto) {
+        separar();
         productos.add(producto);
     }
 
@@ -45,7 +54,7 @@ public class ProductoDAOMemoria implements ProductoDAO {
      * @return El objeto Producto encontrado, o null si no existe ninguno con ese código.
      */
     @Override
-    public Producto buscarPorCodigo(int codigo) {
+    public synchronized Producto buscarPorCodigo(int codigo) {
         for (Producto producto : productos) {
             if (producto.getCodigo() == codigo) {
                 return producto;
@@ -62,7 +71,7 @@ public class ProductoDAOMemoria implements ProductoDAO {
      * @return Una lista de productos que coinciden con el nombre. Puede estar vacía.
      */
     @Override
-    public List<Producto> buscarPorNombre(String nombre) {
+    public synchronized List<Producto> buscarPorNombre(String nombre) {
         List<Producto> productosEncontrados = new ArrayList<>();
         for (Producto producto : productos) {
             if (producto.getNombre().equalsIgnoreCase(nombre)) {
@@ -79,9 +88,10 @@ public class ProductoDAOMemoria implements ProductoDAO {
      * @param producto El objeto Producto con los datos actualizados.
      */
     @Override
-    public void actualizar(Producto producto) {
+    public synchronized void actualizar(Producto producto) {
         for (int i = 0; i < productos.size(); i++) {
             if (productos.get(i).getCodigo() == producto.getCodigo()) {
+                separar();
                 productos.set(i, producto);
                 break;
             }
@@ -95,7 +105,8 @@ public class ProductoDAOMemoria implements ProductoDAO {
      * @param codigo El código del producto a eliminar.
      */
     @Override
-    public void eliminar(int codigo) {
+    public synchronized void eliminar(int codigo) {
+        separar();
         Iterator<Producto> iterator = productos.iterator();
         while (iterator.hasNext()) {
             Producto producto = iterator.next();
@@ -112,7 +123,72 @@ public class ProductoDAOMemoria implements ProductoDAO {
      * @return Una lista de todos los objetos Producto.
      */
     @Override
-    public List<Producto> listarTodos() {
+    public synchronized List<Producto> listarTodos() {
         return new ArrayList<>(productos);
     }
+
+    /**
+     * Devuelve la cantidad de productos almacenados.
+     *
+     * @return El número total de productos.
+     */
+    @Override
+    public synchronized int contar() {
+        return productos.size();
+    }
+
+    /**
+     * Devuelve una copia de una porción de la lista de productos.
+     *
+     * @param desde La posición del primer producto de la página.
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> listarPagina(int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        int hasta = (int) Math.min(productos.size(), (long) desde + cantidad);
+        return desde >= hasta ? new ArrayList<>() : new ArrayList<>(productos.subList(desde, hasta));
+    }
+
+    /**
+     * Devuelve los productos con código mayor que el dado, ordenados por código.
+     * Como la lista no está ordenada, recorre todos los productos.
+     *
+     * @param codigo El código a partir del cual se listan los productos (excluido).
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> listarDespuesDe(int codigo, int cantidad) {
+        return productos.stream()
+                .filter(producto -> producto.getCodigo() > codigo)
+                .sorted(Comparator.comparingInt(Producto::getCodigo))
+                .limit(cantidad)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Devuelve un flujo sobre la lista actual sin copiarla. La lista queda marcada
+     * como compartida para que la siguiente modificación se haga sobre una copia.
+     *
+     * @return Un flujo de objetos Producto.
+     */
+    @Override
+    public synchronized Stream<Producto> flujo() {
+        compartida = true;
+        return productos.stream();
+    }
+
+    /**
+     * Copia la lista si un flujo la está compartiendo, antes de modificarla.
+     */
+    private void separar() {
+        if (compartida) {
+            productos = new ArrayList<>(productos);
+            compartida = false;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package ec.edu.ups.dao.impl;
+
+import ec.edu.ups.dao.ProductoDAO;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.util.ConjuntoEnterosOrdenado;
+import ec.edu.ups.util.IndiceInvertido;
+import ec.edu.ups.util.MapaEnterosOrdenado;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementación en memoria de la interfaz ProductoDAO indexada por código.
+ * Los productos se guardan en un {@link MapaEnterosOrdenado}, una tabla hash de
+ * direccionamiento abierto con claves `int`, por lo que buscar, actualizar y
+ * eliminar por código cuesta O(1) sin importar el tamaño del catálogo.
+ * El listado conserva el orden de inserción, igual que {@link ProductoDAOMemoria}.
+ * Además mantiene un {@link IndiceInvertido} de los nombres para que la búsqueda
+ * por nombre no recorra todo el catálogo, y un {@link ConjuntoEnterosOrdenado} de
+ * los códigos para la paginación por código, que agrega y quita en O(log n) aunque los
+ * códigos no lleguen en orden.
+ * Los métodos son sincronizados, así las consultas que se ejecutan en segundo plano
+ * pueden convivir con las modificaciones hechas desde la interfaz.
+ *
+ */
+public class ProductoDAOMemoriaIndexada implements ProductoDAO {
+
+    private final MapaEnterosOrdenado<Producto> productos;
+    private final IndiceInvertido indiceNombres;
+    private final ConjuntoEnterosOrdenado codigos;
+
+    /**
+     * Constructor que inicializa los índices en memoria y los precarga con
+     * productos de ejemplo para facilitar las pruebas.
+     */
+    public ProductoDAOMemoriaIndexada() {
+        productos = new MapaEnterosOrdenado<>();
+        indiceNombres = new IndiceInvertido();
+        codigos = new ConjuntoEnterosOrdenado();
+        crear(new Producto(1, "a",15));
+        crear(new Producto(2, "b",25));
+        crear(new Producto(3, "c",35));
+    }
+
+    /**
+     * Añade un nuevo producto al índice. Si ya existe un producto con el mismo
+     * código, este es reemplazado conservando su posición en el listado.
+     *
+     * @param producto El objeto Producto a ser guardado.
+     */
+    @Override
+    public synchronized void crear(Producto producto) {
+        if (productos.put(producto.getCodigo(), producto) == null) {
+            codigos.agregar(producto.getCodigo());
+        }
+        indiceNombres.indexar(producto.getCodigo(), producto.getNombre());
+    }
+
+    /**
+     * Busca y devuelve un producto por su código único.
+     *
+     * @param codigo El código del producto a buscar.
+     * @return El objeto Producto encontrado, o null si no existe ninguno con ese código.
+     */
+    @Override
+    public synchronized Producto buscarPorCodigo(int codigo) {
+        return productos.get(codigo);
+    }
+
+    /**
+     * Busca los productos cuyo nombre contiene todas las palabras del término de
+     * búsqueda, sin distinguir mayúsculas ni tildes. Una palabra terminada en `*`
+     * se busca como prefijo.
+     *
+     * @param nombre Las palabras del nombre a buscar.
+     * @return Una lista de productos ordenada por código. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> buscarPorNombre(String nombre) {
+        int[] codigos = indiceNombres.buscar(nombre);
+        List<Producto> productosEncontrados = new ArrayList<>(codigos.length);
+        for (int codigo : codigos) {
+            productosEncontrados.add(productos.get(codigo));
+        }
+        return productosEncontrados;
+    }
+
+    /**
+     * Actualiza un producto existente y vuelve a indexar su nombre. Si no hay
+     * ningún producto con ese código, no se realiza ningún cambio.
+     *
+     * @param producto El objeto Producto con los datos actualizados.
+     */
+    @Override
+    public synchronized void actualizar(Producto producto) {
+        if (productos.containsKey(producto.getCodigo())) {
+            productos.put(producto.getCodigo(), producto);
+            indiceNombres.indexar(producto.getCodigo(), producto.getNombre());
+        }
+    }
+
+    /**
+     * Elimina un producto y su nombre de los índices utilizando su código.
+     *
+     * @param codigo El código del producto a eliminar.
+     */
+    @Override
+    public synchronized void eliminar(int codigo) {
+        if (productos.remove(codigo) != null) {
+            codigos.eliminar(codigo);
+            indiceNombres.eliminar(codigo);
+        }
+    }
+
+    /**
+     * Devuelve una lista con todos los productos en orden de inserción.
+     *
+     * @return Una lista de todos los objetos Producto.
+     */
+    @Override
+    public synchronized List<Producto> listarTodos() {
+        return productos.valores();
+    }
+
+    /**
+     * Devuelve la cantidad de productos almacenados.
+     *
+     * @return El número total de productos.
+     */
+    @Override
+    public synchronized int contar() {
+        return productos.size();
+    }
+
+    /**
+     * Devuelve una página de productos en orden de inserción, leída por posición
+     * directamente de los arreglos del mapa.
+     *
+     * @param desde La posición del primer producto de la página.
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> listarPagina(int desde, int cantidad) {
+        return productos.valores(desde, cantidad);
+    }
+
+    /**
+     * Devuelve los productos con código mayor que el dado usando el conjunto ordenado
+     * de códigos, por lo que el costo es O(log n + cantidad).
+     *
+     * @param codigo El código a partir del cual se listan los productos (excluido).
+     * @param cantidad La cantidad máxima de productos a devolver.
+     * @return Una lista con los productos de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Producto> listarDespuesDe(int codigo, int cantidad) {
+        int desde = codigos.posicionSiguiente(codigo);
+        int hasta = (int) Math.min(codigos.tamano(), (long) desde + cantidad);
+        List<Producto> pagina = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            pagina.add(productos.get(codigos.get(i)));
+        }
+        return pagina;
+    }
+
+    /**
+     * Devuelve un flujo con los productos en orden de inserción que comparte los
+     * arreglos del mapa con copia al escribir.
+     *
+     * @return Un flujo de objetos Producto.
+     */
+    @Override
+    public synchronized Stream<Producto> flujo() {
+        return productos.flujo();
+    }
+}
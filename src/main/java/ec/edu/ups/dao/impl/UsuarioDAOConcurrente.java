@@ -0,0 +1,392 @@
+package ec.edu.ups.dao.impl;
+
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.modelo.Rol;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.util.HashContrasenas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación en memoria de la interfaz UsuarioDAO pensada para muchos inicios de
+ * sesión simultáneos. Los usuarios se guardan en un {@link ConcurrentHashMap} indexado
+ * por cédula, así autenticar y buscar por cédula cuestan O(1) y no toman ningún
+ * candado. Además mantiene:
+ * <ul>
+ *     <li>un índice por orden de creación, para que los listados conserven el mismo
+ *     orden que {@link UsuarioDAOMemoria};</li>
+ *     <li>un índice ordenado por cédula, para la paginación por clave;</li>
+ *     <li>un {@link EnumMap} con un índice y un contador por cada {@link Rol}.</li>
+ * </ul>
+ * Las modificaciones de una misma cédula se serializan con uno de varios candados
+ * elegido según la cédula, así los índices nunca quedan desalineados entre sí y las
+ * modificaciones de cédulas distintas no se bloquean entre ellas. {@link #crear(Usuario)}
+ * es atómico: si dos hilos crean la misma cédula a la vez, solo uno la guarda.
+ * <p>
+ * Las lecturas no esperan a las modificaciones en curso: como en las colecciones de
+ * `java.util.concurrent`, pueden ver o no un cambio que ocurre mientras se ejecutan.
+ * <p>
+ * La contraseña en texto plano nunca se guarda: al crear o actualizar un usuario se
+ * guarda en el índice un hash de su contraseña calculado con {@link HashContrasenas} y
+ * una copia del usuario sin contraseña, así ninguna consulta la devuelve.
+ * {@link #autenticar(String, String)} verifica contra ese hash.
+ *
+ */
+public class UsuarioDAOConcurrente implements UsuarioDAO {
+
+    private static final int CANDADOS = 64;
+
+    private final Map<String, Entrada> porCedula = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Usuario> porOrden = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Usuario> porCedulaOrdenada = new ConcurrentSkipListMap<>();
+    private final Map<Rol, IndiceRol> porRol = new EnumMap<>(Rol.class);
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Object[] candados = new Object[CANDADOS];
+    private final HashContrasenas hashContrasenas;
+
+    /**
+     * Constructor que inicializa los índices y los precarga con un usuario
+     * administrador y un usuario normal para pruebas. Usa el costo de hash por defecto.
+     */
+    public UsuarioDAOConcurrente() {
+        this(new HashContrasenas());
+    }
+
+    /**
+     * Constructor que inicializa los índices con el hash de contraseñas dado y los
+     * precarga con un usuario administrador y un usuario normal para pruebas.
+     *
+     * @param hashContrasenas El cálculo de hash, con su costo y su caché de verificaciones.
+     */
+    public UsuarioDAOConcurrente(HashContrasenas hashContrasenas) {
+        this.hashContrasenas = hashContrasenas;
+        for (Rol rol : Rol.values()) {
+            porRol.put(rol, new IndiceRol());
+        }
+        for (int i = 0; i < CANDADOS; i++) {
+            candados[i] = new Object();
+        }
+
+        crear(new Usuario(
+                "0101234567",
+                "1881",
+                Rol.ADMINISTRADOR,
+                "Administrador Principal",
+                "0959047144",
+                new GregorianCalendar(2000, Calendar.JULY, 12),
+                "admn01@gmail.com"
+        ));
+        crear(new Usuario(
+                "0109876543",
+                "2006",
+                Rol.USUARIO,
+                "Usuario de Prueba",
+                "0989453263",
+                new GregorianCalendar(1995, Calendar.JUNE, 15),
+                "usr01@gmail.com"
+        ));
+    }
+
+    /**
+     * Autentica a un usuario verificando la contraseña contra el hash guardado, sin tomar
+     * candados. Si la cédula no existe se calcula igual un hash, para que el tiempo de
+     * respuesta no revele qué cédulas están registradas.
+     *
+     * @param cedula La cédula del usuario que intenta iniciar sesión.
+     * @param contrasena La contraseña proporcionada para la autenticación.
+     * @return El objeto Usuario si las credenciales son correctas, de lo contrario, null.
+     */
+    @Override
+    public Usuario autenticar(String cedula, String contrasena) {
+        Entrada entrada = cedula == null ? null : porCedula.get(cedula);
+        String hash = entrada == null ? null : entrada.hash;
+        if (hashContrasenas.verificar(cedula, contrasena, hash)) {
+            return entrada.usuario;
+        }
+        return null;
+    }
+
+    /**
+     * Guarda un nuevo usuario si no existe otro con la misma cédula. La comprobación y
+     * el alta son una sola operación atómica. El hash de la contraseña se calcula antes
+     * de tomar el candado, y se guarda una copia del usuario sin la contraseña.
+     *
+     * @param usuario El objeto Usuario a ser creado.
+     */
+    @Override
+    public void crear(Usuario usuario) {
+        if (porCedula.containsKey(usuario.getCedula())) {
+            return;
+        }
+        String hash = hashContrasenas.generar(usuario.getContrasena());
+        Usuario guardado = sinContrasena(usuario);
+        synchronized (candado(guardado.getCedula())) {
+            if (porCedula.containsKey(guardado.getCedula())) {
+                return;
+            }
+            Entrada entrada = new Entrada(secuencia.getAndIncrement(), guardado.getRol(), guardado, hash);
+            porOrden.put(entrada.orden, guardado);
+            porCedulaOrdenada.put(guardado.getCedula(), guardado);
+            porRol.get(entrada.rol).agregar(entrada.orden, guardado);
+            porCedula.put(guardado.getCedula(), entrada);
+        }
+    }
+
+    /**
+     * Busca y devuelve un usuario por su número de cédula, sin tomar candados.
+     *
+     * @param cedula La cédula del usuario a buscar.
+     * @return El objeto Usuario encontrado, o null si no existe.
+     */
+    @Override
+    public Usuario buscarPorCedula(String cedula) {
+        if (cedula == null) {
+            return null;
+        }
+        Entrada entrada = porCedula.get(cedula);
+        return entrada == null ? null : entrada.usuario;
+    }
+
+    /**
+     * Reemplaza un usuario existente conservando su posición en los listados. Si cambió
+     * de rol, también se mueve al índice del nuevo rol, aunque el objeto se haya
+     * modificado directamente antes de llamar a este método. Si trae una contraseña, su
+     * hash se vuelve a calcular antes de tomar el candado; si la contraseña es null o está
+     * vacía, se conserva el hash anterior. Como al crear, se guarda una copia sin la contraseña.
+     *
+     * @param usuarioActualizado El objeto Usuario con los datos actualizados.
+     */
+    @Override
+    public void actualizar(Usuario usuarioActualizado) {
+        String cedula = usuarioActualizado.getCedula();
+        if (!porCedula.containsKey(cedula)) {
+            return;
+        }
+        String contrasena = usuarioActualizado.getContrasena();
+        String hash = contrasena == null || contrasena.isEmpty() ? null : hashContrasenas.generar(contrasena);
+        Usuario guardado = sinContrasena(usuarioActualizado);
+        synchronized (candado(cedula)) {
+            Entrada anterior = porCedula.get(cedula);
+            if (anterior == null) {
+                return;
+            }
+            Entrada nueva = new Entrada(anterior.orden, guardado.getRol(), guardado,
+                    hash == null ? anterior.hash : hash);
+            porOrden.put(nueva.orden, guardado);
+            porCedulaOrdenada.put(cedula, guardado);
+            if (anterior.rol != nueva.rol) {
+                porRol.get(anterior.rol).quitar(anterior.orden);
+                porRol.get(nueva.rol).agregar(nueva.orden, guardado);
+            } else {
+                porRol.get(nueva.rol).usuarios.put(nueva.orden, guardado);
+            }
+            porCedula.put(cedula, nueva);
+            if (hash != null) {
+                hashContrasenas.olvidar(cedula);
+            }
+        }
+    }
+
+    /**
+     * Elimina un usuario y lo quita de todos los índices.
+     *
+     * @param cedula La cédula del usuario a eliminar.
+     */
+    @Override
+    public void eliminar(String cedula) {
+        synchronized (candado(cedula)) {
+            Entrada entrada = porCedula.remove(cedula);
+            if (entrada == null) {
+                return;
+            }
+            porOrden.remove(entrada.orden);
+            porCedulaOrdenada.remove(cedula);
+            porRol.get(entrada.rol).quitar(entrada.orden);
+            hashContrasenas.olvidar(cedula);
+        }
+    }
+
+    /**
+     * Devuelve una lista con todos los usuarios en orden de creación.
+     *
+     * @return Una lista de todos los objetos Usuario.
+     */
+    @Override
+    public List<Usuario> listarTodos() {
+        return new ArrayList<>(porOrden.values());
+    }
+
+    /**
+     * Devuelve los usuarios de un rol en orden de creación, desde el índice del rol.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return Una lista de usuarios que coinciden con el rol especificado.
+     */
+    @Override
+    public List<Usuario> listarPorRol(Rol rol) {
+        return new ArrayList<>(porRol.get(rol).usuarios.values());
+    }
+
+    /**
+     * Devuelve la cantidad de usuarios almacenados.
+     *
+     * @return El número total de usuarios.
+     */
+    @Override
+    public int contar() {
+        return porCedula.size();
+    }
+
+    /**
+     * Devuelve una página de usuarios en orden de creación.
+     *
+     * @param desde La posición del primer usuario de la página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    @Override
+    public List<Usuario> listarPagina(int desde, int cantidad) {
+        return pagina(porOrden.values(), desde, cantidad);
+    }
+
+    /**
+     * Devuelve los usuarios con cédula mayor que la dada, recorriendo el índice
+     * ordenado por cédula desde esa posición.
+     *
+     * @param cedula La cédula a partir de la cual se listan los usuarios (excluida), o
+     *               null para la primera página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    @Override
+    public List<Usuario> listarDespuesDe(String cedula, int cantidad) {
+        Collection<Usuario> siguientes = cedula == null
+                ? porCedulaOrdenada.values()
+                : porCedulaOrdenada.tailMap(cedula, false).values();
+        return siguientes.stream().limit(cantidad).collect(Collectors.toList());
+    }
+
+    /**
+     * Devuelve la cantidad de usuarios de un rol, desde el contador del rol.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return El número de usuarios con ese rol.
+     */
+    @Override
+    public int contarPorRol(Rol rol) {
+        return porRol.get(rol).cantidad.get();
+    }
+
+    /**
+     * Devuelve una página de los usuarios de un rol, desde el índice del rol.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @param desde La posición del primer usuario de la página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    @Override
+    public List<Usuario> listarPorRol(Rol rol, int desde, int cantidad) {
+        return pagina(porRol.get(rol).usuarios.values(), desde, cantidad);
+    }
+
+    /**
+     * Devuelve un flujo con los usuarios tal como estaban al llamar al método. Copia
+     * las referencias a un arreglo, porque los índices concurrentes no conservan una
+     * vista fija mientras se modifican.
+     *
+     * @return Un flujo de objetos Usuario.
+     */
+    @Override
+    public Stream<Usuario> flujo() {
+        return Arrays.stream(porOrden.values().toArray(new Usuario[0]));
+    }
+
+    /**
+     * Devuelve un flujo con los usuarios de un rol, con la misma consistencia que {@link #flujo()}.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return Un flujo de objetos Usuario.
+     */
+    @Override
+    public Stream<Usuario> flujoPorRol(Rol rol) {
+        return Arrays.stream(porRol.get(rol).usuarios.values().toArray(new Usuario[0]));
+    }
+
+    /**
+     * Copia una porción de una colección ordenada, saltando los primeros elementos.
+     */
+    private static List<Usuario> pagina(Collection<Usuario> usuarios, int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        return usuarios.stream().skip(desde).limit(cantidad).collect(Collectors.toList());
+    }
+
+    /**
+     * Copia un usuario sin su contraseña, para guardarlo en los índices.
+     */
+    private static Usuario sinContrasena(Usuario usuario) {
+        return new Usuario(usuario.getCedula(), null, usuario.getRol(), usuario.getNombre(),
+                usuario.getTelefono(), usuario.getFecha(), usuario.getCorreo());
+    }
+
+    /**
+     * Devuelve el candado que serializa las modificaciones de una cédula.
+     */
+    private Object candado(String cedula) {
+        int h = cedula.hashCode();
+        return candados[(h ^ (h >>> 16)) & (CANDADOS - 1)];
+    }
+
+    /**
+     * Un usuario junto con su posición de creación, el rol con el que está indexado y el
+     * hash de su contraseña. Es inmutable, así una lectura nunca ve una entrada a medio
+     * actualizar.
+     */
+    private static final class Entrada {
+        private final long orden;
+        private final Rol rol;
+        private final Usuario usuario;
+        private final String hash;
+
+        private Entrada(long orden, Rol rol, Usuario usuario, String hash) {
+            this.orden = orden;
+            this.rol = rol;
+            this.usuario = usuario;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Los usuarios de un rol en orden de creación, con su cantidad.
+     */
+    private static final class IndiceRol {
+        private final ConcurrentSkipListMap<Long, Usuario> usuarios = new ConcurrentSkipListMap<>();
+        private final AtomicInteger cantidad = new AtomicInteger();
+
+        private void agregar(long orden, Usuario usuario) {
+            usuarios.put(orden, usuario);
+            cantidad.incrementAndGet();
+        }
+
+        private void quitar(long orden) {
+            if (usuarios.remove(orden) != null) {
+                cantidad.decrementAndGet();
+            }
+        }
+    }
+}
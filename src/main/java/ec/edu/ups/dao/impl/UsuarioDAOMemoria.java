@@ -4,21 +4,31 @@ import ec.edu.ups.dao.UsuarioDAO;
 import ec.edu.ups.modelo.Rol;
 import ec.edu.ups.modelo.Usuario;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Calendar;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación en memoria de la interfaz UsuarioDAO.
  * Esta clase simula una base de datos para los usuarios, almacenándolos
  * en una lista en memoria. Es ideal para desarrollo y pruebas, ya que los
  * datos se pierden al cerrar la aplicación.
+ * Mientras un flujo recorre la lista, la siguiente modificación trabaja sobre una
+ * copia de la lista (copia al escribir), así el flujo no ve los cambios.
+ * Los métodos son sincronizados, así las consultas que se ejecutan en segundo plano
+ * pueden convivir con las modificaciones hechas desde la interfaz.
  *
  */
 public class UsuarioDAOMemoria implements UsuarioDAO {
 
-    private final List<Usuario> usuarios;
+    private List<Usuario> usuarios;
+    private boolean compartida;
 
     /**
      * Constructor que inicializa la lista en memoria y la precarga con
@@ -51,17 +61,20 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
     }
 
     /**
-     * Autentica a un usuario comparando la cédula y contraseña proporcionadas.
+     * Autentica a un usuario comparando la cédula y contraseña proporcionadas. La
+     * contraseña se compara en tiempo constante para no revelar cuántos caracteres coinciden.
      *
      * @param cedula La cédula del usuario que intenta iniciar sesión.
      * @param contrasena La contraseña proporcionada para la autenticación.
      * @return El objeto Usuario si las credenciales son correctas, de lo contrario, null.
      */
     @Override
-    public Usuario autenticar(String cedula, String contrasena) {
+    public synchronized Usuario autenticar(String cedula, String contrasena) {
         for (Usuario usuario : usuarios) {
-            if (usuario.getCedula().equals(cedula) && usuario.getContrasena().equals(contrasena)) {
-                return usuario;
+            if (usuario.getCedula().equals(cedula)) {
+                return contrasena != null && MessageDigest.isEqual(
+                        usuario.getContrasena().getBytes(StandardCharsets.UTF_8),
+                        contrasena.getBytes(StandardCharsets.UTF_8)) ? usuario : null;
             }
         }
         return null;
@@ -74,8 +87,9 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
      * @param usuario El objeto Usuario a ser creado.
      */
     @Override
-    public void crear(Usuario usuario) {
+    public synchronized void crear(Usuario usuario) {
         if (buscarPorCedula(usuario.getCedula()) == null) {
+            separar();
             usuarios.add(usuario);
         }
     }
@@ -87,7 +101,7 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
      * @return El objeto Usuario encontrado, o null si no existe.
      */
     @Override
-    public Usuario buscarPorCedula(String cedula) {
+    public synchronized Usuario buscarPorCedula(String cedula) {
         for (Usuario usuario : usuarios) {
             if (usuario.getCedula().equals(cedula)) {
                 return usuario;
@@ -99,13 +113,19 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
     /**
      * Actualiza un usuario existente en la lista.
      * Busca al usuario por su cédula y lo reemplaza con la nueva versión proporcionada.
+     * Si la nueva versión no trae contraseña, conserva la del usuario reemplazado.
      *
      * @param usuarioActualizado El objeto Usuario con los datos actualizados.
      */
     @Override
-    public void actualizar(Usuario usuarioActualizado) {
+    public synchronized void actualizar(Usuario usuarioActualizado) {
         for (int i = 0; i < usuarios.size(); i++) {
             if (usuarios.get(i).getCedula().equals(usuarioActualizado.getCedula())) {
+                String contrasena = usuarioActualizado.getContrasena();
+                if (contrasena == null || contrasena.isEmpty()) {
+                    usuarioActualizado.setContrasena(usuarios.get(i).getContrasena());
+                }
+                separar();
                 usuarios.set(i, usuarioActualizado);
                 break;
             }
@@ -118,7 +138,8 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
      * @param cedula La cédula del usuario a eliminar.
      */
     @Override
-    public void eliminar(String cedula) {
+    public synchronized void eliminar(String cedula) {
+        separar();
         usuarios.removeIf(usuario -> usuario.getCedula().equals(cedula));
     }
 
@@ -128,7 +149,7 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
      * @return Una lista de todos los objetos Usuario.
      */
     @Override
-    public List<Usuario> listarTodos() {
+    public synchronized List<Usuario> listarTodos() {
         return new ArrayList<>(usuarios);
     }
 
@@ -139,7 +160,7 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
      * @return Una lista de usuarios que coinciden con el rol especificado.
      */
     @Override
-    public List<Usuario> listarPorRol(Rol rol) {
+    public synchronized List<Usuario> listarPorRol(Rol rol) {
         List<Usuario> usuariosEncontrados = new ArrayList<>();
         for (Usuario usuario : usuarios) {
             if (usuario.getRol().equals(rol)) {
@@ -148,4 +169,115 @@ public class UsuarioDAOMemoria implements UsuarioDAO {
         }
         return usuariosEncontrados;
     }
+
+    /**
+     * Devuelve la cantidad de usuarios almacenados.
+     *
+     * @return El número total de usuarios.
+     */
+    @Override
+    public synchronized int contar() {
+        return usuarios.size();
+    }
+
+    /**
+     * Devuelve una copia de una porción de la lista de usuarios.
+     *
+     * @param desde La posición del primer usuario de la página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Usuario> listarPagina(int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        int hasta = (int) Math.min(usuarios.size(), (long) desde + cantidad);
+        return desde >= hasta ? new ArrayList<>() : new ArrayList<>(usuarios.subList(desde, hasta));
+    }
+
+    /**
+     * Devuelve los usuarios con cédula mayor que la dada, ordenados por cédula.
+     * Como la lista no está ordenada, recorre todos los usuarios.
+     *
+     * @param cedula La cédula a partir de la cual se listan los usuarios (excluida), o
+     *               null para la primera página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Usuario> listarDespuesDe(String cedula, int cantidad) {
+        return usuarios.stream()
+                .filter(usuario -> cedula == null || usuario.getCedula().compareTo(cedula) > 0)
+                .sorted(Comparator.comparing(Usuario::getCedula))
+                .limit(cantidad)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Devuelve la cantidad de usuarios que pertenecen a un rol específico.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return El número de usuarios con ese rol.
+     */
+    @Override
+    public synchronized int contarPorRol(Rol rol) {
+        int cantidad = 0;
+        for (Usuario usuario : usuarios) {
+            if (usuario.getRol().equals(rol)) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Devuelve una página de los usuarios de un rol. Recorre la lista saltando los
+     * primeros `desde` usuarios del rol y solo copia los de la página.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @param desde La posición del primer usuario de la página.
+     * @param cantidad La cantidad máxima de usuarios a devolver.
+     * @return Una lista con los usuarios de la página. Puede estar vacía.
+     */
+    @Override
+    public synchronized List<Usuario> listarPorRol(Rol rol, int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        return flujoPorRol(rol).skip(desde).limit(cantidad).collect(Collectors.toList());
+    }
+
+    /**
+     * Devuelve un flujo sobre la lista actual sin copiarla. La lista queda marcada
+     * como compartida para que la siguiente modificación se haga sobre una copia.
+     *
+     * @return Un flujo de objetos Usuario.
+     */
+    @Override
+    public synchronized Stream<Usuario> flujo() {
+        compartida = true;
+        return usuarios.stream();
+    }
+
+    /**
+     * Devuelve un flujo con los usuarios de un rol, filtrando el flujo de {@link #flujo()}.
+     *
+     * @param rol El rol (ADMINISTRADOR o USUARIO) por el cual filtrar.
+     * @return Un flujo de objetos Usuario.
+     */
+    @Override
+    public synchronized Stream<Usuario> flujoPorRol(Rol rol) {
+        return flujo().filter(usuario -> usuario.getRol().equals(rol));
+    }
+
+    /**
+     * Copia la lista si un flujo la está compartiendo, antes de modificarla.
+     */
+    private void separar() {
+        if (compartida) {
+            usuarios = new ArrayList<>(usuarios);
+            compartida = false;
+        }
+    }
 }
\ No newline at end of file
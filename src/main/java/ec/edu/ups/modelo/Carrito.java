@@ -1,32 +1,61 @@
 package ec.edu.ups.modelo;
 
+import ec.edu.ups.util.Dinero;
+import ec.edu.ups.util.MapaEnterosOrdenado;
+import ec.edu.ups.util.MapaPersistenteEnteros;
+
 import java.util.GregorianCalendar;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Iterator;
 
 /**
  * Representa un carrito de compras en el sistema.
- * Contiene una lista de items, información del usuario asociado, una fecha de creación
- * y la lógica de negocio para calcular los totales.
+ * Contiene los items indexados por código de producto (en orden de inserción),
+ * información del usuario asociado, una fecha de creación
+ * y la lógica de negocio para calcular los totales. Los totales se calculan en
+ * centavos (punto fijo) para que sean exactos y el subtotal se mantiene al día con
+ * cada cambio en los items, por lo que consultar los totales no recorre el carrito.
+ * <p>
+ * Para guardarlo se usa {@link #crearInstantanea()}, que devuelve un
+ * {@link InstantaneaCarrito} inmutable. El carrito recuerda la última instantánea
+ * creada y los productos que cambiaron desde entonces, de modo que la siguiente
+ * instantánea solo copia esas líneas y comparte el resto con la anterior.
  *
  */
 public class Carrito {
 
     /**
-     * Constante que define el valor del Impuesto al Valor Agregado (IVA).
+     * Constante que define el porcentaje del Impuesto al Valor Agregado (IVA).
      */
-    private final double IVA = 0.12;
+    private static final int IVA = 12;
     private int codigo;
     private GregorianCalendar fechaCreacion;
-    private List<ItemCarrito> items;
+    private MapaEnterosOrdenado<ItemCarrito> items;
     private Usuario usuario;
+    private long subtotalCentavos;
+    private long siguienteOrden;
+    private InstantaneaCarrito base;
+    private MapaEnterosOrdenado<Boolean> cambios;
 
     /**
-     * Constructor por defecto. Inicializa la lista de items del carrito.
+     * Constructor por defecto. Inicializa los items del carrito.
      */
     public Carrito() {
-        items = new ArrayList<>();
+        items = new MapaEnterosOrdenado<>();
+    }
+
+    /**
+     * Crea un carrito a partir de una instantánea. Los items se construyen la
+     * primera vez que se consultan o modifican.
+     *
+     * @param base La instantánea de la que parte el carrito.
+     */
+    Carrito(InstantaneaCarrito base) {
+        this.base = base;
+        this.codigo = base.getCodigo();
+        this.usuario = base.getUsuario();
+        this.fechaCreacion = base.getFechaCreacion();
+        this.subtotalCentavos = base.getSubtotalCentavos();
+        this.siguienteOrden = base.getSiguienteOrden();
     }
 
     /**
@@ -91,13 +120,41 @@ public class Carrito {
      * @param cantidad La cantidad del producto a añadir.
      */
     public void agregarProducto(Producto producto, int cantidad) {
-        for (ItemCarrito item : items) {
-            if (item.getProducto().getCodigo() == producto.getCodigo()) {
-                item.setCantidad(item.getCantidad() + cantidad);
-                return;
-            }
+        asegurarItems();
+        ItemCarrito item = items.get(producto.getCodigo());
+        if (item != null) {
+            item.setCantidad(item.getCantidad() + cantidad);
+            return;
         }
-        items.add(new ItemCarrito(producto, cantidad));
+        agregarItem(new ItemCarrito(producto, cantidad));
+    }
+
+    /**
+     * Cambia la cantidad de un producto que ya está en el carrito.
+     *
+     * @param codigoProducto El código del producto a modificar.
+     * @param cantidad La nueva cantidad.
+     * @return true si el producto estaba en el carrito, false en caso contrario.
+     */
+    public boolean actualizarCantidad(int codigoProducto, int cantidad) {
+        asegurarItems();
+        ItemCarrito item = items.get(codigoProducto);
+        if (item == null) {
+            return false;
+        }
+        item.setCantidad(cantidad);
+        return true;
+    }
+
+    /**
+     * Busca el item de un producto dentro del carrito.
+     *
+     * @param codigoProducto El código del producto a buscar.
+     * @return El item encontrado, o null si el producto no está en el carrito.
+     */
+    public ItemCarrito buscarItem(int codigoProducto) {
+        asegurarItems();
+        return items.get(codigoProducto);
     }
 
     /**
@@ -106,12 +163,12 @@ public class Carrito {
      * @param codigoProducto El código del producto a eliminar.
      */
     public void eliminarProducto(int codigoProducto) {
-        Iterator<ItemCarrito> it = items.iterator();
-        while (it.hasNext()) {
-            if (it.next().getProducto().getCodigo() == codigoProducto) {
-                it.remove();
-                break;
-            }
+        asegurarItems();
+        ItemCarrito item = items.remove(codigoProducto);
+        if (item != null) {
+            subtotalCentavos -= item.calcularSubtotalCentavos();
+            item.setCarrito(null);
+            marcarCambio(codigoProducto);
         }
     }
 
@@ -119,16 +176,25 @@ public class Carrito {
      * Elimina todos los items del carrito, dejándolo vacío.
      */
     public void vaciarCarrito() {
+        asegurarItems();
+        items.forEach(item -> {
+            item.setCarrito(null);
+            marcarCambio(item.getProducto().getCodigo());
+        });
         items.clear();
+        subtotalCentavos = 0;
     }
 
     /**
-     * Devuelve la lista de todos los items contenidos en el carrito.
+     * Devuelve la lista de todos los items contenidos en el carrito, en el orden
+     * en que se agregaron. La lista es una copia; para cambiar el contenido se usan
+     * los métodos del carrito, que mantienen los totales al día.
      *
      * @return Una lista de objetos ItemCarrito.
      */
     public List<ItemCarrito> obtenerItems() {
-        return items;
+        asegurarItems();
+        return items.valores();
     }
 
     /**
@@ -137,7 +203,35 @@ public class Carrito {
      * @return true si el carrito no tiene items, false en caso contrario.
      */
     public boolean estaVacio() {
-        return items.isEmpty();
+        return items == null ? base.getCantidadLineas() == 0 : items.isEmpty();
+    }
+
+    /**
+     * Calcula el subtotal de la compra en centavos (la suma de los items sin impuestos).
+     *
+     * @return El valor del subtotal en centavos.
+     */
+    public long calcularSubtotalCentavos() {
+        return subtotalCentavos;
+    }
+
+    /**
+     * Calcula el monto del IVA en centavos, redondeado al centavo sobre el subtotal.
+     *
+     * @return El valor del IVA en centavos.
+     */
+    public long calcularIVACentavos() {
+        return Dinero.porcentaje(calcularSubtotalCentavos(), IVA);
+    }
+
+    /**
+     * Calcula el costo total de la compra (subtotal + IVA) en centavos.
+     *
+     * @return El valor total a pagar en centavos.
+     */
+    public long calcularTotalCentavos() {
+        long subtotal = calcularSubtotalCentavos();
+        return subtotal + Dinero.porcentaje(subtotal, IVA);
     }
 
     /**
@@ -146,11 +240,7 @@ public class Carrito {
      * @return El valor del subtotal como un double.
      */
     public double calcularSubtotal() {
-        double subtotal = 0;
-        for (ItemCarrito item : items) {
-            subtotal += item.getProducto().getPrecio() * item.getCantidad();
-        }
-        return subtotal;
+        return Dinero.aDouble(calcularSubtotalCentavos());
     }
 
     /**
@@ -159,7 +249,7 @@ public class Carrito {
      * @return El valor del IVA como un double.
      */
     public double calcularIVA() {
-        return calcularSubtotal() * IVA;
+        return Dinero.aDouble(calcularIVACentavos());
     }
 
     /**
@@ -168,27 +258,121 @@ public class Carrito {
      * @return El valor total a pagar como un double.
      */
     public double calcularTotal() {
-        return calcularSubtotal() + calcularIVA();
+        return Dinero.aDouble(calcularTotalCentavos());
     }
 
     /**
-     * Crea y devuelve una copia profunda de este objeto Carrito.
+     * Crea una instantánea inmutable del estado actual del carrito y la toma como
+     * nueva base. Solo se copian las líneas de los productos que cambiaron desde la
+     * instantánea anterior; las demás se comparten con ella.
+     *
+     * @return La instantánea con el estado actual del carrito.
+     */
+    public InstantaneaCarrito crearInstantanea() {
+        base = construirInstantanea();
+        cambios = null;
+        return base;
+    }
+
+    /**
+     * Crea y devuelve una copia de este objeto Carrito.
      * La copia es un objeto independiente con los mismos datos, útil para
      * mantener la integridad de los datos al guardar en la capa de persistencia.
+     * Ambos carritos comparten las líneas inmutables de una instantánea y cada uno
+     * construye sus propios items al modificarse, por lo que copiar no recorre el carrito.
      *
      * @return Un nuevo objeto Carrito que es una copia exacta del actual.
      */
     public Carrito copiar() {
-        Carrito copia = new Carrito();
-        copia.setFechaCreacion(this.fechaCreacion);
-        copia.setUsuario(this.usuario);
-        copia.setCodigo(this.codigo);
-
-        for (ItemCarrito item : this.items) {
-            Producto producto = item.getProducto();
-            int cantidad = item.getCantidad();
-            copia.agregarProducto(producto, cantidad);
+        return construirInstantanea().aCarrito();
+    }
+
+    /**
+     * Construye una instantánea a partir de la base aplicando los productos cambiados.
+     */
+    private InstantaneaCarrito construirInstantanea() {
+        MapaPersistenteEnteros<InstantaneaCarrito.Linea> lineas =
+                base == null ? MapaPersistenteEnteros.vacio() : base.getLineas();
+        if (base == null) {
+            for (ItemCarrito item : items.valores()) {
+                lineas = lineas.con(item.getProducto().getCodigo(), aLinea(item));
+            }
+        } else if (cambios != null) {
+            for (int codigoProducto : cambios.claves()) {
+                ItemCarrito item = items.get(codigoProducto);
+                lineas = item == null ? lineas.sin(codigoProducto) : lineas.con(codigoProducto, aLinea(item));
+            }
+        }
+        return new InstantaneaCarrito(codigo, usuario, fechaCreacion, lineas, subtotalCentavos, siguienteOrden);
+    }
+
+    /**
+     * Convierte un item en una línea inmutable.
+     */
+    private static InstantaneaCarrito.Linea aLinea(ItemCarrito item) {
+        return new InstantaneaCarrito.Linea(item.getProducto(), item.getCantidad(),
+                item.getPrecioUnitarioCentavos(), item.getOrden());
+    }
+
+    /**
+     * Construye los items a partir de la instantánea base si aún no existen.
+     */
+    private void asegurarItems() {
+        if (items != null) {
+            return;
         }
-        return copia;
+        items = new MapaEnterosOrdenado<>(base.getCantidadLineas());
+        for (InstantaneaCarrito.Linea linea : base.lineasOrdenadas()) {
+            ItemCarrito item = new ItemCarrito(linea.getProducto(), linea.getCantidad(),
+                    linea.getPrecioUnitarioCentavos());
+            item.setOrden(linea.getOrden());
+            item.setCarrito(this);
+            items.put(linea.getProducto().getCodigo(), item);
+        }
+    }
+
+    /**
+     * Registra que la línea de un producto cambió desde la última instantánea.
+     */
+    private void marcarCambio(int codigoProducto) {
+        if (base == null) {
+            return;
+        }
+        if (cambios == null) {
+            cambios = new MapaEnterosOrdenado<>();
+        }
+        cambios.put(codigoProducto, Boolean.TRUE);
+    }
+
+    /**
+     * Añade un item ya construido al final del carrito y suma su subtotal. A diferencia
+     * de {@link #agregarProducto}, conserva el precio unitario del item, por lo que se usa
+     * para reconstruir carritos guardados.
+     *
+     * @param item El item a añadir.
+     * @throws IllegalArgumentException Si el producto del item ya está en el carrito.
+     */
+    public void agregarItem(ItemCarrito item) {
+        asegurarItems();
+        if (items.containsKey(item.getProducto().getCodigo())) {
+            throw new IllegalArgumentException("El producto ya está en el carrito");
+        }
+        item.setCarrito(this);
+        item.setOrden(siguienteOrden++);
+        items.put(item.getProducto().getCodigo(), item);
+        subtotalCentavos = Math.addExact(subtotalCentavos, item.calcularSubtotalCentavos());
+        marcarCambio(item.getProducto().getCodigo());
+    }
+
+    /**
+     * Suma al subtotal la diferencia informada por un item que cambió de cantidad
+     * o de producto y registra el cambio para la próxima instantánea.
+     *
+     * @param item El item que cambió.
+     * @param diferenciaCentavos La diferencia del subtotal del item, en centavos.
+     */
+    void registrarCambio(ItemCarrito item, long diferenciaCentavos) {
+        subtotalCentavos = Math.addExact(subtotalCentavos, diferenciaCentavos);
+        marcarCambio(item.getProducto().getCodigo());
     }
-}
\ No newline at end of file
+}
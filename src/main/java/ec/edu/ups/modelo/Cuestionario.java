@@ -1,9 +1,8 @@
 package ec.edu.ups.modelo;
 
-import ec.edu.ups.util.MensajeInternacionalizacionHandler;
-
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * La clase `Cuestionario` representa un cuestionario asociado a un usuario,
@@ -79,7 +78,8 @@ public class Cuestionario {
 
     /**
      * Genera una lista de respuestas por defecto basadas en las preguntas predefinidas.
-     * Cada respuesta tendrá un ID y el enunciado de la pregunta correspondiente.
+     * Cada respuesta tendrá un ID y la clave de internacionalización de la pregunta
+     * correspondiente como enunciado.
      *
      * @return Una lista de objetos Respuesta con preguntas por defecto.
      */
@@ -87,20 +87,25 @@ public class Cuestionario {
         List<Respuesta> lista = new ArrayList<>();
         Pregunta[] preguntas = Pregunta.values();
         for (int i = 0; i < preguntas.length; i++) {
-            lista.add(new Respuesta(i + 1, preguntas[i].getEnunciado()));
+            lista.add(new Respuesta(i + 1, preguntas[i].getClave()));
         }
         return lista;
     }
 
     /**
-     * Aplica el idioma especificado a todas las preguntas predefinidas.
-     * Esto actualiza los enunciados de las preguntas según el `MensajeInternacionalizacionHandler` proporcionado.
+     * Genera una lista de respuestas por defecto basadas en las preguntas predefinidas.
+     * Cada respuesta tendrá un ID y el enunciado de la pregunta correspondiente en el
+     * idioma dado.
      *
-     * @param mi El manejador de internacionalización de mensajes a aplicar.
+     * @param locale El idioma de los enunciados.
+     * @return Una lista de objetos Respuesta con preguntas por defecto.
      */
-    public void aplicarIdioma(MensajeInternacionalizacionHandler mi) {
-        for (Pregunta p : Pregunta.values()) {
-            p.setMensajeIdioma(mi);
+    public List<Respuesta> preguntasPorDefecto(Locale locale) {
+        List<Respuesta> lista = new ArrayList<>();
+        Pregunta[] preguntas = Pregunta.values();
+        for (int i = 0; i < preguntas.length; i++) {
+            lista.add(new Respuesta(i + 1, preguntas[i].getEnunciado(locale)));
         }
+        return lista;
     }
-}
\ No newline at end of file
+}
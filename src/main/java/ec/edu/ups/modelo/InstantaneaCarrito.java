@@ -0,0 +1,171 @@
+package ec.edu.ups.modelo;
+
+import ec.edu.ups.util.MapaPersistenteEnteros;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+/**
+ * La clase **InstantaneaCarrito** representa el estado guardado de un carrito en un
+ * momento dado. Es inmutable: sus líneas se guardan en un {@link MapaPersistenteEnteros},
+ * de modo que dos instantáneas sucesivas del mismo carrito comparten todas las líneas
+ * que no cambiaron. Se obtiene con {@link Carrito#crearInstantanea()} y se vuelve a
+ * convertir en un carrito editable con {@link #aCarrito()}.
+ */
+public final class InstantaneaCarrito {
+    private final int codigo;
+    private final Usuario usuario;
+    private final GregorianCalendar fechaCreacion;
+    private final MapaPersistenteEnteros<Linea> lineas;
+    private final long subtotalCentavos;
+    private final long siguienteOrden;
+
+    /**
+     * Constructor usado por **Carrito** al crear la instantánea.
+     */
+    InstantaneaCarrito(int codigo, Usuario usuario, GregorianCalendar fechaCreacion,
+                       MapaPersistenteEnteros<Linea> lineas, long subtotalCentavos, long siguienteOrden) {
+        this.codigo = codigo;
+        this.usuario = usuario;
+        this.fechaCreacion = fechaCreacion;
+        this.lineas = lineas;
+        this.subtotalCentavos = subtotalCentavos;
+        this.siguienteOrden = siguienteOrden;
+    }
+
+    /**
+     * Crea un carrito editable a partir de esta instantánea. Los items del carrito
+     * se construyen solo cuando se necesitan, por lo que consultar el código, el
+     * usuario o los totales del carrito devuelto no recorre sus líneas.
+     *
+     * @return Un nuevo objeto Carrito con el estado de esta instantánea.
+     */
+    public Carrito aCarrito() {
+        return new Carrito(this);
+    }
+
+    /**
+     * Obtiene el código del carrito.
+     *
+     * @return El código del carrito.
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Obtiene el usuario propietario del carrito.
+     *
+     * @return El objeto Usuario asociado.
+     */
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    /**
+     * Obtiene la fecha de creación del carrito.
+     *
+     * @return La fecha de creación.
+     */
+    public GregorianCalendar getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    /**
+     * Obtiene el subtotal del carrito en centavos.
+     *
+     * @return El subtotal en centavos.
+     */
+    public long getSubtotalCentavos() {
+        return subtotalCentavos;
+    }
+
+    /**
+     * Obtiene la cantidad de líneas (productos distintos) del carrito.
+     *
+     * @return La cantidad de líneas.
+     */
+    public int getCantidadLineas() {
+        return lineas.size();
+    }
+
+    /**
+     * Obtiene las líneas indexadas por código de producto.
+     */
+    MapaPersistenteEnteros<Linea> getLineas() {
+        return lineas;
+    }
+
+    /**
+     * Obtiene el número de orden que recibirá la próxima línea agregada.
+     */
+    long getSiguienteOrden() {
+        return siguienteOrden;
+    }
+
+    /**
+     * Devuelve las líneas en el orden en que fueron agregadas al carrito.
+     */
+    List<Linea> lineasOrdenadas() {
+        List<Linea> lista = new ArrayList<>(lineas.size());
+        lineas.forEach(lista::add);
+        lista.sort(Comparator.comparingLong(Linea::getOrden));
+        return lista;
+    }
+
+    /**
+     * Línea inmutable de una instantánea: un producto, su cantidad, el precio
+     * unitario con el que se agregó y su posición dentro del carrito.
+     */
+    public static final class Linea {
+        private final Producto producto;
+        private final int cantidad;
+        private final long precioUnitarioCentavos;
+        private final long orden;
+
+        Linea(Producto producto, int cantidad, long precioUnitarioCentavos, long orden) {
+            this.producto = producto;
+            this.cantidad = cantidad;
+            this.precioUnitarioCentavos = precioUnitarioCentavos;
+            this.orden = orden;
+        }
+
+        /**
+         * Obtiene el producto de la línea.
+         *
+         * @return El objeto Producto.
+         */
+        public Producto getProducto() {
+            return producto;
+        }
+
+        /**
+         * Obtiene la cantidad del producto.
+         *
+         * @return La cantidad.
+         */
+        public int getCantidad() {
+            return cantidad;
+        }
+
+        /**
+         * Obtiene el precio unitario con el que se agregó el producto, en centavos.
+         *
+         * @return El precio unitario en centavos.
+         */
+        public long getPrecioUnitarioCentavos() {
+            return precioUnitarioCentavos;
+        }
+
+        /**
+         * Obtiene la posición de la línea dentro del carrito.
+         *
+         * @return El número de orden.
+         */
+        public long getOrden() {
+            return orden;
+        }
+    }
+}
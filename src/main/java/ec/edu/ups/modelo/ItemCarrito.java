@@ -1,12 +1,21 @@
 package ec.edu.ups.modelo;
 
+import ec.edu.ups.util.Dinero;
+
 /**
  * La clase **ItemCarrito** representa un elemento dentro de un carrito de compras,
  * que incluye un producto y la cantidad de dicho producto.
+ * El precio unitario se fija al crear el ítem, de modo que cambios posteriores en el
+ * precio del producto no alteran los carritos ya armados. Cuando el ítem pertenece a
+ * un **Carrito**, cada cambio de cantidad o de producto se notifica al carrito para
+ * que mantenga sus totales al día.
  */
 public class ItemCarrito {
     private Producto producto;
     private int cantidad;
+    private long precioUnitarioCentavos;
+    private Carrito carrito;
+    private long orden;
 
     /**
      * Constructor para la clase ItemCarrito.
@@ -15,8 +24,21 @@ public class ItemCarrito {
      * @param cantidad La cantidad de dicho producto.
      */
     public ItemCarrito(Producto producto, int cantidad) {
+        this(producto, cantidad, producto.getPrecioCentavos());
+    }
+
+    /**
+     * Constructor que fija un precio unitario distinto al actual del producto.
+     * Se usa al copiar o restaurar carritos para conservar el precio con el que se armaron.
+     *
+     * @param producto El objeto **Producto** que se añade al carrito.
+     * @param cantidad La cantidad de dicho producto.
+     * @param precioUnitarioCentavos El precio unitario en centavos.
+     */
+    public ItemCarrito(Producto producto, int cantidad, long precioUnitarioCentavos) {
         this.cantidad = cantidad;
         this.producto = producto;
+        this.precioUnitarioCentavos = precioUnitarioCentavos;
     }
 
     /**
@@ -29,12 +51,21 @@ public class ItemCarrito {
     }
 
     /**
-     * Establece el producto para este ítem del carrito.
+     * Establece el producto para este ítem del carrito y toma su precio actual
+     * como precio unitario. Mientras el ítem pertenece a un carrito, el nuevo producto
+     * debe tener el mismo código, ya que el carrito indexa sus items por ese código.
      *
      * @param producto El nuevo objeto **Producto** a establecer.
+     * @throws IllegalArgumentException Si el ítem está en un carrito y el código cambia.
      */
     public void setProducto(Producto producto) {
+        if (carrito != null && producto.getCodigo() != this.producto.getCodigo()) {
+            throw new IllegalArgumentException("No se puede cambiar el código del producto de un ítem del carrito");
+        }
+        long anterior = calcularSubtotalCentavos();
         this.producto = producto;
+        this.precioUnitarioCentavos = producto.getPrecioCentavos();
+        notificarCambio(anterior);
     }
 
     /**
@@ -52,7 +83,77 @@ public class ItemCarrito {
      * @param cantidad La nueva cantidad a establecer.
      */
     public void setCantidad(int cantidad) {
+        long anterior = calcularSubtotalCentavos();
         this.cantidad = cantidad;
+        notificarCambio(anterior);
+    }
+
+    /**
+     * Obtiene el precio unitario con el que se agregó el producto, en centavos.
+     *
+     * @return El precio unitario en centavos.
+     */
+    public long getPrecioUnitarioCentavos() {
+        return precioUnitarioCentavos;
+    }
+
+    /**
+     * Obtiene el precio unitario con el que se agregó el producto.
+     *
+     * @return El precio unitario como un double.
+     */
+    public double getPrecioUnitario() {
+        return Dinero.aDouble(precioUnitarioCentavos);
+    }
+
+    /**
+     * Calcula el subtotal del ítem (precio unitario por cantidad) en centavos.
+     *
+     * @return El subtotal del ítem en centavos.
+     */
+    public long calcularSubtotalCentavos() {
+        return Dinero.multiplicar(precioUnitarioCentavos, cantidad);
+    }
+
+    /**
+     * Calcula el subtotal del ítem (precio unitario por cantidad).
+     *
+     * @return El subtotal del ítem como un double.
+     */
+    public double calcularSubtotal() {
+        return Dinero.aDouble(calcularSubtotalCentavos());
+    }
+
+    /**
+     * Asocia el ítem con el carrito que lo contiene.
+     *
+     * @param carrito El carrito propietario, o null para desvincularlo.
+     */
+    void setCarrito(Carrito carrito) {
+        this.carrito = carrito;
+    }
+
+    /**
+     * Obtiene la posición del ítem dentro del carrito.
+     */
+    long getOrden() {
+        return orden;
+    }
+
+    /**
+     * Establece la posición del ítem dentro del carrito.
+     */
+    void setOrden(long orden) {
+        this.orden = orden;
+    }
+
+    /**
+     * Informa al carrito propietario la diferencia del subtotal tras un cambio.
+     */
+    private void notificarCambio(long subtotalAnterior) {
+        if (carrito != null) {
+            carrito.registrarCambio(this, calcularSubtotalCentavos() - subtotalAnterior);
+        }
     }
 
     /**
@@ -67,4 +168,4 @@ public class ItemCarrito {
                 ", cantidad=" + cantidad +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,18 @@
 package ec.edu.ups.modelo;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * La enumeración **Pregunta** define una colección de preguntas predefinidas
  * que pueden ser utilizadas en un cuestionario. Cada pregunta tiene un enunciado
  * que puede ser internacionalizado.
+ * <p>
+ * La enumeración no guarda ningún idioma: el enunciado se pide para un Locale concreto,
+ * así varias sesiones en idiomas distintos pueden usar las preguntas al mismo tiempo.
  */
 public enum Pregunta {
     COLOR_FAVORITO("pregunta.color_favorito"),
@@ -20,39 +28,49 @@ public enum Pregunta {
     CANTIDAD_HERMANOS("pregunta.cantidad_hermanos"),
     NOMBRE_COLEGIO("pregunta.nombre_colegio");
 
-    private String enunciado;
-    private MensajeInternacionalizacionHandler mi;
+    private static final Map<Locale, List<String>> ENUNCIADOS = new ConcurrentHashMap<>();
+
+    private final String clave;
 
     /**
      * Constructor para los elementos de la enumeración Pregunta.
      *
-     * @param enunciado La clave del enunciado de la pregunta, utilizada para la internacionalización.
+     * @param clave La clave del enunciado de la pregunta, utilizada para la internacionalización.
      */
-    Pregunta(String enunciado) {
-        this.enunciado = enunciado;
+    Pregunta(String clave) {
+        this.clave = clave;
     }
 
     /**
-     * Establece el manejador de internacionalización para esta pregunta.
-     * Esto permite que el enunciado de la pregunta se obtenga en el idioma correcto.
+     * Obtiene la clave de internacionalización del enunciado de la pregunta.
      *
-     * @param mi El objeto **MensajeInternacionalizacionHandler** que proporciona los mensajes traducidos.
+     * @return La clave del enunciado (ej. "pregunta.color_favorito").
      */
-    public void setMensajeIdioma(MensajeInternacionalizacionHandler mi) {
-        this.mi = mi;
+    public String getClave() {
+        return clave;
     }
 
     /**
-     * Obtiene el enunciado de la pregunta. Si se ha configurado un manejador de idioma,
-     * devuelve el enunciado traducido; de lo contrario, devuelve la clave original del enunciado.
+     * Obtiene el enunciado de la pregunta traducido al idioma dado. Los enunciados de
+     * cada Locale se traducen una sola vez y se guardan en una tabla inmutable, por lo que
+     * este método puede llamarse a la vez desde varios hilos y con distintos idiomas.
      *
-     * @return El enunciado de la pregunta, posiblemente internacionalizado.
+     * @param locale El idioma en el que se quiere el enunciado.
+     * @return El enunciado de la pregunta en ese idioma.
+     */
+    public String getEnunciado(Locale locale) {
+        return ENUNCIADOS.computeIfAbsent(locale, Pregunta::traducir).get(ordinal());
+    }
+
+    /**
+     * Crea la tabla de enunciados de un Locale, en el orden de las constantes.
      */
-    public String getEnunciado() {
-        if (mi != null) {
-            return mi.get(enunciado);
-        } else {
-            return enunciado;
+    private static List<String> traducir(Locale locale) {
+        Pregunta[] preguntas = values();
+        String[] enunciados = new String[preguntas.length];
+        for (int i = 0; i < preguntas.length; i++) {
+            enunciados[i] = MensajeInternacionalizacionHandler.getMensaje(locale, preguntas[i].clave);
         }
+        return List.of(enunciados);
     }
-}
\ No newline at end of file
+}
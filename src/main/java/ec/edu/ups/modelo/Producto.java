@@ -1,24 +1,27 @@
 package ec.edu.ups.modelo;
 
+import ec.edu.ups.util.Dinero;
+
 /**
  * La clase **Producto** representa un artículo con un código único, nombre y precio.
+ * El precio se guarda en centavos para que los cálculos de los carritos sean exactos.
  */
 public class Producto {
     private int codigo;
     private String nombre;
-    private double precio;
+    private long precioCentavos;
 
     /**
      * Constructor para la clase Producto.
      *
      * @param codigo El código único del producto.
      * @param nombre El nombre del producto.
-     * @param precio El precio del producto.
+     * @param precio El precio del producto, que se redondea al centavo.
      */
     public Producto(int codigo, String nombre, double precio) {
         this.codigo = codigo;
         this.nombre = nombre;
-        this.precio = precio;
+        this.precioCentavos = Dinero.desdeDouble(precio);
     }
 
     /**
@@ -63,16 +66,34 @@ public class Producto {
      * @return El precio del producto.
      */
     public double getPrecio() {
-        return precio;
+        return Dinero.aDouble(precioCentavos);
     }
 
     /**
-     * Establece el precio del producto.
+     * Establece el precio del producto, redondeándolo al centavo.
      *
      * @param precio El nuevo precio del producto.
      */
     public void setPrecio(double precio) {
-        this.precio = precio;
+        this.precioCentavos = Dinero.desdeDouble(precio);
+    }
+
+    /**
+     * Obtiene el precio del producto en centavos.
+     *
+     * @return El precio en centavos.
+     */
+    public long getPrecioCentavos() {
+        return precioCentavos;
+    }
+
+    /**
+     * Establece el precio del producto en centavos.
+     *
+     * @param precioCentavos El nuevo precio en centavos.
+     */
+    public void setPrecioCentavos(long precioCentavos) {
+        this.precioCentavos = precioCentavos;
     }
 
     /**
@@ -83,9 +104,9 @@ public class Producto {
     @Override
     public String toString() {
         return "Producto{" +
-                "codigo='" + codigo + '\'' +
-                ", nombre='" + nombre + '\'' +
-                ", precio=" + precio +
+                "codigo='" + getCodigo() + '\'' +
+                ", nombre='" + getNombre() + '\'' +
+                ", precio=" + Dinero.aBigDecimal(getPrecioCentavos()) +
                 '}';
     }
 }
\ No newline at end of file
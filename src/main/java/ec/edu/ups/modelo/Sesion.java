@@ -0,0 +1,90 @@
+package ec.edu.ups.modelo;
+
+import java.util.Locale;
+
+/**
+ * La clase **Sesion** representa la sesión de un **Usuario** autenticado. Se identifica
+ * por un token opaco y guarda el estado propio de ese usuario mientras compra: el
+ * **Carrito** en curso y el idioma en el que ve los mensajes. Así varias sesiones pueden
+ * convivir en el mismo proceso sin compartir estado.
+ * <p>
+ * El carrito en curso no es seguro para hilos: quien lo modifica se sincroniza sobre la
+ * sesión, como hace {@code CarritoServicio}. El idioma se puede cambiar desde cualquier hilo.
+ */
+public class Sesion {
+    private final String token;
+    private final Usuario usuario;
+    private Carrito carrito;
+    private volatile Locale locale;
+
+    /**
+     * Constructor para la clase Sesion. Crea un carrito vacío para el usuario.
+     *
+     * @param token El token opaco que identifica la sesión.
+     * @param usuario El usuario autenticado dueño de la sesión.
+     * @param locale El idioma de la sesión.
+     */
+    public Sesion(String token, Usuario usuario, Locale locale) {
+        this.token = token;
+        this.usuario = usuario;
+        this.locale = locale;
+        reiniciarCarrito();
+    }
+
+    /**
+     * Obtiene el token que identifica la sesión.
+     *
+     * @return El token de la sesión.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Obtiene el usuario dueño de la sesión.
+     *
+     * @return El objeto Usuario autenticado.
+     */
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    /**
+     * Obtiene el carrito en curso de la sesión.
+     *
+     * @return El carrito que el usuario está armando.
+     */
+    public Carrito getCarrito() {
+        return carrito;
+    }
+
+    /**
+     * Reemplaza el carrito en curso por uno nuevo y vacío, por ejemplo después de guardar el anterior.
+     *
+     * @return El nuevo carrito en curso.
+     */
+    public Carrito reiniciarCarrito() {
+        Carrito nuevo = new Carrito();
+        nuevo.setCodigo(nuevo.hashCode());
+        this.carrito = nuevo;
+        return nuevo;
+    }
+
+    /**
+     * Obtiene el idioma de la sesión.
+     *
+     * @return El Locale de la sesión.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Establece el idioma de la sesión.
+     *
+     * @param locale El nuevo Locale de la sesión.
+     */
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+}
@@ -0,0 +1,268 @@
+package ec.edu.ups.servicio;
+
+import ec.edu.ups.dao.CarritoDAO;
+import ec.edu.ups.dao.ProductoDAO;
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.modelo.InstantaneaCarrito;
+import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.modelo.Rol;
+import ec.edu.ups.modelo.Sesion;
+import ec.edu.ups.modelo.Usuario;
+
+import java.util.GregorianCalendar;
+import java.util.List;
+
+/**
+ * La clase **CarritoServicio** reúne las reglas de las compras: armar el carrito en curso
+ * de una {@link Sesion}, guardarlo, y consultar, modificar o eliminar los carritos
+ * guardados. Un usuario solo ve y modifica sus propios carritos; un administrador, todos.
+ * <p>
+ * El carrito en curso de cada sesión se modifica sincronizado sobre la sesión, así dos
+ * peticiones de la misma sesión no lo corrompen y las de sesiones distintas no se
+ * esperan. Hacia afuera el carrito en curso solo sale como {@link InstantaneaCarrito}
+ * inmutable, que se puede leer desde cualquier hilo; los carritos guardados salen como
+ * copias que el DAO crea en cada consulta.
+ */
+public class CarritoServicio {
+
+    private final ProductoDAO productoDAO;
+    private final CarritoDAO carritoDAO;
+
+    /**
+     * Constructor de CarritoServicio.
+     *
+     * @param productoDAO Objeto de acceso a datos para productos.
+     * @param carritoDAO Objeto de acceso a datos para carritos.
+     */
+    public CarritoServicio(ProductoDAO productoDAO, CarritoDAO carritoDAO) {
+        this.productoDAO = productoDAO;
+        this.carritoDAO = carritoDAO;
+    }
+
+    /**
+     * Devuelve el estado actual del carrito en curso de una sesión.
+     *
+     * @param sesion La sesión del usuario.
+     * @return Una instantánea del carrito en curso.
+     */
+    public InstantaneaCarrito consultar(Sesion sesion) {
+        synchronized (sesion) {
+            return sesion.getCarrito().crearInstantanea();
+        }
+    }
+
+    /**
+     * Agrega un producto al carrito en curso; si ya estaba, suma la cantidad.
+     *
+     * @param sesion La sesión del usuario.
+     * @param codigoProducto El código del producto, como texto.
+     * @param cantidad La cantidad a agregar.
+     * @return El carrito en curso, o el error si el producto o la cantidad no son válidos.
+     */
+    public Resultado<InstantaneaCarrito> agregar(Sesion sesion, String codigoProducto, int cantidad) {
+        int codigo = Entradas.leerNumero(codigoProducto);
+        if (codigo < 0) {
+            return Resultado.error("producto.mensaje.codigo.invalido");
+        }
+        if (cantidad < 1) {
+            return Resultado.error("carrito.msj.cantidad.invalida");
+        }
+        Producto producto = productoDAO.buscarPorCodigo(codigo);
+        if (producto == null) {
+            return Resultado.error("producto.mensaje.no.encontrado");
+        }
+        synchronized (sesion) {
+            Carrito carrito = sesion.getCarrito();
+            carrito.agregarProducto(producto, cantidad);
+            return Resultado.exito(carrito.crearInstantanea());
+        }
+    }
+
+    /**
+     * Agrega un producto al carrito en curso con la cantidad escrita como texto, tal
+     * como llega de una petición.
+     *
+     * @param sesion La sesión del usuario.
+     * @param codigoProducto El código del producto, como texto.
+     * @param cantidad La cantidad a agregar, como texto.
+     * @return El carrito en curso, o el error si el producto o la cantidad no son válidos.
+     */
+    public Resultado<InstantaneaCarrito> agregar(Sesion sesion, String codigoProducto, String cantidad) {
+        return agregar(sesion, codigoProducto, Entradas.leerNumero(cantidad));
+    }
+
+    /**
+     * Quita un producto del carrito en curso.
+     *
+     * @param sesion La sesión del usuario.
+     * @param codigoProducto El código del producto a quitar.
+     * @return El carrito en curso, o el error si el producto no estaba en el carrito.
+     */
+    public Resultado<InstantaneaCarrito> quitar(Sesion sesion, int codigoProducto) {
+        synchronized (sesion) {
+            Carrito carrito = sesion.getCarrito();
+            if (carrito.buscarItem(codigoProducto) == null) {
+                return Resultado.error("carrito.msj.producto.no.encontrado");
+            }
+            carrito.eliminarProducto(codigoProducto);
+            return Resultado.exito(carrito.crearInstantanea());
+        }
+    }
+
+    /**
+     * Quita todos los productos del carrito en curso.
+     *
+     * @param sesion La sesión del usuario.
+     * @return El carrito en curso, ya vacío.
+     */
+    public InstantaneaCarrito vaciar(Sesion sesion) {
+        synchronized (sesion) {
+            Carrito carrito = sesion.getCarrito();
+            carrito.vaciarCarrito();
+            return carrito.crearInstantanea();
+        }
+    }
+
+    /**
+     * Guarda el carrito en curso a nombre del usuario de la sesión, con la fecha actual,
+     * y deja en la sesión un carrito nuevo y vacío para la siguiente compra.
+     *
+     * @param sesion La sesión del usuario.
+     * @return El carrito guardado, o el error si el carrito estaba vacío.
+     */
+    public Resultado<InstantaneaCarrito> guardar(Sesion sesion) {
+        Usuario usuario = sesion.getUsuario();
+        synchronized (sesion) {
+            Carrito carrito = sesion.getCarrito();
+            if (carrito.estaVacio()) {
+                return Resultado.error("carrito.msj.vacio");
+            }
+            carrito.setUsuario(usuario);
+            carrito.setFechaCreacion(new GregorianCalendar());
+            carritoDAO.crear(carrito);
+            sesion.reiniciarCarrito();
+            return Resultado.exito(carrito.crearInstantanea(), "carrito.msj.guardado",
+                    carrito.getCodigo(), usuario.getCedula());
+        }
+    }
+
+    /**
+     * Busca un carrito guardado por su código.
+     *
+     * @param solicitante El usuario que consulta.
+     * @param codigo El código del carrito, como texto.
+     * @return El carrito, o el error si el código no es válido, no existe o es de otro usuario.
+     */
+    public Resultado<Carrito> buscar(Usuario solicitante, String codigo) {
+        if (Entradas.algunoVacio(codigo)) {
+            return Resultado.error("carrito.msj.ingrese.codigo");
+        }
+        int numero = Entradas.leerNumero(codigo);
+        if (numero < 0) {
+            return Resultado.error("carrito.msj.codigo.invalido");
+        }
+        return buscar(solicitante, numero);
+    }
+
+    /**
+     * Busca un carrito guardado por su código.
+     *
+     * @param solicitante El usuario que consulta.
+     * @param codigo El código del carrito.
+     * @return El carrito, o el error si no existe o es de otro usuario.
+     */
+    public Resultado<Carrito> buscar(Usuario solicitante, int codigo) {
+        Carrito carrito = carritoDAO.buscarPorCodigo(codigo);
+        if (carrito == null || !puedeVer(solicitante, carrito)) {
+            return Resultado.error("carrito.msj.no.encontrado");
+        }
+        return Resultado.exito(carrito);
+    }
+
+    /**
+     * Cuenta los carritos guardados que el usuario puede ver.
+     *
+     * @param solicitante El usuario que consulta.
+     * @return La cantidad de carritos.
+     */
+    public int contar(Usuario solicitante) {
+        return esAdministrador(solicitante) ? carritoDAO.contar() : carritoDAO.contarPorUsuario(solicitante);
+    }
+
+    /**
+     * Devuelve una página de los carritos guardados que el usuario puede ver.
+     *
+     * @param solicitante El usuario que consulta.
+     * @param desde La posición del primer carrito.
+     * @param cantidad La cantidad máxima de carritos.
+     * @return Los carritos de la página.
+     */
+    public List<Carrito> listarPagina(Usuario solicitante, int desde, int cantidad) {
+        return esAdministrador(solicitante)
+                ? carritoDAO.listarPagina(desde, cantidad)
+                : carritoDAO.buscarPorUsuario(solicitante, desde, cantidad);
+    }
+
+    /**
+     * Cambia la cantidad de un producto de un carrito guardado. Después de comprobar que
+     * el solicitante puede ver el carrito, el cambio lo hace el DAO en una sola operación,
+     * así dos cambios simultáneos sobre líneas distintas del mismo carrito se conservan.
+     *
+     * @param solicitante El usuario que modifica el carrito.
+     * @param codigoCarrito El código del carrito.
+     * @param codigoProducto El código del producto dentro del carrito.
+     * @param cantidad La nueva cantidad, como texto.
+     * @return El carrito modificado, o el error si la cantidad no es válida o el carrito
+     *         o el producto no existen.
+     */
+    public Resultado<Carrito> actualizarCantidad(Usuario solicitante, int codigoCarrito, int codigoProducto,
+                                                 String cantidad) {
+        int nuevaCantidad = Entradas.leerNumero(cantidad);
+        if (nuevaCantidad < 1) {
+            return Resultado.error("carrito.msj.cantidad.invalida");
+        }
+        Resultado<Carrito> encontrado = buscar(solicitante, codigoCarrito);
+        if (!encontrado.isExito()) {
+            return encontrado;
+        }
+        if (encontrado.getValor().buscarItem(codigoProducto) == null) {
+            return Resultado.error("carrito.msj.producto.no.encontrado");
+        }
+        Carrito carrito = carritoDAO.actualizarCantidad(codigoCarrito, codigoProducto, nuevaCantidad);
+        if (carrito == null) {
+            return Resultado.error("carrito.msj.no.encontrado");
+        }
+        return Resultado.exito(carrito);
+    }
+
+    /**
+     * Elimina un carrito guardado.
+     *
+     * @param solicitante El usuario que elimina el carrito.
+     * @param codigo El código del carrito, como texto.
+     * @return El carrito eliminado, o el error si el código no es válido, no existe o es de otro usuario.
+     */
+    public Resultado<Carrito> eliminar(Usuario solicitante, String codigo) {
+        Resultado<Carrito> encontrado = buscar(solicitante, codigo);
+        if (!encontrado.isExito()) {
+            return encontrado;
+        }
+        carritoDAO.eliminar(encontrado.getValor().getCodigo());
+        return Resultado.exito(encontrado.getValor(), "carrito.msj.eliminado");
+    }
+
+    /**
+     * Indica si el usuario es administrador.
+     */
+    private static boolean esAdministrador(Usuario usuario) {
+        return usuario.getRol() == Rol.ADMINISTRADOR;
+    }
+
+    /**
+     * Indica si el usuario puede ver el carrito: es suyo o es administrador.
+     */
+    private static boolean puedeVer(Usuario usuario, Carrito carrito) {
+        return esAdministrador(usuario)
+                || carrito.getUsuario() != null && carrito.getUsuario().getCedula().equals(usuario.getCedula());
+    }
+}
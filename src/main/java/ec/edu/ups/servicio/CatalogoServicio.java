@@ -0,0 +1,169 @@
+package ec.edu.ups.servicio;
+
+import ec.edu.ups.dao.ProductoDAO;
+import ec.edu.ups.modelo.Producto;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * La clase **CatalogoServicio** reúne las reglas del catálogo de productos: validar los
+ * datos de un producto, crearlo, actualizarlo, eliminarlo y consultarlo. Recibe los datos
+ * como texto, tal como llegan de un formulario o de una petición, y devuelve
+ * {@link Resultado}s con claves de mensaje, sin depender de ninguna vista.
+ * <p>
+ * No guarda estado propio, así que puede usarse desde varios hilos a la vez siempre
+ * que el {@link ProductoDAO} lo permita. Un producto guardado nunca se modifica: al
+ * actualizarlo se guarda uno nuevo, para que quien lo esté leyendo no vea un cambio a medias.
+ */
+public class CatalogoServicio {
+
+    private static final Pattern PRECIO = Pattern.compile("\\d+(\\.\\d+)?");
+
+    private final ProductoDAO productoDAO;
+
+    /**
+     * Constructor de CatalogoServicio.
+     *
+     * @param productoDAO Objeto de acceso a datos para productos.
+     */
+    public CatalogoServicio(ProductoDAO productoDAO) {
+        this.productoDAO = productoDAO;
+    }
+
+    /**
+     * Crea un producto nuevo.
+     *
+     * @param codigo El código del producto, como texto.
+     * @param nombre El nombre del producto.
+     * @param precio El precio del producto, como texto.
+     * @return El producto creado, o el error de validación o de código repetido.
+     */
+    public Resultado<Producto> crear(String codigo, String nombre, String precio) {
+        Resultado<Producto> datos = leerProducto(codigo, nombre, precio);
+        if (!datos.isExito()) {
+            return datos;
+        }
+        Producto producto = datos.getValor();
+        if (productoDAO.buscarPorCodigo(producto.getCodigo()) != null) {
+            return Resultado.error("producto.mensaje.error.codigo.existe");
+        }
+        productoDAO.crear(producto);
+        return Resultado.exito(producto, "producto.mensaje.guardado.correctamente");
+    }
+
+    /**
+     * Busca un producto por su código.
+     *
+     * @param codigo El código del producto, como texto.
+     * @return El producto, o el error si el código no es válido o no existe.
+     */
+    public Resultado<Producto> buscar(String codigo) {
+        if (Entradas.algunoVacio(codigo)) {
+            return Resultado.error("producto.mensaje.error.ingresar.codigo");
+        }
+        int numero = Entradas.leerNumero(codigo);
+        if (numero < 0) {
+            return Resultado.error("producto.mensaje.codigo.invalido");
+        }
+        Producto producto = productoDAO.buscarPorCodigo(numero);
+        if (producto == null) {
+            return Resultado.error("producto.mensaje.no.encontrado");
+        }
+        return Resultado.exito(producto);
+    }
+
+    /**
+     * Reemplaza el nombre y el precio de un producto existente.
+     *
+     * @param codigo El código del producto, como texto.
+     * @param nombre El nuevo nombre.
+     * @param precio El nuevo precio, como texto.
+     * @return El producto actualizado, o el error de validación o de producto inexistente.
+     */
+    public Resultado<Producto> actualizar(String codigo, String nombre, String precio) {
+        Resultado<Producto> datos = leerProducto(codigo, nombre, precio);
+        if (!datos.isExito()) {
+            return datos;
+        }
+        Producto producto = datos.getValor();
+        if (productoDAO.buscarPorCodigo(producto.getCodigo()) == null) {
+            return Resultado.error("producto.mensaje.no.encontrado");
+        }
+        productoDAO.actualizar(producto);
+        return Resultado.exito(producto, "producto.mensaje.actualizado.correctamente");
+    }
+
+    /**
+     * Elimina un producto.
+     *
+     * @param codigo El código del producto, como texto.
+     * @return El producto eliminado, o el error si el código no es válido o no existe.
+     */
+    public Resultado<Producto> eliminar(String codigo) {
+        Resultado<Producto> encontrado = buscar(codigo);
+        if (!encontrado.isExito()) {
+            return encontrado;
+        }
+        productoDAO.eliminar(encontrado.getValor().getCodigo());
+        return Resultado.exito(encontrado.getValor(), "producto.mensaje.eliminado.correctamente");
+    }
+
+    /**
+     * Busca los productos cuyo nombre contiene un texto.
+     *
+     * @param nombre El texto a buscar.
+     * @return Los productos encontrados.
+     */
+    public List<Producto> buscarPorNombre(String nombre) {
+        return productoDAO.buscarPorNombre(nombre == null ? "" : nombre);
+    }
+
+    /**
+     * Devuelve todo el catálogo.
+     *
+     * @return Todos los productos.
+     */
+    public List<Producto> listarTodos() {
+        return productoDAO.listarTodos();
+    }
+
+    /**
+     * Devuelve una página del catálogo.
+     *
+     * @param desde La posición del primer producto.
+     * @param cantidad La cantidad máxima de productos.
+     * @return Los productos de la página.
+     */
+    public List<Producto> listarPagina(int desde, int cantidad) {
+        return productoDAO.listarPagina(desde, cantidad);
+    }
+
+    /**
+     * Devuelve un flujo con todo el catálogo, para recorrerlo sin copiarlo.
+     *
+     * @return El flujo de productos.
+     */
+    public Stream<Producto> flujo() {
+        return productoDAO.flujo();
+    }
+
+    /**
+     * Valida los datos de un producto y construye el producto.
+     */
+    private static Resultado<Producto> leerProducto(String codigo, String nombre, String precio) {
+        if (Entradas.algunoVacio(codigo, nombre, precio)) {
+            return Resultado.error("producto.mensaje.campos.vacios");
+        }
+        int numero = Entradas.leerNumero(codigo);
+        if (numero < 0) {
+            return Resultado.error("producto.mensaje.codigo.invalido");
+        }
+        String precioRecortado = precio.trim();
+        if (!PRECIO.matcher(precioRecortado).matches()) {
+            return Resultado.error("producto.mensaje.precio.invalido");
+        }
+        return Resultado.exito(new Producto(numero, nombre.trim(), Double.parseDouble(precioRecortado)));
+    }
+}
@@ -0,0 +1,194 @@
+package ec.edu.ups.servicio;
+
+import ec.edu.ups.dao.CuestionarioDAO;
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.modelo.Cuestionario;
+import ec.edu.ups.modelo.Respuesta;
+import ec.edu.ups.modelo.Rol;
+import ec.edu.ups.modelo.Usuario;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * La clase **CuestionarioServicio** reúne las reglas de las preguntas de seguridad:
+ * qué preguntas se ofrecen al registrarse, cuántas respuestas hacen falta para que el
+ * cuestionario esté completo y cómo se recupera una contraseña respondiéndolas.
+ * <p>
+ * No guarda estado propio; las preguntas se barajan con {@link ThreadLocalRandom}, así
+ * varios hilos pueden usarlo a la vez sin competir por un mismo generador. Las
+ * contraseñas temporales de la recuperación se generan con un {@link SecureRandom}.
+ */
+public class CuestionarioServicio {
+
+    /**
+     * Cantidad de respuestas necesarias para completar el cuestionario y para recuperar la contraseña.
+     */
+    public static final int MINIMO_RESPUESTAS = 3;
+
+    private static final int PREGUNTAS_REGISTRO = 6;
+    private static final int LARGO_TEMPORAL = 12;
+    // Sin caracteres que se confunden al leerlos, como 0 y O o 1 y l
+    private static final String CARACTERES_TEMPORAL = "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnpqrstuvwxyz23456789";
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    private final CuestionarioDAO cuestionarioDAO;
+    private final UsuarioDAO usuarioDAO;
+
+    /**
+     * Constructor de CuestionarioServicio.
+     *
+     * @param cuestionarioDAO Objeto de acceso a datos para cuestionarios.
+     * @param usuarioDAO Objeto de acceso a datos para usuarios.
+     */
+    public CuestionarioServicio(CuestionarioDAO cuestionarioDAO, UsuarioDAO usuarioDAO) {
+        this.cuestionarioDAO = cuestionarioDAO;
+        this.usuarioDAO = usuarioDAO;
+    }
+
+    /**
+     * Indica si el usuario ya respondió las preguntas de seguridad necesarias.
+     *
+     * @param cedula La cédula del usuario.
+     * @return true si el cuestionario del usuario está completo.
+     */
+    public boolean estaCompleto(String cedula) {
+        Cuestionario cuestionario = cuestionarioDAO.buscarPorCedula(cedula);
+        return cuestionario != null && cuestionario.getRespuestas().size() >= MINIMO_RESPUESTAS;
+    }
+
+    /**
+     * Busca el cuestionario de un usuario.
+     *
+     * @param cedula La cédula del usuario.
+     * @return El cuestionario, o null si el usuario no tiene uno.
+     */
+    public Cuestionario buscar(String cedula) {
+        return cuestionarioDAO.buscarPorCedula(cedula);
+    }
+
+    /**
+     * Elige al azar las preguntas que se ofrecen al registrar el cuestionario.
+     *
+     * @param locale El idioma de los enunciados.
+     * @return Las preguntas elegidas, sin respuesta.
+     */
+    public List<Respuesta> generarPreguntas(Locale locale) {
+        List<Respuesta> preguntas = new Cuestionario("").preguntasPorDefecto(locale);
+        Collections.shuffle(preguntas, ThreadLocalRandom.current());
+        return new ArrayList<>(preguntas.subList(0, Math.min(PREGUNTAS_REGISTRO, preguntas.size())));
+    }
+
+    /**
+     * Guarda el cuestionario de un usuario si tiene las respuestas necesarias.
+     *
+     * @param cuestionario El cuestionario respondido.
+     * @return El cuestionario guardado, o el error si faltan respuestas.
+     */
+    public Resultado<Cuestionario> guardar(Cuestionario cuestionario) {
+        if (cuestionario.getRespuestas().size() < MINIMO_RESPUESTAS) {
+            return Resultado.error("cuestionario.finalizar.minimo");
+        }
+        cuestionarioDAO.guardar(cuestionario);
+        return Resultado.exito(cuestionario, "cuestionario.finalizar.ok");
+    }
+
+    /**
+     * Elige al azar las preguntas que debe responder un usuario para recuperar su
+     * contraseña. Los administradores no pueden recuperarla por este medio.
+     *
+     * @param cedula La cédula del usuario.
+     * @return Las preguntas elegidas, sin sus respuestas, o el error si el usuario no
+     *         existe, es administrador o no tiene preguntas suficientes.
+     */
+    public Resultado<List<Respuesta>> preguntasRecuperacion(String cedula) {
+        Usuario usuario = usuarioDAO.buscarPorCedula(cedula);
+        if (usuario == null) {
+            return Resultado.error("login.mensaje.usuario_no_encontrado");
+        }
+        if (usuario.getRol() == Rol.ADMINISTRADOR) {
+            return Resultado.error("login.mensaje.recuperacion_no_disponible_admin");
+        }
+        Cuestionario cuestionario = cuestionarioDAO.buscarPorCedula(cedula);
+        if (cuestionario == null || cuestionario.getRespuestas().size() < MINIMO_RESPUESTAS) {
+            return Resultado.error("login.mensaje.sin_preguntas");
+        }
+        List<Respuesta> preguntas = new ArrayList<>();
+        for (Respuesta respuesta : cuestionario.getRespuestas()) {
+            preguntas.add(new Respuesta(respuesta.getId(), respuesta.getEnunciado()));
+        }
+        Collections.shuffle(preguntas, ThreadLocalRandom.current());
+        return Resultado.exito(new ArrayList<>(preguntas.subList(0, MINIMO_RESPUESTAS)));
+    }
+
+    /**
+     * Comprueba una respuesta de seguridad, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param cedula La cédula del usuario.
+     * @param idPregunta El identificador de la pregunta.
+     * @param respuesta La respuesta dada.
+     * @return true si la respuesta es correcta.
+     */
+    public boolean verificarRespuesta(String cedula, int idPregunta, String respuesta) {
+        Cuestionario cuestionario = cuestionarioDAO.buscarPorCedula(cedula);
+        if (cuestionario == null || respuesta == null) {
+            return false;
+        }
+        Respuesta guardada = cuestionario.buscarRespuestaPorId(idPregunta);
+        return guardada != null && guardada.getRespuesta() != null
+                && guardada.getRespuesta().equalsIgnoreCase(respuesta.trim());
+    }
+
+    /**
+     * Restablece la contraseña de un usuario si respondió correctamente las preguntas
+     * necesarias. La contraseña actual no se puede leer, porque el DAO guarda solo su
+     * hash: se reemplaza por una temporal generada al azar, que se devuelve para
+     * mostrársela al usuario. Calcula el hash de la nueva contraseña, por eso no debe
+     * llamarse desde el EDT.
+     *
+     * @param cedula La cédula del usuario.
+     * @param respuestas Las respuestas dadas, por identificador de pregunta.
+     * @return La contraseña temporal, o el error si no hay respuestas correctas
+     *         suficientes o el grupo de hilos del hash está lleno.
+     */
+    public Resultado<String> recuperar(String cedula, Map<Integer, String> respuestas) {
+        Usuario usuario = usuarioDAO.buscarPorCedula(cedula);
+        if (usuario == null || usuario.getRol() == Rol.ADMINISTRADOR) {
+            return Resultado.error("cuestionario.recuperar.minimo");
+        }
+        int correctas = 0;
+        for (Map.Entry<Integer, String> respuesta : respuestas.entrySet()) {
+            if (verificarRespuesta(cedula, respuesta.getKey(), respuesta.getValue())) {
+                correctas++;
+            }
+        }
+        if (correctas < MINIMO_RESPUESTAS) {
+            return Resultado.error("cuestionario.recuperar.minimo");
+        }
+        String temporal = contrasenaTemporal();
+        try {
+            usuarioDAO.actualizar(new Usuario(usuario.getCedula(), temporal, usuario.getRol(), usuario.getNombre(),
+                    usuario.getTelefono(), usuario.getFecha(), usuario.getCorreo()));
+        } catch (RejectedExecutionException e) {
+            return Resultado.error("usuario.mensaje.ocupado");
+        }
+        return Resultado.exito(temporal, "cuestionario.recuperar.restablecida", temporal);
+    }
+
+    /**
+     * Genera una contraseña temporal al azar.
+     */
+    private static String contrasenaTemporal() {
+        StringBuilder sb = new StringBuilder(LARGO_TEMPORAL);
+        for (int i = 0; i < LARGO_TEMPORAL; i++) {
+            sb.append(CARACTERES_TEMPORAL.charAt(ALEATORIO.nextInt(CARACTERES_TEMPORAL.length())));
+        }
+        return sb.toString();
+    }
+}
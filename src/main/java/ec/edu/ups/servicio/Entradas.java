@@ -0,0 +1,48 @@
+package ec.edu.ups.servicio;
+
+/**
+ * Lectura de los datos de texto que reciben los servicios, tal como llegan de un
+ * formulario o de una petición.
+ */
+final class Entradas {
+
+    private static final int MAXIMO_DIGITOS = 9;
+
+    private Entradas() {
+    }
+
+    /**
+     * Lee un número entero no negativo escrito solo con dígitos, sin signo ni espacios
+     * alrededor. Se limita a nueve dígitos para que siempre quepa en un `int`.
+     *
+     * @return El número leído, o -1 si el texto no es un número válido.
+     */
+    static int leerNumero(String texto) {
+        if (texto == null) {
+            return -1;
+        }
+        String recortado = texto.trim();
+        if (recortado.isEmpty() || recortado.length() > MAXIMO_DIGITOS) {
+            return -1;
+        }
+        for (int i = 0; i < recortado.length(); i++) {
+            char c = recortado.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(recortado);
+    }
+
+    /**
+     * Indica si alguno de los textos es nulo o está en blanco.
+     */
+    static boolean algunoVacio(String... textos) {
+        for (String texto : textos) {
+            if (texto == null || texto.isBlank()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
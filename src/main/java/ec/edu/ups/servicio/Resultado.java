@@ -0,0 +1,137 @@
+package ec.edu.ups.servicio;
+
+import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+
+import java.util.Locale;
+
+/**
+ * La clase **Resultado** es el valor que devuelven las operaciones de los servicios: si
+ * la operación tuvo éxito, su valor, y el mensaje para el usuario como una clave de los
+ * archivos de mensajes con sus argumentos. El servicio no traduce nada; quien lo llama
+ * decide el idioma, sea la vista con su {@link MensajeInternacionalizacionHandler} o una
+ * petición remota con su propio Locale. Es inmutable.
+ *
+ * @param <T> El tipo del valor devuelto.
+ */
+public final class Resultado<T> {
+
+    private static final Object[] SIN_ARGUMENTOS = {};
+
+    private final boolean exito;
+    private final T valor;
+    private final String clave;
+    private final Object[] argumentos;
+
+    private Resultado(boolean exito, T valor, String clave, Object[] argumentos) {
+        this.exito = exito;
+        this.valor = valor;
+        this.clave = clave;
+        this.argumentos = argumentos;
+    }
+
+    /**
+     * Crea un resultado exitoso sin mensaje.
+     *
+     * @param valor El valor devuelto.
+     * @param <T> El tipo del valor.
+     * @return El resultado exitoso.
+     */
+    public static <T> Resultado<T> exito(T valor) {
+        return new Resultado<>(true, valor, null, SIN_ARGUMENTOS);
+    }
+
+    /**
+     * Crea un resultado exitoso con un mensaje para el usuario.
+     *
+     * @param valor El valor devuelto.
+     * @param clave La clave del mensaje.
+     * @param argumentos Los argumentos del mensaje.
+     * @param <T> El tipo del valor.
+     * @return El resultado exitoso.
+     */
+    public static <T> Resultado<T> exito(T valor, String clave, Object... argumentos) {
+        return new Resultado<>(true, valor, clave, argumentos.clone());
+    }
+
+    /**
+     * Crea un resultado fallido, sin valor, con el mensaje que explica el error.
+     *
+     * @param clave La clave del mensaje de error.
+     * @param argumentos Los argumentos del mensaje.
+     * @param <T> El tipo del valor que se esperaba.
+     * @return El resultado fallido.
+     */
+    public static <T> Resultado<T> error(String clave, Object... argumentos) {
+        return new Resultado<>(false, null, clave, argumentos.clone());
+    }
+
+    /**
+     * Indica si la operación tuvo éxito.
+     *
+     * @return true si tuvo éxito, false si falló.
+     */
+    public boolean isExito() {
+        return exito;
+    }
+
+    /**
+     * Obtiene el valor devuelto por la operación.
+     *
+     * @return El valor, o null si la operación falló.
+     */
+    public T getValor() {
+        return valor;
+    }
+
+    /**
+     * Obtiene la clave del mensaje para el usuario.
+     *
+     * @return La clave del mensaje, o null si la operación no tiene mensaje.
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Obtiene los argumentos del mensaje.
+     *
+     * @return Una copia de los argumentos del mensaje.
+     */
+    public Object[] getArgumentos() {
+        return argumentos.clone();
+    }
+
+    /**
+     * Traduce el mensaje con el idioma actual de un manejador de internacionalización.
+     *
+     * @param mi El manejador de internacionalización.
+     * @return El mensaje traducido, o null si la operación no tiene mensaje.
+     */
+    public String getMensaje(MensajeInternacionalizacionHandler mi) {
+        return clave == null ? null : mi.get(clave, argumentos);
+    }
+
+    /**
+     * Traduce el mensaje a un idioma dado.
+     *
+     * @param locale El idioma del mensaje.
+     * @return El mensaje traducido, o null si la operación no tiene mensaje.
+     */
+    public String getMensaje(Locale locale) {
+        return clave == null ? null : MensajeInternacionalizacionHandler.getMensaje(locale, clave, argumentos);
+    }
+
+    /**
+     * Convierte un resultado fallido en uno fallido de otro tipo, con el mismo mensaje.
+     *
+     * @param <U> El tipo del nuevo resultado.
+     * @return El resultado fallido con el mismo mensaje.
+     * @throws IllegalStateException Si el resultado tuvo éxito.
+     */
+    public <U> Resultado<U> comoError() {
+        if (exito) {
+            throw new IllegalStateException("El resultado no es un error");
+        }
+        return new Resultado<>(false, null, clave, argumentos);
+    }
+}
@@ -0,0 +1,242 @@
+package ec.edu.ups.servicio;
+
+import ec.edu.ups.dao.UsuarioDAO;
+import ec.edu.ups.modelo.Rol;
+import ec.edu.ups.modelo.Sesion;
+import ec.edu.ups.modelo.Usuario;
+import ec.edu.ups.util.GestorSesiones;
+import ec.edu.ups.util.LimitadorLogin;
+
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * La clase **UsuarioServicio** reúne las reglas de las cuentas: iniciar y cerrar sesión,
+ * y crear, buscar, modificar y eliminar usuarios. Cada intento de inicio de sesión pasa
+ * primero por el {@link LimitadorLogin} con su origen, y solo un usuario con el
+ * cuestionario de seguridad completo recibe una {@link Sesion}.
+ * <p>
+ * No guarda estado propio. Un usuario guardado nunca se modifica: al actualizarlo se
+ * guarda uno nuevo, para no cambiar las claves de los índices del DAO por debajo.
+ */
+public class UsuarioServicio {
+
+    private final UsuarioDAO usuarioDAO;
+    private final CuestionarioServicio cuestionarioServicio;
+    private final LimitadorLogin limitadorLogin;
+    private final GestorSesiones gestorSesiones;
+
+    /**
+     * Constructor de UsuarioServicio.
+     *
+     * @param usuarioDAO Objeto de acceso a datos para usuarios.
+     * @param cuestionarioServicio Servicio que indica si el cuestionario de un usuario está completo.
+     * @param limitadorLogin Limitador de intentos de inicio de sesión.
+     * @param gestorSesiones Gestor de las sesiones de los usuarios autenticados.
+     */
+    public UsuarioServicio(UsuarioDAO usuarioDAO, CuestionarioServicio cuestionarioServicio,
+                           LimitadorLogin limitadorLogin, GestorSesiones gestorSesiones) {
+        this.usuarioDAO = usuarioDAO;
+        this.cuestionarioServicio = cuestionarioServicio;
+        this.limitadorLogin = limitadorLogin;
+        this.gestorSesiones = gestorSesiones;
+    }
+
+    /**
+     * Verifica las credenciales de un usuario, si el limitador permite el intento.
+     * Calcula un hash costoso, por eso no debe llamarse desde el EDT.
+     *
+     * @param cedula La cédula del usuario.
+     * @param contrasena La contraseña.
+     * @param origen El origen del intento, por ejemplo "local" o una dirección IP.
+     * @return El usuario autenticado, o el error de credenciales o de demasiados intentos.
+     */
+    public Resultado<Usuario> autenticar(String cedula, String contrasena, String origen) {
+        if (Entradas.algunoVacio(cedula, contrasena)) {
+            return Resultado.error("login.mensaje.error_campos_vacios");
+        }
+        if (!limitadorLogin.permitir(cedula, origen)) {
+            return Resultado.error("login.mensaje.demasiados_intentos");
+        }
+        Usuario usuario = usuarioDAO.autenticar(cedula, contrasena);
+        if (usuario == null) {
+            return Resultado.error("login.mensaje.error_autenticacion");
+        }
+        return Resultado.exito(usuario);
+    }
+
+    /**
+     * Verifica las credenciales de un usuario y, si su cuestionario de seguridad está
+     * completo, le abre una sesión.
+     *
+     * @param cedula La cédula del usuario.
+     * @param contrasena La contraseña.
+     * @param origen El origen del intento.
+     * @param locale El idioma inicial de la sesión.
+     * @return La sesión abierta, o el error de autenticación o de cuestionario incompleto.
+     */
+    public Resultado<Sesion> iniciarSesion(String cedula, String contrasena, String origen, Locale locale) {
+        Resultado<Usuario> autenticado = autenticar(cedula, contrasena, origen);
+        if (!autenticado.isExito()) {
+            return autenticado.comoError();
+        }
+        if (!cuestionarioServicio.estaCompleto(cedula)) {
+            return Resultado.error("login.mensaje.incompleto");
+        }
+        return Resultado.exito(abrirSesion(autenticado.getValor(), locale));
+    }
+
+    /**
+     * Abre una sesión para un usuario ya autenticado.
+     *
+     * @param usuario El usuario autenticado.
+     * @param locale El idioma inicial de la sesión.
+     * @return La sesión abierta.
+     */
+    public Sesion abrirSesion(Usuario usuario, Locale locale) {
+        return gestorSesiones.iniciar(usuario, locale);
+    }
+
+    /**
+     * Busca la sesión de un token.
+     *
+     * @param token El token de la sesión.
+     * @return La sesión, o null si el token no existe, se cerró o venció.
+     */
+    public Sesion resolverSesion(String token) {
+        return gestorSesiones.resolver(token);
+    }
+
+    /**
+     * Cierra una sesión; su token deja de ser válido.
+     *
+     * @param token El token de la sesión.
+     */
+    public void cerrarSesion(String token) {
+        gestorSesiones.cerrar(token);
+    }
+
+    /**
+     * Crea un usuario con rol de usuario a partir de los datos de un formulario.
+     * Calcula el hash de la contraseña, por eso no debe llamarse desde el EDT.
+     *
+     * @param datos Los datos del usuario; su rol se ignora.
+     * @return El usuario creado, o el error si faltan datos, la cédula ya existe o el
+     *         grupo de hilos del hash está lleno.
+     */
+    public Resultado<Usuario> crear(Usuario datos) {
+        if (faltanDatos(datos) || Entradas.algunoVacio(datos.getContrasena())) {
+            return Resultado.error("login.mensaje.error_campos_vacios");
+        }
+        if (usuarioDAO.buscarPorCedula(datos.getCedula().trim()) != null) {
+            return Resultado.error("usuario.mensaje.crear.existe");
+        }
+        Usuario usuario = copiar(datos, Rol.USUARIO);
+        try {
+            usuarioDAO.crear(usuario);
+        } catch (RejectedExecutionException e) {
+            return Resultado.error("usuario.mensaje.ocupado");
+        }
+        return Resultado.exito(usuarioDAO.buscarPorCedula(usuario.getCedula()), "usuario.mensaje.creado");
+    }
+
+    /**
+     * Busca un usuario por su cédula.
+     *
+     * @param cedula La cédula del usuario.
+     * @return El usuario, o el error si la cédula está vacía o no existe.
+     */
+    public Resultado<Usuario> buscar(String cedula) {
+        if (Entradas.algunoVacio(cedula)) {
+            return Resultado.error("login.mensaje.error_campos_vacios");
+        }
+        Usuario usuario = usuarioDAO.buscarPorCedula(cedula.trim());
+        if (usuario == null) {
+            return Resultado.error("usuario.mensaje.no.encontrado");
+        }
+        return Resultado.exito(usuario);
+    }
+
+    /**
+     * Reemplaza los datos de un usuario existente, identificado por su cédula. El rol
+     * del usuario se conserva, y también su contraseña si los datos no traen una. Calcula
+     * el hash de la contraseña nueva, por eso no debe llamarse desde el EDT.
+     *
+     * @param datos Los nuevos datos del usuario.
+     * @return El usuario actualizado, o el error si faltan datos, el usuario no existe o
+     *         el grupo de hilos del hash está lleno.
+     */
+    public Resultado<Usuario> actualizar(Usuario datos) {
+        if (faltanDatos(datos)) {
+            return Resultado.error("login.mensaje.error_campos_vacios");
+        }
+        Resultado<Usuario> existente = buscar(datos.getCedula());
+        if (!existente.isExito()) {
+            return existente;
+        }
+        Usuario usuario = copiar(datos, existente.getValor().getRol());
+        try {
+            usuarioDAO.actualizar(usuario);
+        } catch (RejectedExecutionException e) {
+            return Resultado.error("usuario.mensaje.ocupado");
+        }
+        return Resultado.exito(usuarioDAO.buscarPorCedula(usuario.getCedula()), "usuario.mensaje.modificado");
+    }
+
+    /**
+     * Elimina un usuario.
+     *
+     * @param cedula La cédula del usuario.
+     * @return El usuario eliminado, o el error si la cédula está vacía o no existe.
+     */
+    public Resultado<Usuario> eliminar(String cedula) {
+        Resultado<Usuario> existente = buscar(cedula);
+        if (!existente.isExito()) {
+            return existente;
+        }
+        usuarioDAO.eliminar(existente.getValor().getCedula());
+        return Resultado.exito(existente.getValor(), "usuario.mensaje.eliminado");
+    }
+
+    /**
+     * Devuelve una página de los usuarios.
+     *
+     * @param desde La posición del primer usuario.
+     * @param cantidad La cantidad máxima de usuarios.
+     * @return Los usuarios de la página.
+     */
+    public List<Usuario> listarPagina(int desde, int cantidad) {
+        return usuarioDAO.listarPagina(desde, cantidad);
+    }
+
+    /**
+     * Devuelve un flujo con todos los usuarios, para recorrerlos sin copiarlos.
+     *
+     * @return El flujo de usuarios.
+     */
+    public Stream<Usuario> flujo() {
+        return usuarioDAO.flujo();
+    }
+
+    /**
+     * Indica si falta alguno de los datos obligatorios de un usuario, sin contar la
+     * contraseña, que solo es obligatoria al crearlo.
+     */
+    private static boolean faltanDatos(Usuario datos) {
+        return datos.getFecha() == null || Entradas.algunoVacio(datos.getCedula(),
+                datos.getNombre(), datos.getTelefono(), datos.getCorreo());
+    }
+
+    /**
+     * Crea un usuario nuevo con los datos recortados de un formulario y el rol dado. Una
+     * contraseña en blanco se copia como null, para que el DAO conserve la actual.
+     */
+    private static Usuario copiar(Usuario datos, Rol rol) {
+        String contrasena = Entradas.algunoVacio(datos.getContrasena()) ? null : datos.getContrasena();
+        return new Usuario(datos.getCedula().trim(), contrasena, rol, datos.getNombre().trim(),
+                datos.getTelefono().trim(), (GregorianCalendar) datos.getFecha().clone(), datos.getCorreo().trim());
+    }
+}
@@ -0,0 +1,192 @@
+package ec.edu.ups.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * La clase **ArchivoMapeado** da acceso aleatorio a un archivo proyectado en memoria
+ * ({@link MappedByteBuffer}) con posiciones `long`. Como un MappedByteBuffer no puede
+ * superar los 2 GiB, el archivo se proyecta en segmentos de 1 GiB. Los datos viven en la
+ * caché de páginas del sistema operativo y no en el heap de Java, por lo que el consumo
+ * de heap no depende del tamaño del archivo.
+ * <p>
+ * Los valores `int` y `long` deben leerse en posiciones múltiplo de su tamaño para no
+ * cruzar el límite entre segmentos; los arreglos de bytes pueden estar en cualquier posición.
+ * <p>
+ * El arreglo de segmentos se reemplaza al agrandar el archivo y es volátil, así un hilo
+ * que lee sin candado ve siempre un arreglo completo. La coherencia de los datos entre
+ * hilos queda a cargo de quien usa el archivo.
+ */
+public final class ArchivoMapeado implements AutoCloseable {
+
+    private static final int BITS_SEGMENTO = 30;
+    private static final long TAMANO_SEGMENTO = 1L << BITS_SEGMENTO;
+    private static final long MASCARA_SEGMENTO = TAMANO_SEGMENTO - 1;
+    private static final long CAPACIDAD_MINIMA = 4096;
+
+    private final FileChannel canal;
+    private volatile MappedByteBuffer[] segmentos;
+    private long capacidad;
+    private boolean cerrado;
+
+    /**
+     * Abre (o crea) el archivo y lo proyecta completo en memoria.
+     *
+     * @param archivo La ruta del archivo.
+     * @param capacidadInicial La cantidad mínima de bytes que debe tener el archivo.
+     * @throws IOException Si el archivo no se puede abrir o proyectar.
+     */
+    public ArchivoMapeado(Path archivo, long capacidadInicial) throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentos = new MappedByteBuffer[0];
+        proyectar(Math.max(canal.size(), Math.max(CAPACIDAD_MINIMA, capacidadInicial)));
+    }
+
+    /**
+     * Agranda el archivo, al menos al doble, si tiene menos bytes que los indicados.
+     *
+     * @param bytes La cantidad de bytes que se necesita.
+     * @throws IOException Si el archivo no se puede agrandar.
+     */
+    public void asegurarCapacidad(long bytes) throws IOException {
+        if (bytes > capacidad) {
+            proyectar(Math.max(bytes, capacidad << 1));
+        }
+    }
+
+    /**
+     * Obtiene el tamaño actual del archivo.
+     *
+     * @return La cantidad de bytes proyectados.
+     */
+    public long capacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Lee un entero de 4 bytes.
+     *
+     * @param posicion La posición, múltiplo de 4.
+     * @return El valor leído.
+     */
+    public int getInt(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getInt((int) (posicion & MASCARA_SEGMENTO));
+    }
+
+    /**
+     * Escribe un entero de 4 bytes.
+     *
+     * @param posicion La posición, múltiplo de 4.
+     * @param valor El valor a escribir.
+     */
+    public void putInt(long posicion, int valor) {
+        segmentos[(int) (posicion >>> BITS_SEGMENTO)].putInt((int) (posicion & MASCARA_SEGMENTO), valor);
+    }
+
+    /**
+     * Lee un entero de 8 bytes.
+     *
+     * @param posicion La posición, múltiplo de 8.
+     * @return El valor leído.
+     */
+    public long getLong(long posicion) {
+        return segmentos[(int) (posicion >>> BITS_SEGMENTO)].getLong((int) (posicion & MASCARA_SEGMENTO));
+    }
+
+    /**
+     * Escribe un entero de 8 bytes.
+     *
+     * @param posicion La posición, múltiplo de 8.
+     * @param valor El valor a escribir.
+     */
+    public void putLong(long posicion, long valor) {
+        segmentos[(int) (posicion >>> BITS_SEGMENTO)].putLong((int) (posicion & MASCARA_SEGMENTO), valor);
+    }
+
+    /**
+     * Copia bytes del archivo a un arreglo.
+     *
+     * @param posicion La posición inicial en el archivo.
+     * @param destino El arreglo que recibe los bytes.
+     * @param longitud La cantidad de bytes a copiar.
+     */
+    public void leer(long posicion, byte[] destino, int longitud) {
+        MappedByteBuffer[] proyectados = segmentos;
+        int copiados = 0;
+        while (copiados < longitud) {
+            MappedByteBuffer segmento = proyectados[(int) (posicion >>> BITS_SEGMENTO)];
+            int desplazamiento = (int) (posicion & MASCARA_SEGMENTO);
+            int parte = Math.min(longitud - copiados, segmento.capacity() - desplazamiento);
+            segmento.get(desplazamiento, destino, copiados, parte);
+            copiados += parte;
+            posicion += parte;
+        }
+    }
+
+    /**
+     * Copia un arreglo de bytes al archivo.
+     *
+     * @param posicion La posición inicial en el archivo.
+     * @param origen Los bytes a escribir.
+     */
+    public void escribir(long posicion, byte[] origen) {
+        MappedByteBuffer[] proyectados = segmentos;
+        int copiados = 0;
+        while (copiados < origen.length) {
+            MappedByteBuffer segmento = proyectados[(int) (posicion >>> BITS_SEGMENTO)];
+            int desplazamiento = (int) (posicion & MASCARA_SEGMENTO);
+            int parte = Math.min(origen.length - copiados, segmento.capacity() - desplazamiento);
+            segmento.put(desplazamiento, origen, copiados, parte);
+            copiados += parte;
+            posicion += parte;
+        }
+    }
+
+    /**
+     * Escribe en disco las páginas modificadas.
+     */
+    public void forzar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+    }
+
+    /**
+     * Escribe en disco las páginas modificadas y cierra el archivo. Si ya estaba
+     * cerrado no hace nada.
+     *
+     * @throws IOException Si el archivo no se puede cerrar.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        forzar();
+        canal.close();
+    }
+
+    /**
+     * Proyecta el archivo con la capacidad indicada, reutilizando los segmentos
+     * completos que ya estaban proyectados.
+     */
+    private void proyectar(long nuevaCapacidad) throws IOException {
+        int cantidad = (int) ((nuevaCapacidad + TAMANO_SEGMENTO - 1) >>> BITS_SEGMENTO);
+        MappedByteBuffer[] nuevos = new MappedByteBuffer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            long inicio = (long) i << BITS_SEGMENTO;
+            long tamano = Math.min(TAMANO_SEGMENTO, nuevaCapacidad - inicio);
+            if (i < segmentos.length && segmentos[i].capacity() == tamano) {
+                nuevos[i] = segmentos[i];
+            } else {
+                nuevos[i] = canal.map(FileChannel.MapMode.READ_WRITE, inicio, tamano);
+            }
+        }
+        segmentos = nuevos;
+        capacidad = nuevaCapacidad;
+    }
+}
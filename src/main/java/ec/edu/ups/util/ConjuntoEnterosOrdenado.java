@@ -0,0 +1,540 @@
+package ec.edu.ups.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * La clase **ConjuntoEnterosOrdenado** guarda enteros `int` sin repetir en orden
+ * ascendente, en un árbol B+ cuyas hojas son arreglos de `int` sin boxing. Cada rama
+ * guarda, además del primer valor de cada hijo, la cantidad de valores debajo de él, así
+ * que buscar, agregar, eliminar y obtener el valor de una posición cuestan O(log n) sin
+ * importar el orden en que lleguen los valores. Permite recorrer el conjunto por
+ * posición, lo que sirve para paginar por desplazamiento o a partir de un valor
+ * (paginación por clave).
+ * <p>
+ * Al dividir el último nodo de un nivel, como pasa al agregar valores crecientes, el nodo
+ * izquierdo queda lleno y el derecho solo con el valor nuevo, así una carga en orden deja
+ * las hojas completas. Al eliminar, un nodo que queda con menos de un cuarto de su
+ * capacidad se une con un vecino si caben juntos.
+ * <p>
+ * {@link #flujo()} recorre el árbol sin copiarlo. El árbol queda marcado como compartido
+ * y las modificaciones siguientes copian solo los nodos del camino que cambian (copia
+ * al escribir por época), por lo que el flujo siempre ve los valores que había al crearlo.
+ */
+public final class ConjuntoEnterosOrdenado {
+
+    private static final int CAPACIDAD_HOJA = 128;
+    private static final int CAPACIDAD_RAMA = 64;
+
+    private Nodo raiz = new Hoja(0);
+    private int tamano;
+    private int epoca;
+    private boolean compartido;
+
+    /**
+     * Agrega un valor al conjunto.
+     *
+     * @param valor El valor a agregar.
+     * @return true si el valor no estaba en el conjunto, false en caso contrario.
+     */
+    public boolean agregar(int valor) {
+        if (contiene(valor)) {
+            return false;
+        }
+        separar();
+        raiz = editable(raiz);
+        Nodo derecho = insertar(raiz, valor);
+        if (derecho != null) {
+            Rama nueva = new Rama(epoca);
+            nueva.agregarHijo(0, raiz, raiz.total());
+            nueva.agregarHijo(1, derecho, derecho.total());
+            raiz = nueva;
+        }
+        tamano++;
+        return true;
+    }
+
+    /**
+     * Elimina un valor del conjunto.
+     *
+     * @param valor El valor a eliminar.
+     * @return true si el valor estaba en el conjunto, false en caso contrario.
+     */
+    public boolean eliminar(int valor) {
+        if (!contiene(valor)) {
+            return false;
+        }
+        separar();
+        raiz = editable(raiz);
+        quitar(raiz, valor);
+        while (raiz instanceof Rama rama && rama.cantidad <= 1) {
+            raiz = rama.cantidad == 0 ? new Hoja(epoca) : rama.hijos[0];
+        }
+        tamano--;
+        return true;
+    }
+
+    /**
+     * Indica si el valor está en el conjunto.
+     *
+     * @param valor El valor a buscar.
+     * @return true si el valor existe, false en caso contrario.
+     */
+    public boolean contiene(int valor) {
+        Nodo nodo = raiz;
+        while (nodo instanceof Rama rama) {
+            nodo = rama.hijos[rama.hijoPara(valor)];
+        }
+        Hoja hoja = (Hoja) nodo;
+        return Arrays.binarySearch(hoja.valores, 0, hoja.cantidad, valor) >= 0;
+    }
+
+    /**
+     * Devuelve la cantidad de valores del conjunto.
+     *
+     * @return El número de valores.
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el valor que ocupa una posición en el orden ascendente.
+     *
+     * @param posicion La posición, entre 0 y {@link #tamano()} - 1.
+     * @return El valor en esa posición.
+     */
+    public int get(int posicion) {
+        if (posicion < 0 || posicion >= tamano) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + " fuera del conjunto de tamaño " + tamano);
+        }
+        Nodo nodo = raiz;
+        while (nodo instanceof Rama rama) {
+            int i = 0;
+            while (posicion >= rama.conteos[i]) {
+                posicion -= rama.conteos[i];
+                i++;
+            }
+            nodo = rama.hijos[i];
+        }
+        return ((Hoja) nodo).valores[posicion];
+    }
+
+    /**
+     * Obtiene la posición del primer valor estrictamente mayor que el dado.
+     *
+     * @param valor El valor de referencia.
+     * @return La posición del primer valor mayor, o {@link #tamano()} si no hay ninguno.
+     */
+    public int posicionSiguiente(int valor) {
+        int anteriores = 0;
+        Nodo nodo = raiz;
+        while (nodo instanceof Rama rama) {
+            int i = rama.hijoPara(valor);
+            for (int k = 0; k < i; k++) {
+                anteriores += rama.conteos[k];
+            }
+            nodo = rama.hijos[i];
+        }
+        Hoja hoja = (Hoja) nodo;
+        int posicion = Arrays.binarySearch(hoja.valores, 0, hoja.cantidad, valor);
+        return anteriores + (posicion >= 0 ? posicion + 1 : -posicion - 1);
+    }
+
+    /**
+     * Devuelve un flujo con los valores en orden ascendente, sin copiarlos. Las
+     * modificaciones posteriores del conjunto no afectan al flujo.
+     *
+     * @return El flujo de valores.
+     */
+    public IntStream flujo() {
+        compartido = true;
+        return StreamSupport.intStream(Spliterators.spliterator(new Recorrido(raiz), tamano,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Empieza una época nueva si un flujo comparte los nodos actuales, así la
+     * modificación que sigue copia los nodos que toque en lugar de cambiarlos.
+     */
+    private void separar() {
+        if (compartido) {
+            epoca++;
+            compartido = false;
+        }
+    }
+
+    /**
+     * Devuelve el nodo si pertenece a la época actual, o una copia suya que sí pertenece.
+     */
+    private Nodo editable(Nodo nodo) {
+        return nodo.epoca == epoca ? nodo : nodo.copiar(epoca);
+    }
+
+    /**
+     * Inserta un valor que no está en el subárbol de un nodo ya editable.
+     *
+     * @return El nodo derecho creado si el nodo se dividió, o null.
+     */
+    private Nodo insertar(Nodo nodo, int valor) {
+        if (nodo instanceof Hoja hoja) {
+            int posicion = -Arrays.binarySearch(hoja.valores, 0, hoja.cantidad, valor) - 1;
+            return hoja.insertar(posicion, valor);
+        }
+        Rama rama = (Rama) nodo;
+        int i = rama.hijoPara(valor);
+        Nodo hijo = editable(rama.hijos[i]);
+        rama.hijos[i] = hijo;
+        rama.conteos[i]++;
+        Nodo derecho = insertar(hijo, valor);
+        if (derecho == null) {
+            return null;
+        }
+        int totalDerecho = derecho.total();
+        rama.conteos[i] -= totalDerecho;
+        return rama.insertar(i + 1, derecho, totalDerecho);
+    }
+
+    /**
+     * Quita un valor que está en el subárbol de un nodo ya editable y une los hijos que
+     * quedan casi vacíos con un vecino.
+     */
+    private void quitar(Nodo nodo, int valor) {
+        if (nodo instanceof Hoja hoja) {
+            hoja.quitar(Arrays.binarySearch(hoja.valores, 0, hoja.cantidad, valor));
+            return;
+        }
+        Rama rama = (Rama) nodo;
+        int i = rama.hijoPara(valor);
+        Nodo hijo = editable(rama.hijos[i]);
+        rama.hijos[i] = hijo;
+        rama.conteos[i]--;
+        quitar(hijo, valor);
+        if (hijo.cantidad >= hijo.capacidad() / 4 || rama.cantidad == 1) {
+            if (hijo.cantidad == 0) {
+                rama.quitarHijo(i);
+            }
+            return;
+        }
+        int izquierdo = i + 1 < rama.cantidad ? i : i - 1;
+        Nodo derecho = rama.hijos[izquierdo + 1];
+        if (rama.hijos[izquierdo].cantidad + derecho.cantidad <= hijo.capacidad()) {
+            Nodo unido = editable(rama.hijos[izquierdo]);
+            unido.absorber(derecho, rama.primeros[izquierdo + 1]);
+            rama.hijos[izquierdo] = unido;
+            rama.conteos[izquierdo] += rama.conteos[izquierdo + 1];
+            rama.quitarHijo(izquierdo + 1);
+        } else if (hijo.cantidad == 0) {
+            rama.quitarHijo(i);
+        }
+    }
+
+    /**
+     * Un nodo del árbol. Un nodo solo se modifica en la época en que se creó; las
+     * épocas anteriores pueden estar siendo recorridas por un flujo.
+     */
+    private abstract static class Nodo {
+        final int epoca;
+        int cantidad;
+
+        Nodo(int epoca) {
+            this.epoca = epoca;
+        }
+
+        /**
+         * Obtiene la cantidad máxima de elementos (valores o hijos) del nodo.
+         */
+        abstract int capacidad();
+
+        /**
+         * Obtiene la cantidad de valores del subárbol.
+         */
+        abstract int total();
+
+        /**
+         * Crea una copia del nodo que pertenece a la época dada.
+         */
+        abstract Nodo copiar(int epoca);
+
+        /**
+         * Agrega al final los elementos de un nodo vecino del mismo tipo, que queda sin
+         * cambios. El separador es el que la rama padre usaba para el vecino.
+         */
+        abstract void absorber(Nodo derecho, int separador);
+    }
+
+    /**
+     * Una hoja: los valores, ordenados.
+     */
+    private static final class Hoja extends Nodo {
+        final int[] valores;
+
+        Hoja(int epoca) {
+            this(epoca, new int[CAPACIDAD_HOJA]);
+        }
+
+        private Hoja(int epoca, int[] valores) {
+            super(epoca);
+            this.valores = valores;
+        }
+
+        @Override
+        int capacidad() {
+            return CAPACIDAD_HOJA;
+        }
+
+        @Override
+        int total() {
+            return cantidad;
+        }
+
+        @Override
+        Nodo copiar(int epoca) {
+            Hoja copia = new Hoja(epoca, valores.clone());
+            copia.cantidad = cantidad;
+            return copia;
+        }
+
+        @Override
+        void absorber(Nodo derecho, int separador) {
+            Hoja hoja = (Hoja) derecho;
+            System.arraycopy(hoja.valores, 0, valores, cantidad, hoja.cantidad);
+            cantidad += hoja.cantidad;
+        }
+
+        /**
+         * Inserta un valor en una posición; si la hoja estaba llena, la divide.
+         *
+         * @return La hoja derecha creada, o null si no se dividió.
+         */
+        Hoja insertar(int posicion, int valor) {
+            if (cantidad < CAPACIDAD_HOJA) {
+                System.arraycopy(valores, posicion, valores, posicion + 1, cantidad - posicion);
+                valores[posicion] = valor;
+                cantidad++;
+                return null;
+            }
+            Hoja derecha = new Hoja(epoca);
+            if (posicion == cantidad) {
+                derecha.valores[0] = valor;
+                derecha.cantidad = 1;
+                return derecha;
+            }
+            int mitad = cantidad / 2;
+            derecha.cantidad = cantidad - mitad;
+            System.arraycopy(valores, mitad, derecha.valores, 0, derecha.cantidad);
+            cantidad = mitad;
+            if (posicion <= mitad) {
+                insertar(posicion, valor);
+            } else {
+                derecha.insertar(posicion - mitad, valor);
+            }
+            return derecha;
+        }
+
+        /**
+         * Quita el valor de una posición.
+         */
+        void quitar(int posicion) {
+            System.arraycopy(valores, posicion + 1, valores, posicion, cantidad - posicion - 1);
+            cantidad--;
+        }
+    }
+
+    /**
+     * Una rama: los hijos, el primer valor de cada uno y la cantidad de valores bajo cada uno.
+     * El primer valor del hijo 0 no se usa: ese hijo recibe todo lo menor que el del hijo 1.
+     */
+    private static final class Rama extends Nodo {
+        final Nodo[] hijos;
+        final int[] primeros;
+        final int[] conteos;
+
+        Rama(int epoca) {
+            this(epoca, new Nodo[CAPACIDAD_RAMA], new int[CAPACIDAD_RAMA], new int[CAPACIDAD_RAMA]);
+        }
+
+        private Rama(int epoca, Nodo[] hijos, int[] primeros, int[] conteos) {
+            super(epoca);
+            this.hijos = hijos;
+            this.primeros = primeros;
+            this.conteos = conteos;
+        }
+
+        @Override
+        int capacidad() {
+            return CAPACIDAD_RAMA;
+        }
+
+        @Override
+        int total() {
+            int total = 0;
+            for (int i = 0; i < cantidad; i++) {
+                total += conteos[i];
+            }
+            return total;
+        }
+
+        @Override
+        Nodo copiar(int epoca) {
+            Rama copia = new Rama(epoca, hijos.clone(), primeros.clone(), conteos.clone());
+            copia.cantidad = cantidad;
+            return copia;
+        }
+
+        @Override
+        void absorber(Nodo derecho, int separador) {
+            Rama rama = (Rama) derecho;
+            System.arraycopy(rama.hijos, 0, hijos, cantidad, rama.cantidad);
+            System.arraycopy(rama.primeros, 0, primeros, cantidad, rama.cantidad);
+            System.arraycopy(rama.conteos, 0, conteos, cantidad, rama.cantidad);
+            // El primer valor guardado del vecino puede ser menor que valores que el padre
+            // ya mandó a este nodo; el separador del padre sí los deja a la izquierda
+            primeros[cantidad] = separador;
+            cantidad += rama.cantidad;
+        }
+
+        /**
+         * Obtiene la posición del hijo donde está o iría el valor.
+         */
+        int hijoPara(int valor) {
+            int posicion = Arrays.binarySearch(primeros, 1, cantidad, valor);
+            return posicion >= 1 ? posicion : -posicion - 2;
+        }
+
+        /**
+         * Agrega un hijo en una posición de una rama que tiene lugar.
+         */
+        void agregarHijo(int posicion, Nodo hijo, int conteo) {
+            System.arraycopy(hijos, posicion, hijos, posicion + 1, cantidad - posicion);
+            System.arraycopy(primeros, posicion, primeros, posicion + 1, cantidad - posicion);
+            System.arraycopy(conteos, posicion, conteos, posicion + 1, cantidad - posicion);
+            hijos[posicion] = hijo;
+            primeros[posicion] = primero(hijo);
+            conteos[posicion] = conteo;
+            cantidad++;
+        }
+
+        /**
+         * Inserta un hijo en una posición; si la rama estaba llena, la divide.
+         *
+         * @return La rama derecha creada, o null si no se dividió.
+         */
+        Rama insertar(int posicion, Nodo hijo, int conteo) {
+            if (cantidad < CAPACIDAD_RAMA) {
+                agregarHijo(posicion, hijo, conteo);
+                return null;
+            }
+            Rama derecha = new Rama(epoca);
+            if (posicion == cantidad) {
+                derecha.agregarHijo(0, hijo, conteo);
+                return derecha;
+            }
+            int mitad = cantidad / 2;
+            derecha.cantidad = cantidad - mitad;
+            System.arraycopy(hijos, mitad, derecha.hijos, 0, derecha.cantidad);
+            System.arraycopy(primeros, mitad, derecha.primeros, 0, derecha.cantidad);
+            System.arraycopy(conteos, mitad, derecha.conteos, 0, derecha.cantidad);
+            Arrays.fill(hijos, mitad, cantidad, null);
+            cantidad = mitad;
+            if (posicion <= mitad) {
+                agregarHijo(posicion, hijo, conteo);
+            } else {
+                derecha.agregarHijo(posicion - mitad, hijo, conteo);
+            }
+            return derecha;
+        }
+
+        /**
+         * Quita el hijo de una posición.
+         */
+        void quitarHijo(int posicion) {
+            System.arraycopy(hijos, posicion + 1, hijos, posicion, cantidad - posicion - 1);
+            System.arraycopy(primeros, posicion + 1, primeros, posicion, cantidad - posicion - 1);
+            System.arraycopy(conteos, posicion + 1, conteos, posicion, cantidad - posicion - 1);
+            cantidad--;
+            hijos[cantidad] = null;
+        }
+
+        /**
+         * Obtiene el primer valor de un subárbol.
+         */
+        private static int primero(Nodo nodo) {
+            while (nodo instanceof Rama rama) {
+                nodo = rama.hijos[0];
+            }
+            Hoja hoja = (Hoja) nodo;
+            return hoja.cantidad == 0 ? 0 : hoja.valores[0];
+        }
+    }
+
+    /**
+     * Recorre en orden los valores de un árbol, bajando por una pila de ramas.
+     */
+    private static final class Recorrido implements PrimitiveIterator.OfInt {
+        private Rama[] ramas = new Rama[8];
+        private int[] posiciones = new int[8];
+        private int profundidad;
+        private Hoja hoja;
+        private int indice;
+
+        private Recorrido(Nodo raiz) {
+            bajar(raiz);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (hoja != null && indice >= hoja.cantidad) {
+                avanzar();
+            }
+            return hoja != null;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return hoja.valores[indice++];
+        }
+
+        /**
+         * Baja por el primer hijo de cada rama hasta la hoja más a la izquierda del nodo.
+         */
+        private void bajar(Nodo nodo) {
+            while (nodo instanceof Rama rama) {
+                if (profundidad == ramas.length) {
+                    ramas = Arrays.copyOf(ramas, profundidad << 1);
+                    posiciones = Arrays.copyOf(posiciones, profundidad << 1);
+                }
+                ramas[profundidad] = rama;
+                posiciones[profundidad++] = 0;
+                nodo = rama.hijos[0];
+            }
+            hoja = (Hoja) nodo;
+            indice = 0;
+        }
+
+        /**
+         * Pasa a la hoja siguiente, o deja la hoja en null si no hay más.
+         */
+        private void avanzar() {
+            while (profundidad > 0) {
+                Rama rama = ramas[profundidad - 1];
+                int siguiente = posiciones[profundidad - 1] + 1;
+                if (siguiente < rama.cantidad) {
+                    posiciones[profundidad - 1] = siguiente;
+                    bajar(rama.hijos[siguiente]);
+                    return;
+                }
+                profundidad--;
+            }
+            hoja = null;
+        }
+    }
+}
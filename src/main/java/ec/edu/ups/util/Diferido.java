@@ -0,0 +1,63 @@
+package ec.edu.ups.util;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * La clase **Diferido** crea un objeto con la fábrica recibida la primera vez que se pide
+ * y devuelve la misma instancia en las llamadas siguientes. Se usa para construir las
+ * vistas y los controladores solo cuando el usuario los abre por primera vez.
+ * <p>
+ * No es segura para hilos: como las vistas, se usa únicamente desde el EDT.
+ *
+ * @param <T> El tipo del objeto creado.
+ */
+public final class Diferido<T> implements Supplier<T> {
+
+    private Supplier<? extends T> fabrica;
+    private T valor;
+
+    /**
+     * Constructor de Diferido. No llama a la fábrica.
+     *
+     * @param fabrica La fábrica que crea el objeto la primera vez que se pide.
+     */
+    public Diferido(Supplier<? extends T> fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * Devuelve el objeto, creándolo si todavía no existe. Si la fábrica lanza una
+     * excepción, el objeto no queda creado y la siguiente llamada lo vuelve a intentar.
+     *
+     * @return El objeto creado por la fábrica.
+     */
+    @Override
+    public T get() {
+        if (fabrica != null) {
+            valor = fabrica.get();
+            fabrica = null;
+        }
+        return valor;
+    }
+
+    /**
+     * Indica si el objeto ya fue creado.
+     *
+     * @return true si la fábrica ya se ejecutó, false en caso contrario.
+     */
+    public boolean estaCreado() {
+        return fabrica == null;
+    }
+
+    /**
+     * Ejecuta una acción sobre el objeto solo si ya fue creado, sin crearlo.
+     *
+     * @param accion La acción a ejecutar.
+     */
+    public void siCreado(Consumer<? super T> accion) {
+        if (fabrica == null) {
+            accion.accept(valor);
+        }
+    }
+}
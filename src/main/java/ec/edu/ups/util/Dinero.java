@@ -0,0 +1,78 @@
+package ec.edu.ups.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * La clase **Dinero** proporciona métodos estáticos para operar con cantidades de
+ * dinero representadas en punto fijo como un `long` de centavos.
+ * Las sumas y multiplicaciones son exactas y no crean objetos; solo las conversiones
+ * desde y hacia `double` o `BigDecimal` se hacen en los bordes (entrada de datos y formato).
+ */
+public final class Dinero {
+
+    /**
+     * Cantidad de decimales que representa un centavo.
+     */
+    public static final int DECIMALES = 2;
+
+    private Dinero() {
+    }
+
+    /**
+     * Convierte un valor decimal en centavos, redondeando la mitad hacia arriba.
+     * Usa la representación decimal más corta del `double`, por lo que 0.285 se
+     * convierte en 29 centavos y no en 28.
+     *
+     * @param valor El valor en unidades monetarias.
+     * @return El valor en centavos.
+     */
+    public static long desdeDouble(double valor) {
+        return BigDecimal.valueOf(valor).setScale(DECIMALES, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convierte una cantidad en centavos a unidades monetarias como `double`.
+     *
+     * @param centavos La cantidad en centavos.
+     * @return La cantidad en unidades monetarias.
+     */
+    public static double aDouble(long centavos) {
+        return centavos / 100.0;
+    }
+
+    /**
+     * Convierte una cantidad en centavos a un `BigDecimal` con dos decimales exactos.
+     *
+     * @param centavos La cantidad en centavos.
+     * @return La cantidad como BigDecimal.
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, DECIMALES);
+    }
+
+    /**
+     * Multiplica un precio en centavos por una cantidad de unidades.
+     *
+     * @param centavos El precio unitario en centavos.
+     * @param cantidad La cantidad de unidades.
+     * @return El resultado en centavos.
+     * @throws ArithmeticException si el resultado no cabe en un `long`.
+     */
+    public static long multiplicar(long centavos, int cantidad) {
+        return Math.multiplyExact(centavos, (long) cantidad);
+    }
+
+    /**
+     * Calcula un porcentaje de una cantidad en centavos, redondeando al centavo
+     * más cercano y la mitad alejándose de cero.
+     *
+     * @param centavos La cantidad base en centavos.
+     * @param porcentaje El porcentaje a aplicar (por ejemplo 12 para el 12%).
+     * @return El porcentaje calculado en centavos.
+     */
+    public static long porcentaje(long centavos, int porcentaje) {
+        long producto = Math.multiplyExact(centavos, (long) porcentaje);
+        return producto >= 0 ? (producto + 50) / 100 : -((-producto + 50) / 100);
+    }
+}
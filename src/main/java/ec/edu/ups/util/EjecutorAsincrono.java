@@ -0,0 +1,346 @@
+package ec.edu.ups.util;
+
+import javax.swing.RootPaneContainer;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Cursor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * La clase **EjecutorAsincrono** ejecuta las consultas a los DAO fuera del hilo de
+ * eventos de Swing (EDT), cada una en su propio hilo virtual, y entrega los resultados
+ * a las vistas con {@link SwingUtilities#invokeLater}, de modo que una consulta lenta no
+ * congela el escritorio.
+ * <p>
+ * Cada consulta pertenece a una vista. Mientras está en curso, la vista muestra el cursor
+ * de espera; si el usuario lanza otra consulta sobre la misma vista, la anterior se
+ * cancela (se interrumpe su hilo) y sus resultados pendientes se descartan. Los resultados
+ * grandes se publican por partes para que la tabla empiece a llenarse enseguida y el EDT
+ * siga atendiendo eventos entre una parte y otra.
+ * <p>
+ * Las escrituras van aparte, con {@link #escribir}: no se cancelan nunca y deshabilitan
+ * el formulario hasta terminar.
+ * <p>
+ * Los métodos públicos deben llamarse desde el EDT, igual que los callbacks se
+ * ejecutan en el EDT.
+ */
+public final class EjecutorAsincrono {
+
+    private static final int TAMANO_PARTE = 256;
+    private static final int PARTES_EN_VUELO = 4;
+
+    private static final ExecutorService HILOS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("consulta-", 0).factory());
+    private static final Map<Component, Tarea> TAREAS = new HashMap<>();
+    private static final Set<Component> ESCRITURAS = new HashSet<>();
+
+    private EjecutorAsincrono() {
+    }
+
+    /**
+     * Ejecuta una consulta en segundo plano y entrega su resultado a la vista.
+     * Cancela la consulta que la vista tuviera en curso.
+     *
+     * @param vista La vista que muestra el resultado y el estado de progreso.
+     * @param consulta La consulta a ejecutar fuera del EDT.
+     * @param alTerminar Recibe el resultado en el EDT si la consulta no fue reemplazada.
+     * @param <T> El tipo del resultado.
+     */
+    public static <T> void ejecutar(Component vista, Callable<T> consulta, Consumer<? super T> alTerminar) {
+        Tarea tarea = iniciar(vista);
+        tarea.futuro = HILOS.submit(() -> {
+            T resultado;
+            try {
+                resultado = consulta.call();
+            } catch (Exception e) {
+                fallar(tarea, e);
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (esVigente(tarea)) {
+                    terminar(tarea);
+                    alTerminar.accept(resultado);
+                }
+            });
+        });
+    }
+
+    /**
+     * Ejecuta en segundo plano una consulta que devuelve un flujo y publica los
+     * elementos en la vista por partes. La primera parte se entrega siempre, aunque esté
+     * vacía, para que la vista reemplace su contenido anterior.
+     *
+     * @param vista La vista que muestra el resultado y el estado de progreso.
+     * @param consulta La consulta a ejecutar fuera del EDT.
+     * @param primeraParte Recibe en el EDT la primera parte, que reemplaza los datos mostrados.
+     * @param siguientesPartes Recibe en el EDT cada parte siguiente, que se agrega a la anterior.
+     * @param <T> El tipo de los elementos.
+     */
+    public static <T> void ejecutarPorPartes(Component vista, Callable<? extends Stream<T>> consulta,
+                                             Consumer<List<T>> primeraParte, Consumer<List<T>> siguientesPartes) {
+        Tarea tarea = iniciar(vista);
+        tarea.futuro = HILOS.submit(() -> {
+            try (Stream<T> flujo = consulta.call()) {
+                Iterator<T> elementos = flujo.iterator();
+                List<T> parte = new ArrayList<>(TAMANO_PARTE);
+                Consumer<List<T>> receptor = primeraParte;
+                while (elementos.hasNext()) {
+                    if (tarea.cancelada) {
+                        return;
+                    }
+                    parte.add(elementos.next());
+                    if (parte.size() == TAMANO_PARTE) {
+                        publicar(tarea, parte, receptor, false);
+                        parte = new ArrayList<>(TAMANO_PARTE);
+                        receptor = siguientesPartes;
+                    }
+                }
+                publicar(tarea, parte, receptor, true);
+            } catch (Exception e) {
+                fallar(tarea, e);
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una consulta en segundo plano sin asociarla a una vista: no muestra
+     * progreso ni cancela otras consultas. El llamador decide en el callback si el
+     * resultado sigue siendo útil.
+     *
+     * @param consulta La consulta a ejecutar fuera del EDT.
+     * @param alTerminar Recibe el resultado en el EDT.
+     * @param <T> El tipo del resultado.
+     */
+    public static <T> void enviar(Callable<T> consulta, Consumer<? super T> alTerminar) {
+        enviar(consulta, alTerminar, () -> {
+        });
+    }
+
+    /**
+     * Igual que {@link #enviar(Callable, Consumer)}, pero si la consulta falla ejecuta
+     * `alFallar` en el EDT antes de relanzar el error, para que el llamador deshaga lo
+     * que hubiera marcado como en curso y pueda volver a intentarlo.
+     *
+     * @param consulta La consulta a ejecutar fuera del EDT.
+     * @param alTerminar Recibe el resultado en el EDT.
+     * @param alFallar Se ejecuta en el EDT si la consulta lanza una excepción.
+     * @param <T> El tipo del resultado.
+     */
+    public static <T> void enviar(Callable<T> consulta, Consumer<? super T> alTerminar, Runnable alFallar) {
+        HILOS.submit(() -> {
+            T resultado;
+            try {
+                resultado = consulta.call();
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    alFallar.run();
+                    relanzar(e);
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> alTerminar.accept(resultado));
+        });
+    }
+
+    /**
+     * Ejecuta una escritura en segundo plano y entrega su resultado a la vista. Mientras
+     * la escritura está en curso los componentes de la vista quedan deshabilitados y se
+     * muestra el cursor de espera, así el usuario no puede repetirla ni lanzar otra acción
+     * sobre el mismo formulario.
+     * <p>
+     * A diferencia de {@link #ejecutar}, la escritura no es la consulta de la vista: otra
+     * consulta no la cancela y su resultado se entrega siempre, porque lo que se escribió
+     * ya no se deshace y un hilo interrumpido a mitad de escribir cierra el canal del archivo.
+     *
+     * @param vista La vista que se deshabilita y recibe el resultado.
+     * @param escritura La escritura a ejecutar fuera del EDT.
+     * @param alTerminar Recibe el resultado en el EDT, con la vista ya habilitada.
+     * @param <T> El tipo del resultado.
+     */
+    public static <T> void escribir(Component vista, Callable<T> escritura, Consumer<? super T> alTerminar) {
+        List<Component> deshabilitados = new ArrayList<>();
+        deshabilitar(superficie(vista), deshabilitados);
+        ESCRITURAS.add(vista);
+        superficie(vista).setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        HILOS.submit(() -> {
+            T resultado;
+            try {
+                resultado = escritura.call();
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    habilitar(vista, deshabilitados);
+                    relanzar(e);
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                habilitar(vista, deshabilitados);
+                alTerminar.accept(resultado);
+            });
+        });
+    }
+
+    /**
+     * Cancela la consulta en curso de una vista, si la hay, y quita su estado de progreso.
+     *
+     * @param vista La vista cuya consulta se cancela.
+     */
+    public static void cancelar(Component vista) {
+        Tarea tarea = TAREAS.get(vista);
+        if (tarea != null) {
+            tarea.cancelar();
+            terminar(tarea);
+        }
+    }
+
+    /**
+     * Registra una tarea nueva para la vista, cancelando la anterior, y muestra el
+     * cursor de espera.
+     */
+    private static Tarea iniciar(Component vista) {
+        Tarea nueva = new Tarea(vista);
+        Tarea anterior = TAREAS.put(vista, nueva);
+        if (anterior != null) {
+            anterior.cancelar();
+        }
+        superficie(vista).setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        return nueva;
+    }
+
+    /**
+     * Quita la tarea de la vista y restablece el cursor, salvo que la vista siga escribiendo.
+     */
+    private static void terminar(Tarea tarea) {
+        if (TAREAS.get(tarea.vista) == tarea) {
+            TAREAS.remove(tarea.vista);
+            if (!ESCRITURAS.contains(tarea.vista)) {
+                superficie(tarea.vista).setCursor(null);
+            }
+        }
+    }
+
+    /**
+     * Deshabilita los componentes habilitados dentro del contenedor y los anota para
+     * volver a habilitarlos; los que ya estaban deshabilitados quedan como estaban.
+     */
+    private static void deshabilitar(Component componente, List<Component> deshabilitados) {
+        if (componente instanceof Container) {
+            for (Component hijo : ((Container) componente).getComponents()) {
+                if (hijo.isEnabled()) {
+                    hijo.setEnabled(false);
+                    deshabilitados.add(hijo);
+                }
+                deshabilitar(hijo, deshabilitados);
+            }
+        }
+    }
+
+    /**
+     * Vuelve a habilitar los componentes de una escritura terminada y restablece el
+     * cursor, salvo que la vista tenga una consulta en curso.
+     */
+    private static void habilitar(Component vista, List<Component> deshabilitados) {
+        for (Component componente : deshabilitados) {
+            componente.setEnabled(true);
+        }
+        ESCRITURAS.remove(vista);
+        if (!TAREAS.containsKey(vista)) {
+            superficie(vista).setCursor(null);
+        }
+    }
+
+    /**
+     * Indica si la tarea sigue siendo la consulta en curso de su vista.
+     */
+    private static boolean esVigente(Tarea tarea) {
+        return !tarea.cancelada && TAREAS.get(tarea.vista) == tarea;
+    }
+
+    /**
+     * Entrega una parte en el EDT. Como mucho {@link #PARTES_EN_VUELO} partes esperan
+     * en la cola de eventos a la vez, así una consulta rápida no llena la memoria ni
+     * acapara el EDT.
+     */
+    private static <T> void publicar(Tarea tarea, List<T> parte, Consumer<List<T>> receptor, boolean ultima)
+            throws InterruptedException {
+        tarea.partes.acquire();
+        SwingUtilities.invokeLater(() -> {
+            tarea.partes.release();
+            if (esVigente(tarea)) {
+                if (ultima) {
+                    terminar(tarea);
+                }
+                receptor.accept(parte);
+            }
+        });
+    }
+
+    /**
+     * Informa en el EDT el error de una consulta que no fue cancelada.
+     */
+    private static void fallar(Tarea tarea, Exception error) {
+        if (tarea.cancelada) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (esVigente(tarea)) {
+                terminar(tarea);
+                relanzar(error);
+            }
+        });
+    }
+
+    /**
+     * Lanza el error en el EDT, donde lo recibe el manejador de excepciones de Swing
+     * igual que si la consulta se hubiera ejecutado en el ActionListener.
+     */
+    private static void relanzar(Exception error) {
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        throw new CompletionException(error);
+    }
+
+    /**
+     * Obtiene el componente sobre el que se muestra el cursor de espera.
+     */
+    private static Component superficie(Component vista) {
+        return vista instanceof RootPaneContainer ? ((RootPaneContainer) vista).getContentPane() : vista;
+    }
+
+    /**
+     * Una consulta en curso de una vista.
+     */
+    private static final class Tarea {
+        private final Component vista;
+        private final Semaphore partes = new Semaphore(PARTES_EN_VUELO);
+        private volatile boolean cancelada;
+        private Future<?> futuro;
+
+        private Tarea(Component vista) {
+            this.vista = vista;
+        }
+
+        private void cancelar() {
+            cancelada = true;
+            if (futuro != null) {
+                futuro.cancel(true);
+            }
+        }
+    }
+}
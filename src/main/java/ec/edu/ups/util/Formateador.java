@@ -1,16 +1,30 @@
 package ec.edu.ups.util;
 
 import java.text.DateFormat;
+import java.text.FieldPosition;
 import java.text.NumberFormat;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * La clase **Formateador** proporciona métodos estáticos para formatear
  * cantidades de dinero y fechas según una configuración regional (Locale) específica.
+ * Crear un NumberFormat o un DateFormat es caro, así que se crea una sola vez por Locale
+ * un prototipo que nunca formatea; como esas clases no son seguras para hilos, cada
+ * llamada toma prestada una copia de un pequeño conjunto compartido por todos los hilos
+ * y la devuelve al terminar. Si todas las copias están en uso se clona el prototipo, que
+ * cuesta mucho menos que crearlo. La caché no depende del hilo, por lo que sirve igual
+ * para los hilos virtuales de la API, que se crean uno por petición. Como la caché está
+ * indexada por Locale, cambiar de idioma no deja ninguna entrada desactualizada.
  */
 public class Formateador {
 
+    private static final int TAMANO_CONJUNTO = Math.max(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1);
+    private static final Map<Locale, Formatos> FORMATOS = new ConcurrentHashMap<>();
+
     /**
      * Formatea una cantidad numérica como una cadena de moneda según la configuración regional dada.
      * Por ejemplo, para 1234.56 y un Locale de EE. UU., podría devolver "$1,234.56".
@@ -20,8 +34,34 @@ public class Formateador {
      * @return Una cadena que representa la cantidad formateada como moneda.
      */
     public static String formatearMoneda(double cantidad, Locale locale) {
-        NumberFormat formatoMoneda = NumberFormat.getCurrencyInstance(locale);
-        return formatoMoneda.format(cantidad);
+        Formatos formatos = formatos(locale);
+        Copia copia = formatos.tomar();
+        try {
+            return copia.moneda.format(cantidad);
+        } finally {
+            formatos.devolver(copia);
+        }
+    }
+
+    /**
+     * Formatea una cantidad como moneda y agrega el resultado al final del StringBuilder dado,
+     * sin crear cadenas intermedias.
+     *
+     * @param cantidad La cantidad numérica a formatear.
+     * @param locale La configuración regional que determina el formato de la moneda.
+     * @param destino El StringBuilder al que se agrega el texto.
+     * @return El mismo StringBuilder recibido, para encadenar llamadas.
+     */
+    public static StringBuilder formatearMoneda(double cantidad, Locale locale, StringBuilder destino) {
+        Formatos formatos = formatos(locale);
+        Copia copia = formatos.tomar();
+        try {
+            copia.buffer.setLength(0);
+            copia.moneda.format(cantidad, copia.buffer, copia.posicion);
+            return destino.append(copia.buffer);
+        } finally {
+            formatos.devolver(copia);
+        }
     }
 
     /**
@@ -33,8 +73,101 @@ public class Formateador {
      * @return Una cadena que representa la fecha formateada.
      */
     public static String formatearFecha(Date fecha, Locale locale) {
-        DateFormat formato = DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
-        return formato.format(fecha);
+        Formatos formatos = formatos(locale);
+        Copia copia = formatos.tomar();
+        try {
+            return copia.fecha.format(fecha);
+        } finally {
+            formatos.devolver(copia);
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Formatea una fecha (tipo MEDIUM) y agrega el resultado al final del StringBuilder dado,
+     * sin crear cadenas intermedias.
+     *
+     * @param fecha El objeto Date a formatear.
+     * @param locale La configuración regional que determina el formato de la fecha.
+     * @param destino El StringBuilder al que se agrega el texto.
+     * @return El mismo StringBuilder recibido, para encadenar llamadas.
+     */
+    public static StringBuilder formatearFecha(Date fecha, Locale locale, StringBuilder destino) {
+        Formatos formatos = formatos(locale);
+        Copia copia = formatos.tomar();
+        try {
+            copia.buffer.setLength(0);
+            copia.fecha.format(fecha, copia.buffer, copia.posicion);
+            return destino.append(copia.buffer);
+        } finally {
+            formatos.devolver(copia);
+        }
+    }
+
+    /**
+     * Obtiene los formateadores de un Locale, creándolos si no están en la caché.
+     */
+    private static Formatos formatos(Locale locale) {
+        Formatos formatos = FORMATOS.get(locale);
+        return formatos != null ? formatos : FORMATOS.computeIfAbsent(locale, Formatos::new);
+    }
+
+    /**
+     * Prototipos de un Locale y el conjunto de copias listas para usar. Cada casilla del
+     * conjunto guarda una copia libre o null; tomar y devolver una copia es un intercambio
+     * atómico en una casilla, sin candados.
+     */
+    private static final class Formatos {
+        private final NumberFormat moneda;
+        private final DateFormat fecha;
+        private final AtomicReferenceArray<Copia> libres = new AtomicReferenceArray<>(TAMANO_CONJUNTO);
+
+        private Formatos(Locale locale) {
+            moneda = NumberFormat.getCurrencyInstance(locale);
+            fecha = DateFormat.getDateInstance(DateFormat.MEDIUM, locale);
+        }
+
+        /**
+         * Toma una copia libre, empezando por una casilla que depende del hilo para que
+         * los hilos no compitan por la misma; si no hay ninguna, clona los prototipos.
+         */
+        private Copia tomar() {
+            int inicio = (int) Thread.currentThread().threadId();
+            for (int i = 0; i < TAMANO_CONJUNTO; i++) {
+                Copia copia = libres.getAndSet((inicio + i) & (TAMANO_CONJUNTO - 1), null);
+                if (copia != null) {
+                    return copia;
+                }
+            }
+            return new Copia((NumberFormat) moneda.clone(), (DateFormat) fecha.clone());
+        }
+
+        /**
+         * Devuelve una copia a la primera casilla vacía; si el conjunto está lleno, la descarta.
+         */
+        private void devolver(Copia copia) {
+            int inicio = (int) Thread.currentThread().threadId();
+            for (int i = 0; i < TAMANO_CONJUNTO; i++) {
+                if (libres.compareAndSet((inicio + i) & (TAMANO_CONJUNTO - 1), null, copia)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Formateadores que usa un solo hilo a la vez, con un búfer reutilizable para las
+     * variantes que escriben en un StringBuilder (NumberFormat y DateFormat solo escriben
+     * en StringBuffer).
+     */
+    private static final class Copia {
+        private final NumberFormat moneda;
+        private final DateFormat fecha;
+        private final StringBuffer buffer = new StringBuffer();
+        private final FieldPosition posicion = new FieldPosition(0);
+
+        private Copia(NumberFormat moneda, DateFormat fecha) {
+            this.moneda = moneda;
+            this.fecha = fecha;
+        }
+    }
+}
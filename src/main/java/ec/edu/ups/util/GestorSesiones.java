@@ -0,0 +1,147 @@
+package ec.edu.ups.util;
+
+import ec.edu.ups.modelo.Sesion;
+import ec.edu.ups.modelo.Usuario;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * La clase **GestorSesiones** crea y resuelve las sesiones de los usuarios autenticados.
+ * Cada sesión se identifica con un token opaco de 256 bits aleatorios, que no revela
+ * nada del usuario, y se guarda en un {@link MapaExpirable}: resolver un token cuesta
+ * O(1) y una sesión que no se usa durante el tiempo de inactividad deja de existir.
+ * <p>
+ * Un único hilo de fondo, compartido por todos los gestores, quita periódicamente las
+ * sesiones vencidas que nadie volvió a usar, así la memoria no crece con las sesiones
+ * abandonadas. {@link #close()} detiene la limpieza de este gestor.
+ */
+public final class GestorSesiones implements AutoCloseable {
+
+    /**
+     * Tiempo de inactividad por defecto, ajustable con `-Dsesion.inactividad` (en milisegundos).
+     */
+    public static final long INACTIVIDAD = Long.getLong("sesion.inactividad", TimeUnit.MINUTES.toMillis(30));
+
+    private static final int BYTES_TOKEN = 32;
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+    private static final ScheduledExecutorService LIMPIEZA = crearLimpieza();
+
+    private final MapaExpirable<String, Sesion> sesiones;
+    private final ScheduledFuture<?> limpieza;
+
+    /**
+     * Constructor con el tiempo de inactividad por defecto.
+     */
+    public GestorSesiones() {
+        this(INACTIVIDAD);
+    }
+
+    /**
+     * Constructor de GestorSesiones. Las sesiones vencidas se buscan cuatro veces por
+     * cada tiempo de inactividad, y como mucho una vez por segundo.
+     *
+     * @param inactividadMilisegundos El tiempo sin usarse tras el cual vence una sesión.
+     */
+    public GestorSesiones(long inactividadMilisegundos) {
+        this.sesiones = new MapaExpirable<>(inactividadMilisegundos);
+        long periodo = Math.max(1_000, inactividadMilisegundos / 4);
+        this.limpieza = LIMPIEZA.scheduleWithFixedDelay(sesiones::expirar, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Crea una sesión nueva para un usuario autenticado, con un carrito vacío.
+     *
+     * @param usuario El usuario autenticado.
+     * @param locale El idioma inicial de la sesión.
+     * @return La sesión creada, con su token.
+     */
+    public Sesion iniciar(Usuario usuario, Locale locale) {
+        while (true) {
+            Sesion sesion = new Sesion(nuevoToken(), usuario, locale);
+            if (sesiones.ponerSiAusente(sesion.getToken(), sesion)) {
+                return sesion;
+            }
+        }
+    }
+
+    /**
+     * Busca la sesión de un token y renueva su último uso.
+     *
+     * @param token El token de la sesión.
+     * @return La sesión, o null si el token no existe, se cerró o venció.
+     */
+    public Sesion resolver(String token) {
+        return token == null ? null : sesiones.obtener(token);
+    }
+
+    /**
+     * Cierra una sesión; su token deja de ser válido.
+     *
+     * @param token El token de la sesión a cerrar.
+     * @return La sesión cerrada, o null si no existía o ya había vencido.
+     */
+    public Sesion cerrar(String token) {
+        return token == null ? null : sesiones.quitar(token);
+    }
+
+    /**
+     * Devuelve la cantidad de sesiones guardadas, incluidas las vencidas que aún no se quitaron.
+     *
+     * @return El número de sesiones.
+     */
+    public int getActivas() {
+        return sesiones.tamano();
+    }
+
+    /**
+     * Devuelve la cantidad de sesiones que vencieron por inactividad.
+     *
+     * @return El total de sesiones vencidas.
+     */
+    public long getExpiradas() {
+        return sesiones.getExpiradas();
+    }
+
+    /**
+     * Devuelve un resumen de las métricas de las sesiones.
+     *
+     * @return Un texto con las sesiones activas y vencidas.
+     */
+    public String resumen() {
+        return "activas=" + getActivas() + " expiradas=" + getExpiradas();
+    }
+
+    /**
+     * Detiene la limpieza periódica de las sesiones vencidas de este gestor.
+     */
+    @Override
+    public void close() {
+        limpieza.cancel(false);
+    }
+
+    /**
+     * Crea el hilo de limpieza compartido. Las limpiezas canceladas se quitan de la cola
+     * para que el gestor cerrado pueda liberarse.
+     */
+    private static ScheduledExecutorService crearLimpieza() {
+        ScheduledThreadPoolExecutor limpieza = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().daemon().name("sesiones-limpieza").factory());
+        limpieza.setRemoveOnCancelPolicy(true);
+        return limpieza;
+    }
+
+    /**
+     * Genera un token aleatorio en Base64 apto para URL.
+     */
+    private static String nuevoToken() {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        ALEATORIO.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,270 @@
+package ec.edu.ups.util;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * La clase **HashContrasenas** guarda las contraseñas como hash PBKDF2 con HMAC-SHA256
+ * y una sal aleatoria por contraseña, y las verifica comparando los hash en tiempo
+ * constante. El costo (la cantidad de iteraciones) se elige al crear la instancia y se
+ * guarda dentro de cada hash, así un hash viejo se sigue verificando aunque el costo cambie.
+ * <p>
+ * Los hash se calculan en un grupo acotado de hilos compartido por todas las instancias
+ * (la mitad de los núcleos, o `-Dcontrasena.hilos`) con una cola también acotada: muchos
+ * inicios de sesión simultáneos esperan su turno en lugar de ocupar todos los núcleos,
+ * y si la cola se llena se rechazan con {@link java.util.concurrent.RejectedExecutionException}.
+ * <p>
+ * Después de una verificación correcta, las credenciales quedan en una caché durante
+ * la vigencia indicada. La caché no guarda la contraseña sino un HMAC de ella con una
+ * clave aleatoria del proceso, y cada entrada recuerda el hash contra el que se verificó,
+ * así un cambio de contraseña la invalida aunque no se llame a {@link #olvidar(String)}.
+ */
+public final class HashContrasenas {
+
+    /**
+     * Iteraciones por defecto, ajustables con `-Dcontrasena.iteraciones`.
+     */
+    public static final int ITERACIONES = Integer.getInteger("contrasena.iteraciones", 210_000);
+
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final String PREFIJO = "pbkdf2-sha256";
+    private static final int BYTES_SAL = 16;
+    private static final int BITS_HASH = 256;
+    private static final int MAXIMO_CACHE = 10_000;
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+    private static final ExecutorService HILOS = crearHilos();
+    private static final byte[] CLAVE_HUELLAS = bytesAleatorios(32);
+    private static final ThreadLocal<Mac> HUELLAS = ThreadLocal.withInitial(HashContrasenas::crearMac);
+
+    private final int iteraciones;
+    private final long vigenciaNanos;
+    private final Map<String, Verificada> verificadas = new ConcurrentHashMap<>();
+    private volatile String ficticio;
+
+    /**
+     * Constructor con el costo por defecto y una caché de un minuto.
+     */
+    public HashContrasenas() {
+        this(ITERACIONES, 60_000);
+    }
+
+    /**
+     * Constructor de HashContrasenas.
+     *
+     * @param iteraciones La cantidad de iteraciones de PBKDF2 de los hash nuevos.
+     * @param vigenciaMilisegundos Cuánto tiempo se recuerda una verificación correcta; 0 desactiva la caché.
+     */
+    public HashContrasenas(int iteraciones, long vigenciaMilisegundos) {
+        if (iteraciones < 1 || vigenciaMilisegundos < 0) {
+            throw new IllegalArgumentException("Las iteraciones deben ser positivas y la vigencia no negativa");
+        }
+        this.iteraciones = iteraciones;
+        this.vigenciaNanos = TimeUnit.MILLISECONDS.toNanos(vigenciaMilisegundos);
+    }
+
+    /**
+     * Calcula el hash de una contraseña con una sal nueva. Espera a que uno de los
+     * hilos de hash quede libre.
+     *
+     * @param contrasena La contraseña en texto plano.
+     * @return El hash codificado como `pbkdf2-sha256$iteraciones$sal$hash`, en Base64.
+     */
+    public String generar(String contrasena) {
+        byte[] sal = bytesAleatorios(BYTES_SAL);
+        byte[] hash = enGrupo(() -> pbkdf2(contrasena, sal, iteraciones));
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIJO + "$" + iteraciones + "$" + base64.encodeToString(sal) + "$" + base64.encodeToString(hash);
+    }
+
+    /**
+     * Verifica una contraseña contra un hash generado por {@link #generar(String)}.
+     * Si la misma clave se verificó correctamente hace poco contra el mismo hash, no se
+     * vuelve a calcular el hash. Si no hay hash (por ejemplo porque el usuario no existe)
+     * se calcula igual uno ficticio, para que el tiempo de respuesta no revele si la
+     * clave existe.
+     *
+     * @param clave La clave de la caché, normalmente la cédula.
+     * @param contrasena La contraseña en texto plano a verificar.
+     * @param codificado El hash guardado, o null si no hay ninguno.
+     * @return true si la contraseña corresponde al hash, false en caso contrario.
+     */
+    public boolean verificar(String clave, String contrasena, String codificado) {
+        if (contrasena == null) {
+            return false;
+        }
+        if (codificado == null) {
+            comparar(contrasena, ficticio());
+            return false;
+        }
+        byte[] huella = null;
+        if (vigenciaNanos > 0) {
+            huella = huella(contrasena);
+            Verificada verificada = verificadas.get(clave);
+            if (verificada != null && verificada.esVigente(codificado) && MessageDigest.isEqual(verificada.huella, huella)) {
+                return true;
+            }
+        }
+        boolean correcta = comparar(contrasena, codificado);
+        if (correcta && huella != null) {
+            recordar(clave, new Verificada(codificado, huella, System.nanoTime() + vigenciaNanos));
+        }
+        return correcta;
+    }
+
+    /**
+     * Quita de la caché la verificación de una clave, por ejemplo al eliminar el usuario.
+     *
+     * @param clave La clave de la caché.
+     */
+    public void olvidar(String clave) {
+        verificadas.remove(clave);
+    }
+
+    /**
+     * Calcula el hash de la contraseña con la sal y el costo del hash codificado y los
+     * compara en tiempo constante.
+     */
+    private boolean comparar(String contrasena, String codificado) {
+        String[] partes = codificado.split("\\$");
+        if (partes.length != 4 || !partes[0].equals(PREFIJO)) {
+            throw new IllegalArgumentException("Hash de contraseña con formato desconocido");
+        }
+        int costo = Integer.parseInt(partes[1]);
+        byte[] sal = Base64.getDecoder().decode(partes[2]);
+        byte[] esperado = Base64.getDecoder().decode(partes[3]);
+        byte[] calculado = enGrupo(() -> pbkdf2(contrasena, sal, costo));
+        return MessageDigest.isEqual(esperado, calculado);
+    }
+
+    /**
+     * Guarda una verificación en la caché. Si la caché está llena, primero quita las
+     * vencidas; si sigue llena, no guarda la nueva.
+     */
+    private void recordar(String clave, Verificada verificada) {
+        if (verificadas.size() >= MAXIMO_CACHE) {
+            long ahora = System.nanoTime();
+            verificadas.values().removeIf(v -> v.vence - ahora <= 0);
+            if (verificadas.size() >= MAXIMO_CACHE) {
+                return;
+            }
+        }
+        verificadas.put(clave, verificada);
+    }
+
+    /**
+     * Devuelve el hash con el que se comparan las claves sin hash, creándolo la primera vez.
+     */
+    private String ficticio() {
+        String hash = ficticio;
+        if (hash == null) {
+            hash = generar("");
+            ficticio = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Ejecuta un cálculo en el grupo de hilos de hash y espera su resultado.
+     */
+    private static byte[] enGrupo(Supplier<byte[]> calculo) {
+        try {
+            return CompletableFuture.supplyAsync(calculo, HILOS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Calcula PBKDF2 con HMAC-SHA256.
+     */
+    private static byte[] pbkdf2(String contrasena, byte[] sal, int iteraciones) {
+        PBEKeySpec especificacion = new PBEKeySpec(contrasena.toCharArray(), sal, iteraciones, BITS_HASH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(especificacion).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("El JDK no ofrece " + ALGORITMO, e);
+        } finally {
+            especificacion.clearPassword();
+        }
+    }
+
+    /**
+     * Calcula el HMAC de la contraseña con la clave del proceso. Es barato y no permite
+     * recuperar la contraseña sin la clave.
+     */
+    private static byte[] huella(String contrasena) {
+        return HUELLAS.get().doFinal(contrasena.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Genera bytes aleatorios criptográficamente seguros.
+     */
+    private static byte[] bytesAleatorios(int cantidad) {
+        byte[] bytes = new byte[cantidad];
+        ALEATORIO.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Crea el HMAC de las huellas de un hilo.
+     */
+    private static Mac crearMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(CLAVE_HUELLAS, "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("El JDK no ofrece HmacSHA256", e);
+        }
+    }
+
+    /**
+     * Crea el grupo acotado de hilos de hash.
+     */
+    private static ExecutorService crearHilos() {
+        int hilos = Integer.getInteger("contrasena.hilos", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        ThreadPoolExecutor grupo = new ThreadPoolExecutor(hilos, hilos, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256), Thread.ofPlatform().daemon().name("hash-contrasena-", 0).factory());
+        grupo.allowCoreThreadTimeOut(true);
+        return grupo;
+    }
+
+    /**
+     * Una verificación correcta recordada en la caché.
+     */
+    private static final class Verificada {
+        private final String codificado;
+        private final byte[] huella;
+        private final long vence;
+
+        private Verificada(String codificado, byte[] huella, long vence) {
+            this.codificado = codificado;
+            this.huella = huella;
+            this.vence = vence;
+        }
+
+        private boolean esVigente(String codificadoActual) {
+            return System.nanoTime() - vence < 0 && codificado.equals(codificadoActual);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package ec.edu.ups.util;
+
+import javax.imageio.ImageIO;
+import javax.swing.AbstractButton;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * La clase **Iconos** es el registro de íconos de la aplicación. Cada imagen de la
+ * carpeta `imagenes` se lee y decodifica una sola vez, en un hilo virtual, y todas las
+ * vistas comparten el mismo {@link ImageIcon}. Las versiones escaladas se generan a
+ * partir de la imagen ya decodificada y también se guardan, una por tamaño.
+ * <p>
+ * Los íconos se identifican por el nombre del archivo sin extensión (por ejemplo
+ * `"buscar"` para `imagenes/buscar.png`). {@link #asignar(AbstractButton, String)} no
+ * bloquea el EDT: si el ícono todavía se está cargando, lo pone en el botón cuando
+ * termina. Si una imagen no existe, se informa una vez por la salida de error.
+ */
+public final class Iconos {
+
+    private static final String[] NOMBRES = {
+            "aceptar", "anadir", "buscar", "confusion", "detalles", "editar", "eliminar",
+            "finalizar", "guardar", "limpiar", "listar", "login", "registrarse", "salir"
+    };
+
+    private static final ExecutorService HILOS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("icono-", 0).factory());
+    private static final Map<String, CompletableFuture<ImageIcon>> ICONOS = new ConcurrentHashMap<>();
+
+    private Iconos() {
+    }
+
+    /**
+     * Inicia en paralelo la carga de todos los íconos de la aplicación.
+     *
+     * @return Un futuro que se completa cuando todos los íconos están decodificados.
+     */
+    public static CompletableFuture<Void> precargar() {
+        List<CompletableFuture<ImageIcon>> cargas = new ArrayList<>();
+        for (String nombre : NOMBRES) {
+            cargas.add(cargar(nombre));
+        }
+        return CompletableFuture.allOf(cargas.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Obtiene un ícono en su tamaño original, iniciando su carga si es necesario.
+     *
+     * @param nombre El nombre de la imagen, sin carpeta ni extensión.
+     * @return Un futuro con el ícono, o con null si la imagen no existe o no se pudo leer.
+     */
+    public static CompletableFuture<ImageIcon> cargar(String nombre) {
+        return ICONOS.computeIfAbsent(nombre, clave -> CompletableFuture.supplyAsync(() -> leer(nombre), HILOS));
+    }
+
+    /**
+     * Obtiene un ícono escalado para que su lado mayor mida el tamaño dado. La versión
+     * escalada se genera una sola vez a partir de la imagen original.
+     *
+     * @param nombre El nombre de la imagen, sin carpeta ni extensión.
+     * @param tamano El tamaño del lado mayor, en píxeles.
+     * @return Un futuro con el ícono escalado, o con null si la imagen no existe.
+     */
+    public static CompletableFuture<ImageIcon> cargar(String nombre, int tamano) {
+        CompletableFuture<ImageIcon> original = cargar(nombre);
+        return ICONOS.computeIfAbsent(nombre + "@" + tamano,
+                clave -> original.thenApplyAsync(icono -> escalar(icono, tamano), HILOS));
+    }
+
+    /**
+     * Pone un ícono en su tamaño original en un botón. Debe llamarse desde el EDT.
+     *
+     * @param boton El botón que muestra el ícono.
+     * @param nombre El nombre de la imagen, sin carpeta ni extensión.
+     */
+    public static void asignar(AbstractButton boton, String nombre) {
+        asignar(boton, cargar(nombre));
+    }
+
+    /**
+     * Pone un ícono escalado en un botón. Debe llamarse desde el EDT.
+     *
+     * @param boton El botón que muestra el ícono.
+     * @param nombre El nombre de la imagen, sin carpeta ni extensión.
+     * @param tamano El tamaño del lado mayor, en píxeles.
+     */
+    public static void asignar(AbstractButton boton, String nombre, int tamano) {
+        asignar(boton, cargar(nombre, tamano));
+    }
+
+    /**
+     * Pone el ícono en el botón ahora si ya está cargado, o en el EDT cuando termine de cargarse.
+     */
+    private static void asignar(AbstractButton boton, CompletableFuture<ImageIcon> icono) {
+        if (icono.isDone()) {
+            ImageIcon listo = icono.join();
+            if (listo != null) {
+                boton.setIcon(listo);
+            }
+            return;
+        }
+        icono.thenAccept(listo -> {
+            if (listo != null) {
+                SwingUtilities.invokeLater(() -> boton.setIcon(listo));
+            }
+        });
+    }
+
+    /**
+     * Lee y decodifica una imagen de la carpeta `imagenes`.
+     */
+    private static ImageIcon leer(String nombre) {
+        String ruta = "imagenes/" + nombre + ".png";
+        URL recurso = Iconos.class.getClassLoader().getResource(ruta);
+        if (recurso == null) {
+            System.err.println("Error: No se pudo cargar el icono '" + nombre + ".png'");
+            return null;
+        }
+        try {
+            BufferedImage imagen = ImageIO.read(recurso);
+            if (imagen != null) {
+                return new ImageIcon(imagen);
+            }
+        } catch (IOException e) {
+            // Se informa igual que un recurso inexistente
+        }
+        System.err.println("Error: No se pudo leer el icono '" + nombre + ".png'");
+        return null;
+    }
+
+    /**
+     * Escala un ícono con interpolación bilineal conservando su proporción.
+     */
+    private static ImageIcon escalar(ImageIcon icono, int tamano) {
+        if (icono == null) {
+            return null;
+        }
+        int ancho = icono.getIconWidth();
+        int alto = icono.getIconHeight();
+        double factor = (double) tamano / Math.max(ancho, alto);
+        int nuevoAncho = Math.max(1, (int) Math.round(ancho * factor));
+        int nuevoAlto = Math.max(1, (int) Math.round(alto * factor));
+        BufferedImage escalada = new BufferedImage(nuevoAncho, nuevoAlto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = escalada.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(icono.getImage(), 0, 0, nuevoAncho, nuevoAlto, null);
+        } finally {
+            g.dispose();
+        }
+        return new ImageIcon(escalada);
+    }
+}
@@ -0,0 +1,420 @@
+package ec.edu.ups.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * La clase **IndiceInvertido** asocia palabras normalizadas (en minúsculas y sin
+ * tildes) con listas de códigos enteros. Se usa para buscar productos por nombre
+ * sin recorrer todo el catálogo. Cada palabra de una consulta debe aparecer en el
+ * texto indexado (búsqueda AND) y una palabra terminada en `*` se trata como prefijo,
+ * por ejemplo "lech*" encuentra "leche" y "lechuga".
+ * El índice se actualiza de forma incremental con {@link #indexar} y {@link #eliminar}.
+ */
+public class IndiceInvertido {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}*]+");
+    private static final int[] SIN_RESULTADOS = new int[0];
+
+    private final TreeMap<String, ListaCodigos> listasPorPalabra;
+    private final MapaEnterosOrdenado<String[]> palabrasPorCodigo;
+
+    /**
+     * Constructor por defecto. Crea un índice vacío.
+     */
+    public IndiceInvertido() {
+        listasPorPalabra = new TreeMap<>();
+        palabrasPorCodigo = new MapaEnterosOrdenado<>();
+    }
+
+    /**
+     * Indexa el texto asociado a un código. Si el código ya estaba indexado,
+     * primero se retiran las palabras anteriores, de modo que sirve tanto para
+     * altas como para actualizaciones.
+     *
+     * @param codigo El código al que pertenece el texto.
+     * @param texto El texto a indexar.
+     */
+    public void indexar(int codigo, String texto) {
+        eliminar(codigo);
+        String[] palabras = tokenizar(texto);
+        for (String palabra : palabras) {
+            listasPorPalabra.computeIfAbsent(palabra, p -> new ListaCodigos()).agregar(codigo);
+        }
+        palabrasPorCodigo.put(codigo, palabras);
+    }
+
+    /**
+     * Retira del índice todas las palabras asociadas a un código.
+     *
+     * @param codigo El código a eliminar.
+     */
+    public void eliminar(int codigo) {
+        String[] palabras = palabrasPorCodigo.remove(codigo);
+        if (palabras == null) {
+            return;
+        }
+        for (String palabra : palabras) {
+            ListaCodigos lista = listasPorPalabra.get(palabra);
+            if (lista != null) {
+                lista.quitar(codigo);
+                if (lista.vivos() == 0) {
+                    listasPorPalabra.remove(palabra);
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca los códigos cuyo texto contiene todas las palabras de la consulta.
+     *
+     * @param consulta Las palabras a buscar; las que terminan en `*` se tratan como prefijo.
+     * @return Los códigos encontrados en orden ascendente. Puede estar vacío.
+     */
+    public int[] buscar(String consulta) {
+        String[] terminos = tokenizar(consulta);
+        if (terminos.length == 0) {
+            return SIN_RESULTADOS;
+        }
+        List<ListaCodigos> listas = new ArrayList<>(terminos.length);
+        for (String termino : terminos) {
+            ListaCodigos lista = codigosDe(termino);
+            if (lista == null || lista.tamano == 0) {
+                return SIN_RESULTADOS;
+            }
+            listas.add(lista);
+        }
+        listas.sort((a, b) -> Integer.compare(a.tamano, b.tamano));
+        int[] resultado = Arrays.copyOf(listas.get(0).codigos, listas.get(0).tamano);
+        for (int i = 1; i < listas.size() && resultado.length > 0; i++) {
+            resultado = intersecar(resultado, listas.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Pasa un texto a minúsculas y le quita las tildes y demás marcas diacríticas.
+     *
+     * @param texto El texto a normalizar.
+     * @return El texto normalizado.
+     */
+    public static String normalizar(String texto) {
+        if (esAscii(texto)) {
+            return texto.toLowerCase(Locale.ROOT);
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indica si el texto solo tiene caracteres ASCII, que no llevan marcas diacríticas.
+     */
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Normaliza un texto y lo divide en palabras sin repetir.
+     *
+     * @param texto El texto a dividir.
+     * @return Las palabras normalizadas en el orden en que aparecen.
+     */
+    public static String[] tokenizar(String texto) {
+        if (texto == null) {
+            return new String[0];
+        }
+        Set<String> palabras = new LinkedHashSet<>();
+        for (String palabra : SEPARADORES.split(normalizar(texto))) {
+            if (!palabra.isEmpty() && !palabra.equals("*")) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras.toArray(new String[0]);
+    }
+
+    /**
+     * Indica si un texto contiene todos los términos de una consulta ya tokenizada,
+     * con la misma regla que {@link #buscar}: cada término debe ser una palabra del
+     * texto o, si termina en `*`, el prefijo de alguna. Sirve para filtrar textos
+     * que no están indexados y recorre el texto una sola vez sin dividirlo.
+     *
+     * @param terminos Los términos obtenidos con {@link #tokenizar}.
+     * @param texto El texto a evaluar.
+     * @return true si el texto contiene todos los términos, false en caso contrario.
+     */
+    public static boolean coincide(String[] terminos, String texto) {
+        if (terminos.length == 0 || texto == null) {
+            return false;
+        }
+        String normalizado = normalizar(texto);
+        boolean[] encontrados = new boolean[terminos.length];
+        int faltantes = terminos.length;
+        int inicio = 0;
+        while (inicio < normalizado.length() && faltantes > 0) {
+            if (!esCaracterDePalabra(normalizado.charAt(inicio))) {
+                inicio++;
+                continue;
+            }
+            int fin = inicio;
+            while (fin < normalizado.length() && esCaracterDePalabra(normalizado.charAt(fin))) {
+                fin++;
+            }
+            for (int i = 0; i < terminos.length; i++) {
+                if (!encontrados[i] && coincidePalabra(terminos[i], normalizado, inicio, fin)) {
+                    encontrados[i] = true;
+                    faltantes--;
+                }
+            }
+            inicio = fin;
+        }
+        return faltantes == 0;
+    }
+
+    /**
+     * Indica si la palabra `texto[inicio, fin)` es igual al término o, si el término
+     * termina en `*`, si comienza con él.
+     */
+    private static boolean coincidePalabra(String termino, String texto, int inicio, int fin) {
+        boolean prefijo = termino.endsWith("*");
+        int longitud = prefijo ? termino.length() - 1 : termino.length();
+        if (prefijo ? fin - inicio < longitud : fin - inicio != longitud) {
+            return false;
+        }
+        return texto.regionMatches(inicio, termino, 0, longitud);
+    }
+
+    /**
+     * Indica si el carácter forma parte de una palabra: letras, números y `*`,
+     * igual que el patrón de separadores usado por {@link #tokenizar}.
+     */
+    private static boolean esCaracterDePalabra(char c) {
+        if (c == '*' || Character.isLetter(c)) {
+            return true;
+        }
+        int tipo = Character.getType(c);
+        return tipo == Character.DECIMAL_DIGIT_NUMBER || tipo == Character.LETTER_NUMBER
+                || tipo == Character.OTHER_NUMBER;
+    }
+
+    /**
+     * Obtiene la lista ordenada de códigos de un término, uniendo las listas de
+     * todas las palabras que comienzan con él cuando se trata de un prefijo.
+     */
+    private ListaCodigos codigosDe(String termino) {
+        String palabra = termino.replace("*", "");
+        if (!termino.endsWith("*")) {
+            ListaCodigos lista = listasPorPalabra.get(palabra);
+            if (lista != null) {
+                lista.ordenar();
+            }
+            return lista;
+        }
+        Map<String, ListaCodigos> coincidencias =
+                listasPorPalabra.subMap(palabra, true, palabra + Character.MAX_VALUE, false);
+        if (coincidencias.isEmpty()) {
+            return null;
+        }
+        ListaCodigos[] listas = coincidencias.values().toArray(new ListaCodigos[0]);
+        for (ListaCodigos lista : listas) {
+            lista.ordenar();
+        }
+        return listas.length == 1 ? listas[0] : unir(listas);
+    }
+
+    /**
+     * Intersección de un arreglo ordenado con una lista ordenada, buscando cada
+     * código del arreglo en la lista con búsqueda binaria.
+     */
+    private static int[] intersecar(int[] menor, ListaCodigos mayor) {
+        int[] resultado = new int[menor.length];
+        int n = 0;
+        int desde = 0;
+        for (int codigo : menor) {
+            int posicion = Arrays.binarySearch(mayor.codigos, desde, mayor.tamano, codigo);
+            if (posicion >= 0) {
+                resultado[n++] = codigo;
+                desde = posicion + 1;
+            } else {
+                desde = -posicion - 1;
+            }
+            if (desde >= mayor.tamano) {
+                break;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Unión sin repetidos de varias listas ordenadas en una sola pasada (mezcla de k
+     * vías): un montículo guarda la lista cuyo código actual es el menor, así unir k
+     * listas con n códigos en total cuesta O(n log k) en lugar de volver a copiar la
+     * unión parcial por cada lista.
+     */
+    private static ListaCodigos unir(ListaCodigos[] listas) {
+        int total = 0;
+        for (ListaCodigos lista : listas) {
+            total += lista.tamano;
+        }
+        ListaCodigos union = new ListaCodigos(total);
+        int[] resultado = union.codigos;
+        int[] posiciones = new int[listas.length];
+        int[] monticulo = new int[listas.length];
+        int k = 0;
+        for (int i = 0; i < listas.length; i++) {
+            if (listas[i].tamano > 0) {
+                monticulo[k++] = i;
+            }
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            hundir(monticulo, k, i, listas, posiciones);
+        }
+        int n = 0;
+        while (k > 0) {
+            int menor = monticulo[0];
+            int codigo = listas[menor].codigos[posiciones[menor]];
+            if (n == 0 || resultado[n - 1] != codigo) {
+                resultado[n++] = codigo;
+            }
+            if (++posiciones[menor] == listas[menor].tamano) {
+                monticulo[0] = monticulo[--k];
+            }
+            if (k > 0) {
+                hundir(monticulo, k, 0, listas, posiciones);
+            }
+        }
+        union.tamano = n;
+        return union;
+    }
+
+    /**
+     * Baja un elemento del montículo de listas hasta que su código actual no sea
+     * mayor que el de sus hijos.
+     */
+    private static void hundir(int[] monticulo, int k, int i, ListaCodigos[] listas, int[] posiciones) {
+        int elemento = monticulo[i];
+        int codigo = listas[elemento].codigos[posiciones[elemento]];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= k) {
+                break;
+            }
+            int codigoHijo = listas[monticulo[hijo]].codigos[posiciones[monticulo[hijo]]];
+            if (hijo + 1 < k) {
+                int codigoDerecho = listas[monticulo[hijo + 1]].codigos[posiciones[monticulo[hijo + 1]]];
+                if (codigoDerecho < codigoHijo) {
+                    hijo++;
+                    codigoHijo = codigoDerecho;
+                }
+            }
+            if (codigo <= codigoHijo) {
+                break;
+            }
+            monticulo[i] = monticulo[hijo];
+            i = hijo;
+        }
+        monticulo[i] = elemento;
+    }
+
+    /**
+     * Lista de códigos de una palabra. Las altas se agregan al final y las bajas se
+     * anotan aparte; la lista se ordena y se le quitan las bajas en una sola pasada
+     * solo cuando se consulta, para que tanto la carga masiva como el borrado masivo
+     * sean lineales.
+     */
+    private static class ListaCodigos {
+        private int[] codigos;
+        private int tamano;
+        private boolean ordenada = true;
+        private int[] quitados;
+        private int cantidadQuitados;
+
+        private ListaCodigos() {
+            this(4);
+        }
+
+        private ListaCodigos(int capacidad) {
+            codigos = new int[Math.max(4, capacidad)];
+        }
+
+        private void agregar(int codigo) {
+            if (tamano == codigos.length) {
+                codigos = Arrays.copyOf(codigos, tamano << 1);
+            }
+            if (tamano > 0 && codigos[tamano - 1] >= codigo) {
+                ordenada = false;
+            }
+            codigos[tamano++] = codigo;
+        }
+
+        /**
+         * Anota la baja de un código que está en la lista. Si las bajas anotadas llegan
+         * a la mitad de la lista se aplican de inmediato, para no retener memoria.
+         */
+        private void quitar(int codigo) {
+            if (quitados == null) {
+                quitados = new int[4];
+            } else if (cantidadQuitados == quitados.length) {
+                quitados = Arrays.copyOf(quitados, cantidadQuitados << 1);
+            }
+            quitados[cantidadQuitados++] = codigo;
+            if (cantidadQuitados * 2 >= tamano) {
+                ordenar();
+            }
+        }
+
+        /**
+         * Obtiene la cantidad de códigos de la lista sin contar las bajas pendientes.
+         */
+        private int vivos() {
+            return tamano - cantidadQuitados;
+        }
+
+        private void ordenar() {
+            if (!ordenada) {
+                Arrays.sort(codigos, 0, tamano);
+                ordenada = true;
+            }
+            if (cantidadQuitados > 0) {
+                aplicarQuitados();
+            }
+        }
+
+        /**
+         * Retira de la lista ordenada los códigos anotados como bajas, recorriendo
+         * ambas listas una sola vez. Cada baja retira una sola aparición del código.
+         */
+        private void aplicarQuitados() {
+            Arrays.sort(quitados, 0, cantidadQuitados);
+            int n = 0;
+            int j = 0;
+            for (int i = 0; i < tamano; i++) {
+                int codigo = codigos[i];
+                while (j < cantidadQuitados && quitados[j] < codigo) {
+                    j++;
+                }
+                if (j < cantidadQuitados && quitados[j] == codigo) {
+                    j++;
+                } else {
+                    codigos[n++] = codigo;
+                }
+            }
+            tamano = n;
+            quitados = null;
+            cantidadQuitados = 0;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package ec.edu.ups.util;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * La clase **LimitadorIntentos** limita la frecuencia de una operación por clave con una
+ * cubeta de fichas por clave: cada intento gasta una ficha, la cubeta guarda como mucho
+ * `capacidad` fichas y recupera una cada `milisegundosPorFicha`. Así se permiten ráfagas
+ * cortas y un ritmo sostenido, y se rechaza lo que supere ese ritmo.
+ * <p>
+ * El estado de cada cubeta (fichas y último instante de recarga) cabe en un solo `long`
+ * que se actualiza con compare-and-set, sin candados. Una cubeta que quedó sin usar el
+ * tiempo suficiente para llenarse de nuevo es igual a una cubeta nueva, así que se
+ * descarta: cada cubeta se anota una sola vez en una rueda de tiempo según su
+ * vencimiento, y cada intento avanza la rueda. Al barrer una ranura se quitan las
+ * cubetas vencidas y las que se usaron mientras tanto se vuelven a anotar según su
+ * último uso. Cada intento cuesta O(1) amortizado y no hace falta ningún hilo de limpieza.
+ * <p>
+ * La memoria queda acotada por `maximoClaves`: cuando se alcanza, las claves nuevas
+ * comparten una única cubeta de desborde con los mismos límites, que se agota enseguida
+ * si llegan muchas claves distintas a la vez.
+ */
+public final class LimitadorIntentos {
+
+    private static final int RANURAS = 64;
+    private static final int BITS_FICHAS = 20;
+    private static final long MASCARA_FICHAS = (1L << BITS_FICHAS) - 1;
+    private static final long MILI_FICHA = 1000;
+    private static final long RETIRADA = -1;
+    private static final long ORIGEN = System.nanoTime();
+
+    private final long capacidadMiliFichas;
+    private final long milisegundosPorFicha;
+    private final int maximoClaves;
+    private final long vida;
+    private final long resolucion;
+    private final LongSupplier reloj;
+
+    private final Map<String, Cubeta> cubetas = new ConcurrentHashMap<>();
+    private final Cubeta desborde;
+    @SuppressWarnings("unchecked")
+    private final Queue<Cubeta>[] rueda = (Queue<Cubeta>[]) new Queue<?>[RANURAS];
+    private final AtomicLong ranuraProcesada;
+
+    private final LongAdder aceptados = new LongAdder();
+    private final LongAdder rechazados = new LongAdder();
+    private final LongAdder desbordes = new LongAdder();
+
+    /**
+     * Constructor de LimitadorIntentos.
+     *
+     * @param capacidad La cantidad máxima de intentos seguidos por clave (tamaño de la ráfaga).
+     * @param milisegundosPorFicha Cada cuántos milisegundos se recupera un intento.
+     * @param maximoClaves La cantidad máxima de claves con cubeta propia.
+     */
+    public LimitadorIntentos(int capacidad, long milisegundosPorFicha, int maximoClaves) {
+        this(capacidad, milisegundosPorFicha, maximoClaves, LimitadorIntentos::ahora);
+    }
+
+    /**
+     * Constructor con un reloj propio, en milisegundos no negativos, para poder simular
+     * el paso del tiempo.
+     */
+    LimitadorIntentos(int capacidad, long milisegundosPorFicha, int maximoClaves, LongSupplier reloj) {
+        if (capacidad < 1 || capacidad * MILI_FICHA > MASCARA_FICHAS || milisegundosPorFicha < 1 || maximoClaves < 1) {
+            throw new IllegalArgumentException("Capacidad, recarga o máximo de claves fuera de rango");
+        }
+        this.capacidadMiliFichas = capacidad * MILI_FICHA;
+        this.milisegundosPorFicha = milisegundosPorFicha;
+        this.maximoClaves = maximoClaves;
+        this.vida = capacidad * milisegundosPorFicha;
+        this.resolucion = Math.max(1, (vida + RANURAS - 3) / (RANURAS - 2));
+        this.reloj = reloj;
+        for (int i = 0; i < RANURAS; i++) {
+            rueda[i] = new ConcurrentLinkedQueue<>();
+        }
+        long inicio = reloj.getAsLong();
+        this.desborde = new Cubeta(null, inicio, capacidadMiliFichas);
+        this.ranuraProcesada = new AtomicLong(inicio / resolucion);
+    }
+
+    /**
+     * Intenta gastar una ficha de la cubeta de la clave.
+     *
+     * @param clave La clave limitada, por ejemplo una cédula o un origen.
+     * @return true si el intento está permitido, false si la clave superó su ritmo.
+     */
+    public boolean intentar(String clave) {
+        long ahora = reloj.getAsLong();
+        avanzar(ahora);
+        boolean permitido;
+        while (true) {
+            Cubeta cubeta = cubeta(clave, ahora);
+            int resultado = cubeta.gastar(ahora);
+            if (resultado == Cubeta.RETIRADA_CONCURRENTE) {
+                cubetas.remove(clave, cubeta);
+                continue;
+            }
+            permitido = resultado == Cubeta.PERMITIDO;
+            if (cubeta != desborde && cubeta.ranura.get() == 0) {
+                programar(cubeta, ahora);
+            }
+            break;
+        }
+        (permitido ? aceptados : rechazados).increment();
+        return permitido;
+    }
+
+    /**
+     * Devuelve la cantidad de intentos permitidos desde que se creó el limitador.
+     *
+     * @return El total de intentos aceptados.
+     */
+    public long getAceptados() {
+        return aceptados.sum();
+    }
+
+    /**
+     * Devuelve la cantidad de intentos rechazados desde que se creó el limitador.
+     *
+     * @return El total de intentos rechazados.
+     */
+    public long getRechazados() {
+        return rechazados.sum();
+    }
+
+    /**
+     * Devuelve la cantidad de intentos de claves nuevas que usaron la cubeta de desborde
+     * porque se había alcanzado el máximo de claves.
+     *
+     * @return El total de intentos desbordados.
+     */
+    public long getDesbordes() {
+        return desbordes.sum();
+    }
+
+    /**
+     * Devuelve la cantidad de claves con cubeta propia en este momento.
+     *
+     * @return El número de claves guardadas.
+     */
+    public int getClaves() {
+        return cubetas.size();
+    }
+
+    /**
+     * Devuelve la cubeta de la clave, creándola llena si no existe, o la de desborde si
+     * ya no caben más claves.
+     */
+    private Cubeta cubeta(String clave, long ahora) {
+        Cubeta cubeta = cubetas.get(clave);
+        if (cubeta != null) {
+            return cubeta;
+        }
+        if (cubetas.size() >= maximoClaves) {
+            desbordes.increment();
+            return desborde;
+        }
+        return cubetas.computeIfAbsent(clave, k -> new Cubeta(k, ahora, capacidadMiliFichas));
+    }
+
+    /**
+     * Anota la cubeta en la ranura de la rueda en la que vencería si no se vuelve a usar.
+     * Una cubeta solo avanza de ranura y solo el hilo que la mueve la agrega a la cola,
+     * así cada cubeta está anotada una sola vez.
+     */
+    private void programar(Cubeta cubeta, long desde) {
+        long nueva = (desde + vida) / resolucion + 1;
+        long actual = cubeta.ranura.get();
+        if (nueva > actual && cubeta.ranura.compareAndSet(actual, nueva)) {
+            rueda[(int) (nueva % RANURAS)].add(cubeta);
+        }
+    }
+
+    /**
+     * Barre las ranuras de la rueda que quedaron atrás. Un solo hilo reclama el tramo
+     * pendiente con un compare-and-set; los demás siguen sin esperar. Si pasó más de
+     * una vuelta, cada ranura se barre una sola vez.
+     */
+    private void avanzar(long ahora) {
+        long objetivo = ahora / resolucion;
+        long procesada = ranuraProcesada.get();
+        if (procesada >= objetivo || !ranuraProcesada.compareAndSet(procesada, objetivo)) {
+            return;
+        }
+        for (long ranura = Math.max(procesada + 1, objetivo - RANURAS + 1); ranura <= objetivo; ranura++) {
+            barrer((int) (ranura % RANURAS), ahora, objetivo);
+        }
+    }
+
+    /**
+     * Quita de una ranura las cubetas vencidas. Las que vencen en una vuelta posterior
+     * se dejan y las que aún no vencen porque se usaron hace poco se vuelven a programar.
+     */
+    private void barrer(int indice, long ahora, long objetivo) {
+        Queue<Cubeta> cola = rueda[indice];
+        for (int pendientes = cola.size(); pendientes > 0; pendientes--) {
+            Cubeta cubeta = cola.poll();
+            if (cubeta == null) {
+                return;
+            }
+            long ranura = cubeta.ranura.get();
+            if (ranura % RANURAS != indice || cubeta.estaRetirada()) {
+                continue;
+            }
+            if (ranura > objetivo) {
+                cola.add(cubeta);
+            } else if (cubeta.retirarSiVencida(ahora, vida)) {
+                cubetas.remove(cubeta.clave, cubeta);
+            } else {
+                programar(cubeta, cubeta.ultimoUso());
+            }
+        }
+    }
+
+    /**
+     * Milisegundos de un reloj monótono.
+     */
+    private static long ahora() {
+        return (System.nanoTime() - ORIGEN) / 1_000_000;
+    }
+
+    /**
+     * La cubeta de fichas de una clave. El estado guarda en un solo `long` el instante
+     * de la última recarga (bits altos) y las milésimas de ficha disponibles (bits bajos).
+     */
+    private final class Cubeta {
+        static final int PERMITIDO = 0;
+        static final int RECHAZADO = 1;
+        static final int RETIRADA_CONCURRENTE = 2;
+
+        private final String clave;
+        private final AtomicLong estado;
+        private final AtomicLong ranura = new AtomicLong();
+
+        private Cubeta(String clave, long ahora, long miliFichas) {
+            this.clave = clave;
+            this.estado = new AtomicLong(empaquetar(ahora, miliFichas));
+        }
+
+        /**
+         * Recarga las fichas según el tiempo transcurrido e intenta gastar una.
+         */
+        private int gastar(long ahora) {
+            while (true) {
+                long actual = estado.get();
+                if (actual == RETIRADA) {
+                    return RETIRADA_CONCURRENTE;
+                }
+                long instante = actual >>> BITS_FICHAS;
+                long transcurrido = Math.max(0, ahora - instante);
+                long miliFichas = Math.min(capacidadMiliFichas,
+                        (actual & MASCARA_FICHAS) + transcurrido * MILI_FICHA / milisegundosPorFicha);
+                if (miliFichas < MILI_FICHA) {
+                    return RECHAZADO;
+                }
+                long nuevo = empaquetar(Math.max(ahora, instante), miliFichas - MILI_FICHA);
+                if (estado.compareAndSet(actual, nuevo)) {
+                    return PERMITIDO;
+                }
+            }
+        }
+
+        /**
+         * Retira la cubeta si nadie la usó durante su vida completa, es decir, si ya
+         * está llena otra vez. Falla si alguien la usa al mismo tiempo.
+         */
+        private boolean retirarSiVencida(long ahora, long vida) {
+            long actual = estado.get();
+            if (actual == RETIRADA || ahora - (actual >>> BITS_FICHAS) < vida) {
+                return false;
+            }
+            return estado.compareAndSet(actual, RETIRADA);
+        }
+
+        /**
+         * Indica si la cubeta ya fue retirada del limitador.
+         */
+        private boolean estaRetirada() {
+            return estado.get() == RETIRADA;
+        }
+
+        /**
+         * Devuelve el instante de la última recarga.
+         */
+        private long ultimoUso() {
+            return estado.get() >>> BITS_FICHAS;
+        }
+
+        private long empaquetar(long instante, long miliFichas) {
+            return (instante << BITS_FICHAS) | miliFichas;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ec.edu.ups.util;
+
+/**
+ * La clase **LimitadorLogin** limita los intentos de inicio de sesión antes de que lleguen
+ * a la verificación de la contraseña, que es costosa. Usa dos {@link LimitadorIntentos}:
+ * uno por cédula, que frena los ataques contra una cuenta, y otro por origen (la terminal
+ * o la dirección remota), más permisivo, que frena a un mismo origen que prueba muchas
+ * cédulas distintas. Un intento se permite solo si ambos lo permiten.
+ * <p>
+ * Los límites por defecto se pueden cambiar con `-Dlogin.cedula.capacidad`,
+ * `-Dlogin.cedula.recarga`, `-Dlogin.origen.capacidad` y `-Dlogin.origen.recarga`
+ * (la recarga en milisegundos por intento), y el máximo de claves de cada uno con
+ * `-Dlogin.claves`.
+ */
+public final class LimitadorLogin {
+
+    private final LimitadorIntentos porCedula;
+    private final LimitadorIntentos porOrigen;
+
+    /**
+     * Constructor con los límites por defecto: 5 intentos seguidos por cédula y uno más
+     * cada 12 segundos, y 30 intentos seguidos por origen y uno más por segundo.
+     */
+    public LimitadorLogin() {
+        this(new LimitadorIntentos(Integer.getInteger("login.cedula.capacidad", 5),
+                        Long.getLong("login.cedula.recarga", 12_000), Integer.getInteger("login.claves", 100_000)),
+                new LimitadorIntentos(Integer.getInteger("login.origen.capacidad", 30),
+                        Long.getLong("login.origen.recarga", 1_000), Integer.getInteger("login.claves", 100_000)));
+    }
+
+    /**
+     * Constructor con limitadores propios.
+     *
+     * @param porCedula El limitador de intentos por cédula.
+     * @param porOrigen El limitador de intentos por origen.
+     */
+    public LimitadorLogin(LimitadorIntentos porCedula, LimitadorIntentos porOrigen) {
+        this.porCedula = porCedula;
+        this.porOrigen = porOrigen;
+    }
+
+    /**
+     * Registra un intento de inicio de sesión e indica si se permite. Primero se consulta
+     * el origen, así un origen bloqueado no gasta los intentos de las cédulas que prueba.
+     *
+     * @param cedula La cédula con la que se intenta iniciar sesión.
+     * @param origen El origen del intento, por ejemplo "local" o una dirección IP.
+     * @return true si el intento puede verificarse, false si se debe rechazar.
+     */
+    public boolean permitir(String cedula, String origen) {
+        return porOrigen.intentar(origen) && porCedula.intentar(cedula);
+    }
+
+    /**
+     * Devuelve el limitador de intentos por cédula, con sus métricas.
+     *
+     * @return El limitador por cédula.
+     */
+    public LimitadorIntentos getPorCedula() {
+        return porCedula;
+    }
+
+    /**
+     * Devuelve el limitador de intentos por origen, con sus métricas.
+     *
+     * @return El limitador por origen.
+     */
+    public LimitadorIntentos getPorOrigen() {
+        return porOrigen;
+    }
+
+    /**
+     * Devuelve un resumen de las métricas de ambos limitadores.
+     *
+     * @return Un texto con los intentos aceptados, rechazados y desbordados y las claves guardadas.
+     */
+    public String resumen() {
+        return "cedula " + resumen(porCedula) + "; origen " + resumen(porOrigen);
+    }
+
+    /**
+     * Resume las métricas de un limitador.
+     */
+    private static String resumen(LimitadorIntentos limitador) {
+        return "aceptados=" + limitador.getAceptados() + " rechazados=" + limitador.getRechazados()
+                + " desbordes=" + limitador.getDesbordes() + " claves=" + limitador.getClaves();
+    }
+}
@@ -0,0 +1,429 @@
+package ec.edu.ups.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * La clase **MapaEnterosOrdenado** es una tabla hash de direccionamiento abierto
+ * con claves primitivas `int` (sin boxing) que conserva el orden de inserción.
+ * Las entradas se guardan en arreglos densos (clave y valor) y la tabla hash solo
+ * almacena la posición de cada entrada dentro de esos arreglos. Las búsquedas,
+ * inserciones y eliminaciones son O(1) en promedio y el recorrido respeta el
+ * orden en que se insertaron las claves. No admite valores nulos.
+ * <p>
+ * {@link #copiar()} y {@link #flujo()} no copian los arreglos: los marcan como
+ * compartidos y la siguiente modificación trabaja sobre una copia (copia al escribir),
+ * de modo que la copia o el flujo siempre ven las entradas que había al crearlos.
+ *
+ * @param <V> El tipo de los valores almacenados.
+ */
+public class MapaEnterosOrdenado<V> {
+
+    private static final int VACIO = -1;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int[] tabla;
+    private int mascara;
+    private int[] claves;
+    private Object[] valores;
+    private int ocupados;
+    private int tamano;
+    private boolean compartido;
+
+    /**
+     * Constructor por defecto. Crea un mapa vacío con la capacidad inicial.
+     */
+    public MapaEnterosOrdenado() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un mapa vacío capaz de guardar la cantidad indicada de entradas sin redimensionarse.
+     *
+     * @param capacidadEsperada El número de entradas que se espera almacenar.
+     */
+    public MapaEnterosOrdenado(int capacidadEsperada) {
+        int capacidad = Integer.highestOneBit(Math.max(CAPACIDAD_INICIAL, capacidadEsperada) - 1) << 1;
+        inicializar(capacidad);
+    }
+
+    /**
+     * Crea un mapa que comparte los arreglos de otro. Lo usa {@link #copiar()}.
+     */
+    private MapaEnterosOrdenado(MapaEnterosOrdenado<V> original) {
+        tabla = original.tabla;
+        mascara = original.mascara;
+        claves = original.claves;
+        valores = original.valores;
+        ocupados = original.ocupados;
+        tamano = original.tamano;
+        compartido = true;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param clave La clave a buscar.
+     * @return El valor asociado, o null si la clave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int clave) {
+        int ranura = buscarRanura(clave);
+        return ranura < 0 ? null : (V) valores[tabla[ranura]];
+    }
+
+    /**
+     * Indica si el mapa contiene la clave dada.
+     *
+     * @param clave La clave a buscar.
+     * @return true si la clave existe, false en caso contrario.
+     */
+    public boolean containsKey(int clave) {
+        return buscarRanura(clave) >= 0;
+    }
+
+    /**
+     * Asocia un valor a una clave. Si la clave ya existía, su valor se reemplaza
+     * sin cambiar su posición en el orden de inserción.
+     *
+     * @param clave La clave.
+     * @param valor El valor a asociar (no puede ser null).
+     * @return El valor anterior, o null si la clave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        int ranura = buscarRanura(clave);
+        if (ranura >= 0) {
+            separar();
+            int posicion = tabla[ranura];
+            V anterior = (V) valores[posicion];
+            valores[posicion] = valor;
+            return anterior;
+        }
+        if (ocupados == claves.length) {
+            if (ocupados - tamano >= ocupados / 2) {
+                compactar();
+            } else {
+                redimensionar(claves.length << 1);
+            }
+        }
+        separar();
+        claves[ocupados] = clave;
+        valores[ocupados] = valor;
+        tabla[ranuraLibre(clave)] = ocupados;
+        ocupados++;
+        tamano++;
+        return null;
+    }
+
+    /**
+     * Elimina una clave y su valor del mapa. El resto de entradas conserva su orden.
+     *
+     * @param clave La clave a eliminar.
+     * @return El valor eliminado, o null si la clave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int clave) {
+        int ranura = buscarRanura(clave);
+        if (ranura < 0) {
+            return null;
+        }
+        separar();
+        int posicion = tabla[ranura];
+        V anterior = (V) valores[posicion];
+        valores[posicion] = null;
+        tamano--;
+        desplazarHaciaAtras(ranura);
+        if (tamano == 0) {
+            ocupados = 0;
+        }
+        return anterior;
+    }
+
+    /**
+     * Devuelve el número de entradas del mapa.
+     *
+     * @return La cantidad de claves almacenadas.
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Indica si el mapa está vacío.
+     *
+     * @return true si no hay entradas, false en caso contrario.
+     */
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    /**
+     * Elimina todas las entradas del mapa.
+     */
+    public void clear() {
+        separar();
+        Arrays.fill(tabla, VACIO);
+        Arrays.fill(valores, 0, ocupados, null);
+        ocupados = 0;
+        tamano = 0;
+    }
+
+    /**
+     * Devuelve una lista nueva con todos los valores en orden de inserción.
+     *
+     * @return La lista de valores.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> valores() {
+        List<V> lista = new ArrayList<>(tamano);
+        for (int i = 0; i < ocupados; i++) {
+            if (valores[i] != null) {
+                lista.add((V) valores[i]);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Devuelve una página de valores en orden de inserción. Si hubo eliminaciones desde
+     * la última compactación, los arreglos se compactan primero para que la página se
+     * obtenga por posición directa; así el costo es O(cantidad) salvo después de eliminar.
+     *
+     * @param desde La posición (en orden de inserción) del primer valor.
+     * @param cantidad La cantidad máxima de valores a devolver.
+     * @return La lista de valores de la página. Puede estar vacía.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> valores(int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La posición y la cantidad no pueden ser negativas");
+        }
+        if (ocupados != tamano) {
+            compactar();
+        }
+        int hasta = (int) Math.min(tamano, (long) desde + cantidad);
+        List<V> lista = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            lista.add((V) valores[i]);
+        }
+        return lista;
+    }
+
+    /**
+     * Recorre los valores en orden de inserción sin crear copias intermedias.
+     *
+     * @param accion La acción a ejecutar sobre cada valor.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> accion) {
+        for (int i = 0; i < ocupados; i++) {
+            if (valores[i] != null) {
+                accion.accept((V) valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Devuelve una copia del mapa en O(1). Ambos mapas comparten los arreglos hasta
+     * que alguno se modifica, momento en el que ese mapa copia los suyos.
+     *
+     * @return Un mapa con las mismas entradas, independiente de este.
+     */
+    public MapaEnterosOrdenado<V> copiar() {
+        MapaEnterosOrdenado<V> copia = new MapaEnterosOrdenado<>(this);
+        compartido = true;
+        return copia;
+    }
+
+    /**
+     * Devuelve un flujo con los valores en orden de inserción, sin copiarlos.
+     * Las modificaciones posteriores del mapa no afectan al flujo.
+     *
+     * @return El flujo de valores.
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<V> flujo() {
+        compartido = true;
+        Object[] compartidos = valores;
+        int limite = ocupados;
+        Spliterator<V> recorrido = new Spliterators.AbstractSpliterator<>(tamano,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            private int posicion;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super V> accion) {
+                while (posicion < limite) {
+                    Object valor = compartidos[posicion++];
+                    if (valor != null) {
+                        accion.accept((V) valor);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(recorrido, false);
+    }
+
+    /**
+     * Devuelve un arreglo nuevo con todas las claves en orden de inserción.
+     *
+     * @return El arreglo de claves.
+     */
+    public int[] claves() {
+        int[] resultado = new int[tamano];
+        int destino = 0;
+        for (int i = 0; i < ocupados; i++) {
+            if (valores[i] != null) {
+                resultado[destino++] = claves[i];
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula la ranura ideal de una clave dentro de la tabla hash.
+     */
+    private int ranuraIdeal(int clave) {
+        int h = clave * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Busca la ranura que apunta a la clave dada.
+     *
+     * @return La ranura encontrada, o -1 si la clave no existe.
+     */
+    private int buscarRanura(int clave) {
+        int ranura = ranuraIdeal(clave);
+        while (true) {
+            int posicion = tabla[ranura];
+            if (posicion == VACIO) {
+                return -1;
+            }
+            if (claves[posicion] == clave) {
+                return ranura;
+            }
+            ranura = (ranura + 1) & mascara;
+        }
+    }
+
+    /**
+     * Busca la primera ranura vacía a partir de la ranura ideal de la clave.
+     */
+    private int ranuraLibre(int clave) {
+        int ranura = ranuraIdeal(clave);
+        while (tabla[ranura] != VACIO) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    /**
+     * Libera una ranura desplazando hacia atrás las entradas siguientes del mismo
+     * grupo de sondeo, de modo que la tabla nunca necesita marcas de borrado.
+     */
+    private void desplazarHaciaAtras(int libre) {
+        int actual = libre;
+        while (true) {
+            actual = (actual + 1) & mascara;
+            int posicion = tabla[actual];
+            if (posicion == VACIO) {
+                break;
+            }
+            int ideal = ranuraIdeal(claves[posicion]);
+            boolean puedeMoverse = libre <= actual
+                    ? (ideal <= libre || ideal > actual)
+                    : (ideal <= libre && ideal > actual);
+            if (puedeMoverse) {
+                tabla[libre] = posicion;
+                libre = actual;
+            }
+        }
+        tabla[libre] = VACIO;
+    }
+
+    /**
+     * Elimina los huecos dejados por las entradas borradas y reconstruye la tabla hash.
+     */
+    private void compactar() {
+        separar();
+        int destino = 0;
+        for (int i = 0; i < ocupados; i++) {
+            if (valores[i] != null) {
+                claves[destino] = claves[i];
+                valores[destino] = valores[i];
+                destino++;
+            }
+        }
+        Arrays.fill(valores, destino, ocupados, null);
+        ocupados = destino;
+        reconstruirTabla();
+    }
+
+    /**
+     * Crea los arreglos con una nueva capacidad conservando las entradas vivas.
+     */
+    private void redimensionar(int capacidad) {
+        int[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        int ocupadosAnteriores = ocupados;
+        inicializar(capacidad);
+        for (int i = 0; i < ocupadosAnteriores; i++) {
+            if (valoresAnteriores[i] != null) {
+                claves[ocupados] = clavesAnteriores[i];
+                valores[ocupados] = valoresAnteriores[i];
+                ocupados++;
+            }
+        }
+        tamano = ocupados;
+        reconstruirTabla();
+    }
+
+    /**
+     * Reserva los arreglos densos y una tabla hash con el doble de ranuras
+     * para mantener el factor de carga por debajo de 0.5.
+     */
+    private void inicializar(int capacidad) {
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        tabla = new int[capacidad << 1];
+        mascara = tabla.length - 1;
+        Arrays.fill(tabla, VACIO);
+        ocupados = 0;
+        tamano = 0;
+        compartido = false;
+    }
+
+    /**
+     * Copia los arreglos si una copia o un flujo los está compartiendo, antes de modificarlos.
+     */
+    private void separar() {
+        if (compartido) {
+            tabla = tabla.clone();
+            claves = claves.clone();
+            valores = valores.clone();
+            compartido = false;
+        }
+    }
+
+    /**
+     * Vuelve a insertar en la tabla hash todas las posiciones de los arreglos densos.
+     */
+    private void reconstruirTabla() {
+        Arrays.fill(tabla, VACIO);
+        for (int i = 0; i < ocupados; i++) {
+            tabla[ranuraLibre(claves[i])] = i;
+        }
+    }
+}
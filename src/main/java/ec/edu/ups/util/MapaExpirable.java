@@ -0,0 +1,176 @@
+package ec.edu.ups.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * La clase **MapaExpirable** es un mapa concurrente cuyas entradas vencen tras un tiempo
+ * sin usarse. Buscar, poner y quitar cuestan O(1), como en el {@link ConcurrentHashMap}
+ * que usa por dentro, y cada búsqueda renueva el último uso de la entrada.
+ * <p>
+ * Una entrada vencida nunca se devuelve: {@link #obtener(Object)} la quita al
+ * encontrarla. Las entradas vencidas que nadie vuelve a buscar se quitan con
+ * {@link #expirar()}, que el dueño del mapa llama periódicamente.
+ * <p>
+ * Para que las búsquedas frecuentes de una misma entrada no escriban siempre en memoria
+ * compartida, el último uso se renueva solo si cambió en más de una dieciseisava parte
+ * del tiempo de inactividad; una entrada puede vencer, como mucho, esa fracción antes.
+ *
+ * @param <K> El tipo de las claves.
+ * @param <V> El tipo de los valores.
+ */
+public final class MapaExpirable<K, V> {
+
+    private final Map<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+    private final long inactividad;
+    private final long renovacion;
+    private final LongSupplier reloj;
+    private final LongAdder expiradas = new LongAdder();
+
+    /**
+     * Constructor de MapaExpirable.
+     *
+     * @param inactividadMilisegundos El tiempo sin usarse tras el cual vence una entrada.
+     */
+    public MapaExpirable(long inactividadMilisegundos) {
+        this(inactividadMilisegundos, () -> System.nanoTime() / 1_000_000);
+    }
+
+    /**
+     * Constructor con un reloj propio, en milisegundos, para poder simular el paso del tiempo.
+     */
+    MapaExpirable(long inactividadMilisegundos, LongSupplier reloj) {
+        if (inactividadMilisegundos < 1) {
+            throw new IllegalArgumentException("El tiempo de inactividad debe ser positivo");
+        }
+        this.inactividad = inactividadMilisegundos;
+        this.renovacion = Math.max(1, inactividadMilisegundos / 16);
+        this.reloj = reloj;
+    }
+
+    /**
+     * Busca el valor de una clave y renueva su último uso.
+     *
+     * @param clave La clave a buscar.
+     * @return El valor, o null si la clave no existe o ya venció.
+     */
+    public V obtener(K clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        long ahora = reloj.getAsLong();
+        long ultimoUso = entrada.ultimoUso;
+        if (ahora - ultimoUso >= inactividad) {
+            if (entradas.remove(clave, entrada)) {
+                expiradas.increment();
+            }
+            return null;
+        }
+        if (ahora - ultimoUso >= renovacion) {
+            entrada.ultimoUso = ahora;
+        }
+        return entrada.valor;
+    }
+
+    /**
+     * Guarda un valor, reemplazando el anterior de la misma clave.
+     *
+     * @param clave La clave.
+     * @param valor El valor a guardar.
+     */
+    public void poner(K clave, V valor) {
+        entradas.put(clave, new Entrada<>(valor, reloj.getAsLong()));
+    }
+
+    /**
+     * Guarda un valor solo si la clave no existe o su entrada ya venció.
+     *
+     * @param clave La clave.
+     * @param valor El valor a guardar.
+     * @return true si el valor se guardó, false si la clave ya tenía un valor vigente.
+     */
+    public boolean ponerSiAusente(K clave, V valor) {
+        Entrada<V> nueva = new Entrada<>(valor, reloj.getAsLong());
+        while (true) {
+            Entrada<V> actual = entradas.putIfAbsent(clave, nueva);
+            if (actual == null) {
+                return true;
+            }
+            if (nueva.ultimoUso - actual.ultimoUso < inactividad) {
+                return false;
+            }
+            if (entradas.replace(clave, actual, nueva)) {
+                expiradas.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Quita una clave del mapa.
+     *
+     * @param clave La clave a quitar.
+     * @return El valor que tenía, o null si no existía o ya había vencido.
+     */
+    public V quitar(K clave) {
+        Entrada<V> entrada = entradas.remove(clave);
+        if (entrada == null) {
+            return null;
+        }
+        return reloj.getAsLong() - entrada.ultimoUso >= inactividad ? null : entrada.valor;
+    }
+
+    /**
+     * Quita todas las entradas vencidas. Recorre el mapa completo, por eso se llama
+     * periódicamente y no en cada operación.
+     *
+     * @return La cantidad de entradas quitadas.
+     */
+    public int expirar() {
+        long ahora = reloj.getAsLong();
+        int quitadas = 0;
+        for (Iterator<Map.Entry<K, Entrada<V>>> it = entradas.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<K, Entrada<V>> entrada = it.next();
+            if (ahora - entrada.getValue().ultimoUso >= inactividad && entradas.remove(entrada.getKey(), entrada.getValue())) {
+                quitadas++;
+            }
+        }
+        expiradas.add(quitadas);
+        return quitadas;
+    }
+
+    /**
+     * Devuelve la cantidad de entradas guardadas, incluidas las vencidas que aún no se quitaron.
+     *
+     * @return El número de entradas.
+     */
+    public int tamano() {
+        return entradas.size();
+    }
+
+    /**
+     * Devuelve la cantidad de entradas quitadas por vencimiento desde que se creó el mapa.
+     *
+     * @return El total de entradas vencidas.
+     */
+    public long getExpiradas() {
+        return expiradas.sum();
+    }
+
+    /**
+     * Un valor con el instante de su último uso.
+     */
+    private static final class Entrada<V> {
+        private final V valor;
+        private volatile long ultimoUso;
+
+        private Entrada(V valor, long ultimoUso) {
+            this.valor = valor;
+            this.ultimoUso = ultimoUso;
+        }
+    }
+}
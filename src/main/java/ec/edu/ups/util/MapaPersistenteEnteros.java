@@ -0,0 +1,276 @@
+package ec.edu.ups.util;
+
+import java.util.function.Consumer;
+
+/**
+ * La clase **MapaPersistenteEnteros** es un mapa inmutable con claves `int`
+ * implementado como un trie hash (HAMT) de 32 ramas por nivel.
+ * Las operaciones {@link #con} y {@link #sin} no modifican el mapa actual: devuelven
+ * uno nuevo que comparte con el anterior todos los nodos que no cambiaron, por lo que
+ * cada modificación solo copia el camino desde la raíz hasta la clave (a lo sumo 7 nodos).
+ * Como el hash de una clave `int` es una biyección, dos claves distintas nunca colisionan.
+ * No admite valores nulos.
+ *
+ * @param <V> El tipo de los valores almacenados.
+ */
+public final class MapaPersistenteEnteros<V> {
+
+    private static final int BITS = 5;
+    private static final int MASCARA = (1 << BITS) - 1;
+    private static final MapaPersistenteEnteros<?> VACIO = new MapaPersistenteEnteros<>(null, 0);
+
+    private final Nodo raiz;
+    private final int tamano;
+
+    private MapaPersistenteEnteros(Nodo raiz, int tamano) {
+        this.raiz = raiz;
+        this.tamano = tamano;
+    }
+
+    /**
+     * Devuelve el mapa vacío.
+     *
+     * @param <V> El tipo de los valores.
+     * @return Un mapa sin entradas.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> MapaPersistenteEnteros<V> vacio() {
+        return (MapaPersistenteEnteros<V>) VACIO;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param clave La clave a buscar.
+     * @return El valor asociado, o null si la clave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int clave) {
+        int hash = hash(clave);
+        Nodo nodo = raiz;
+        for (int desplazamiento = 0; nodo != null; desplazamiento += BITS) {
+            int bit = 1 << ((hash >>> desplazamiento) & MASCARA);
+            if ((nodo.mapa & bit) == 0) {
+                return null;
+            }
+            Object hijo = nodo.hijos[Integer.bitCount(nodo.mapa & (bit - 1))];
+            if (hijo instanceof Hoja hoja) {
+                return hoja.clave == clave ? (V) hoja.valor : null;
+            }
+            nodo = (Nodo) hijo;
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve un mapa nuevo igual a este pero con la clave asociada al valor dado.
+     *
+     * @param clave La clave.
+     * @param valor El valor a asociar (no puede ser null).
+     * @return El mapa resultante; este mapa no se modifica.
+     */
+    public MapaPersistenteEnteros<V> con(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        boolean[] agregada = new boolean[1];
+        Nodo nuevaRaiz = con(raiz, 0, hash(clave), new Hoja(clave, valor), agregada);
+        if (nuevaRaiz == raiz) {
+            return this;
+        }
+        return new MapaPersistenteEnteros<>(nuevaRaiz, agregada[0] ? tamano + 1 : tamano);
+    }
+
+    /**
+     * Devuelve un mapa nuevo igual a este pero sin la clave dada.
+     *
+     * @param clave La clave a quitar.
+     * @return El mapa resultante; este mapa no se modifica.
+     */
+    public MapaPersistenteEnteros<V> sin(int clave) {
+        Object nuevaRaiz = sin(raiz, 0, hash(clave), clave);
+        if (nuevaRaiz == raiz) {
+            return this;
+        }
+        if (nuevaRaiz instanceof Hoja hoja) {
+            nuevaRaiz = new Nodo(1 << (hash(hoja.clave) & MASCARA), new Object[]{hoja});
+        }
+        return new MapaPersistenteEnteros<>((Nodo) nuevaRaiz, tamano - 1);
+    }
+
+    /**
+     * Devuelve el número de entradas del mapa.
+     *
+     * @return La cantidad de claves almacenadas.
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Indica si el mapa está vacío.
+     *
+     * @return true si no hay entradas, false en caso contrario.
+     */
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    /**
+     * Recorre todos los valores del mapa. El orden depende del hash de las claves.
+     *
+     * @param accion La acción a ejecutar sobre cada valor.
+     */
+    public void forEach(Consumer<? super V> accion) {
+        if (raiz != null) {
+            recorrer(raiz, accion);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recorrer(Nodo nodo, Consumer<? super V> accion) {
+        for (Object hijo : nodo.hijos) {
+            if (hijo instanceof Hoja hoja) {
+                accion.accept((V) hoja.valor);
+            } else {
+                recorrer((Nodo) hijo, accion);
+            }
+        }
+    }
+
+    /**
+     * Mezcla los bits de la clave. La multiplicación por un número impar y el
+     * desplazamiento con XOR son biyecciones, así que claves distintas tienen hashes distintos.
+     */
+    private static int hash(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Nodo con(Nodo nodo, int desplazamiento, int hash, Hoja nueva, boolean[] agregada) {
+        int bit = 1 << ((hash >>> desplazamiento) & MASCARA);
+        if (nodo == null) {
+            agregada[0] = true;
+            return new Nodo(bit, new Object[]{nueva});
+        }
+        int indice = Integer.bitCount(nodo.mapa & (bit - 1));
+        if ((nodo.mapa & bit) == 0) {
+            agregada[0] = true;
+            Object[] hijos = new Object[nodo.hijos.length + 1];
+            System.arraycopy(nodo.hijos, 0, hijos, 0, indice);
+            hijos[indice] = nueva;
+            System.arraycopy(nodo.hijos, indice, hijos, indice + 1, nodo.hijos.length - indice);
+            return new Nodo(nodo.mapa | bit, hijos);
+        }
+        Object hijo = nodo.hijos[indice];
+        Object reemplazo;
+        if (hijo instanceof Hoja hoja) {
+            if (hoja.clave == nueva.clave) {
+                if (hoja.valor == nueva.valor) {
+                    return nodo;
+                }
+                reemplazo = nueva;
+            } else {
+                agregada[0] = true;
+                reemplazo = fusionar(hoja, hash(hoja.clave), nueva, hash, desplazamiento + BITS);
+            }
+        } else {
+            Nodo subnodo = (Nodo) hijo;
+            reemplazo = con(subnodo, desplazamiento + BITS, hash, nueva, agregada);
+            if (reemplazo == subnodo) {
+                return nodo;
+            }
+        }
+        Object[] hijos = nodo.hijos.clone();
+        hijos[indice] = reemplazo;
+        return new Nodo(nodo.mapa, hijos);
+    }
+
+    /**
+     * Crea los nodos necesarios para separar dos hojas cuyos hashes coinciden
+     * hasta el nivel actual.
+     */
+    private static Nodo fusionar(Hoja a, int hashA, Hoja b, int hashB, int desplazamiento) {
+        int fragmentoA = (hashA >>> desplazamiento) & MASCARA;
+        int fragmentoB = (hashB >>> desplazamiento) & MASCARA;
+        if (fragmentoA == fragmentoB) {
+            return new Nodo(1 << fragmentoA, new Object[]{fusionar(a, hashA, b, hashB, desplazamiento + BITS)});
+        }
+        Object[] hijos = fragmentoA < fragmentoB ? new Object[]{a, b} : new Object[]{b, a};
+        return new Nodo((1 << fragmentoA) | (1 << fragmentoB), hijos);
+    }
+
+    /**
+     * Quita la clave del subárbol. Devuelve el mismo nodo si la clave no existe,
+     * null si el nodo queda vacío, o una hoja suelta si solo queda una, para que
+     * el padre la guarde directamente y el trie no acumule niveles innecesarios.
+     */
+    private static Object sin(Nodo nodo, int desplazamiento, int hash, int clave) {
+        if (nodo == null) {
+            return null;
+        }
+        int bit = 1 << ((hash >>> desplazamiento) & MASCARA);
+        if ((nodo.mapa & bit) == 0) {
+            return nodo;
+        }
+        int indice = Integer.bitCount(nodo.mapa & (bit - 1));
+        Object hijo = nodo.hijos[indice];
+        Object reemplazo;
+        if (hijo instanceof Hoja hoja) {
+            if (hoja.clave != clave) {
+                return nodo;
+            }
+            reemplazo = null;
+        } else {
+            reemplazo = sin((Nodo) hijo, desplazamiento + BITS, hash, clave);
+            if (reemplazo == hijo) {
+                return nodo;
+            }
+        }
+        if (reemplazo == null) {
+            if (nodo.hijos.length == 1) {
+                return null;
+            }
+            if (nodo.hijos.length == 2 && nodo.hijos[1 - indice] instanceof Hoja restante) {
+                return restante;
+            }
+            Object[] hijos = new Object[nodo.hijos.length - 1];
+            System.arraycopy(nodo.hijos, 0, hijos, 0, indice);
+            System.arraycopy(nodo.hijos, indice + 1, hijos, indice, hijos.length - indice);
+            return new Nodo(nodo.mapa & ~bit, hijos);
+        }
+        if (nodo.hijos.length == 1 && reemplazo instanceof Hoja) {
+            return reemplazo;
+        }
+        Object[] hijos = nodo.hijos.clone();
+        hijos[indice] = reemplazo;
+        return new Nodo(nodo.mapa, hijos);
+    }
+
+    /**
+     * Entrada clave-valor del trie.
+     */
+    private static final class Hoja {
+        private final int clave;
+        private final Object valor;
+
+        private Hoja(int clave, Object valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Nodo interno: el mapa de bits indica qué ramas existen y el arreglo guarda
+     * solo esas ramas, en orden.
+     */
+    private static final class Nodo {
+        private final int mapa;
+        private final Object[] hijos;
+
+        private Nodo(int mapa, Object[] hijos) {
+            this.mapa = mapa;
+            this.hijos = hijos;
+        }
+    }
+}
@@ -1,53 +1,117 @@
 package ec.edu.ups.util;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * La clase **MensajeInternacionalizacionHandler** gestiona la internacionalización de mensajes
  * cargando recursos de un archivo de propiedades (`mensajes.properties`) basado en la configuración regional (idioma y país) especificada.
  * Permite obtener mensajes traducidos y cambiar el idioma dinámicamente.
+ * <p>
+ * El `ResourceBundle` de cada Locale se lee una sola vez por proceso y sus mensajes se
+ * guardan ya analizados como {@link PlantillaMensaje}, así que obtener un mensaje es una
+ * búsqueda en un mapa y los mensajes con marcadores `{0}`, `{1}`, ... se formatean en una
+ * sola pasada con {@link #get(String, Object...)}. El Locale y sus mensajes se guardan
+ * juntos en un único catálogo que {@link #setLenguaje(String, String)} reemplaza de forma
+ * atómica, por lo que nunca se mezclan mensajes de dos idiomas.
  */
 public class MensajeInternacionalizacionHandler {
 
-    private ResourceBundle bundle;
-    private Locale locale;
+    private static final Map<Locale, Catalogo> CATALOGOS = new ConcurrentHashMap<>();
+
+    private volatile Catalogo catalogo;
 
     /**
      * Constructor para la clase MensajeInternacionalizacionHandler.
      * Inicializa el manejador de internacionalización con el idioma y país especificados,
-     * cargando el `ResourceBundle` correspondiente.
+     * cargando el `ResourceBundle` correspondiente si todavía no se había cargado.
      *
      * @param lenguaje El código de idioma (ej. "es", "en").
      * @param pais El código de país (ej. "EC", "US").
      */
     public MensajeInternacionalizacionHandler(String lenguaje, String pais) {
-        this.locale = new Locale(lenguaje, pais);
-        this.bundle = ResourceBundle.getBundle("mensajes", locale);
+        this.catalogo = catalogo(Locale.of(lenguaje, pais));
+    }
+
+    /**
+     * Carga y analiza los mensajes de un Locale, si todavía no están cargados, para que
+     * el primer cambio a ese idioma no tenga que leer el archivo de propiedades.
+     *
+     * @param locale El Locale a cargar.
+     */
+    public static void precargar(Locale locale) {
+        catalogo(locale);
+    }
+
+    /**
+     * Obtiene el mensaje asociado a una clave en un Locale dado, sin depender del
+     * idioma de ningún manejador. Puede llamarse desde cualquier hilo.
+     *
+     * @param locale El idioma del mensaje.
+     * @param key La clave del mensaje a buscar.
+     * @return El mensaje traducido asociado a la clave.
+     * @throws MissingResourceException Si la clave no existe para ese idioma.
+     */
+    public static String getMensaje(Locale locale, String key) {
+        return catalogo(locale).plantilla(key).getTexto();
+    }
+
+    /**
+     * Obtiene el mensaje asociado a una clave en un Locale dado y reemplaza sus
+     * marcadores posicionales por los argumentos dados. Puede llamarse desde cualquier hilo.
+     *
+     * @param locale El idioma del mensaje.
+     * @param key La clave del mensaje a buscar.
+     * @param argumentos Los valores de los marcadores, en orden de posición.
+     * @return El mensaje traducido y formateado.
+     * @throws MissingResourceException Si la clave no existe para ese idioma.
+     */
+    public static String getMensaje(Locale locale, String key, Object... argumentos) {
+        return catalogo(locale).plantilla(key).formatear(argumentos);
     }
 
     /**
      * Obtiene el mensaje internacionalizado asociado a una clave dada.
-     * Busca la clave en el `ResourceBundle` cargado actualmente.
      *
      * @param key La clave del mensaje a buscar (ej. "saludo.bienvenida").
      * @return El mensaje traducido asociado a la clave.
+     * @throws MissingResourceException Si la clave no existe para el idioma actual.
      */
     public String get(String key) {
-        return bundle.getString(key);
+        return catalogo.plantilla(key).getTexto();
+    }
+
+    /**
+     * Obtiene el mensaje internacionalizado asociado a una clave y reemplaza sus
+     * marcadores posicionales `{0}`, `{1}`, ... por los argumentos dados.
+     *
+     * @param key La clave del mensaje a buscar.
+     * @param argumentos Los valores de los marcadores, en orden de posición.
+     * @return El mensaje traducido y formateado.
+     * @throws MissingResourceException Si la clave no existe para el idioma actual.
+     */
+    public String get(String key, Object... argumentos) {
+        return catalogo.plantilla(key).formatear(argumentos);
     }
 
     /**
      * Cambia el idioma y país para la internacionalización.
-     * Esto recarga el `ResourceBundle` con la nueva configuración regional,
-     * permitiendo que los mensajes subsiguientes se obtengan en el nuevo idioma.
+     * Los mensajes subsiguientes se obtienen en el nuevo idioma. Si el Locale no cambia
+     * no se hace nada.
      *
      * @param lenguaje El nuevo código de idioma.
      * @param pais El nuevo código de país.
      */
     public void setLenguaje(String lenguaje, String pais) {
-        this.locale = new Locale(lenguaje, pais);
-        this.bundle = ResourceBundle.getBundle("mensajes", locale);
+        Locale nuevo = Locale.of(lenguaje, pais);
+        if (nuevo.equals(catalogo.locale)) {
+            return;
+        }
+        this.catalogo = catalogo(nuevo);
     }
 
     /**
@@ -56,6 +120,40 @@ public class MensajeInternacionalizacionHandler {
      * @return El objeto `Locale` actual.
      */
     public Locale getLocale() {
-        return  locale;
+        return catalogo.locale;
+    }
+
+    /**
+     * Devuelve el catálogo de un Locale, cargándolo la primera vez.
+     */
+    private static Catalogo catalogo(Locale locale) {
+        return CATALOGOS.computeIfAbsent(locale, Catalogo::new);
+    }
+
+    /**
+     * Los mensajes analizados de un Locale. Es inmutable una vez construido.
+     */
+    private static final class Catalogo {
+        private final Locale locale;
+        private final Map<String, PlantillaMensaje> plantillas;
+
+        private Catalogo(Locale locale) {
+            this.locale = locale;
+            ResourceBundle bundle = ResourceBundle.getBundle("mensajes", locale);
+            Map<String, PlantillaMensaje> analizadas = new HashMap<>();
+            for (String clave : bundle.keySet()) {
+                analizadas.put(clave, PlantillaMensaje.analizar(bundle.getString(clave)));
+            }
+            this.plantillas = analizadas;
+        }
+
+        private PlantillaMensaje plantilla(String clave) {
+            PlantillaMensaje plantilla = plantillas.get(clave);
+            if (plantilla == null) {
+                throw new MissingResourceException("No existe el mensaje " + clave + " para " + locale,
+                        MensajeInternacionalizacionHandler.class.getName(), clave);
+            }
+            return plantilla;
+        }
     }
-}
\ No newline at end of file
+}
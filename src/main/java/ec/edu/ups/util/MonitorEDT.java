@@ -0,0 +1,326 @@
+package ec.edu.ups.util;
+
+import java.awt.EventQueue;
+import java.awt.Window;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * La clase **MonitorEDT** mide cuánto tarda la interfaz en atender cada acción del usuario
+ * y detecta los bloqueos del hilo de eventos de Swing (EDT).
+ * <p>
+ * {@link #medir(String, ActionListener)} envuelve un ActionListener y acumula su duración
+ * en un histograma por nombre de acción. {@link #iniciar(Path, long)} arranca un hilo de
+ * vigilancia que envía un latido al EDT con {@link EventQueue#invokeLater}; si el latido
+ * no se atiende dentro del umbral, el EDT está bloqueado y se guarda su pila junto con la
+ * acción que se estaba ejecutando. El mismo hilo escribe periódicamente los histogramas
+ * en un archivo de registro que rota al superar {@link #MAXIMO_BYTES}, junto con las
+ * métricas agregadas con {@link #agregarMetricas(String, Supplier)}.
+ */
+public final class MonitorEDT {
+
+    private static final long INTERVALO_ESCRITURA = TimeUnit.MINUTES.toNanos(1);
+    private static final long MAXIMO_BYTES = 1 << 20;
+    private static final int ARCHIVOS_ANTERIORES = 3;
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private static final Map<String, Histograma> HISTOGRAMAS = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<String>> METRICAS = new ConcurrentHashMap<>();
+
+    private static Path archivo;
+    private static long umbral;
+    private static volatile String accionEnCurso;
+    private static volatile Thread edt;
+    private static volatile long latidoEnviado;
+    private static volatile long latidoAtendido;
+    private static volatile boolean latidoPendiente;
+
+    private MonitorEDT() {
+    }
+
+    /**
+     * Arranca el hilo de vigilancia del EDT y registra la escritura final de los
+     * histogramas al cerrar la aplicación. Solo tiene efecto la primera vez que se llama.
+     *
+     * @param archivo El archivo de registro donde se escriben los histogramas y los bloqueos.
+     * @param umbralMilisegundos El tiempo que el EDT puede tardar en atender un evento
+     *                           antes de considerarse bloqueado.
+     */
+    public static synchronized void iniciar(Path archivo, long umbralMilisegundos) {
+        if (MonitorEDT.archivo != null) {
+            return;
+        }
+        MonitorEDT.archivo = archivo;
+        MonitorEDT.umbral = TimeUnit.MILLISECONDS.toNanos(umbralMilisegundos);
+        Thread vigilante = new Thread(MonitorEDT::vigilar, "monitor-edt");
+        vigilante.setDaemon(true);
+        vigilante.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(MonitorEDT::escribirHistogramas));
+    }
+
+    /**
+     * Envuelve un ActionListener para medir cuánto tarda en ejecutarse en el EDT.
+     * La duración se acumula en el histograma de la acción aunque el listener lance
+     * una excepción.
+     *
+     * @param accion El nombre con el que la acción aparece en el registro.
+     * @param listener El listener a medir.
+     * @return Un listener que ejecuta el original y registra su duración.
+     */
+    public static ActionListener medir(String accion, ActionListener listener) {
+        Histograma histograma = HISTOGRAMAS.computeIfAbsent(accion, clave -> new Histograma());
+        return evento -> {
+            String anterior = accionEnCurso;
+            accionEnCurso = accion;
+            long inicio = System.nanoTime();
+            try {
+                listener.actionPerformed(evento);
+            } finally {
+                histograma.registrar(System.nanoTime() - inicio);
+                accionEnCurso = anterior;
+            }
+        };
+    }
+
+    /**
+     * Registra una duración medida fuera de un ActionListener, por ejemplo el tiempo
+     * de arranque, en el histograma de la acción dada.
+     *
+     * @param accion El nombre con el que la medición aparece en el registro.
+     * @param duracion La duración en nanosegundos.
+     */
+    public static void registrar(String accion, long duracion) {
+        HISTOGRAMAS.computeIfAbsent(accion, clave -> new Histograma()).registrar(duracion);
+    }
+
+    /**
+     * Agrega una fuente de métricas que se escribe en el registro junto con los
+     * histogramas, por ejemplo los contadores de un limitador.
+     *
+     * @param nombre El nombre con el que las métricas aparecen en el registro.
+     * @param metricas Devuelve el texto de las métricas en el momento de escribirlas.
+     */
+    public static void agregarMetricas(String nombre, Supplier<String> metricas) {
+        METRICAS.put(nombre, metricas);
+    }
+
+    /**
+     * Bucle del hilo de vigilancia: envía latidos al EDT, informa los bloqueos y
+     * escribe los histogramas una vez por intervalo.
+     */
+    private static void vigilar() {
+        long pausa = Math.max(TimeUnit.MILLISECONDS.toNanos(10), umbral / 4);
+        long proximaEscritura = System.nanoTime() + INTERVALO_ESCRITURA;
+        boolean bloqueado = false;
+        while (true) {
+            long ahora = System.nanoTime();
+            if (!latidoPendiente) {
+                if (bloqueado) {
+                    long duracion = latidoAtendido - latidoEnviado;
+                    escribir(hora() + " el EDT volvió a responder tras "
+                            + TimeUnit.NANOSECONDS.toMillis(duracion) + " ms\n");
+                    bloqueado = false;
+                }
+                if (hayVentanas()) {
+                    enviarLatido(ahora);
+                }
+            } else if (!bloqueado && ahora - latidoEnviado > umbral) {
+                informarBloqueo();
+                bloqueado = true;
+            }
+            if (ahora - proximaEscritura >= 0) {
+                escribirHistogramas();
+                proximaEscritura = ahora + INTERVALO_ESCRITURA;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(pausa);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica si hay alguna ventana abierta. Sin ventanas no se envían latidos, para no
+     * mantener vivo el EDT cuando la aplicación ya se puede cerrar.
+     */
+    private static boolean hayVentanas() {
+        for (Window ventana : Window.getWindows()) {
+            if (ventana.isDisplayable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pone un latido en la cola de eventos. El EDT lo marca como atendido y deja
+     * registrado cuál es su hilo, que Swing puede reemplazar tras una excepción.
+     */
+    private static void enviarLatido(long ahora) {
+        latidoEnviado = ahora;
+        latidoPendiente = true;
+        EventQueue.invokeLater(() -> {
+            edt = Thread.currentThread();
+            latidoAtendido = System.nanoTime();
+            latidoPendiente = false;
+        });
+    }
+
+    /**
+     * Escribe en el registro la acción en curso y la pila del EDT bloqueado.
+     */
+    private static void informarBloqueo() {
+        StringBuilder texto = new StringBuilder(hora())
+                .append(" bloqueo del EDT de más de ").append(TimeUnit.NANOSECONDS.toMillis(umbral)).append(" ms");
+        String accion = accionEnCurso;
+        if (accion != null) {
+            texto.append(" durante ").append(accion);
+        }
+        texto.append('\n');
+        Thread hilo = edt;
+        if (hilo != null) {
+            for (StackTraceElement elemento : hilo.getStackTrace()) {
+                texto.append("\tat ").append(elemento).append('\n');
+            }
+        }
+        escribir(texto.toString());
+    }
+
+    /**
+     * Escribe los histogramas de las acciones ejecutadas desde la escritura anterior
+     * y los reinicia, y luego las métricas agregadas.
+     */
+    private static void escribirHistogramas() {
+        StringBuilder texto = new StringBuilder();
+        for (Map.Entry<String, Histograma> entrada : new TreeMap<>(HISTOGRAMAS).entrySet()) {
+            entrada.getValue().vaciar(entrada.getKey(), texto);
+        }
+        if (texto.length() > 0) {
+            escribir(hora() + " latencias por acción (ms)\n" + texto);
+        }
+        for (Map.Entry<String, Supplier<String>> entrada : new TreeMap<>(METRICAS).entrySet()) {
+            escribir(hora() + " " + entrada.getKey() + ": " + entrada.getValue().get() + "\n");
+        }
+    }
+
+    /**
+     * Agrega texto al archivo de registro, rotándolo antes si superó el tamaño máximo.
+     * Un error de escritura se informa por la salida de error y no detiene la aplicación.
+     */
+    private static synchronized void escribir(String texto) {
+        if (archivo == null) {
+            return;
+        }
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+            if (Files.exists(archivo) && Files.size(archivo) > MAXIMO_BYTES) {
+                rotar();
+            }
+            Files.writeString(archivo, texto, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("No se pudo escribir el registro de latencias: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Desplaza los archivos anteriores (`registro.1` pasa a `registro.2`, etc.),
+     * descartando el más antiguo, y renombra el archivo actual a `registro.1`.
+     */
+    private static void rotar() throws IOException {
+        for (int i = ARCHIVOS_ANTERIORES - 1; i >= 1; i--) {
+            Path origen = anterior(i);
+            if (Files.exists(origen)) {
+                Files.move(origen, anterior(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(archivo, anterior(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Obtiene la ruta de un archivo de registro anterior.
+     */
+    private static Path anterior(int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+
+    /**
+     * Devuelve la hora actual con el formato del registro.
+     */
+    private static String hora() {
+        return LocalDateTime.now().format(FORMATO_HORA);
+    }
+
+    /**
+     * Histograma de duraciones con cubetas de potencias de dos en milisegundos:
+     * la cubeta 0 cuenta las duraciones menores a 1 ms, la cubeta i las que están entre
+     * 2^(i-1) y 2^i ms, y la última todas las de 4096 ms o más.
+     */
+    private static final class Histograma {
+        private static final int CUBETAS = 14;
+
+        private final long[] cubetas = new long[CUBETAS];
+        private long cantidad;
+        private long total;
+        private long maximo;
+
+        /**
+         * Acumula una duración en nanosegundos.
+         */
+        private synchronized void registrar(long duracion) {
+            long milisegundos = TimeUnit.NANOSECONDS.toMillis(duracion);
+            int cubeta = Math.min(CUBETAS - 1, 64 - Long.numberOfLeadingZeros(milisegundos));
+            cubetas[cubeta]++;
+            cantidad++;
+            total += duracion;
+            maximo = Math.max(maximo, duracion);
+        }
+
+        /**
+         * Agrega una línea con el histograma al texto, si tiene datos, y lo reinicia.
+         */
+        private synchronized void vaciar(String accion, StringBuilder texto) {
+            if (cantidad == 0) {
+                return;
+            }
+            texto.append(accion)
+                    .append(" n=").append(cantidad)
+                    .append(" media=").append(String.format(Locale.ROOT, "%.1f", total / 1e6 / cantidad))
+                    .append(" max=").append(String.format(Locale.ROOT, "%.1f", maximo / 1e6));
+            for (int i = 0; i < CUBETAS; i++) {
+                if (cubetas[i] == 0) {
+                    continue;
+                }
+                if (i == CUBETAS - 1) {
+                    texto.append(" >=").append(1L << (i - 1));
+                } else {
+                    texto.append(" <").append(1L << i);
+                }
+                texto.append(':').append(cubetas[i]);
+            }
+            texto.append('\n');
+            Arrays.fill(cubetas, 0);
+            cantidad = 0;
+            total = 0;
+            maximo = 0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ec.edu.ups.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * La clase **PlantillaMensaje** es un mensaje ya analizado, dividido en tramos de texto
+ * fijo y marcadores posicionales `{0}`, `{1}`, ... Formatearla recorre los tramos una
+ * sola vez, sin buscar ni reemplazar dentro del texto.
+ * <p>
+ * A diferencia de {@link java.text.MessageFormat}, las comillas simples son texto normal
+ * (los mensajes en francés las usan como apóstrofo) y los argumentos se escriben con
+ * {@link String#valueOf(Object)}. Un marcador sin argumento correspondiente se deja tal cual.
+ */
+final class PlantillaMensaje {
+
+    private final String texto;
+    private final String[] tramos;
+    private final int[] argumentos;
+
+    private PlantillaMensaje(String texto, String[] tramos, int[] argumentos) {
+        this.texto = texto;
+        this.tramos = tramos;
+        this.argumentos = argumentos;
+    }
+
+    /**
+     * Analiza el texto de un mensaje.
+     *
+     * @param texto El texto con marcadores `{n}`.
+     * @return La plantilla analizada.
+     */
+    static PlantillaMensaje analizar(String texto) {
+        List<String> tramos = new ArrayList<>();
+        List<Integer> argumentos = new ArrayList<>();
+        int inicioTramo = 0;
+        int i = texto.indexOf('{');
+        while (i >= 0) {
+            int fin = i + 1;
+            while (fin < texto.length() && Character.isDigit(texto.charAt(fin))) {
+                fin++;
+            }
+            if (fin > i + 1 && fin < texto.length() && texto.charAt(fin) == '}') {
+                tramos.add(texto.substring(inicioTramo, i));
+                argumentos.add(Integer.parseInt(texto.substring(i + 1, fin)));
+                inicioTramo = fin + 1;
+                i = texto.indexOf('{', inicioTramo);
+            } else {
+                i = texto.indexOf('{', i + 1);
+            }
+        }
+        tramos.add(texto.substring(inicioTramo));
+        int[] indices = new int[argumentos.size()];
+        for (int j = 0; j < indices.length; j++) {
+            indices[j] = argumentos.get(j);
+        }
+        return new PlantillaMensaje(texto, tramos.toArray(new String[0]), indices);
+    }
+
+    /**
+     * Devuelve el texto original del mensaje, sin reemplazar los marcadores.
+     *
+     * @return El texto del mensaje.
+     */
+    String getTexto() {
+        return texto;
+    }
+
+    /**
+     * Formatea el mensaje con los argumentos dados en una sola pasada.
+     *
+     * @param valores Los argumentos, en el orden de sus posiciones.
+     * @return El mensaje formateado.
+     */
+    String formatear(Object... valores) {
+        if (argumentos.length == 0) {
+            return texto;
+        }
+        StringBuilder resultado = new StringBuilder(texto.length() + 16 * argumentos.length);
+        for (int i = 0; i < argumentos.length; i++) {
+            resultado.append(tramos[i]);
+            int posicion = argumentos[i];
+            if (posicion < valores.length) {
+                resultado.append(valores[posicion]);
+            } else {
+                resultado.append('{').append(posicion).append('}');
+            }
+        }
+        return resultado.append(tramos[argumentos.length]).toString();
+    }
+}
@@ -0,0 +1,41 @@
+package ec.edu.ups.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * La clase **PrecargaRecursos** carga en paralelo, mientras se muestra el login, los
+ * recursos que comparten las vistas: los íconos del registro {@link Iconos} y los
+ * mensajes de los idiomas disponibles, que {@link MensajeInternacionalizacionHandler}
+ * guarda por Locale. Así, cuando una vista se crea o se cambia de idioma, los recursos
+ * ya están listos en lugar de leerse en el EDT.
+ */
+public final class PrecargaRecursos {
+
+    private static final Locale[] IDIOMAS = {
+            Locale.of("es", "EC"), Locale.of("en", "US"), Locale.of("fr", "FR")
+    };
+
+    private PrecargaRecursos() {
+    }
+
+    /**
+     * Inicia la carga de los íconos y los mensajes, cada uno en su propio hilo virtual.
+     *
+     * @return Un futuro que se completa cuando todos los recursos están cargados.
+     */
+    public static CompletableFuture<Void> iniciar() {
+        ExecutorService hilos = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("precarga-", 0).factory());
+        List<CompletableFuture<?>> cargas = new ArrayList<>();
+        cargas.add(Iconos.precargar());
+        for (Locale idioma : IDIOMAS) {
+            cargas.add(CompletableFuture.runAsync(() -> MensajeInternacionalizacionHandler.precargar(idioma), hilos));
+        }
+        hilos.shutdown();
+        return CompletableFuture.allOf(cargas.toArray(new CompletableFuture<?>[0]));
+    }
+}
@@ -2,7 +2,7 @@ package ec.edu.ups.vista.carrito;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
-import java.net.URL;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 /**
@@ -506,31 +506,14 @@ public class CarritoAnadirView extends JInternalFrame {
     }
 
     /**
-     * Inicializa las imágenes de los botones cargando los iconos desde las rutas especificadas.
+     * Inicializa las imágenes de los botones con los iconos del registro compartido {@link Iconos}.
      */
     public void inicializarImagenes() {
-        cargarIcono("imagenes/aceptar.png", btnGuardar, "guardar");
-        cargarIcono("imagenes/limpiar.png", btnLimpiar, "limpiar");
-        cargarIcono("imagenes/anadir.png", btnAnadir, "añadir");
-        cargarIcono("imagenes/borrar.png", btnBorrar, "borrar");
-        cargarIcono("imagenes/buscar.png", btnBuscar, "buscar");
-    }
-
-    /**
-     * Carga un icono desde una ruta de recurso y lo asigna a un botón.
-     * Si el recurso no se encuentra, imprime un mensaje de error en la consola.
-     *
-     * @param ruta La ruta del archivo de imagen (ej. "imagenes/icono.png").
-     * @param boton El JButton al que se le asignará el icono.
-     * @param nombre El nombre descriptivo del icono para mensajes de error.
-     */
-    private void cargarIcono(String ruta, JButton boton, String nombre) {
-        URL recurso = getClass().getClassLoader().getResource(ruta);
-        if (recurso != null) {
-            boton.setIcon(new ImageIcon(recurso));
-        } else {
-            System.err.println("Error: No se cargo el icono " + nombre);
-        }
+        Iconos.asignar(btnGuardar, "aceptar");
+        Iconos.asignar(btnLimpiar, "limpiar");
+        Iconos.asignar(btnAnadir, "anadir");
+        Iconos.asignar(btnBorrar, "borrar");
+        Iconos.asignar(btnBuscar, "buscar");
     }
 
     /**
@@ -69,9 +69,9 @@ public class CarritoDetalleView extends JInternalFrame {
             Object[] fila = {
                     producto.getCodigo(),
                     producto.getNombre(),
-                    Formateador.formatearMoneda(producto.getPrecio(), locale),
+                    Formateador.formatearMoneda(itemCarrito.getPrecioUnitario(), locale),
                     itemCarrito.getCantidad(),
-                    Formateador.formatearMoneda(producto.getPrecio() * itemCarrito.getCantidad(), locale)
+                    Formateador.formatearMoneda(itemCarrito.calcularSubtotal(), locale)
             };
             modelo.addRow(fila);
         }
@@ -4,11 +4,11 @@ import ec.edu.ups.modelo.Carrito;
 import ec.edu.ups.modelo.ItemCarrito;
 import ec.edu.ups.modelo.Producto;
 import ec.edu.ups.util.Formateador;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
-import java.net.URL;
 import java.util.Locale;
 
 /**
@@ -83,7 +83,7 @@ public class CarritoEliminarView extends JInternalFrame {
             Object[] fila = {
                     producto.getCodigo(),
                     producto.getNombre(),
-                    Formateador.formatearMoneda(producto.getPrecio(), locale),
+                    Formateador.formatearMoneda(itemCarrito.getPrecioUnitario(), locale),
                     itemCarrito.getCantidad()
             };
             modelo.addRow(fila);
@@ -413,23 +413,10 @@ public class CarritoEliminarView extends JInternalFrame {
     }
 
     /**
-     * Inicializa las imágenes de los botones cargando los iconos desde las rutas especificadas.
+     * Inicializa las imágenes de los botones con los iconos del registro compartido {@link Iconos}.
      */
     public void inicializarImagenes(){
-        URL eliminar = CarritoEliminarView.class.getClassLoader().getResource("imagenes/eliminar.png");
-        if (eliminar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(eliminar);
-            btnEliminar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("No se ha cargo el icono Login");
-        }
-
-        URL buscar = CarritoEliminarView.class.getClassLoader().getResource("imagenes/buscar.png");
-        if (buscar != null) {
-            ImageIcon iconoBtnRegistrarse = new ImageIcon(buscar);
-            btnBuscar.setIcon(iconoBtnRegistrarse);
-        } else {
-            System.err.println("No se ha cargado el icono Registrarse");
-        }
+        Iconos.asignar(btnEliminar, "eliminar");
+        Iconos.asignar(btnBuscar, "buscar");
     }
 }
\ No newline at end of file
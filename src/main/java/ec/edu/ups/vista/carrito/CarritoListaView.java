@@ -1,14 +1,11 @@
 package ec.edu.ups.vista.carrito;
 
 import ec.edu.ups.modelo.Carrito;
-import ec.edu.ups.util.Formateador;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import java.net.URL;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * La clase **CarritoListaView** representa la vista de la interfaz gráfica
@@ -24,7 +21,7 @@ public class CarritoListaView extends JInternalFrame {
     private JButton btnBuscar;
     private JButton btnListar;
     private JLabel lblCodigo;
-    private DefaultTableModel modelo;
+    private CarritoTablaModelo modelo;
     private MensajeInternacionalizacionHandler mi;
 
     /**
@@ -44,38 +41,43 @@ public class CarritoListaView extends JInternalFrame {
         setResizable(true);
         setIconifiable(true);
 
-        modelo = new DefaultTableModel();
+        this.mi = mi;
+        modelo = new CarritoTablaModelo(mi);
         tblProducto.setModel(modelo);
 
-        this.mi = mi;
         cambiarIdioma();
         inicializarImagenes();
     }
 
     /**
      * Carga los datos de una lista de objetos **Carrito** en la tabla.
-     * Limpia la tabla existente y añade filas con la información de cada carrito,
-     * incluyendo código, usuario, fecha de creación (formateada), subtotal, IVA y total (todos formateados como moneda).
+     * Cada fila muestra código, usuario, fecha de creación (formateada), subtotal, IVA y total
+     * (todos formateados como moneda); el formato se aplica solo a las filas visibles.
      *
      * @param listaCarritos La lista de objetos **Carrito** a mostrar en la tabla.
      */
     public void cargarDatos(List<Carrito> listaCarritos) {
-        modelo.setNumRows(0);
-        Locale locale = mi.getLocale();
-
-        for (Carrito carrito : listaCarritos) {
-            String fechaFormateada = Formateador.formatearFecha(carrito.getFechaCreacion().getTime(), locale);
-
-            Object[] fila = {
-                    carrito.getCodigo(),
-                    carrito.getUsuario().getCedula(),
-                    fechaFormateada,
-                    Formateador.formatearMoneda(carrito.calcularSubtotal(), locale),
-                    Formateador.formatearMoneda(carrito.calcularIVA(), locale),
-                    Formateador.formatearMoneda(carrito.calcularTotal(), locale)
-            };
-            modelo.addRow(fila);
-        }
+        cargarDatos(CarritoTablaModelo.FuenteCarritos.deLista(listaCarritos));
+    }
+
+    /**
+     * Muestra en la tabla los carritos de una fuente paginada. La tabla pide a la fuente
+     * solo las páginas que necesita mostrar a medida que se desplaza.
+     *
+     * @param fuente La fuente de carritos a mostrar.
+     */
+    public void cargarDatos(CarritoTablaModelo.FuenteCarritos fuente) {
+        modelo.setFuente(fuente);
+    }
+
+    /**
+     * Muestra en la tabla los carritos de una fuente paginada cuya cantidad ya se contó.
+     *
+     * @param fuente La fuente de carritos a mostrar.
+     * @param cantidad La cantidad de carritos de la fuente.
+     */
+    public void cargarDatos(CarritoTablaModelo.FuenteCarritos fuente, int cantidad) {
+        modelo.setFuente(fuente, cantidad);
     }
 
     /**
@@ -97,15 +99,7 @@ public class CarritoListaView extends JInternalFrame {
         btnBuscar.setText(mi.get("carrito.lista.boton.buscar"));
         btnListar.setText(mi.get("carrito.lista.boton.listar"));
         btnVer.setText(mi.get("carrito.lista.boton.detalle"));
-        Object[] columnas = {
-                mi.get("carrito.lista.columna.codigo"),
-                mi.get("carrito.lista.columna.usuario"),
-                mi.get("carrito.lista.columna.fecha"),
-                mi.get("carrito.lista.columna.subtotal"),
-                mi.get("carrito.lista.columna.iva"),
-                mi.get("carrito.lista.columna.total")
-        };
-        modelo.setColumnIdentifiers(columnas);
+        modelo.cambiarIdioma();
         UIManager.put("OptionPane.yesButtonText", mi.get("dialogo.boton.si"));
         UIManager.put("OptionPane.noButtonText", mi.get("dialogo.boton.no"));
         UIManager.put("OptionPane.cancelButtonText", mi.get("dialogo.boton.cancelar"));
@@ -113,30 +107,13 @@ public class CarritoListaView extends JInternalFrame {
     }
 
     /**
-     * Inicializa las imágenes de los botones cargando los iconos desde las rutas de recursos especificadas.
+     * Inicializa las imágenes de los botones con los iconos del registro compartido {@link Iconos}.
      * Muestra un mensaje de error en la consola si un icono no se puede cargar.
      */
     public void inicializarImagenes() {
-        URL listarUrl = CarritoListaView.class.getClassLoader().getResource("imagenes/listar.png");
-        if (listarUrl != null) {
-            btnListar.setIcon(new ImageIcon(listarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'listar.png'");
-        }
-
-        URL buscarUrl = CarritoListaView.class.getClassLoader().getResource("imagenes/buscar.png");
-        if (buscarUrl != null) {
-            btnBuscar.setIcon(new ImageIcon(buscarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'buscar.png'");
-        }
-
-        URL detalleUrl = CarritoListaView.class.getClassLoader().getResource("imagenes/detalles.png");
-        if (detalleUrl != null) {
-            btnVer.setIcon(new ImageIcon(detalleUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'detalles.png'");
-        }
+        Iconos.asignar(btnListar, "listar");
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnVer, "detalles");
     }
 
     /**
@@ -238,16 +215,16 @@ public class CarritoListaView extends JInternalFrame {
     public void setLblCodigo(JLabel lblCodigo) { this.lblCodigo = lblCodigo; }
 
     /**
-     * Obtiene el modelo de tabla por defecto para la tabla.
+     * Obtiene el modelo virtual de la tabla.
      *
-     * @return El DefaultTableModel de la tabla.
+     * @return El CarritoTablaModelo de la tabla.
      */
-    public DefaultTableModel getModelo() { return modelo; }
+    public CarritoTablaModelo getModelo() { return modelo; }
 
     /**
-     * Establece el modelo de tabla por defecto para la tabla.
+     * Establece el modelo virtual de la tabla.
      *
-     * @param modelo El DefaultTableModel a establecer.
+     * @param modelo El CarritoTablaModelo a establecer.
      */
-    public void setModelo(DefaultTableModel modelo) { this.modelo = modelo; }
+    public void setModelo(CarritoTablaModelo modelo) { this.modelo = modelo; }
 }
\ No newline at end of file
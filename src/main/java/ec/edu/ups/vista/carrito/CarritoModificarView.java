@@ -4,11 +4,11 @@ import ec.edu.ups.modelo.Carrito;
 import ec.edu.ups.modelo.ItemCarrito;
 import ec.edu.ups.modelo.Producto;
 import ec.edu.ups.util.Formateador;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
-import java.net.URL;
 import java.util.Locale;
 
 /**
@@ -81,7 +81,7 @@ public class CarritoModificarView extends JInternalFrame {
             Object[] fila = {
                     producto.getCodigo(),
                     producto.getNombre(),
-                    Formateador.formatearMoneda(producto.getPrecio(), locale),
+                    Formateador.formatearMoneda(itemCarrito.getPrecioUnitario(), locale),
                     itemCarrito.getCantidad()
             };
             modelo.addRow(fila);
@@ -362,24 +362,11 @@ public class CarritoModificarView extends JInternalFrame {
     }
 
     /**
-     * Inicializa las imágenes de los botones cargando los iconos desde las rutas especificadas.
+     * Inicializa las imágenes de los botones con los iconos del registro compartido {@link Iconos}.
      * Muestra un mensaje de error en la consola si un icono no se puede cargar.
      */
     public void inicializarImagenes(){
-        URL eliminar = CarritoModificarView.class.getClassLoader().getResource("imagenes/editar.png");
-        if (eliminar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(eliminar);
-            btnEditar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
-
-        URL buscar = CarritoModificarView.class.getClassLoader().getResource("imagenes/buscar.png");
-        if (buscar != null) {
-            ImageIcon iconoBtnRegistrarse = new ImageIcon(buscar);
-            btnBuscar.setIcon(iconoBtnRegistrarse);
-        } else {
-            System.err.println("Error, No se cargo el icono Registrarse");
-        }
+        Iconos.asignar(btnEditar, "editar");
+        Iconos.asignar(btnBuscar, "buscar");
     }
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+package ec.edu.ups.vista.carrito;
+
+import ec.edu.ups.modelo.Carrito;
+import ec.edu.ups.util.EjecutorAsincrono;
+import ec.edu.ups.util.Formateador;
+import ec.edu.ups.util.MensajeInternacionalizacionHandler;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * La clase **CarritoTablaModelo** es un modelo de tabla virtual para el listado de carritos.
+ * En lugar de copiar todos los carritos en filas, pide a una {@link FuenteCarritos} solo las
+ * páginas que la tabla necesita mostrar y formatea las celdas (fecha y montos) cuando la
+ * tabla las solicita en {@link #getValueAt(int, int)}. Las páginas y las filas ya formateadas
+ * se guardan en cachés LRU acotadas, por lo que la memoria usada depende de la ventana
+ * visible y no de la cantidad de carritos.
+ * <p>
+ * Las páginas de una fuente que no está en memoria se leen en segundo plano con
+ * {@link EjecutorAsincrono}: mientras llega la página, sus filas se muestran vacías y
+ * al recibirla se notifica a la tabla para que las vuelva a pintar.
+ */
+public class CarritoTablaModelo extends AbstractTableModel {
+
+    private static final int TAMANO_PAGINA = 128;
+    private static final int MAXIMO_PAGINAS = 4;
+    private static final int MAXIMO_FILAS = 512;
+
+    private static final String[] CLAVES_COLUMNAS = {
+            "carrito.lista.columna.codigo",
+            "carrito.lista.columna.usuario",
+            "carrito.lista.columna.fecha",
+            "carrito.lista.columna.subtotal",
+            "carrito.lista.columna.iva",
+            "carrito.lista.columna.total"
+    };
+
+    /**
+     * Origen paginado de los carritos que muestra la tabla.
+     */
+    public interface FuenteCarritos {
+
+        /**
+         * Devuelve la cantidad total de carritos disponibles.
+         *
+         * @return El número de carritos.
+         */
+        int contar();
+
+        /**
+         * Devuelve una página de carritos.
+         *
+         * @param desde La posición del primer carrito de la página.
+         * @param cantidad La cantidad máxima de carritos a devolver.
+         * @return Los carritos de la página.
+         */
+        List<Carrito> pagina(int desde, int cantidad);
+
+        /**
+         * Indica si las páginas se pueden leer en el EDT sin demora porque los carritos
+         * ya están en memoria.
+         *
+         * @return true si la fuente no consulta un DAO, false en caso contrario.
+         */
+        default boolean enMemoria() {
+            return false;
+        }
+
+        /**
+         * Crea una fuente sobre una lista que ya está en memoria.
+         *
+         * @param carritos La lista de carritos.
+         * @return Una fuente que devuelve sublistas de la lista dada.
+         */
+        static FuenteCarritos deLista(List<Carrito> carritos) {
+            return new FuenteCarritos() {
+                @Override
+                public int contar() {
+                    return carritos.size();
+                }
+
+                @Override
+                public List<Carrito> pagina(int desde, int cantidad) {
+                    return carritos.subList(desde, Math.min(carritos.size(), desde + cantidad));
+                }
+
+                @Override
+                public boolean enMemoria() {
+                    return true;
+                }
+            };
+        }
+    }
+
+    private final MensajeInternacionalizacionHandler mi;
+    private final Map<Integer, List<Carrito>> paginas = new MapaLRU<>(MAXIMO_PAGINAS);
+    private final Map<Integer, Object[]> filas = new MapaLRU<>(MAXIMO_FILAS);
+    private final Set<Integer> paginasPendientes = new HashSet<>();
+    private FuenteCarritos fuente = FuenteCarritos.deLista(List.of());
+    private int cantidadFilas;
+    private int generacion;
+
+    /**
+     * Constructor del modelo. Empieza sin filas.
+     *
+     * @param mi El manejador de internacionalización usado para los encabezados y los formatos.
+     */
+    public CarritoTablaModelo(MensajeInternacionalizacionHandler mi) {
+        this.mi = mi;
+    }
+
+    /**
+     * Reemplaza la fuente de carritos, descarta las cachés y notifica a la tabla.
+     *
+     * @param fuente La nueva fuente de carritos.
+     */
+    public void setFuente(FuenteCarritos fuente) {
+        setFuente(fuente, fuente.contar());
+    }
+
+    /**
+     * Reemplaza la fuente de carritos usando una cantidad de filas ya conocida, por
+     * ejemplo contada en segundo plano. Las páginas pendientes de la fuente anterior
+     * se descartan al llegar.
+     *
+     * @param fuente La nueva fuente de carritos.
+     * @param cantidadFilas La cantidad de carritos de la fuente.
+     */
+    public void setFuente(FuenteCarritos fuente, int cantidadFilas) {
+        this.fuente = fuente;
+        this.cantidadFilas = cantidadFilas;
+        generacion++;
+        paginas.clear();
+        paginasPendientes.clear();
+        filas.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Descarta las filas formateadas y vuelve a leer los encabezados. Se llama al
+     * cambiar de idioma para que los montos y fechas se formateen con el nuevo Locale.
+     */
+    public void cambiarIdioma() {
+        filas.clear();
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Devuelve el carrito de una fila. Si su página no está en la caché, se lee de la
+     * fuente: en el momento si la fuente está en memoria, o en segundo plano si no.
+     *
+     * @param fila El índice de la fila.
+     * @return El carrito que se muestra en la fila, o null si su página todavía se está
+     *         leyendo o la fuente ya no lo tiene.
+     */
+    public Carrito getCarrito(int fila) {
+        int numeroPagina = fila / TAMANO_PAGINA;
+        List<Carrito> pagina = paginas.get(numeroPagina);
+        if (pagina == null) {
+            if (!fuente.enMemoria()) {
+                solicitarPagina(numeroPagina);
+                return null;
+            }
+            pagina = fuente.pagina(numeroPagina * TAMANO_PAGINA, TAMANO_PAGINA);
+            paginas.put(numeroPagina, pagina);
+        }
+        int posicion = fila - numeroPagina * TAMANO_PAGINA;
+        return posicion < pagina.size() ? pagina.get(posicion) : null;
+    }
+
+    /**
+     * Devuelve la cantidad de filas que informó la fuente.
+     *
+     * @return El número de filas.
+     */
+    @Override
+    public int getRowCount() {
+        return cantidadFilas;
+    }
+
+    /**
+     * Devuelve la cantidad de columnas de la tabla.
+     *
+     * @return El número de columnas.
+     */
+    @Override
+    public int getColumnCount() {
+        return CLAVES_COLUMNAS.length;
+    }
+
+    /**
+     * Devuelve el encabezado traducido de una columna.
+     *
+     * @param columna El índice de la columna.
+     * @return El texto del encabezado.
+     */
+    @Override
+    public String getColumnName(int columna) {
+        return mi.get(CLAVES_COLUMNAS[columna]);
+    }
+
+    /**
+     * Devuelve el tipo de los valores de una columna. El código es entero y el resto texto.
+     *
+     * @param columna El índice de la columna.
+     * @return La clase de los valores de la columna.
+     */
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == 0 ? Integer.class : String.class;
+    }
+
+    /**
+     * Devuelve el valor de una celda. La fila completa se formatea la primera vez que se
+     * pide una de sus celdas y se guarda en la caché de filas.
+     *
+     * @param fila El índice de la fila.
+     * @param columna El índice de la columna.
+     * @return El valor de la celda.
+     */
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Object[] valores = filas.get(fila);
+        if (valores == null) {
+            Carrito carrito = getCarrito(fila);
+            if (carrito == null) {
+                return null;
+            }
+            valores = formatear(carrito);
+            filas.put(fila, valores);
+        }
+        return valores[columna];
+    }
+
+    /**
+     * Pide una página a la fuente en segundo plano, si no se pidió ya, y al recibirla
+     * notifica a la tabla que sus filas cambiaron. Si la consulta falla la página deja de
+     * estar pendiente, así la próxima vez que se pida una de sus celdas se vuelve a consultar.
+     */
+    private void solicitarPagina(int numeroPagina) {
+        if (!paginasPendientes.add(numeroPagina)) {
+            return;
+        }
+        FuenteCarritos fuenteActual = fuente;
+        int generacionActual = generacion;
+        int desde = numeroPagina * TAMANO_PAGINA;
+        EjecutorAsincrono.enviar(() -> fuenteActual.pagina(desde, TAMANO_PAGINA), pagina -> {
+            if (generacionActual != generacion) {
+                return;
+            }
+            paginasPendientes.remove(numeroPagina);
+            paginas.put(numeroPagina, pagina);
+            int hasta = Math.min(cantidadFilas, desde + TAMANO_PAGINA) - 1;
+            if (desde <= hasta) {
+                fireTableRowsUpdated(desde, hasta);
+            }
+        }, () -> {
+            if (generacionActual == generacion) {
+                paginasPendientes.remove(numeroPagina);
+            }
+        });
+    }
+
+    /**
+     * Convierte un carrito en los valores de una fila de la tabla.
+     */
+    private Object[] formatear(Carrito carrito) {
+        Locale locale = mi.getLocale();
+        return new Object[]{
+                carrito.getCodigo(),
+                carrito.getUsuario().getCedula(),
+                Formateador.formatearFecha(carrito.getFechaCreacion().getTime(), locale),
+                Formateador.formatearMoneda(carrito.calcularSubtotal(), locale),
+                Formateador.formatearMoneda(carrito.calcularIVA(), locale),
+                Formateador.formatearMoneda(carrito.calcularTotal(), locale)
+        };
+    }
+
+    /**
+     * Mapa en orden de acceso que descarta la entrada menos usada al superar su capacidad.
+     */
+    private static final class MapaLRU<K, V> extends LinkedHashMap<K, V> {
+        private final int capacidad;
+
+        private MapaLRU(int capacidad) {
+            super(capacidad * 2, 0.75f, true);
+            this.capacidad = capacidad;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> mayor) {
+            return size() > capacidad;
+        }
+    }
+}
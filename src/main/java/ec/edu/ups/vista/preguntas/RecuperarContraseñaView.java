@@ -1,9 +1,9 @@
 package ec.edu.ups.vista.preguntas;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
-import java.net.URL;
 
 /**
  * La clase **RecuperarContraseñaView** representa la interfaz gráfica de usuario
@@ -267,24 +267,11 @@ public class RecuperarContraseñaView extends JFrame {
 
     /**
      * Inicializa las imágenes para los botones **Guardar** y **Terminar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes() {
-        URL guardar = RecuperarContraseñaView.class.getClassLoader().getResource("imagenes/guardar.png");
-        if (guardar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(guardar);
-            btnGuardar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
-
-        URL finalizar = RecuperarContraseñaView.class.getClassLoader().getResource("imagenes/finalizar.png");
-        if (finalizar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(finalizar);
-            btnTerminar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
+        Iconos.asignar(btnGuardar, "guardar");
+        Iconos.asignar(btnTerminar, "finalizar");
     }
 }
\ No newline at end of file
@@ -1,12 +1,12 @@
 package ec.edu.ups.vista.producto;
 
 import ec.edu.ups.modelo.Producto;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.net.URL;
 import java.util.List;
 
 /**
@@ -289,24 +289,11 @@ public class ProductoAnadirView extends JInternalFrame{
 
     /**
      * Inicializa las imágenes para los botones **Aceptar** y **Limpiar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL aceptar = ProductoAnadirView.class.getClassLoader().getResource("imagenes/aceptar.png");
-        if (aceptar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(aceptar);
-            btnAceptar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
-
-        URL limpiar = ProductoAnadirView.class.getClassLoader().getResource("imagenes/limpiar.png");
-        if (limpiar != null) {
-            ImageIcon iconoBtnRegistrarse = new ImageIcon(limpiar);
-            btnLimpiar.setIcon(iconoBtnRegistrarse);
-        } else {
-            System.err.println("Error, No se cargo el icono Registrarse");
-        }
+        Iconos.asignar(btnAceptar, "aceptar");
+        Iconos.asignar(btnLimpiar, "limpiar");
     }
 }
\ No newline at end of file
@@ -1,10 +1,10 @@
 package ec.edu.ups.vista.producto;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
-import java.net.URL;
 
 /**
  * La clase **ProductoEditarView** representa la vista de la interfaz gráfica
@@ -298,24 +298,11 @@ public class ProductoEditarView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Buscar** y **Actualizar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL buscar = ProductoEditarView.class.getClassLoader().getResource("imagenes/buscar.png");
-        if (buscar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(buscar);
-            btnBuscar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se ha cargo el icono Login");
-        }
-
-        URL editar = ProductoEditarView.class.getClassLoader().getResource("imagenes/editar.png");
-        if (editar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(editar);
-            btnActualizar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el iconoLogin");
-        }
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnActualizar, "editar");
     }
 }
\ No newline at end of file
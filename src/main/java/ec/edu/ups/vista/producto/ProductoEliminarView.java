@@ -1,9 +1,9 @@
 package ec.edu.ups.vista.producto;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
-import java.net.URL;
 
 /**
  * La clase **ProductoEliminarView** representa la vista de la interfaz gráfica
@@ -281,24 +281,11 @@ public class ProductoEliminarView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Buscar** y **Eliminar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL buscar = ProductoEditarView.class.getClassLoader().getResource("imagenes/buscar.png");
-        if (buscar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(buscar);
-            btnBuscar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
-
-        URL eliminar = ProductoEditarView.class.getClassLoader().getResource("imagenes/eliminar.png");
-        if (eliminar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(eliminar);
-            btnEliminar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se ha cargo el icono Login");
-        }
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnEliminar, "eliminar");
     }
 }
\ No newline at end of file
@@ -4,10 +4,10 @@ import ec.edu.ups.modelo.Producto;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
-import java.net.URL;
 import java.util.List;
 
 import ec.edu.ups.util.Formateador;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 /**
@@ -212,6 +212,16 @@ public class ProductoListaView extends JInternalFrame {
      */
     public void cargarDatos(List<Producto> listaProductos) {
         modelo.setNumRows(0);
+        agregarDatos(listaProductos);
+    }
+
+    /**
+     * Añade al final de la tabla las filas de una lista de objetos **Producto**, sin
+     * limpiar las existentes. Se usa para mostrar un resultado que llega por partes.
+     *
+     * @param listaProductos La lista de objetos **Producto** a añadir a la tabla.
+     */
+    public void agregarDatos(List<Producto> listaProductos) {
         for (Producto producto : listaProductos) {
             Object[] fila = {
                     producto.getCodigo(),
@@ -224,23 +234,11 @@ public class ProductoListaView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Buscar** y **Listar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL buscar = ProductoListaView.class.getClassLoader().getResource("imagenes/buscar.png");
-        if (buscar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(buscar);
-            btnBuscar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
-        URL listar = ProductoListaView.class.getClassLoader().getResource("imagenes/listar.png");
-        if (listar != null) {
-            ImageIcon iconoBtnIniciarSesion = new ImageIcon(listar);
-            btnListar.setIcon(iconoBtnIniciarSesion);
-        } else {
-            System.err.println("Error, No se cargo el icono Login");
-        }
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnListar, "listar");
     }
 }
\ No newline at end of file
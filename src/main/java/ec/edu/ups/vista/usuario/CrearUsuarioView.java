@@ -1,10 +1,10 @@
 package ec.edu.ups.vista.usuario;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.net.URL;
 import java.util.Calendar; // Importación necesaria
 
 /**
@@ -365,23 +365,12 @@ public class CrearUsuarioView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Aceptar** y **Limpiar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL aceptarUrl = getClass().getClassLoader().getResource("imagenes/aceptar.png");
-        if (aceptarUrl != null) {
-            btnAceptar.setIcon(new ImageIcon(aceptarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'aceptar.png'");
-        }
-
-        URL limpiarUrl = getClass().getClassLoader().getResource("imagenes/limpiar.png");
-        if (limpiarUrl != null) {
-            btnLimpiar.setIcon(new ImageIcon(limpiarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'limpiar.png'");
-        }
+        Iconos.asignar(btnAceptar, "aceptar");
+        Iconos.asignar(btnLimpiar, "limpiar");
     }
 
     /**
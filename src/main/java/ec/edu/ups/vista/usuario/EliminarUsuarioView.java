@@ -1,8 +1,8 @@
 package ec.edu.ups.vista.usuario;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 import javax.swing.*;
-import java.net.URL;
 
 /**
  * La clase **EliminarUsuarioView** representa la vista de la interfaz gráfica de usuario
@@ -402,22 +402,11 @@ public class EliminarUsuarioView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Buscar** y **Eliminar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL buscarUrl = getClass().getClassLoader().getResource("imagenes/buscar.png");
-        if (buscarUrl != null) {
-            btnBuscar.setIcon(new ImageIcon(buscarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'buscar.png'");
-        }
-
-        URL eliminarUrl = getClass().getClassLoader().getResource("imagenes/eliminar.png");
-        if (eliminarUrl != null) {
-            btnEliminar.setIcon(new ImageIcon(eliminarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'eliminar.png'");
-        }
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnEliminar, "eliminar");
     }
 }
\ No newline at end of file
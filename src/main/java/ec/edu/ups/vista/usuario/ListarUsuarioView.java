@@ -2,10 +2,10 @@ package ec.edu.ups.vista.usuario;
 
 import ec.edu.ups.modelo.Usuario;
 import ec.edu.ups.util.Formateador;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
-import java.net.URL;
 import java.util.List;
 import java.util.Locale;
 
@@ -209,6 +209,16 @@ public class ListarUsuarioView extends JInternalFrame {
      */
     public void cargarDatos(List<Usuario> listaUsuarios) {
         modelo.setNumRows(0);
+        agregarDatos(listaUsuarios);
+    }
+
+    /**
+     * Añade al final de la tabla las filas de una lista de objetos **Usuario**, sin
+     * limpiar las existentes. Se usa para mostrar un resultado que llega por partes.
+     *
+     * @param listaUsuarios La lista de objetos **Usuario** a añadir a la tabla.
+     */
+    public void agregarDatos(List<Usuario> listaUsuarios) {
         Locale locale = mi.getLocale();
 
         for (Usuario usuario : listaUsuarios) {
@@ -228,21 +238,11 @@ public class ListarUsuarioView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Buscar** y **Listar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes(){
-        URL buscarUrl = getClass().getClassLoader().getResource("imagenes/buscar.png");
-        if (buscarUrl != null) {
-            btnBuscar.setIcon(new ImageIcon(buscarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'buscar.png'");
-        }
-        URL listarUrl = getClass().getClassLoader().getResource("imagenes/listar.png");
-        if (listarUrl != null) {
-            btnListar.setIcon(new ImageIcon(listarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'listar.png'");
-        }
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnListar, "listar");
     }
 }
\ No newline at end of file
@@ -1,10 +1,10 @@
 package ec.edu.ups.vista.usuario;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
 import java.util.Locale;
-import java.net.URL;
 
 /**
  * La clase **LoginView** representa la interfaz gráfica de usuario para el inicio de sesión.
@@ -171,37 +171,14 @@ public class LoginView extends JFrame {
 
     /**
      * Inicializa las imágenes para los botones **Iniciar Sesión**, **Registrarse**,
-     * **Olvide** y **Salir**, cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * **Olvide** y **Salir**, tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes() {
-        URL loginURL = getClass().getClassLoader().getResource("imagenes/login.png");
-        if (loginURL != null) {
-            btnIniciarSesion.setIcon(new ImageIcon(loginURL));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'login.png'");
-        }
-
-        URL registrarseURL = getClass().getClassLoader().getResource("imagenes/registrarse.png");
-        if (registrarseURL != null) {
-            btnRegistrarse.setIcon(new ImageIcon(registrarseURL));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'registrarse.png'");
-        }
-
-        URL olvidoURL = getClass().getClassLoader().getResource("imagenes/confusion.png");
-        if (olvidoURL != null) {
-            btnOlvide.setIcon(new ImageIcon(olvidoURL));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'confusion.png'");
-        }
-
-        URL salirURL = getClass().getClassLoader().getResource("imagenes/salir.png");
-        if (salirURL != null) {
-            btnSalir.setIcon(new ImageIcon(salirURL));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'salir.png'");
-        }
+        Iconos.asignar(btnIniciarSesion, "login");
+        Iconos.asignar(btnRegistrarse, "registrarse");
+        Iconos.asignar(btnOlvide, "confusion");
+        Iconos.asignar(btnSalir, "salir");
     }
 
     /**
@@ -1,9 +1,9 @@
 package ec.edu.ups.vista.usuario;
 
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 
 import javax.swing.*;
-import java.net.URL;
 import java.util.Calendar;
 
 /**
@@ -80,6 +80,7 @@ public class ModificarUsuarioView extends JInternalFrame {
         lblModificar.setText(mi.get("usuario.modificar.titulo"));
         lblCedulaBuscar.setText(mi.get("usuario.modificar.cedula"));
         lblContrasena.setText(mi.get("usuario.modificar.contrasena"));
+        txtContrasena.setToolTipText(mi.get("usuario.modificar.contrasena.ayuda"));
         lblNombre.setText(mi.get("usuario.modificar.nombre"));
         lblFecha.setText(mi.get("usuario.modificar.fecha"));
         lblTelefono.setText(mi.get("usuario.modificar.telefono"));
@@ -95,23 +96,12 @@ public class ModificarUsuarioView extends JInternalFrame {
 
     /**
      * Inicializa las imágenes para los botones **Buscar** y **Editar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes() {
-        URL buscarUrl = getClass().getClassLoader().getResource("imagenes/buscar.png");
-        if (buscarUrl != null) {
-            btnBuscar.setIcon(new ImageIcon(buscarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'buscar.png'");
-        }
-
-        URL editarUrl = getClass().getClassLoader().getResource("imagenes/editar.png");
-        if (editarUrl != null) {
-            btnEditar.setIcon(new ImageIcon(editarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el icono 'editar.png'");
-        }
+        Iconos.asignar(btnBuscar, "buscar");
+        Iconos.asignar(btnEditar, "editar");
     }
 
     /**
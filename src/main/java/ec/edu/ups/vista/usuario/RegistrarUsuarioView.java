@@ -4,13 +4,13 @@ import ec.edu.ups.excepciones.CedulaInvalidaException;
 import ec.edu.ups.excepciones.CorreoInvalidoException;
 import ec.edu.ups.excepciones.ContrasenaInvalidaException;
 import ec.edu.ups.excepciones.TelefonoInvalidoException;
+import ec.edu.ups.util.Iconos;
 import ec.edu.ups.util.MensajeInternacionalizacionHandler;
 import ec.edu.ups.util.ValidadorDatosUsuario; // Importar la nueva clase validadora
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.net.URL;
 import java.util.Calendar;
 
 public class RegistrarUsuarioView extends JFrame {
@@ -110,23 +110,12 @@ public class RegistrarUsuarioView extends JFrame {
 
     /**
      * Inicializa las imágenes para los botones **Guardar** y **Terminar**
-     * cargándolos desde la carpeta "imagenes" en los recursos del proyecto.
+     * tomándolos del registro compartido {@link Iconos}.
      * Si no se encuentran los recursos, se imprime un mensaje de error en la consola.
      */
     public void inicializarImagenes() {
-        URL guardarUrl = getClass().getClassLoader().getResource("imagenes/guardar.png");
-        if (guardarUrl != null) {
-            btnGuardar.setIcon(new ImageIcon(guardarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el ícono 'guardar.png'");
-        }
-
-        URL finalizarUrl = getClass().getClassLoader().getResource("imagenes/finalizar.png");
-        if (finalizarUrl != null) {
-            btnTerminar.setIcon(new ImageIcon(finalizarUrl));
-        } else {
-            System.err.println("Error: No se pudo cargar el ícono 'finalizar.png'");
-        }
+        Iconos.asignar(btnGuardar, "guardar");
+        Iconos.asignar(btnTerminar, "finalizar");
     }
 
     /**